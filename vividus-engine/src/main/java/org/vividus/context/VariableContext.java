@@ -25,6 +25,15 @@ public interface VariableContext
 {
     <T> T getVariable(String variableKey);
 
+    /**
+     * Gets the variable by its plain name from the batch, story, scenario and step variables only, the variables of the
+     * broader scopes take precedence the same way as in {@link #getVariables()}
+     * @param variableName The name of the variable
+     * @param <T> The type of the variable
+     * @return the variable value or <code>null</code> if the variable is not found
+     */
+    <T> T getScopedVariable(String variableName);
+
     Map<String, Object> getVariables();
 
     void putVariable(VariableScope variableScope, String variableKey, Object variableValue);
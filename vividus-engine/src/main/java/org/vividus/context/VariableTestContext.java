@@ -48,6 +48,13 @@ public class VariableTestContext implements VariableContext
         return (T) getScopedVariables().getVariable(variableKey);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getScopedVariable(String variableName)
+    {
+        return (T) getScopedVariables().getScopedVariable(variableName);
+    }
+
     @Override
     public void putVariable(Set<VariableScope> variableScopes, String variableKey, Object variableValue)
     {
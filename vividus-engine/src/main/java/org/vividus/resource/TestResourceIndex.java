@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.resource;
+
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.Resource;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Immutable index of the test resources found under one resource location. The resources are indexed by the path
+ * relative to the location and by the file name, so the lookups by the plain (non-wildcard) patterns are map accesses
+ * and the lookups by the wildcard patterns are performed in memory without scanning the classpath.
+ */
+final class TestResourceIndex
+{
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String SEPARATOR = "/";
+    private static final String ANY_DIRECTORY = "**/";
+
+    private final List<IndexedResource> resources;
+    private final Map<String, List<IndexedResource>> resourcesByPath;
+    private final Map<String, List<IndexedResource>> resourcesByName;
+
+    TestResourceIndex(List<IndexedResource> resources)
+    {
+        this.resources = List.copyOf(resources);
+        this.resourcesByPath = resources.stream().collect(
+                groupingBy(IndexedResource::getRelativePath, collectingAndThen(toList(), List::copyOf)));
+        this.resourcesByName = resources.stream().collect(groupingBy(r -> getName(r.getRelativePath()),
+                collectingAndThen(toList(), List::copyOf)));
+    }
+
+    /**
+     * Finds the resources with the relative path matching the pattern
+     * @param relativePathPattern Ant-style pattern of the path relative to the indexed location
+     * @return the found resources in the order of the classpath scanning
+     */
+    List<IndexedResource> find(String relativePathPattern)
+    {
+        if (!PATH_MATCHER.isPattern(relativePathPattern))
+        {
+            return resourcesByPath.getOrDefault(relativePathPattern, List.of());
+        }
+        return resources.stream()
+                .filter(r -> PATH_MATCHER.match(relativePathPattern, r.getRelativePath()))
+                .collect(toList());
+    }
+
+    /**
+     * Finds the resources matching the pattern in the indexed location and all its sub-directories
+     * @param resourcePattern Ant-style pattern of the resource
+     * @return the found resources in the order of the classpath scanning
+     */
+    List<IndexedResource> findInAnyDirectory(String resourcePattern)
+    {
+        if (PATH_MATCHER.isPattern(resourcePattern))
+        {
+            return find(ANY_DIRECTORY + resourcePattern);
+        }
+        String pathSuffix = SEPARATOR + resourcePattern;
+        return resourcesByName.getOrDefault(getName(resourcePattern), List.of()).stream()
+                .filter(r -> r.getRelativePath().equals(resourcePattern) || r.getRelativePath().endsWith(pathSuffix))
+                .collect(toList());
+    }
+
+    private static String getName(String path)
+    {
+        return StringUtils.substringAfterLast(SEPARATOR + path, SEPARATOR);
+    }
+
+    static final class IndexedResource
+    {
+        private final String relativePath;
+        private final Resource resource;
+
+        IndexedResource(String relativePath, Resource resource)
+        {
+            this.relativePath = relativePath;
+            this.resource = resource;
+        }
+
+        String getRelativePath()
+        {
+            return relativePath;
+        }
+
+        Resource getResource()
+        {
+            return resource;
+        }
+    }
+}
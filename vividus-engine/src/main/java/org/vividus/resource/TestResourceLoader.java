@@ -20,15 +20,20 @@ import static org.springframework.core.io.support.ResourcePatternResolver.CLASSP
 
 import java.io.IOException;
 import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.vividus.resource.TestResourceIndex.IndexedResource;
 import org.vividus.util.property.IPropertyParser;
 
 public class TestResourceLoader implements ITestResourceLoader
@@ -36,9 +41,12 @@ public class TestResourceLoader implements ITestResourceLoader
     private static final String VARIABLES_PROPERTY_PREFIX = "bdd.resource-loader.";
     private static final String SEPARATOR = "/";
     private static final String FILE_URL_PREFIX = "file://";
+    private static final String ANY_RESOURCE = "**/*";
+    private static final String JAR_URL_SEPARATOR = "!/";
 
     private final List<String> resourceLoadParameters;
     private final ResourcePatternResolver resourcePatternResolver;
+    private final Map<String, TestResourceIndex> resourceIndices = new ConcurrentHashMap<>();
 
     public TestResourceLoader(IPropertyParser propertyParser, ResourcePatternResolver resourcePatternResolver)
     {
@@ -50,10 +58,81 @@ public class TestResourceLoader implements ITestResourceLoader
 
     @Override
     public Resource[] getResources(String resourceLocation, String resourcePattern)
+    {
+        String normalizedResourceLocation = StringUtils.appendIfMissing(resourceLocation, SEPARATOR);
+        if (resourceLocation.startsWith(FILE_URL_PREFIX) || SEPARATOR.equals(normalizedResourceLocation))
+        {
+            // File system locations are not a subject for indexing, as well as the classpath root: indexing of it
+            // means indexing of every resource in every jar
+            return resolveResources(resourceLocation, normalizedResourceLocation, resourcePattern);
+        }
+        /*
+         * The classpath is not changed during the run, so all resources under the location are scanned only once,
+         * further lookups for this location are performed using the index
+         */
+        TestResourceIndex index = resourceIndices.computeIfAbsent(normalizedResourceLocation, this::indexResources);
+        String deepestResourcePath = index.findInAnyDirectory(resourcePattern).stream()
+                .map(IndexedResource::getRelativePath)
+                .map(this::generatePathByLoadConfig)
+                .max(Comparator.comparing(String::length))
+                .orElse(StringUtils.EMPTY);
+        return index.find(deepestResourcePath + resourcePattern).stream()
+                .map(IndexedResource::getResource)
+                .toArray(Resource[]::new);
+    }
+
+    private TestResourceIndex indexResources(String normalizedResourceLocation)
+    {
+        try
+        {
+            Resource[] allResources = resourcePatternResolver.getResources(
+                    CLASSPATH_ALL_URL_PREFIX + normalizedResourceLocation + ANY_RESOURCE);
+            // The location name may be a part of the path to the classpath root, so the relative paths are calculated
+            // against the location directories found in each classpath root
+            Resource[] locationDirectories = resourcePatternResolver.getResources(
+                    CLASSPATH_ALL_URL_PREFIX + normalizedResourceLocation);
+            List<String> locationUrls = new ArrayList<>(locationDirectories.length);
+            for (Resource locationDirectory : locationDirectories)
+            {
+                locationUrls.add(StringUtils.appendIfMissing(locationDirectory.getURL().toString(), SEPARATOR));
+            }
+            List<IndexedResource> indexedResources = new ArrayList<>(allResources.length);
+            for (Resource resource : allResources)
+            {
+                String relativePath = getRelativePath(resource.getURL().toString(), locationUrls,
+                        normalizedResourceLocation);
+                indexedResources.add(new IndexedResource(
+                        URLDecoder.decode(relativePath.replace("+", "%2b"), StandardCharsets.UTF_8), resource));
+            }
+            return new TestResourceIndex(indexedResources);
+        }
+        catch (IOException e)
+        {
+            throw new ResourceLoadException(e);
+        }
+    }
+
+    private static String getRelativePath(String resourceUrl, List<String> locationUrls,
+            String normalizedResourceLocation)
+    {
+        return locationUrls.stream()
+                .filter(resourceUrl::startsWith)
+                .findFirst()
+                .map(locationUrl -> resourceUrl.substring(locationUrl.length()))
+                .orElseGet(() -> {
+                    // JARs may have no directory entries, but the path inside JAR always starts from the root
+                    String classpathPath = resourceUrl.contains(JAR_URL_SEPARATOR)
+                            ? StringUtils.substringAfterLast(resourceUrl, JAR_URL_SEPARATOR)
+                            : resourceUrl;
+                    return StringUtils.substringAfter(classpathPath, normalizedResourceLocation);
+                });
+    }
+
+    private Resource[] resolveResources(String resourceLocation, String normalizedResourceLocation,
+            String resourcePattern)
     {
         try
         {
-            String normalizedResourceLocation = StringUtils.appendIfMissing(resourceLocation, SEPARATOR);
             String locationPattern;
             String fullLocationPattern;
             if (resourceLocation.startsWith(FILE_URL_PREFIX))
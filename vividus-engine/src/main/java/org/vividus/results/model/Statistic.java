@@ -16,92 +16,96 @@
 
 package org.vividus.results.model;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Counters of the executed entities by status. The counters are incremented by all the threads running the stories,
+ * so {@link LongAdder}s are used to avoid contention on the increments, the values are summed on read.
+ */
 public class Statistic
 {
-    private final AtomicLong total = new AtomicLong();
+    private final LongAdder total = new LongAdder();
 
-    private final AtomicLong passed = new AtomicLong();
-    private final AtomicLong failed = new AtomicLong();
-    private final AtomicLong broken = new AtomicLong();
-    private final AtomicLong skipped = new AtomicLong();
-    private final AtomicLong pending = new AtomicLong();
-    private final AtomicLong knownIssue = new AtomicLong();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder broken = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+    private final LongAdder knownIssue = new LongAdder();
 
     public long getTotal()
     {
-        return total.get();
+        return total.sum();
     }
 
     public long getPassed()
     {
-        return passed.get();
+        return passed.sum();
     }
 
     public void incrementPassed()
     {
         incrementTotal();
-        this.passed.incrementAndGet();
+        this.passed.increment();
     }
 
     public long getFailed()
     {
-        return failed.get();
+        return failed.sum();
     }
 
     public void incrementFailed()
     {
         incrementTotal();
-        this.failed.incrementAndGet();
+        this.failed.increment();
     }
 
     public long getBroken()
     {
-        return broken.get();
+        return broken.sum();
     }
 
     public void incrementBroken()
     {
         incrementTotal();
-        this.broken.incrementAndGet();
+        this.broken.increment();
     }
 
     public long getSkipped()
     {
-        return skipped.get();
+        return skipped.sum();
     }
 
     public void incrementSkipped()
     {
         incrementTotal();
-        this.skipped.incrementAndGet();
+        this.skipped.increment();
     }
 
     public long getPending()
     {
-        return pending.get();
+        return pending.sum();
     }
 
     public void incrementPending()
     {
         incrementTotal();
-        this.pending.incrementAndGet();
+        this.pending.increment();
     }
 
     public long getKnownIssue()
     {
-        return knownIssue.get();
+        return knownIssue.sum();
     }
 
     public void incrementKnownIssue()
     {
         incrementTotal();
-        this.knownIssue.incrementAndGet();
+        this.knownIssue.increment();
     }
 
     private void incrementTotal()
     {
-        this.total.incrementAndGet();
+        this.total.increment();
     }
 }
@@ -18,6 +18,7 @@ package org.vividus.variable;
 
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -76,6 +77,35 @@ public class Variables
                                   .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (k1, k2) -> k2));
     }
 
+    /**
+     * Gets the variable by its name from the batch, story, scenario and step variables only: neither the default value
+     * syntax, nor the compound names are supported, the system properties and the environment variables are not
+     * considered. The same as in {@link #getVariables()}, the variables of the broader scopes take precedence.
+     * @param variableName The name of the variable
+     * @return the variable value or <code>null</code> if the variable is not found
+     */
+    public Object getScopedVariable(String variableName)
+    {
+        for (Map<String, Object> variables : List.of(batchVariables, storyVariables, scenarioVariables))
+        {
+            Object variable = variables.get(variableName);
+            if (variable != null)
+            {
+                return variable;
+            }
+        }
+        Iterator<Map<String, Object>> stepVariablesIterator = stepVariables.descendingIterator();
+        while (stepVariablesIterator.hasNext())
+        {
+            Object variable = stepVariablesIterator.next().get(variableName);
+            if (variable != null)
+            {
+                return variable;
+            }
+        }
+        return null;
+    }
+
     private Optional<Object> getVariable(Map<String, Object> variables, VariableKey variableKey)
     {
         return Optional.ofNullable(variables.get(variableKey.key))
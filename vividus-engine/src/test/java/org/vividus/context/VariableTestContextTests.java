@@ -171,6 +171,15 @@ class VariableTestContextTests
         assertEquals(VALUE, variableTestContext.getVariable(VARIABLE_KEY));
     }
 
+    @Test
+    void shouldReturnScopedVariable()
+    {
+        Variables variables = mock(Variables.class);
+        when(variablesFactory.createVariables()).thenReturn(variables);
+        when(variables.getScopedVariable(VARIABLE_KEY)).thenReturn(VALUE);
+        assertEquals(VALUE, variableTestContext.getScopedVariable(VARIABLE_KEY));
+    }
+
     @Test
     void shoulReturnVariables()
     {
@@ -21,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.core.io.support.ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX;
 
@@ -53,6 +55,8 @@ class TestResourceLoaderTests
     private static final String LOCALE_VALUE = "en";
 
     private static final String BRANDED_FULL_PATH = "file:/src/resources/story/bvt/vividus/bvt.story";
+    private static final String BVT_STORY_PATH = "file:/src/resources/story/bvt/bvt.story";
+    private static final String BVT_LOCATION = "story/bvt";
 
     @Mock private ResourcePatternResolver resourcePatternResolver;
 
@@ -77,10 +81,20 @@ class TestResourceLoaderTests
         return allResources;
     }
 
-    private Resource[] mockGetAllResources(String prefix, String... urls) throws IOException
+    private Resource[] mockGetAllResources(String resourceLocation, String... urls) throws IOException
+    {
+        return mockGetAllResources(resourceLocation, "file:/src/resources/" + resourceLocation, urls);
+    }
+
+    private Resource[] mockGetAllResources(String resourceLocation, String locationUrl, String... urls)
+            throws IOException
     {
         Resource[] allResources = mockResources(urls);
-        when(resourcePatternResolver.getResources(startsWith(prefix))).thenReturn(allResources);
+        when(resourcePatternResolver.getResources(CLASSPATH_ALL_URL_PREFIX + resourceLocation + "/**/*")).thenReturn(
+                allResources);
+        Resource[] locationDirectories = mockResources(locationUrl);
+        when(resourcePatternResolver.getResources(CLASSPATH_ALL_URL_PREFIX + resourceLocation + "/")).thenReturn(
+                locationDirectories);
         return allResources;
     }
 
@@ -97,23 +111,49 @@ class TestResourceLoaderTests
         assertArrayEquals(allResources, actualResources);
     }
 
+    @Test
+    void testGetResourcesFromClasspathRoot() throws IOException
+    {
+        initLoader(Map.of(BRAND_KEY, BRAND_VALUE));
+        var resourceName = "root.table";
+        Resource[] allResources = mockResources("file:/src/resources/vividus/root.table");
+        when(resourcePatternResolver.getResources(CLASSPATH_ALL_URL_PREFIX + "/**/" + resourceName)).thenReturn(
+                allResources);
+        when(resourcePatternResolver.getResources(CLASSPATH_ALL_URL_PREFIX + "/" + resourceName)).thenReturn(
+                allResources);
+
+        var actualResources = testResourceLoader.getResources("/", resourceName);
+        assertArrayEquals(allResources, actualResources);
+    }
+
     @Test
     void testGetResourcesWhenMoreThanOneFound() throws IOException
     {
         initLoader(Map.of(BRAND_KEY, BRAND_VALUE));
-        var allResources = mockGetAllResources(CLASSPATH_ALL_URL_PREFIX,
+        var allResources = mockGetAllResources("story/uat",
                 "file:/src/resources/story/uat/vividus/ca/en/sit.story",
-                "file:/src/resources/story/uat/vividus/super.story",
-                "file:/src/resources/story/uat/vividus/sit.story");
-
-        Resource[] expectedResources = { allResources[1], allResources[2] };
-        when(resourcePatternResolver.getResources(
-                CLASSPATH_ALL_URL_PREFIX + "story/uat/vividus/diamond.story")).thenReturn(expectedResources);
+                "file:/src/resources/story/uat/vividus/diamond.story",
+                "file:/src/resources/story/uat/diamond.story",
+                "jar:file:/lib/plugin.jar!/story/uat/vividus/diamond.story");
 
+        Resource[] expectedResources = { allResources[1], allResources[3] };
         var actualResources = testResourceLoader.getResources("story/uat", "diamond.story");
         assertArrayEquals(expectedResources, actualResources);
     }
 
+    @Test
+    void shouldCalculateRelativePathsWhenLocationNameIsPartOfClasspathRootPath() throws IOException
+    {
+        initLoader(Map.of(BRAND_KEY, BRAND_VALUE));
+        var allResources = mockGetAllResources("tables", "file:/home/tables/resources/tables/",
+                "file:/home/tables/resources/tables/vividus/data.table",
+                "file:/home/tables/resources/tables/data.table",
+                "jar:file:/home/tables/lib/plugin.jar!/tables/vividus/data.table");
+
+        Resource[] expectedResources = { allResources[0], allResources[2] };
+        assertArrayEquals(expectedResources, testResourceLoader.getResources("tables", "data.table"));
+    }
+
     @Test
     void testGetNoResourceFound() throws IOException
     {
@@ -155,10 +195,10 @@ class TestResourceLoaderTests
                 MARKET_KEY, MARKET_VALUE,
                 BRAND_KEY, BRAND_VALUE
         ));
-        mockGetAllResources(CLASSPATH_ALL_URL_PREFIX,
+        var allResources = mockGetAllResources(BVT_LOCATION,
                 "file:/src/resources/story/bvt/vividus/ca/en/bvt.story",
                 "file:/src/resources/story/bvt/vividus/ca/bvt.story", BRANDED_FULL_PATH);
-        testSingleResourceRetrieval("/vividus/ca");
+        assertArrayEquals(new Resource[] { allResources[1] }, getBvtStory());
     }
 
     @Test
@@ -169,8 +209,8 @@ class TestResourceLoaderTests
         props.put(MARKET_KEY, null);
         props.put(BRAND_KEY, BRAND_VALUE);
         initLoader(props);
-        mockGetAllResources(CLASSPATH_ALL_URL_PREFIX, BRANDED_FULL_PATH);
-        testSingleResourceRetrieval("/vividus");
+        var allResources = mockGetAllResources(BVT_LOCATION, BRANDED_FULL_PATH);
+        assertArrayEquals(allResources, getBvtStory());
     }
 
     @Test
@@ -181,8 +221,8 @@ class TestResourceLoaderTests
                 MARKET_KEY, LOCALE_VALUE,
                 BRAND_KEY, BRAND_VALUE
         ));
-        mockGetAllResources(CLASSPATH_ALL_URL_PREFIX, "file:/src/resources/story/bvt/vividus/en/en/bvt.story");
-        testSingleResourceRetrieval("/vividus/en/en");
+        var allResources = mockGetAllResources(BVT_LOCATION, "file:/src/resources/story/bvt/vividus/en/en/bvt.story");
+        assertArrayEquals(allResources, getBvtStory());
     }
 
     @Test
@@ -192,35 +232,63 @@ class TestResourceLoaderTests
                 BRAND_KEY, BRAND_VALUE,
                 LOCALE_KEY, LOCALE_VALUE
         ));
-        mockGetAllResources(CLASSPATH_ALL_URL_PREFIX,
-                "file:/src/resources/story/bvt/test/ca/en/sit.story",
+        var allResources = mockGetAllResources(BVT_LOCATION,
+                "file:/src/resources/story/bvt/test/ca/en/bvt.story",
                 "file:/src/resources/story/bvt/test/super.story",
-                "file:/src/resources/story/bvt/diamond/sit.story");
-        testSingleResourceRetrieval("");
+                "file:/src/resources/story/bvt/diamond/bvt.story",
+                BVT_STORY_PATH);
+        assertArrayEquals(new Resource[] { allResources[3] }, getBvtStory());
     }
 
     @Test
     void testGetResourcesWhenEmptyLoadConfig() throws IOException
     {
         initLoader(Map.of());
-        mockGetAllResources(CLASSPATH_ALL_URL_PREFIX,
-                "file:/src/resources/story/bvt/vividus/ca/en/sit.story",
-                "file:/src/resources/story/bvt/vividus/super.story",
-                "file:/src/resources/story/bvt/sit.story");
-        testSingleResourceRetrieval("");
+        var allResources = mockGetAllResources(BVT_LOCATION,
+                "file:/src/resources/story/bvt/vividus/ca/en/bvt.story",
+                "file:/src/resources/story/bvt/vividus/bvt.story",
+                BVT_STORY_PATH);
+        assertArrayEquals(new Resource[] { allResources[2] }, getBvtStory());
     }
 
-    private void testSingleResourceRetrieval(String dynamicPathPart) throws IOException
+    @Test
+    void testGetResourcesByWildcardPattern() throws IOException
     {
-        var resourceLocation = "story/bvt";
-        var resourceName = "bvt.story";
-        Resource[] expectedResources = { mock(Resource.class) };
-        when(resourcePatternResolver.getResources(
-                CLASSPATH_ALL_URL_PREFIX + resourceLocation + dynamicPathPart + "/" + resourceName)).thenReturn(
-                expectedResources);
+        initLoader(Map.of(BRAND_KEY, BRAND_VALUE));
+        var allResources = mockGetAllResources(BVT_LOCATION,
+                "file:/src/resources/story/bvt/vividus/first.story",
+                "file:/src/resources/story/bvt/vividus/nested/second.story",
+                "file:/src/resources/story/bvt/vividus/data.table",
+                BVT_STORY_PATH);
+        Resource[] expectedResources = { allResources[0], allResources[1] };
+        assertArrayEquals(expectedResources, testResourceLoader.getResources(BVT_LOCATION, "**/*.story"));
+    }
 
-        var actualResources = testResourceLoader.getResources(resourceLocation, resourceName);
+    @Test
+    void testGetResourcesWithEncodedCharactersInPath() throws IOException
+    {
+        initLoader(Map.of());
+        var allResources = mockGetAllResources(BVT_LOCATION, "file:/src/resources/story/bvt/my%20tables/data.table");
+        assertArrayEquals(allResources, testResourceLoader.getResources(BVT_LOCATION, "my tables/data.table"));
+    }
 
-        assertArrayEquals(expectedResources, actualResources);
+    @Test
+    void testScanClasspathOncePerLocation() throws IOException
+    {
+        initLoader(Map.of());
+        var allResources = mockGetAllResources(BVT_LOCATION, BVT_STORY_PATH);
+        for (int i = 0; i < 3; i++)
+        {
+            assertArrayEquals(allResources, getBvtStory());
+        }
+        assertEquals(0, testResourceLoader.getResources(BVT_LOCATION, "other.story").length);
+        verify(resourcePatternResolver).getResources(CLASSPATH_ALL_URL_PREFIX + BVT_LOCATION + "/**/*");
+        verify(resourcePatternResolver).getResources(CLASSPATH_ALL_URL_PREFIX + BVT_LOCATION + "/");
+        verifyNoMoreInteractions(resourcePatternResolver);
+    }
+
+    private Resource[] getBvtStory()
+    {
+        return testResourceLoader.getResources(BVT_LOCATION, "bvt.story");
     }
 }
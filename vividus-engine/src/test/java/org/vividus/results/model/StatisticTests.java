@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.results.model;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class StatisticTests
+{
+    private static final int THREADS = 64;
+    private static final int INCREMENTS = 10_000;
+
+    @Test
+    void shouldCountIncrementsFromConcurrentThreads() throws InterruptedException, ExecutionException
+    {
+        Statistic statistic = new Statistic();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            List<Future<?>> futures = IntStream.range(0, THREADS).mapToObj(i -> executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < INCREMENTS; j++)
+                {
+                    statistic.incrementPassed();
+                    statistic.incrementFailed();
+                }
+                return null;
+            })).collect(Collectors.toList());
+            start.countDown();
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        long expected = (long) THREADS * INCREMENTS;
+        assertAll(
+                () -> assertEquals(2 * expected, statistic.getTotal()),
+                () -> assertEquals(expected, statistic.getPassed()),
+                () -> assertEquals(expected, statistic.getFailed()),
+                () -> assertEquals(0, statistic.getBroken()),
+                () -> assertEquals(0, statistic.getSkipped()),
+                () -> assertEquals(0, statistic.getPending()),
+                () -> assertEquals(0, statistic.getKnownIssue()));
+    }
+}
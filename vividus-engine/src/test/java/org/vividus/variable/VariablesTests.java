@@ -182,6 +182,41 @@ class VariablesTests
         assertEquals(Map.of(KEY1, SCENARIO, KEY2, STORY, KEY3, STEP), variables.getVariables());
     }
 
+    @Test
+    void shouldReturnScopedVariableFromBroaderScope()
+    {
+        Variables variables = new Variables(Map.of(KEY1, VALUE));
+        variables.initStepVariables();
+        variables.putStepVariable(KEY2, STEP);
+        variables.initStepVariables();
+        variables.putStepVariable(KEY2, "nested step");
+        variables.putStepVariable(KEY3, STEP);
+        variables.putScenarioVariable(KEY1, SCENARIO);
+        variables.putScenarioVariable(KEY3, SCENARIO);
+        variables.putStoryVariable(KEY3, STORY);
+        assertEquals(VALUE, variables.getScopedVariable(KEY1));
+        assertEquals(STEP, variables.getScopedVariable(KEY2));
+        assertEquals(STORY, variables.getScopedVariable(KEY3));
+        assertEquals(variables.getVariables().get(KEY2), variables.getScopedVariable(KEY2));
+    }
+
+    @Test
+    void shouldNotReturnSystemPropertyAsScopedVariable()
+    {
+        String propertyName = "scoped.variable.property";
+        System.setProperty(propertyName, VALUE);
+        try
+        {
+            Variables variables = new Variables(Map.of());
+            assertEquals(VALUE, variables.getVariable(propertyName));
+            assertNull(variables.getScopedVariable(propertyName));
+        }
+        finally
+        {
+            System.clearProperty(propertyName);
+        }
+    }
+
     private static final class Pojo
     {
         @SuppressWarnings("unused")
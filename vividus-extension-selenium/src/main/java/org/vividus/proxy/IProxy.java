@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,16 @@
 
 package org.vividus.proxy;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HttpMethod;
 
 import org.openqa.selenium.Proxy;
 
@@ -34,6 +42,20 @@ public interface IProxy
      */
     Har getRecordedData();
 
+    /**
+     * Finds the recorded HAR entries by the request URL and the request method.
+     *
+     * @param urlPattern  the pattern to match the request URL
+     * @param httpMethods the request methods to match
+     * @return the matching HAR entries in the order they were recorded
+     */
+    default List<HarEntry> findRecordedEntries(Pattern urlPattern, Set<HttpMethod> httpMethods)
+    {
+        return getRecordedData().getLog().findEntries(urlPattern).stream()
+                .filter(entry -> httpMethods.contains(entry.getRequest().getMethod()))
+                .collect(toList());
+    }
+
     void clearRecordedData();
 
     void stopRecording();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,23 @@
 
 package org.vividus.proxy;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import com.browserup.bup.BrowserUpProxy;
 import com.browserup.bup.BrowserUpProxyServer;
@@ -27,17 +40,43 @@ import com.browserup.bup.client.ClientUtil;
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.filters.RequestFilterAdapter.FilterSource;
 import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarLog;
+import com.browserup.harreader.model.HttpMethod;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.proxy.har.DiskHarEntryStore;
+import org.vividus.proxy.har.HarStorage;
+import org.vividus.proxy.har.InFlightRequestsTracker;
 
 public class Proxy implements IProxy
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Proxy.class);
+
+    private static final Duration HAR_FLUSH_PERIOD = Duration.ofSeconds(5);
+    private static final Duration IN_FLIGHT_REQUEST_MAX_AGE = Duration.ofMinutes(5);
+
     private final IProxyServerFactory proxyServerFactory;
     private final String proxyHost;
+    private final HarStorage harStorage;
+    private final Object harLock = new Object();
     private BrowserUpProxyServer proxyServer;
+    private DiskHarEntryStore harEntryStore;
+    private InFlightRequestsTracker inFlightRequestsTracker;
+    private ScheduledExecutorService harFlusher;
 
     public Proxy(IProxyServerFactory proxyServerFactory, String proxyHost)
+    {
+        this(proxyServerFactory, proxyHost, HarStorage.MEMORY);
+    }
+
+    public Proxy(IProxyServerFactory proxyServerFactory, String proxyHost, HarStorage harStorage)
     {
         this.proxyServerFactory = proxyServerFactory;
         this.proxyHost = proxyHost;
+        this.harStorage = harStorage;
     }
 
     @Override
@@ -57,13 +96,81 @@ public class Proxy implements IProxy
         {
             proxyServer = proxyServerFactory.createProxyServer();
             starter.accept(proxyServer);
+            if (harStorage == HarStorage.DISK)
+            {
+                startHarFlushing();
+            }
+        }
+    }
+
+    private void startHarFlushing()
+    {
+        try
+        {
+            harEntryStore = new DiskHarEntryStore();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        inFlightRequestsTracker = new InFlightRequestsTracker(IN_FLIGHT_REQUEST_MAX_AGE);
+        proxyServer.addFirstHttpFilterFactory(inFlightRequestsTracker);
+        harFlusher = Executors.newSingleThreadScheduledExecutor(
+                new BasicThreadFactory.Builder().namingPattern("har-flusher-%d").daemon(true).build());
+        long period = HAR_FLUSH_PERIOD.toMillis();
+        harFlusher.scheduleWithFixedDelay(this::flushCompletedHarEntries, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Moves the completed HAR entries (i.e. the entries of the requests with completely received responses) from the
+     * memory to the disk store, the entries of the in-flight requests are kept in the memory until their completion
+     */
+    void flushCompletedHarEntries()
+    {
+        synchronized (harLock)
+        {
+            Har har = isStarted() ? proxyServer.getHar() : null;
+            if (har == null || harEntryStore == null)
+            {
+                return;
+            }
+            inFlightRequestsTracker.removeExpired();
+            List<HarEntry> completedEntries = har.getLog().getEntries().stream()
+                    .filter(entry -> !inFlightRequestsTracker.isInFlight(entry))
+                    .collect(Collectors.toList());
+            if (completedEntries.isEmpty())
+            {
+                return;
+            }
+            try
+            {
+                harEntryStore.append(completedEntries);
+            }
+            catch (UncheckedIOException e)
+            {
+                LOGGER.warn("Unable to move HAR entries to the disk store", e);
+                return;
+            }
+            Set<HarEntry> flushedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+            flushedEntries.addAll(completedEntries);
+            har.getLog().getEntries().removeIf(flushedEntries::contains);
         }
     }
 
     @Override
     public void startRecording()
     {
-        getIfProxyStarted(BrowserUpProxy::newHar);
+        executeIfProxyStarted(proxy -> {
+            synchronized (harLock)
+            {
+                proxy.newHar();
+                if (harEntryStore != null)
+                {
+                    harEntryStore.clear();
+                    inFlightRequestsTracker.trackEntries(proxy.getHar().getLog());
+                }
+            }
+        });
     }
 
     @Override
@@ -84,8 +191,34 @@ public class Proxy implements IProxy
         if (isStarted())
         {
             proxyServer.stop();
-            proxyServer = null;
+            synchronized (harLock)
+            {
+                proxyServer = null;
+                stopHarFlushing();
+            }
+        }
+    }
+
+    private void stopHarFlushing()
+    {
+        if (harFlusher != null)
+        {
+            harFlusher.shutdownNow();
+            harFlusher = null;
+        }
+        if (harEntryStore != null)
+        {
+            try
+            {
+                harEntryStore.close();
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn("Unable to delete HAR entries disk store", e);
+            }
+            harEntryStore = null;
         }
+        inFlightRequestsTracker = null;
     }
 
     @Override
@@ -97,7 +230,62 @@ public class Proxy implements IProxy
     @Override
     public Har getRecordedData()
     {
-        return getIfProxyStarted(BrowserUpProxy::getHar);
+        return getIfProxyStarted(proxy -> {
+            synchronized (harLock)
+            {
+                Har har = proxy.getHar();
+                return harEntryStore == null || har == null ? har : assembleHar(har);
+            }
+        });
+    }
+
+    private Har assembleHar(Har har)
+    {
+        HarLog log = har.getLog();
+        List<HarEntry> entries = harEntryStore.readEntries();
+        entries.addAll(log.getEntries());
+        sortByStartedTime(entries);
+
+        HarLog assembledLog = new HarLog();
+        assembledLog.setVersion(log.getVersion());
+        assembledLog.setCreator(log.getCreator());
+        assembledLog.setBrowser(log.getBrowser());
+        assembledLog.setPages(log.getPages());
+        assembledLog.setComment(log.getComment());
+        assembledLog.setEntries(entries);
+
+        Har assembledHar = new Har();
+        assembledHar.setLog(assembledLog);
+        return assembledHar;
+    }
+
+    @Override
+    public List<HarEntry> findRecordedEntries(Pattern urlPattern, Set<HttpMethod> httpMethods)
+    {
+        return getIfProxyStarted(proxy -> {
+            synchronized (harLock)
+            {
+                if (harEntryStore == null)
+                {
+                    return IProxy.super.findRecordedEntries(urlPattern, httpMethods);
+                }
+                List<HarEntry> entries = harEntryStore.findEntries(urlPattern, httpMethods);
+                proxy.getHar().getLog().findEntries(urlPattern).stream()
+                        .filter(entry -> httpMethods.contains(entry.getRequest().getMethod()))
+                        .forEach(entries::add);
+                sortByStartedTime(entries);
+                return entries;
+            }
+        });
+    }
+
+    /**
+     * The entries of the slow requests stay in the memory after the entries of the later requests are moved to the
+     * disk, so the order of capturing is restored by the start time (the sorting is stable)
+     */
+    private static void sortByStartedTime(List<HarEntry> entries)
+    {
+        entries.sort(Comparator.comparing(HarEntry::getStartedDateTime));
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,13 @@
 
 package org.vividus.proxy;
 
+import org.vividus.proxy.har.HarStorage;
+
 public class ProxyFactory implements IProxyFactory
 {
     private final IProxyServerFactory proxyServerFactory;
     private String proxyHost;
+    private HarStorage harStorage = HarStorage.MEMORY;
 
     public ProxyFactory(IProxyServerFactory proxyServerFactory)
     {
@@ -29,11 +32,16 @@ public class ProxyFactory implements IProxyFactory
     @Override
     public Proxy createProxy()
     {
-        return new Proxy(proxyServerFactory, proxyHost);
+        return new Proxy(proxyServerFactory, proxyHost, harStorage);
     }
 
     public void setProxyHost(String proxyHost)
     {
         this.proxyHost = proxyHost;
     }
+
+    public void setHarStorage(HarStorage harStorage)
+    {
+        this.harStorage = harStorage;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,15 @@ package org.vividus.proxy;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HttpMethod;
 
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
@@ -137,6 +141,12 @@ public class ThreadedProxy implements IProxy
         return proxy().getRecordedData();
     }
 
+    @Override
+    public List<HarEntry> findRecordedEntries(Pattern urlPattern, Set<HttpMethod> httpMethods)
+    {
+        return proxy().findRecordedEntries(urlPattern, httpMethods);
+    }
+
     @Override
     public void addRequestFilter(RequestFilter requestFilter)
     {
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy.har;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HttpMethod;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.apache.commons.lang3.function.FailableSupplier;
+
+/**
+ * Append-only store of HAR entries backed by a temporary file. Only the request URL, the request method and the
+ * position of the serialized entry in the file are kept in memory, the entries are read back from the disk on demand.
+ */
+public class DiskHarEntryStore implements Closeable
+{
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final List<IndexedEntry> index = new ArrayList<>();
+
+    public DiskHarEntryStore() throws IOException
+    {
+        file = Files.createTempFile("har-entries-", ".json");
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    public synchronized void append(List<HarEntry> entries)
+    {
+        performIo(() -> {
+            for (HarEntry entry : entries)
+            {
+                byte[] serializedEntry = OBJECT_MAPPER.writeValueAsBytes(entry);
+                long position = channel.size();
+                channel.write(ByteBuffer.wrap(serializedEntry), position);
+                index.add(new IndexedEntry(entry.getRequest().getUrl(), entry.getRequest().getMethod(), position,
+                        serializedEntry.length));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Finds the stored entries with the request URL matching the pattern and the request method being one of the
+     * specified methods, only the matching entries are read from the disk
+     * @param urlPattern  the pattern to match the request URL
+     * @param httpMethods the request methods to match
+     * @return the matching entries in the order they were stored
+     */
+    public synchronized List<HarEntry> findEntries(Pattern urlPattern, Set<HttpMethod> httpMethods)
+    {
+        return readEntries(e -> httpMethods.contains(e.method) && urlPattern.matcher(e.url).matches());
+    }
+
+    public synchronized List<HarEntry> readEntries()
+    {
+        return readEntries(e -> true);
+    }
+
+    private List<HarEntry> readEntries(Predicate<IndexedEntry> filter)
+    {
+        return index.stream().filter(filter).map(this::readEntry).collect(toList());
+    }
+
+    private HarEntry readEntry(IndexedEntry indexedEntry)
+    {
+        return performIo(() -> {
+            ByteBuffer buffer = ByteBuffer.allocate(indexedEntry.length);
+            long position = indexedEntry.position;
+            while (buffer.hasRemaining())
+            {
+                position += channel.read(buffer, position);
+            }
+            return OBJECT_MAPPER.readValue(buffer.array(), HarEntry.class);
+        });
+    }
+
+    public synchronized int size()
+    {
+        return index.size();
+    }
+
+    public synchronized void clear()
+    {
+        performIo(() -> channel.truncate(0));
+        index.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        index.clear();
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    Path getFile()
+    {
+        return file;
+    }
+
+    private static <T> T performIo(FailableSupplier<T, IOException> operation)
+    {
+        try
+        {
+            return operation.get();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class IndexedEntry
+    {
+        private final String url;
+        private final HttpMethod method;
+        private final long position;
+        private final int length;
+
+        private IndexedEntry(String url, HttpMethod method, long position, int length)
+        {
+            this.url = url;
+            this.method = method;
+            this.position = position;
+            this.length = length;
+        }
+    }
+}
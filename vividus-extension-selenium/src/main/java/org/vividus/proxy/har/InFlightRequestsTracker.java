@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy.har;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarLog;
+
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersAdapter;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * Tracks the requests passing through the proxy until their responses are completely received, the requests fail or
+ * the clients disconnect, so the HAR entries of the in-flight requests, which are still being populated by the HAR
+ * capture, are not considered as completed. The tracker must be registered as the first filter factory: the HAR
+ * capture filter adds the entry of the request right after the tracking filter starts the request on the same thread,
+ * so the HAR log tracked via {@link #trackEntries(HarLog)} binds the added entry to exactly that request.
+ */
+public class InFlightRequestsTracker extends HttpFiltersSourceAdapter
+{
+    private final ThreadLocal<TrackingFilter> startedRequest = new ThreadLocal<>();
+    private final Map<HarEntry, TrackingFilter> inFlightEntries = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final long maxAgeMillis;
+
+    /**
+     * @param maxAge The duration after which a request is no longer considered as in-flight, e.g. if the proxy has
+     * never been notified about its completion
+     */
+    public InFlightRequestsTracker(Duration maxAge)
+    {
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    @Override
+    public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx)
+    {
+        startedRequest.remove();
+        if (HttpMethod.CONNECT.equals(originalRequest.method()))
+        {
+            return new HttpFiltersAdapter(originalRequest, ctx);
+        }
+        return new TrackingFilter(originalRequest, ctx);
+    }
+
+    /**
+     * Makes the HAR log bind the HAR entries added by the HAR capture to the requests they belong to
+     * @param log HAR log to track
+     */
+    public void trackEntries(HarLog log)
+    {
+        if (!(log.getEntries() instanceof TrackedEntries))
+        {
+            log.setEntries(new TrackedEntries(this, log.getEntries()));
+        }
+    }
+
+    /**
+     * Checks whether the HAR entry belongs to a request which is not completed yet
+     * @param entry HAR entry
+     * @return <code>true</code> if the HAR entry may still be changed by the HAR capture, otherwise <code>false</code>
+     */
+    public boolean isInFlight(HarEntry entry)
+    {
+        TrackingFilter request = inFlightEntries.get(entry);
+        if (request == null)
+        {
+            return false;
+        }
+        if (request.isExpired(System.currentTimeMillis()))
+        {
+            request.complete();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stops tracking the requests started earlier than the max age ago, e.g. the ones whose HAR entries have been
+     * discarded by the new HAR
+     */
+    public void removeExpired()
+    {
+        long now = System.currentTimeMillis();
+        List<TrackingFilter> expiredRequests;
+        synchronized (inFlightEntries)
+        {
+            expiredRequests = inFlightEntries.values().stream().filter(r -> r.isExpired(now))
+                    .collect(Collectors.toList());
+        }
+        expiredRequests.forEach(TrackingFilter::complete);
+    }
+
+    private void bindToStartedRequest(HarEntry entry)
+    {
+        TrackingFilter request = startedRequest.get();
+        if (request != null)
+        {
+            startedRequest.remove();
+            request.bind(entry);
+        }
+    }
+
+    private final class TrackingFilter extends HttpFiltersAdapter
+    {
+        private final long startedTime = System.currentTimeMillis();
+        private final ChannelFutureListener disconnectListener = future -> complete();
+        private boolean responseFromServer;
+        private HarEntry entry;
+        private boolean completed;
+
+        private TrackingFilter(HttpRequest originalRequest, ChannelHandlerContext ctx)
+        {
+            super(originalRequest, ctx);
+            ctx.channel().closeFuture().addListener(disconnectListener);
+        }
+
+        @Override
+        public HttpResponse clientToProxyRequest(HttpObject httpObject)
+        {
+            if (httpObject instanceof HttpRequest)
+            {
+                startedRequest.set(this);
+            }
+            return null;
+        }
+
+        @Override
+        public HttpObject serverToProxyResponse(HttpObject httpObject)
+        {
+            responseFromServer = true;
+            return httpObject;
+        }
+
+        @Override
+        public void serverToProxyResponseReceived()
+        {
+            complete();
+        }
+
+        @Override
+        public HttpObject proxyToClientResponse(HttpObject httpObject)
+        {
+            // Short-circuit responses provided by the proxy filters never reach the server
+            if (!responseFromServer && httpObject instanceof LastHttpContent)
+            {
+                complete();
+            }
+            return httpObject;
+        }
+
+        @Override
+        public void serverToProxyResponseTimedOut()
+        {
+            complete();
+        }
+
+        @Override
+        public void proxyToServerConnectionFailed()
+        {
+            complete();
+        }
+
+        @Override
+        public void proxyToServerResolutionFailed(String hostAndPort)
+        {
+            complete();
+        }
+
+        private boolean isExpired(long now)
+        {
+            return now - startedTime > maxAgeMillis;
+        }
+
+        private synchronized void bind(HarEntry entry)
+        {
+            if (!completed)
+            {
+                this.entry = entry;
+                inFlightEntries.put(entry, this);
+            }
+        }
+
+        private synchronized void complete()
+        {
+            if (!completed)
+            {
+                completed = true;
+                if (entry != null)
+                {
+                    inFlightEntries.remove(entry);
+                }
+                ctx.channel().closeFuture().removeListener(disconnectListener);
+            }
+        }
+    }
+
+    private static final class TrackedEntries extends CopyOnWriteArrayList<HarEntry>
+    {
+        private static final long serialVersionUID = -1862337493582520372L;
+
+        private final transient InFlightRequestsTracker tracker;
+
+        private TrackedEntries(InFlightRequestsTracker tracker, Collection<HarEntry> entries)
+        {
+            super(entries);
+            this.tracker = tracker;
+        }
+
+        @Override
+        public boolean add(HarEntry entry)
+        {
+            tracker.bindToStartedRequest(entry);
+            return super.add(entry);
+        }
+    }
+}
@@ -364,11 +364,9 @@ public class ProxySteps
 
     private List<HarEntry> getLogEntries(Set<HttpMethod> httpMethods, Pattern urlPattern)
     {
-        return proxy.getRecordedData().getLog()
-                .findEntries(urlPattern)
+        return proxy.findRecordedEntries(urlPattern, httpMethods)
                 .stream()
-                .filter(entry -> entry.getResponse().getStatus() != HttpStatus.SC_MOVED_TEMPORARILY
-                        && httpMethods.contains(entry.getRequest().getMethod()))
+                .filter(entry -> entry.getResponse().getStatus() != HttpStatus.SC_MOVED_TEMPORARILY)
                 .collect(toList());
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,17 @@
 
 package org.vividus.ui.action;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
@@ -30,6 +34,7 @@ import org.slf4j.LoggerFactory;
 import org.vividus.ui.action.search.ElementActionService;
 import org.vividus.ui.action.search.IElementFilterAction;
 import org.vividus.ui.action.search.IElementSearchAction;
+import org.vividus.ui.action.search.IJavascriptElementFilterAction;
 import org.vividus.ui.action.search.Locator;
 import org.vividus.ui.action.search.LocatorType;
 import org.vividus.ui.action.search.SearchParameters;
@@ -41,6 +46,8 @@ public class SearchActions implements ISearchActions
 
     @Inject private IUiContext uiContext;
     @Inject private ElementActionService elementActionService;
+    @Inject private JavascriptActions javascriptActions;
+    private boolean scriptFilteringEnabled;
 
     @Override
     public List<WebElement> findElements(SearchContext searchContext, Locator locator)
@@ -48,28 +55,27 @@ public class SearchActions implements ISearchActions
         SearchParameters searchParameters = locator.getSearchParameters();
         IElementSearchAction searchAction = elementActionService.find(locator.getLocatorType());
         List<WebElement> foundElements = searchAction.search(searchContext, searchParameters);
+        List<Pair<IJavascriptElementFilterAction, String>> scriptFilters = new ArrayList<>();
         for (Entry<LocatorType, List<String>> entry : locator.getFilterAttributes().entrySet())
         {
             IElementFilterAction filterAction = elementActionService.find(entry.getKey());
             for (String filterValue : entry.getValue())
             {
-                int size = foundElements.size();
-                if (size == 0)
+                if (scriptFilteringEnabled && filterAction instanceof IJavascriptElementFilterAction)
                 {
-                    break;
+                    if (StringUtils.isNotEmpty(filterValue))
+                    {
+                        scriptFilters.add(Pair.of((IJavascriptElementFilterAction) filterAction, filterValue));
+                    }
+                    continue;
                 }
-
-                List<WebElement> filteredElements = filterAction.filter(foundElements, filterValue);
-
-                LOGGER.atInfo().addArgument(() -> size - filteredElements.size())
-                               .addArgument(size)
-                               .addArgument(entry::getKey)
-                               .addArgument(filterValue)
-                               .log("{} of {} elements were filtered out by {} filter with '{}' value");
-
-                foundElements = filteredElements;
+                // The order of filters is significant (e.g. index filter), so the accumulated script filters
+                // must be applied before any non-script one
+                foundElements = filterByScript(foundElements, scriptFilters);
+                foundElements = filter(foundElements, entry.getKey(), filterAction, filterValue);
             }
         }
+        foundElements = filterByScript(foundElements, scriptFilters);
         List<Locator> childLocators = locator.getChildLocators();
         for (Locator attributes : childLocators)
         {
@@ -78,6 +84,72 @@ public class SearchActions implements ISearchActions
         return foundElements;
     }
 
+    private static List<WebElement> filter(List<WebElement> elements, LocatorType filterType,
+            IElementFilterAction filterAction, String filterValue)
+    {
+        int size = elements.size();
+        if (size == 0)
+        {
+            return elements;
+        }
+
+        List<WebElement> filteredElements = filterAction.filter(elements, filterValue);
+
+        LOGGER.atInfo().addArgument(() -> size - filteredElements.size())
+                       .addArgument(size)
+                       .addArgument(filterType)
+                       .addArgument(filterValue)
+                       .log("{} of {} elements were filtered out by {} filter with '{}' value");
+
+        return filteredElements;
+    }
+
+    private List<WebElement> filterByScript(List<WebElement> elements,
+            List<Pair<IJavascriptElementFilterAction, String>> scriptFilters)
+    {
+        if (scriptFilters.isEmpty())
+        {
+            return elements;
+        }
+        int size = elements.size();
+        if (size == 0)
+        {
+            scriptFilters.clear();
+            return elements;
+        }
+
+        StringBuilder script = new StringBuilder("var elements = arguments[0];var values = arguments[1];")
+                .append("var filters = [");
+        List<String> values = new ArrayList<>(scriptFilters.size());
+        for (Pair<IJavascriptElementFilterAction, String> scriptFilter : scriptFilters)
+        {
+            script.append("function(element, value) {").append(scriptFilter.getKey().getFilterScript()).append("},");
+            values.add(scriptFilter.getValue());
+        }
+        script.append("];var matched = [];"
+                + "for (var i = 0; i < elements.length; i++) {"
+                + "var element = elements[i];"
+                + "if (filters.every(function(f, index) {return f(element, values[index]);})) {matched.push(i);}"
+                + "}"
+                + "return matched;");
+
+        // The indices are returned instead of the elements to keep the original element instances
+        List<Number> matchedIndices = javascriptActions.executeScript(script.toString(), elements, values);
+        List<WebElement> filteredElements = matchedIndices.stream()
+                .map(index -> elements.get(index.intValue()))
+                .collect(Collectors.toList());
+
+        LOGGER.atInfo().addArgument(() -> size - filteredElements.size())
+                       .addArgument(size)
+                       .addArgument(() -> scriptFilters.stream()
+                               .map(f -> f.getKey().getType() + " filter with '" + f.getValue() + "' value")
+                               .collect(Collectors.joining(", ")))
+                       .log("{} of {} elements were filtered out in browser by {}");
+
+        scriptFilters.clear();
+        return filteredElements;
+    }
+
     @Override
     public List<WebElement> findElements(Locator locator)
     {
@@ -111,4 +183,9 @@ public class SearchActions implements ISearchActions
         List<WebElement> elements = findElements(searchContext, attributes);
         return elements.isEmpty() ? Optional.empty() : Optional.of(elements.get(0));
     }
+
+    public void setScriptFilteringEnabled(boolean scriptFilteringEnabled)
+    {
+        this.scriptFilteringEnabled = scriptFilteringEnabled;
+    }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.action.search;
+
+/**
+ * Filter action which can be evaluated in the browser, so the filtering of many elements by several filters is
+ * performed by a single script execution instead of the WebDriver calls per each element.
+ */
+public interface IJavascriptElementFilterAction extends IElementFilterAction
+{
+    /**
+     * Returns the body of JavaScript function with two arguments: <code>element</code> - the element to check and
+     * <code>value</code> - the filter value. The function must return <code>true</code> if the element matches the
+     * filter and <code>false</code> otherwise.
+     * @return JavaScript function body, the result must be equivalent to
+     * {@link #matches(org.openqa.selenium.WebElement, String)}
+     */
+    String getFilterScript();
+}
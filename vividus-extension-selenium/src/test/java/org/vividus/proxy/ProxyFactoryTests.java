@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.proxy.har.HarStorage;
 
 @ExtendWith(MockitoExtension.class)
 class ProxyFactoryTests
@@ -39,5 +40,14 @@ class ProxyFactoryTests
         Proxy actualProxy = proxyFactory.createProxy();
         assertNotNull(actualProxy);
         assertEquals(proxyHost, FieldUtils.getField(Proxy.class, "proxyHost", true).get(actualProxy));
+        assertEquals(HarStorage.MEMORY, FieldUtils.getField(Proxy.class, "harStorage", true).get(actualProxy));
+    }
+
+    @Test
+    void testCreateProxyWithDiskHarStorage() throws IllegalAccessException
+    {
+        proxyFactory.setHarStorage(HarStorage.DISK);
+        Proxy actualProxy = proxyFactory.createProxy();
+        assertEquals(HarStorage.DISK, FieldUtils.getField(Proxy.class, "harStorage", true).get(actualProxy));
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,8 +19,10 @@ package org.vividus.proxy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -30,8 +32,12 @@ import static org.mockito.Mockito.when;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.browserup.bup.BrowserUpProxyServer;
@@ -39,20 +45,38 @@ import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.filters.RequestFilterAdapter;
 import com.browserup.bup.filters.ResponseFilter;
 import com.browserup.bup.filters.ResponseFilterAdapter;
+import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarLog;
+import com.browserup.harreader.model.HarRequest;
+import com.browserup.harreader.model.HttpMethod;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.littleshoot.proxy.HttpFilters;
 import org.littleshoot.proxy.HttpFiltersSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.Proxy.ProxyType;
+import org.vividus.proxy.har.HarStorage;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
 
 @ExtendWith(MockitoExtension.class)
 class ProxyTests
 {
+    private static final String OLD_URL = "https://example.com/old";
+    private static final String RECENT_URL = "https://example.com/recent";
+    private static final String IN_FLIGHT_URL = "https://example.com/in-flight";
+
     @Mock private IProxyServerFactory proxyServerFactory;
     @Mock private BrowserUpProxyServer browserUpProxyServer;
     @InjectMocks private Proxy proxy;
@@ -208,6 +232,118 @@ class ProxyTests
         assertEquals(ProxyType.MANUAL, seleniumProxy.getProxyType());
     }
 
+    @Test
+    void shouldMoveCompletedHarEntriesToDisk()
+    {
+        Proxy proxy = new Proxy(proxyServerFactory, null, HarStorage.DISK);
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
+        proxy.start();
+        Har har = createHar(createHarEntry(OLD_URL, HttpMethod.GET, new Date(0)));
+        when(browserUpProxyServer.getHar()).thenReturn(har);
+        proxy.startRecording();
+        long now = System.currentTimeMillis();
+        HttpFilters inFlightRequest = startRequest(har, createHarEntry(IN_FLIGHT_URL, HttpMethod.GET, new Date(now)));
+        har.getLog().getEntries().add(createHarEntry(OLD_URL, HttpMethod.POST, new Date(now + 1)));
+
+        proxy.flushCompletedHarEntries();
+
+        assertEquals(List.of(IN_FLIGHT_URL), getUrls(har.getLog().getEntries()));
+        assertEquals(List.of(OLD_URL, IN_FLIGHT_URL, OLD_URL),
+                getUrls(proxy.getRecordedData().getLog().getEntries()));
+        assertEquals(List.of(OLD_URL, IN_FLIGHT_URL),
+                getUrls(proxy.findRecordedEntries(Pattern.compile(".*"), Set.of(HttpMethod.GET))));
+        assertEquals(List.of(OLD_URL),
+                getUrls(proxy.findRecordedEntries(Pattern.compile(OLD_URL), Set.of(HttpMethod.POST))));
+
+        inFlightRequest.serverToProxyResponse(LastHttpContent.EMPTY_LAST_CONTENT);
+        inFlightRequest.serverToProxyResponseReceived();
+        proxy.flushCompletedHarEntries();
+        assertEquals(List.of(), getUrls(har.getLog().getEntries()));
+        assertEquals(List.of(OLD_URL, IN_FLIGHT_URL, OLD_URL),
+                getUrls(proxy.getRecordedData().getLog().getEntries()));
+
+        har.getLog().getEntries().add(createHarEntry(RECENT_URL, HttpMethod.GET, new Date()));
+        proxy.startRecording();
+        verify(browserUpProxyServer, times(2)).newHar();
+        assertEquals(List.of(RECENT_URL), getUrls(proxy.getRecordedData().getLog().getEntries()));
+        proxy.stop();
+        verify(browserUpProxyServer).stop();
+    }
+
+    @Test
+    void shouldNotMoveHarEntriesOfInFlightRequestsToDisk()
+    {
+        Proxy proxy = new Proxy(proxyServerFactory, null, HarStorage.DISK);
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
+        proxy.start();
+        Har har = createHar();
+        when(browserUpProxyServer.getHar()).thenReturn(har);
+        proxy.startRecording();
+        HttpFilters completedRequest = startRequest(har, createHarEntry(OLD_URL, HttpMethod.GET, new Date()));
+        startRequest(har, createHarEntry(OLD_URL, HttpMethod.GET, new Date()));
+        startRequest(har, createHarEntry(RECENT_URL, HttpMethod.POST, new Date()));
+        completedRequest.serverToProxyResponse(LastHttpContent.EMPTY_LAST_CONTENT);
+        completedRequest.serverToProxyResponseReceived();
+
+        proxy.flushCompletedHarEntries();
+
+        assertEquals(List.of(OLD_URL, RECENT_URL), getUrls(har.getLog().getEntries()));
+        assertEquals(List.of(OLD_URL, OLD_URL, RECENT_URL),
+                getUrls(proxy.getRecordedData().getLog().getEntries()));
+        proxy.stop();
+    }
+
+    private HttpFilters startRequest(Har har, HarEntry entry)
+    {
+        ArgumentCaptor<HttpFiltersSource> filtersSourceCaptor = ArgumentCaptor.forClass(HttpFiltersSource.class);
+        verify(browserUpProxyServer).addFirstHttpFilterFactory(filtersSourceCaptor.capture());
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+                io.netty.handler.codec.http.HttpMethod.valueOf(entry.getRequest().getMethod().name()),
+                entry.getRequest().getUrl());
+        HttpFilters filters = filtersSourceCaptor.getValue().filterRequest(request,
+                mock(ChannelHandlerContext.class, RETURNS_DEEP_STUBS));
+        filters.clientToProxyRequest(request);
+        har.getLog().getEntries().add(entry);
+        return filters;
+    }
+
+    @Test
+    void shouldReturnInMemoryHarWhenHarStorageIsMemory()
+    {
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserUpProxyServer);
+        proxy.start();
+        Har har = createHar(createHarEntry(OLD_URL, HttpMethod.GET, new Date(0)));
+        when(browserUpProxyServer.getHar()).thenReturn(har);
+        proxy.flushCompletedHarEntries();
+        assertSame(har, proxy.getRecordedData());
+        assertEquals(List.of(OLD_URL), getUrls(har.getLog().getEntries()));
+    }
+
+    private static Har createHar(HarEntry... entries)
+    {
+        HarLog harLog = new HarLog();
+        harLog.setEntries(new ArrayList<>(List.of(entries)));
+        Har har = new Har();
+        har.setLog(harLog);
+        return har;
+    }
+
+    private static HarEntry createHarEntry(String url, HttpMethod method, Date startedDateTime)
+    {
+        HarRequest request = new HarRequest();
+        request.setUrl(url);
+        request.setMethod(method);
+        HarEntry entry = new HarEntry();
+        entry.setRequest(request);
+        entry.setStartedDateTime(startedDateTime);
+        return entry;
+    }
+
+    private static List<String> getUrls(List<HarEntry> entries)
+    {
+        return entries.stream().map(HarEntry::getRequest).map(HarRequest::getUrl).collect(Collectors.toList());
+    }
+
     static Stream<Consumer<Proxy>> proxyActions()
     {
         return Stream.of(
@@ -217,6 +353,7 @@ class ProxyTests
                 Proxy::clearRecordedData,
                 Proxy::clearRequestFilters,
                 Proxy::createSeleniumProxy,
+                proxy -> proxy.findRecordedEntries(Pattern.compile(".*"), Set.of(HttpMethod.GET)),
                 proxy -> proxy.addRequestFilter(mock(RequestFilter.class))
         );
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,9 +29,12 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import com.browserup.bup.BrowserUpProxy;
 import com.browserup.bup.filters.RequestFilter;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HttpMethod;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
@@ -210,6 +213,17 @@ class ThreadedProxyTests
         verify(proxy).getRecordedData();
     }
 
+    @Test
+    void testFindRecordedEntries() throws UnknownHostException
+    {
+        defaultInit();
+        Pattern urlPattern = Pattern.compile(".*");
+        Set<HttpMethod> httpMethods = Set.of(HttpMethod.GET);
+        List<HarEntry> entries = List.of(new HarEntry());
+        when(proxy.findRecordedEntries(urlPattern, httpMethods)).thenReturn(entries);
+        assertEquals(entries, threadedProxy.findRecordedEntries(urlPattern, httpMethods));
+    }
+
     @Test
     void testClearRequestFilters() throws UnknownHostException
     {
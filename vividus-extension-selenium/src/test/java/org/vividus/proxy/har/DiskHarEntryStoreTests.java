@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy.har;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarRequest;
+import com.browserup.harreader.model.HarResponse;
+import com.browserup.harreader.model.HttpMethod;
+
+import org.junit.jupiter.api.Test;
+
+class DiskHarEntryStoreTests
+{
+    private static final String FIRST_URL = "https://example.com/first";
+    private static final String SECOND_URL = "https://example.com/second";
+
+    @Test
+    void shouldFindEntriesByUrlAndMethod() throws IOException
+    {
+        try (DiskHarEntryStore store = new DiskHarEntryStore())
+        {
+            store.append(List.of(createHarEntry(FIRST_URL, HttpMethod.GET, 200),
+                    createHarEntry(SECOND_URL, HttpMethod.POST, 201)));
+            store.append(List.of(createHarEntry(FIRST_URL, HttpMethod.POST, 302)));
+            assertEquals(3, store.size());
+
+            List<HarEntry> entries = store.findEntries(Pattern.compile(".*/first"), Set.of(HttpMethod.POST));
+            assertEquals(1, entries.size());
+            HarEntry entry = entries.get(0);
+            assertEquals(FIRST_URL, entry.getRequest().getUrl());
+            assertEquals(HttpMethod.POST, entry.getRequest().getMethod());
+            assertEquals(302, entry.getResponse().getStatus());
+
+            assertEquals(List.of(FIRST_URL, SECOND_URL, FIRST_URL),
+                    getUrls(store.findEntries(Pattern.compile(".*"), Set.of(HttpMethod.GET, HttpMethod.POST))));
+            assertEquals(List.of(), store.findEntries(Pattern.compile(".*"), Set.of(HttpMethod.PUT)));
+        }
+    }
+
+    @Test
+    void shouldReadAllEntriesInOrder() throws IOException
+    {
+        try (DiskHarEntryStore store = new DiskHarEntryStore())
+        {
+            store.append(List.of(createHarEntry(SECOND_URL, HttpMethod.GET, 200)));
+            store.append(List.of(createHarEntry(FIRST_URL, HttpMethod.GET, 200)));
+            assertEquals(List.of(SECOND_URL, FIRST_URL), getUrls(store.readEntries()));
+        }
+    }
+
+    @Test
+    void shouldClearEntries() throws IOException
+    {
+        try (DiskHarEntryStore store = new DiskHarEntryStore())
+        {
+            store.append(List.of(createHarEntry(FIRST_URL, HttpMethod.GET, 200)));
+            store.clear();
+            assertEquals(0, store.size());
+            assertEquals(0, Files.size(store.getFile()));
+            store.append(List.of(createHarEntry(SECOND_URL, HttpMethod.GET, 200)));
+            assertEquals(List.of(SECOND_URL), getUrls(store.readEntries()));
+        }
+    }
+
+    @Test
+    void shouldDeleteFileOnClose() throws IOException
+    {
+        DiskHarEntryStore store = new DiskHarEntryStore();
+        Path file = store.getFile();
+        assertTrue(Files.exists(file));
+        store.close();
+        assertFalse(Files.exists(file));
+    }
+
+    private static HarEntry createHarEntry(String url, HttpMethod method, int status)
+    {
+        HarRequest request = new HarRequest();
+        request.setUrl(url);
+        request.setMethod(method);
+        HarResponse response = new HarResponse();
+        response.setStatus(status);
+        HarEntry entry = new HarEntry();
+        entry.setRequest(request);
+        entry.setResponse(response);
+        entry.setStartedDateTime(new Date());
+        return entry;
+    }
+
+    private static List<String> getUrls(List<HarEntry> entries)
+    {
+        return entries.stream().map(HarEntry::getRequest).map(HarRequest::getUrl).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy.har;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarLog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.littleshoot.proxy.HttpFilters;
+import org.mockito.ArgumentCaptor;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+
+class InFlightRequestsTrackerTests
+{
+    private static final String URI = "/path?query=value";
+
+    private final InFlightRequestsTracker tracker = new InFlightRequestsTracker(Duration.ofMinutes(1));
+    private final HarLog log = new HarLog();
+    private final ChannelHandlerContext ctx = mock(ChannelHandlerContext.class, RETURNS_DEEP_STUBS);
+
+    @BeforeEach
+    void beforeEach()
+    {
+        log.setEntries(new ArrayList<>());
+        tracker.trackEntries(log);
+    }
+
+    @Test
+    void shouldTrackRequestUntilResponseIsReceived()
+    {
+        HttpFilters filters = startRequest(HttpMethod.GET, URI);
+        HarEntry entry = captureEntry();
+        assertTrue(tracker.isInFlight(entry));
+        filters.serverToProxyResponse(LastHttpContent.EMPTY_LAST_CONTENT);
+        filters.proxyToClientResponse(LastHttpContent.EMPTY_LAST_CONTENT);
+        assertTrue(tracker.isInFlight(entry));
+        filters.serverToProxyResponseReceived();
+        assertFalse(tracker.isInFlight(entry));
+    }
+
+    @Test
+    void shouldMatchEntriesToRequestsExactly()
+    {
+        HttpFilters firstRequest = startRequest(HttpMethod.GET, URI);
+        HarEntry firstEntry = captureEntry();
+        startRequest(HttpMethod.GET, URI);
+        HarEntry secondEntry = captureEntry();
+        HarEntry entryWithoutRequest = captureEntry();
+        firstRequest.serverToProxyResponse(LastHttpContent.EMPTY_LAST_CONTENT);
+        firstRequest.serverToProxyResponseReceived();
+        assertFalse(tracker.isInFlight(firstEntry));
+        assertTrue(tracker.isInFlight(secondEntry));
+        assertFalse(tracker.isInFlight(entryWithoutRequest));
+    }
+
+    @Test
+    void shouldNotTrackConnectRequests()
+    {
+        startRequest(HttpMethod.CONNECT, "example.com:443");
+        assertFalse(tracker.isInFlight(captureEntry()));
+    }
+
+    @Test
+    void shouldStopTrackingRequestOnClientDisconnect() throws Exception
+    {
+        startRequest(HttpMethod.GET, URI);
+        HarEntry entry = captureEntry();
+        ChannelFuture closeFuture = ctx.channel().closeFuture();
+        ArgumentCaptor<ChannelFutureListener> listenerCaptor = ArgumentCaptor.forClass(ChannelFutureListener.class);
+        verify(closeFuture).addListener(listenerCaptor.capture());
+        ChannelFutureListener listener = listenerCaptor.getValue();
+        assertTrue(tracker.isInFlight(entry));
+        listener.operationComplete(closeFuture);
+        assertFalse(tracker.isInFlight(entry));
+        verify(closeFuture).removeListener(listener);
+    }
+
+    @Test
+    void shouldStopTrackingExpiredRequests() throws InterruptedException
+    {
+        InFlightRequestsTracker expiringTracker = new InFlightRequestsTracker(Duration.ZERO);
+        expiringTracker.trackEntries(log);
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, URI);
+        expiringTracker.filterRequest(request, ctx).clientToProxyRequest(request);
+        HarEntry entry = captureEntry();
+        Thread.sleep(2);
+        expiringTracker.removeExpired();
+        assertFalse(expiringTracker.isInFlight(entry));
+    }
+
+    @Test
+    void shouldKeepExistingEntriesOfTrackedLog()
+    {
+        HarEntry entry = new HarEntry();
+        HarLog otherLog = new HarLog();
+        otherLog.setEntries(new ArrayList<>(List.of(entry)));
+        tracker.trackEntries(otherLog);
+        List<HarEntry> entries = otherLog.getEntries();
+        tracker.trackEntries(otherLog);
+        assertSame(entries, otherLog.getEntries());
+        assertEquals(List.of(entry), entries);
+    }
+
+    static Stream<Consumer<HttpFilters>> failures()
+    {
+        return Stream.of(
+                HttpFilters::serverToProxyResponseTimedOut,
+                HttpFilters::proxyToServerConnectionFailed,
+                filters -> filters.proxyToServerResolutionFailed("example.com:443"),
+                filters -> filters.proxyToClientResponse(LastHttpContent.EMPTY_LAST_CONTENT)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("failures")
+    void shouldStopTrackingFailedOrShortCircuitedRequests(Consumer<HttpFilters> failure)
+    {
+        HttpFilters filters = startRequest(HttpMethod.GET, URI);
+        HarEntry entry = captureEntry();
+        failure.accept(filters);
+        assertFalse(tracker.isInFlight(entry));
+    }
+
+    private HttpFilters startRequest(HttpMethod method, String uri)
+    {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, method, uri);
+        HttpFilters filters = tracker.filterRequest(request, ctx);
+        filters.clientToProxyRequest(request);
+        return filters;
+    }
+
+    private HarEntry captureEntry()
+    {
+        HarEntry entry = new HarEntry();
+        log.getEntries().add(entry);
+        return entry;
+    }
+}
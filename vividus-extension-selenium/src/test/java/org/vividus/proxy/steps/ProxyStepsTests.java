@@ -19,6 +19,7 @@ package org.vividus.proxy.steps;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -393,6 +394,7 @@ class ProxyStepsTests
 
         Har har = new Har();
         har.setLog(harLog);
+        when(proxy.findRecordedEntries(any(), any())).thenCallRealMethod();
         when(proxy.getRecordedData()).thenReturn(har);
         return OBJECT_MAPPER.writeValueAsBytes(har);
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,14 +18,19 @@ package org.vividus.ui.action;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -41,6 +46,7 @@ import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -52,6 +58,7 @@ import org.vividus.testdouble.TestElementSearch;
 import org.vividus.testdouble.TestLocatorType;
 import org.vividus.ui.action.search.ElementActionService;
 import org.vividus.ui.action.search.IElementFilterAction;
+import org.vividus.ui.action.search.IJavascriptElementFilterAction;
 import org.vividus.ui.action.search.Locator;
 import org.vividus.ui.action.search.SearchParameters;
 import org.vividus.ui.context.IUiContext;
@@ -68,6 +75,7 @@ class SearchActionsTests
     @Mock private TestElementFilter testFilter;
     @Mock private IUiContext uiContext;
     @Mock private ElementActionService elementActionService;
+    @Mock private JavascriptActions javascriptActions;
     @InjectMocks private SearchActions searchActions;
 
     private final TestLogger logger = TestLoggerFactory.getTestLogger(SearchActions.class);
@@ -234,4 +242,75 @@ class SearchActionsTests
         assertEquals(List.of(), foundElements);
         assertThat(logger.getLoggingEvents(), is(empty()));
     }
+
+    @Test
+    void shouldFilterElementsInBrowserUsingSingleScript()
+    {
+        searchActions.setScriptFilteringEnabled(true);
+        Locator locator = new Locator(TestLocatorType.SEARCH, VALUE);
+        String filterOne = "filter-one";
+        locator.addFilter(TestLocatorType.FILTER, filterOne);
+        locator.addFilter(TestLocatorType.FILTER, "");
+        String filterTwo = "filter-two";
+        locator.addFilter(TestLocatorType.FILTER, filterTwo);
+
+        WebElement element1 = mock(WebElement.class);
+        WebElement element2 = mock(WebElement.class);
+        List<WebElement> elements = List.of(element1, element2);
+        IJavascriptElementFilterAction scriptFilter = mock(IJavascriptElementFilterAction.class);
+        String filterScript = "return element.id === value;";
+        when(scriptFilter.getFilterScript()).thenReturn(filterScript);
+        when(scriptFilter.getType()).thenReturn(TestLocatorType.FILTER);
+        when(elementActionService.find(TestLocatorType.FILTER)).thenReturn(scriptFilter);
+        when(testSearch.search(searchContext, locator.getSearchParameters())).thenReturn(elements);
+        ArgumentCaptor<String> scriptCaptor = ArgumentCaptor.forClass(String.class);
+        when(javascriptActions.executeScript(scriptCaptor.capture(), eq(elements),
+                eq(List.of(filterOne, filterTwo)))).thenReturn(List.of(1L));
+
+        assertEquals(List.of(element2), searchActions.findElements(searchContext, locator));
+
+        assertThat(scriptCaptor.getValue(), containsString(filterScript));
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(
+            info("{} of {} elements were filtered out in browser by {}", 1, 2,
+                    "FILTER filter with 'filter-one' value, FILTER filter with 'filter-two' value")
+        )));
+        verify(scriptFilter, never()).filter(anyList(), anyString());
+    }
+
+    @Test
+    void shouldApplyScriptFiltersBeforeNonScriptFilterToKeepFiltersOrder()
+    {
+        searchActions.setScriptFilteringEnabled(true);
+        Locator locator = new Locator(TestLocatorType.SEARCH, VALUE);
+        locator.addFilter(TestLocatorType.FILTER, VALUE);
+        String additionalValue = "additional-value";
+        locator.addFilter(TestLocatorType.ADDITIONAL_FILTER, additionalValue);
+
+        WebElement element1 = mock(WebElement.class);
+        WebElement element2 = mock(WebElement.class);
+        List<WebElement> elements = List.of(element1, element2);
+        IJavascriptElementFilterAction scriptFilter = mock(IJavascriptElementFilterAction.class);
+        when(scriptFilter.getFilterScript()).thenReturn("return true;");
+        when(elementActionService.find(TestLocatorType.FILTER)).thenReturn(scriptFilter);
+        when(elementActionService.find(TestLocatorType.ADDITIONAL_FILTER)).thenReturn(testFilter);
+        when(testSearch.search(searchContext, locator.getSearchParameters())).thenReturn(elements);
+        when(javascriptActions.executeScript(anyString(), eq(elements), eq(List.of(VALUE))))
+                .thenReturn(List.of(0L, 1L));
+        when(testFilter.filter(elements, additionalValue)).thenReturn(List.of(element1));
+
+        assertEquals(List.of(element1), searchActions.findElements(searchContext, locator));
+    }
+
+    @Test
+    void shouldNotExecuteScriptIfNoElementsFound()
+    {
+        searchActions.setScriptFilteringEnabled(true);
+        Locator locator = new Locator(TestLocatorType.SEARCH, VALUE).addFilter(TestLocatorType.FILTER, VALUE);
+        IJavascriptElementFilterAction scriptFilter = mock(IJavascriptElementFilterAction.class);
+        when(elementActionService.find(TestLocatorType.FILTER)).thenReturn(scriptFilter);
+        when(testSearch.search(searchContext, locator.getSearchParameters())).thenReturn(List.of());
+
+        assertEquals(List.of(), searchActions.findElements(searchContext, locator));
+        verifyNoInteractions(javascriptActions);
+    }
 }
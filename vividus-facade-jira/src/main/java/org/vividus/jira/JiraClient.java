@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package org.vividus.jira;
 
 import java.io.IOException;
 
+import com.google.common.util.concurrent.RateLimiter;
+
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
@@ -30,11 +32,25 @@ public class JiraClient
 {
     private final String endpoint;
     private final IHttpClient httpClient;
+    private final RateLimiter rateLimiter;
 
     public JiraClient(String endpoint, IHttpClient httpClient)
+    {
+        this(endpoint, httpClient, null);
+    }
+
+    /**
+     * Creates JIRA client
+     * @param endpoint    JIRA endpoint
+     * @param httpClient  HTTP client to send requests with
+     * @param rateLimiter rate limiter shared by all the requests to the JIRA instance, each request waits for the
+     *                    permit before being sent, <code>null</code> means the requests are not limited
+     */
+    public JiraClient(String endpoint, IHttpClient httpClient, RateLimiter rateLimiter)
     {
         this.endpoint = endpoint;
         this.httpClient = httpClient;
+        this.rateLimiter = rateLimiter;
     }
 
     public String executeGet(String relativeUrl) throws IOException
@@ -66,6 +82,10 @@ public class JiraClient
                 .withContent(content)
                 .build();
 
+        if (rateLimiter != null)
+        {
+            rateLimiter.acquire();
+        }
         return httpClient.execute(httpRequest).getResponseBodyAsString();
     }
 }
@@ -16,6 +16,7 @@
 
 package org.vividus.jira;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
@@ -23,18 +24,23 @@ import java.util.concurrent.ExecutionException;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import org.apache.http.HttpStatus;
 import org.vividus.http.client.HttpClientConfig;
 import org.vividus.http.client.IHttpClient;
 import org.vividus.http.client.IHttpClientFactory;
+import org.vividus.http.client.TooManyRequestsRetryStrategy;
 import org.vividus.http.handler.HttpResponseHandler;
 import org.vividus.http.handler.StatusCodeValidatingHandler;
 import org.vividus.jira.model.JiraConfiguration;
 
 public class JiraClientProvider
 {
+    private static final int TOO_MANY_REQUESTS_MAX_RETRIES = 5;
+    private static final Duration TOO_MANY_REQUESTS_RETRY_INTERVAL = Duration.ofSeconds(1);
+
     private final JiraConfigurationProvider jiraConfigurationProvider;
     private final IHttpClientFactory httpClientFactory;
 
@@ -49,9 +55,17 @@ public class JiraClientProvider
                     HttpResponseHandler statusCodeHandler = new StatusCodeValidatingHandler(HttpStatus.SC_OK, 299,
                             "JIRA");
                     clientConfig.setHttpResponseHandlers(List.of(statusCodeHandler));
+                    if (clientConfig.getServiceUnavailableRetryStrategy() == null)
+                    {
+                        clientConfig.setServiceUnavailableRetryStrategy(new TooManyRequestsRetryStrategy(
+                                TOO_MANY_REQUESTS_MAX_RETRIES, TOO_MANY_REQUESTS_RETRY_INTERVAL));
+                    }
                     IHttpClient httpClient = httpClientFactory.buildHttpClient(clientConfig);
 
-                    return new JiraClient(configuration.getEndpoint(), httpClient);
+                    Double maxRequestsPerSecond = configuration.getMaxRequestsPerSecond();
+                    RateLimiter rateLimiter = maxRequestsPerSecond != null ? RateLimiter.create(maxRequestsPerSecond)
+                            : null;
+                    return new JiraClient(configuration.getEndpoint(), httpClient, rateLimiter);
                 }
             });
 
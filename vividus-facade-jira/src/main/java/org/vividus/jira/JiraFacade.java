@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,18 +17,27 @@
 package org.vividus.jira;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.common.collect.Lists;
 
 import org.apache.commons.lang3.function.FailableSupplier;
 import org.vividus.jira.databind.IssueLinkSerializer;
 import org.vividus.jira.model.IssueLink;
 import org.vividus.jira.model.JiraEntity;
+import org.vividus.jira.model.JiraIssue;
 import org.vividus.jira.model.Project;
-import org.vividus.util.json.JsonPathUtils;
 
 public class JiraFacade
 {
@@ -39,12 +48,16 @@ public class JiraFacade
     private static final String REST_API_ENDPOINT = "/rest/api/latest/";
     private static final String ISSUE = "issue/";
     private static final String ISSUE_ENDPOINT = REST_API_ENDPOINT + ISSUE;
+    private static final int MAX_ISSUE_KEYS_PER_SEARCH = 100;
+    private static final String STATUS = "status";
 
     private final JiraClientProvider jiraClientProvider;
+    private final JiraIssueCache issueCache;
 
-    public JiraFacade(JiraClientProvider jiraClientProvider)
+    public JiraFacade(JiraClientProvider jiraClientProvider, JiraIssueCache issueCache)
     {
         this.jiraClientProvider = jiraClientProvider;
+        this.issueCache = issueCache;
     }
 
     public String createIssue(String issueBody, Optional<String> jiraInstanceKey)
@@ -55,7 +68,10 @@ public class JiraFacade
 
     public String updateIssue(String issueKey, String issueBody) throws IOException, JiraConfigurationException
     {
-        return jiraClientProvider.getByIssueKey(issueKey).executePut(ISSUE_ENDPOINT + issueKey, issueBody);
+        String response = jiraClientProvider.getByIssueKey(issueKey).executePut(ISSUE_ENDPOINT + issueKey,
+                issueBody);
+        issueCache.invalidate(issueKey);
+        return response;
     }
 
     public void createIssueLink(String inwardIssueKey, String outwardIssueKey, String type)
@@ -68,8 +84,7 @@ public class JiraFacade
 
     public String getIssueStatus(String issueKey) throws IOException, JiraConfigurationException
     {
-        String issue = jiraClientProvider.getByIssueKey(issueKey).executeGet(ISSUE_ENDPOINT + issueKey);
-        return JsonPathUtils.getData(issue, "$.fields.status.name");
+        return getCachedIssue(issueKey).getStatus();
     }
 
     public Project getProject(String projectKey) throws IOException, JiraConfigurationException
@@ -80,13 +95,133 @@ public class JiraFacade
 
     public JiraEntity getIssue(String issueKey) throws IOException, JiraConfigurationException
     {
-        return getJiraEntity(ISSUE, issueKey, JiraEntity.class);
+        return getCachedIssue(issueKey);
     }
 
-    private <T> T getJiraEntity(String relativeUrl, String entityKey, Class<T> entityType)
-            throws IOException, JiraConfigurationException
+    /**
+     * Gets the issues by their keys, the issues which are not cached yet are retrieved using JQL search: the keys are
+     * grouped by JIRA instance and requested by chunks, so many issues are retrieved with a few requests. The keys of
+     * the non-existent issues are ignored, also the keys of the moved issues may differ from the requested ones, but
+     * such issues are cached under the requested keys too.
+     *
+     * @param issueKeys the keys of the issues to get
+     * @return the found issues with their IDs and keys
+     * @throws IOException if any I/O error occurred
+     * @throws JiraConfigurationException if any error occurred during JIRA configuration resolution
+     */
+    public List<JiraEntity> getIssues(Collection<String> issueKeys) throws IOException, JiraConfigurationException
+    {
+        List<JiraEntity> issues = new ArrayList<>(issueKeys.size());
+        Map<JiraClient, List<String>> issueKeysPerClient = new LinkedHashMap<>();
+        for (String issueKey : issueKeys)
+        {
+            Optional<JiraIssue> cachedIssue = issueCache.get(issueKey);
+            if (cachedIssue.isPresent())
+            {
+                issues.add(cachedIssue.get());
+                continue;
+            }
+            issueKeysPerClient.computeIfAbsent(jiraClientProvider.getByIssueKey(issueKey), c -> new ArrayList<>())
+                    .add(issueKey);
+        }
+        for (Map.Entry<JiraClient, List<String>> entry : issueKeysPerClient.entrySet())
+        {
+            for (List<String> chunk : Lists.partition(entry.getValue(), MAX_ISSUE_KEYS_PER_SEARCH))
+            {
+                String jql = chunk.stream().collect(Collectors.joining("\",\"", "key in (\"", "\")"));
+                List<JiraIssue> foundIssues = searchIssues(entry.getKey(), jql);
+                for (JiraIssue issue : foundIssues)
+                {
+                    issueCache.put(issue.getKey(), issue);
+                    issues.add(issue);
+                }
+                cacheMovedIssues(entry.getKey(), chunk, foundIssues);
+            }
+        }
+        return issues;
+    }
+
+    /**
+     * Caches the moved issues under the requested keys, the same as {@link #getCachedIssue(String)} does. The search
+     * returns the moved issues with their new keys, so the only moved issue is matched to the only requested key
+     * missing in the search result, otherwise the missing keys are searched one by one.
+     */
+    private void cacheMovedIssues(JiraClient jiraClient, List<String> requestedKeys, List<JiraIssue> foundIssues)
+            throws IOException
+    {
+        Set<String> foundKeys = foundIssues.stream().map(JiraIssue::getKey).collect(Collectors.toSet());
+        List<String> missingKeys = requestedKeys.stream().filter(k -> !foundKeys.contains(k))
+                .collect(Collectors.toList());
+        List<JiraIssue> movedIssues = foundIssues.stream().filter(i -> !requestedKeys.contains(i.getKey()))
+                .collect(Collectors.toList());
+        if (movedIssues.isEmpty())
+        {
+            return;
+        }
+        if (missingKeys.size() == 1 && movedIssues.size() == 1)
+        {
+            issueCache.put(missingKeys.get(0), movedIssues.get(0));
+            return;
+        }
+        for (String missingKey : missingKeys)
+        {
+            List<JiraIssue> movedIssue = searchIssues(jiraClient, "key = \"" + missingKey + "\"");
+            if (!movedIssue.isEmpty())
+            {
+                issueCache.put(missingKey, movedIssue.get(0));
+            }
+        }
+    }
+
+    private JiraIssue getCachedIssue(String issueKey) throws IOException, JiraConfigurationException
+    {
+        Optional<JiraIssue> cachedIssue = issueCache.get(issueKey);
+        if (cachedIssue.isPresent())
+        {
+            return cachedIssue.get();
+        }
+        String responseBody = jiraClientProvider.getByIssueKey(issueKey)
+                .executeGet(ISSUE_ENDPOINT + issueKey + "?fields=" + STATUS);
+        JiraIssue issue = toJiraIssue(OBJECT_MAPPER.readTree(responseBody));
+        issueCache.put(issueKey, issue);
+        return issue;
+    }
+
+    private static List<JiraIssue> searchIssues(JiraClient jiraClient, String jql) throws IOException
+    {
+        List<JiraIssue> issues = new ArrayList<>();
+        int startAt = 0;
+        int total;
+        JsonNode foundIssues;
+        do
+        {
+            Map<String, Object> searchRequest = new LinkedHashMap<>();
+            searchRequest.put("jql", jql);
+            searchRequest.put("startAt", startAt);
+            searchRequest.put("fields", List.of(STATUS));
+            searchRequest.put("validateQuery", "warn");
+            String responseBody = jiraClient.executePost(REST_API_ENDPOINT + "search",
+                    OBJECT_MAPPER.writeValueAsString(searchRequest));
+            JsonNode searchResult = OBJECT_MAPPER.readTree(responseBody);
+            total = searchResult.path("total").asInt();
+            foundIssues = searchResult.path("issues");
+            for (JsonNode issue : foundIssues)
+            {
+                issues.add(toJiraIssue(issue));
+            }
+            startAt += foundIssues.size();
+        }
+        while (startAt < total && foundIssues.size() > 0);
+        return issues;
+    }
+
+    private static JiraIssue toJiraIssue(JsonNode issueNode)
     {
-        return getJiraEntity(relativeUrl, entityKey, () -> jiraClientProvider.getByIssueKey(entityKey), entityType);
+        JiraIssue issue = new JiraIssue();
+        issue.setId(issueNode.path("id").textValue());
+        issue.setKey(issueNode.path("key").textValue());
+        issue.setStatus(issueNode.path("fields").path(STATUS).path("name").textValue());
+        return issue;
     }
 
     private <T> T getJiraEntity(String relativeUrl, String entityKey,
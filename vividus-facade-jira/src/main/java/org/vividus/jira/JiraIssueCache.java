@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.jira;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.jira.model.JiraIssue;
+
+/**
+ * Cache of JIRA issues by their keys. The cached issues expire once the time-to-live is passed since the moment they
+ * were retrieved from JIRA. If the file is specified, the cache is loaded from it on start and saved to it on
+ * shutdown, so the issues are reused between runs while they are not expired.
+ */
+public class JiraIssueCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(JiraIssueCache.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final long timeToLiveMillis;
+    private final Path file;
+    private final Map<String, CachedIssue> issues = new ConcurrentHashMap<>();
+
+    public JiraIssueCache(Duration timeToLive, Path file)
+    {
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.file = file;
+    }
+
+    public Optional<JiraIssue> get(String issueKey)
+    {
+        CachedIssue cachedIssue = issues.get(issueKey);
+        if (cachedIssue == null)
+        {
+            return Optional.empty();
+        }
+        if (isExpired(cachedIssue))
+        {
+            issues.remove(issueKey, cachedIssue);
+            return Optional.empty();
+        }
+        return Optional.of(cachedIssue.issue);
+    }
+
+    public void put(String issueKey, JiraIssue issue)
+    {
+        issues.put(issueKey, new CachedIssue(issue, System.currentTimeMillis()));
+    }
+
+    public void invalidate(String issueKey)
+    {
+        issues.remove(issueKey);
+    }
+
+    public void load()
+    {
+        if (file == null || !Files.exists(file))
+        {
+            return;
+        }
+        try
+        {
+            Map<String, CachedIssue> persistedIssues = OBJECT_MAPPER.readValue(file.toFile(),
+                    new TypeReference<Map<String, CachedIssue>>() { });
+            persistedIssues.values().removeIf(this::isExpired);
+            issues.putAll(persistedIssues);
+            LOGGER.atInfo().addArgument(persistedIssues::size).addArgument(file)
+                    .log("{} JIRA issues are loaded from the cache file {}");
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().addArgument(file).setCause(e).log("Unable to load JIRA issues from the cache file {}");
+        }
+    }
+
+    public void save()
+    {
+        if (file == null)
+        {
+            return;
+        }
+        issues.values().removeIf(this::isExpired);
+        try
+        {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null)
+            {
+                Files.createDirectories(parent);
+            }
+            OBJECT_MAPPER.writeValue(file.toFile(), issues);
+        }
+        catch (IOException e)
+        {
+            LOGGER.atWarn().addArgument(file).setCause(e).log("Unable to save JIRA issues to the cache file {}");
+        }
+    }
+
+    private boolean isExpired(CachedIssue cachedIssue)
+    {
+        return System.currentTimeMillis() - cachedIssue.retrievedAt >= timeToLiveMillis;
+    }
+
+    private static final class CachedIssue
+    {
+        @JsonProperty
+        private JiraIssue issue;
+        @JsonProperty
+        private long retrievedAt;
+
+        private CachedIssue()
+        {
+        }
+
+        private CachedIssue(JiraIssue issue, long retrievedAt)
+        {
+            this.issue = issue;
+            this.retrievedAt = retrievedAt;
+        }
+    }
+}
@@ -30,6 +30,7 @@ public class JiraConfiguration
     @JsonProperty("http")
     private HttpClientConfig httpClientConfig;
     private Map<String, String> fieldsMapping;
+    private Double maxRequestsPerSecond;
 
     public Pattern getProjectKeyRegex()
     {
@@ -70,4 +71,14 @@ public class JiraConfiguration
     {
         this.fieldsMapping = fieldsMapping;
     }
+
+    public Double getMaxRequestsPerSecond()
+    {
+        return maxRequestsPerSecond;
+    }
+
+    public void setMaxRequestsPerSecond(Double maxRequestsPerSecond)
+    {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -14,19 +14,19 @@
  * limitations under the License.
  */
 
-package org.vividus.zephyr.model;
+package org.vividus.jira.model;
 
-public class ExecutionStatus
+public class JiraIssue extends JiraEntity
 {
     private String status;
 
-    public ExecutionStatus(String status)
+    public String getStatus()
     {
-        this.status = status;
+        return status;
     }
 
-    public String getStatus()
+    public void setStatus(String status)
     {
-        return status;
+        this.status = status;
     }
 }
@@ -19,6 +19,7 @@ package org.vividus.jira;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -35,6 +36,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.http.client.HttpClientConfig;
 import org.vividus.http.client.IHttpClient;
 import org.vividus.http.client.IHttpClientFactory;
+import org.vividus.http.client.TooManyRequestsRetryStrategy;
 import org.vividus.jira.model.JiraConfiguration;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,6 +58,7 @@ class JiraClientProviderTests
 
         assertNotNull(jiraClientProvider.getByJiraConfigurationKey(jiraConfigKey));
         verify(httpClientFactory).buildHttpClient(config);
+        verify(config).setServiceUnavailableRetryStrategy(any(TooManyRequestsRetryStrategy.class));
     }
 
     @Test
@@ -64,6 +67,7 @@ class JiraClientProviderTests
         HttpClientConfig config = mock(HttpClientConfig.class);
         JiraConfiguration configuration = new JiraConfiguration();
         configuration.setHttpClientConfig(config);
+        configuration.setMaxRequestsPerSecond(10.0);
         String issueKey = "VVDS-1408";
         when(jiraConfigurationProvider.getByIssueKey(issueKey)).thenReturn(configuration);
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,13 +17,18 @@
 package org.vividus.jira;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
+import com.google.common.util.concurrent.RateLimiter;
+
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
@@ -32,6 +37,7 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.http.client.HttpResponse;
@@ -79,6 +85,19 @@ class JiraClientTests
                 && "https://jira.com/testPut".equals(httpRequest.getURI().toString())));
     }
 
+    @Test
+    void shouldAcquirePermitBeforeRequest() throws IOException
+    {
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        jiraClient = new JiraClient(JIRA_URI, httpClient, rateLimiter);
+        String relativeUrl = "/testLimited";
+        String body = mockHttpMethodExecution(HttpGet.class, HttpStatus.SC_OK, relativeUrl);
+        assertEquals(body, jiraClient.executeGet(relativeUrl));
+        InOrder ordered = inOrder(rateLimiter, httpClient);
+        ordered.verify(rateLimiter).acquire();
+        ordered.verify(httpClient).execute(any());
+    }
+
     private String mockHttpMethodExecution(Class<? extends HttpRequestBase> requestClass, int statusCode,
             String relativeUrl) throws IOException
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,18 +18,42 @@ package org.vividus.jira;
 
 import static java.util.Optional.empty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.http.client.HttpClient;
+import org.vividus.http.client.TooManyRequestsRetryStrategy;
 import org.vividus.jira.model.JiraEntity;
 import org.vividus.jira.model.Project;
 
@@ -39,10 +63,21 @@ class JiraFacadeTests
     private static final String ISSUE_ID = "issue id";
     private static final String ISSUE_BODY = "issue body";
     private static final String ISSUE_ENDPOINT = "/rest/api/latest/issue/";
+    private static final String FIELDS = "?fields=status";
+    private static final String OPEN_ISSUE = "{\"id\":\"001\",\"key\":\"issue id\","
+            + "\"fields\":{\"status\": {\"name\" : \"Open\"}}}";
+    private static final String OPEN = "Open";
+    private static final String SEARCH_ENDPOINT = "/rest/api/latest/search";
 
     @Mock private JiraClient jiraClient;
     @Mock private JiraClientProvider jiraClientProvider;
-    @InjectMocks private JiraFacade jiraFacade;
+    private JiraFacade jiraFacade;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        jiraFacade = new JiraFacade(jiraClientProvider, new JiraIssueCache(Duration.ofMinutes(1), null));
+    }
 
     @AfterEach
     void afterEach()
@@ -83,18 +118,34 @@ class JiraFacadeTests
     void shouldReturnIssueStatue() throws IOException, JiraConfigurationException
     {
         when(jiraClientProvider.getByIssueKey(ISSUE_ID)).thenReturn(jiraClient);
-        when(jiraClient.executeGet(ISSUE_ENDPOINT + ISSUE_ID))
-                .thenReturn("{\"fields\":{\"status\": {\"name\" : \"Open\"}}}");
-        assertEquals("Open", jiraFacade.getIssueStatus(ISSUE_ID));
+        when(jiraClient.executeGet(ISSUE_ENDPOINT + ISSUE_ID + FIELDS)).thenReturn(OPEN_ISSUE);
+        assertEquals(OPEN, jiraFacade.getIssueStatus(ISSUE_ID));
+        assertEquals(OPEN, jiraFacade.getIssueStatus(ISSUE_ID));
+        verify(jiraClient, times(1)).executeGet(ISSUE_ENDPOINT + ISSUE_ID + FIELDS);
     }
 
     @Test
     void shouldGetIssue() throws IOException, JiraConfigurationException
     {
         when(jiraClientProvider.getByIssueKey(ISSUE_ID)).thenReturn(jiraClient);
-        when(jiraClient.executeGet(ISSUE_ENDPOINT + ISSUE_ID)).thenReturn("{\"id\":\"001\"}");
+        when(jiraClient.executeGet(ISSUE_ENDPOINT + ISSUE_ID + FIELDS)).thenReturn(OPEN_ISSUE);
         JiraEntity issue = jiraFacade.getIssue(ISSUE_ID);
         assertEquals("001", issue.getId());
+        assertEquals(ISSUE_ID, issue.getKey());
+        assertEquals(OPEN, jiraFacade.getIssueStatus(ISSUE_ID));
+    }
+
+    @Test
+    void shouldRetrieveIssueAgainAfterItsUpdate() throws IOException, JiraConfigurationException
+    {
+        when(jiraClientProvider.getByIssueKey(ISSUE_ID)).thenReturn(jiraClient);
+        when(jiraClient.executeGet(ISSUE_ENDPOINT + ISSUE_ID + FIELDS)).thenReturn(OPEN_ISSUE).thenReturn(
+                "{\"fields\":{\"status\": {\"name\" : \"Closed\"}}}");
+        when(jiraClient.executePut(ISSUE_ENDPOINT + ISSUE_ID, ISSUE_BODY)).thenReturn(ISSUE_ID);
+        assertEquals(OPEN, jiraFacade.getIssueStatus(ISSUE_ID));
+        jiraFacade.updateIssue(ISSUE_ID, ISSUE_BODY);
+        assertEquals("Closed", jiraFacade.getIssueStatus(ISSUE_ID));
+        verify(jiraClient, times(2)).executeGet(ISSUE_ENDPOINT + ISSUE_ID + FIELDS);
     }
 
     @Test
@@ -113,4 +164,151 @@ class JiraFacadeTests
         assertEquals("0022", project.getVersions().get(1).getId());
         assertEquals("Release 2.0", project.getVersions().get(1).getName());
     }
+
+    @Test
+    void shouldGetIssuesUsingPagedSearch() throws IOException, JiraConfigurationException
+    {
+        String issueKey1 = "TEST-1";
+        String issueKey2 = "TEST-2";
+        when(jiraClientProvider.getByIssueKey(issueKey1)).thenReturn(jiraClient);
+        when(jiraClientProvider.getByIssueKey(issueKey2)).thenReturn(jiraClient);
+        String searchRequest = "{\"jql\":\"key in (\\\"TEST-1\\\",\\\"TEST-2\\\")\",\"startAt\":%d,"
+                + "\"fields\":[\"status\"],\"validateQuery\":\"warn\"}";
+        when(jiraClient.executePost(SEARCH_ENDPOINT, String.format(searchRequest, 0))).thenReturn(
+                "{\"startAt\":0,\"maxResults\":1,\"total\":2,\"issues\":[{\"id\":\"001\",\"key\":\"TEST-1\","
+                        + "\"fields\":{\"status\":{\"name\":\"Open\"}}}]}");
+        when(jiraClient.executePost(SEARCH_ENDPOINT, String.format(searchRequest, 1))).thenReturn(
+                "{\"startAt\":1,\"maxResults\":1,\"total\":2,\"issues\":[{\"id\":\"002\",\"key\":\"TEST-2\"}]}");
+        List<JiraEntity> issues = jiraFacade.getIssues(List.of(issueKey1, issueKey2));
+        assertEquals(2, issues.size());
+        assertEquals("001", issues.get(0).getId());
+        assertEquals(issueKey1, issues.get(0).getKey());
+        assertEquals("002", issues.get(1).getId());
+        assertEquals(issueKey2, issues.get(1).getKey());
+        assertEquals(OPEN, jiraFacade.getIssueStatus(issueKey1));
+    }
+
+    @Test
+    void shouldSearchOnlyNotCachedIssues() throws IOException, JiraConfigurationException
+    {
+        String issueKey = "TEST-3";
+        when(jiraClientProvider.getByIssueKey(ISSUE_ID)).thenReturn(jiraClient);
+        when(jiraClientProvider.getByIssueKey(issueKey)).thenReturn(jiraClient);
+        when(jiraClient.executeGet(ISSUE_ENDPOINT + ISSUE_ID + FIELDS)).thenReturn(OPEN_ISSUE);
+        when(jiraClient.executePost(SEARCH_ENDPOINT, "{\"jql\":\"key in (\\\"TEST-3\\\")\",\"startAt\":0,"
+                + "\"fields\":[\"status\"],\"validateQuery\":\"warn\"}")).thenReturn(
+                "{\"startAt\":0,\"maxResults\":50,\"total\":1,\"issues\":[{\"id\":\"003\",\"key\":\"TEST-3\"}]}");
+        jiraFacade.getIssue(ISSUE_ID);
+        List<JiraEntity> issues = jiraFacade.getIssues(List.of(ISSUE_ID, issueKey));
+        assertEquals(2, issues.size());
+        assertEquals(ISSUE_ID, issues.get(0).getKey());
+        assertEquals(issueKey, issues.get(1).getKey());
+    }
+
+    @Test
+    void shouldCacheMovedIssueUnderRequestedKey() throws IOException, JiraConfigurationException
+    {
+        String oldKey = "OLD-1";
+        String issueKey = "TEST-4";
+        when(jiraClientProvider.getByIssueKey(oldKey)).thenReturn(jiraClient);
+        when(jiraClientProvider.getByIssueKey(issueKey)).thenReturn(jiraClient);
+        when(jiraClient.executePost(SEARCH_ENDPOINT, "{\"jql\":\"key in (\\\"OLD-1\\\",\\\"TEST-4\\\")\","
+                + "\"startAt\":0,\"fields\":[\"status\"],\"validateQuery\":\"warn\"}")).thenReturn(
+                "{\"startAt\":0,\"maxResults\":50,\"total\":2,\"issues\":[{\"id\":\"005\",\"key\":\"NEW-5\","
+                        + "\"fields\":{\"status\":{\"name\":\"Open\"}}},{\"id\":\"004\",\"key\":\"TEST-4\"}]}");
+        List<JiraEntity> issues = jiraFacade.getIssues(List.of(oldKey, issueKey));
+        assertEquals(2, issues.size());
+        assertEquals("005", jiraFacade.getIssue(oldKey).getId());
+        assertEquals(OPEN, jiraFacade.getIssueStatus(oldKey));
+    }
+
+    @Test
+    void shouldSearchMovedIssuesOneByOneIfTheyCannotBeMatched() throws IOException, JiraConfigurationException
+    {
+        String oldKey1 = "OLD-1";
+        String oldKey2 = "OLD-2";
+        when(jiraClientProvider.getByIssueKey(oldKey1)).thenReturn(jiraClient);
+        when(jiraClientProvider.getByIssueKey(oldKey2)).thenReturn(jiraClient);
+        String searchRequest = "{\"jql\":\"%s\",\"startAt\":0,\"fields\":[\"status\"],\"validateQuery\":\"warn\"}";
+        String searchResult = "{\"startAt\":0,\"maxResults\":50,\"total\":%d,\"issues\":[%s]}";
+        String movedIssue1 = "{\"id\":\"005\",\"key\":\"NEW-5\"}";
+        String movedIssue2 = "{\"id\":\"006\",\"key\":\"NEW-6\"}";
+        when(jiraClient.executePost(SEARCH_ENDPOINT,
+                String.format(searchRequest, "key in (\\\"OLD-1\\\",\\\"OLD-2\\\")"))).thenReturn(
+                String.format(searchResult, 2, movedIssue1 + "," + movedIssue2));
+        when(jiraClient.executePost(SEARCH_ENDPOINT, String.format(searchRequest, "key = \\\"OLD-1\\\"")))
+                .thenReturn(String.format(searchResult, 1, movedIssue2));
+        when(jiraClient.executePost(SEARCH_ENDPOINT, String.format(searchRequest, "key = \\\"OLD-2\\\"")))
+                .thenReturn(String.format(searchResult, 1, movedIssue1));
+        List<JiraEntity> issues = jiraFacade.getIssues(List.of(oldKey1, oldKey2));
+        assertEquals(2, issues.size());
+        assertEquals("006", jiraFacade.getIssue(oldKey1).getId());
+        assertEquals("005", jiraFacade.getIssue(oldKey2).getId());
+    }
+
+    @Test
+    void shouldNotSearchIssuesIfNoKeysAreRequested() throws IOException, JiraConfigurationException
+    {
+        assertEquals(List.of(), jiraFacade.getIssues(List.of()));
+    }
+
+    @Test
+    void shouldSearchIssuesByChunksAndRetryRejectedSearchUsingLocalServer()
+            throws IOException, JiraConfigurationException
+    {
+        AtomicInteger searches = new AtomicInteger();
+        List<Integer> requestedKeysPerSearch = new CopyOnWriteArrayList<>();
+        Pattern issueKeyPattern = Pattern.compile("\"([^\"]+)\"");
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(SEARCH_ENDPOINT, exchange -> {
+            if (searches.incrementAndGet() == 1)
+            {
+                exchange.getResponseHeaders().add(HttpHeaders.RETRY_AFTER, "0");
+                exchange.sendResponseHeaders(429, -1);
+                exchange.close();
+                return;
+            }
+            String jql = objectMapper.readTree(exchange.getRequestBody()).path("jql").textValue();
+            Matcher issueKeyMatcher = issueKeyPattern.matcher(jql);
+            List<String> issues = new ArrayList<>();
+            while (issueKeyMatcher.find())
+            {
+                String issueKey = issueKeyMatcher.group(1);
+                issues.add(String.format("{\"id\":\"%s\",\"key\":\"%s\"}", issueKey.replace("ISSUE-", ""),
+                        issueKey));
+            }
+            requestedKeysPerSearch.add(issues.size());
+            byte[] response = String.format("{\"startAt\":0,\"total\":%d,\"issues\":[%s]}", issues.size(),
+                    String.join(",", issues)).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(HttpStatus.SC_OK, response.length);
+            try (OutputStream responseBody = exchange.getResponseBody())
+            {
+                responseBody.write(response);
+            }
+        });
+        server.start();
+        try (CloseableHttpClient closeableHttpClient = HttpClients.custom()
+                .setServiceUnavailableRetryStrategy(new TooManyRequestsRetryStrategy(1, Duration.ofMillis(1)))
+                .build())
+        {
+            HttpClient httpClient = new HttpClient();
+            httpClient.setCloseableHttpClient(closeableHttpClient);
+            httpClient.setHttpResponseHandlers(List.of());
+            JiraClient localJiraClient = new JiraClient("http://localhost:" + server.getAddress().getPort(),
+                    httpClient);
+            when(jiraClientProvider.getByIssueKey(anyString())).thenReturn(localJiraClient);
+            List<String> issueKeys = IntStream.rangeClosed(1, 150).mapToObj(i -> "ISSUE-" + i)
+                    .collect(Collectors.toList());
+            List<JiraEntity> issues = jiraFacade.getIssues(issueKeys);
+            assertEquals(issueKeys, issues.stream().map(JiraEntity::getKey).collect(Collectors.toList()));
+            assertEquals("150", issues.get(149).getId());
+            assertEquals(List.of(100, 50), requestedKeysPerSearch);
+            assertEquals(3, searches.get());
+        }
+        finally
+        {
+            server.stop(0);
+        }
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.jira;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vividus.jira.model.JiraIssue;
+
+class JiraIssueCacheTests
+{
+    private static final String ISSUE_KEY = "TEST-1";
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    @Test
+    void shouldCacheIssue()
+    {
+        JiraIssueCache cache = new JiraIssueCache(TIME_TO_LIVE, null);
+        JiraIssue issue = createIssue();
+        cache.put(ISSUE_KEY, issue);
+        assertEquals(Optional.of(issue), cache.get(ISSUE_KEY));
+        cache.invalidate(ISSUE_KEY);
+        assertFalse(cache.get(ISSUE_KEY).isPresent());
+    }
+
+    @Test
+    void shouldNotReturnExpiredIssue()
+    {
+        JiraIssueCache cache = new JiraIssueCache(Duration.ZERO, null);
+        cache.put(ISSUE_KEY, createIssue());
+        assertFalse(cache.get(ISSUE_KEY).isPresent());
+    }
+
+    @Test
+    void shouldPersistIssuesBetweenRuns(@TempDir Path tempDirectory)
+    {
+        Path file = tempDirectory.resolve("cache").resolve("jira-issues.json");
+        JiraIssueCache cache = new JiraIssueCache(TIME_TO_LIVE, file);
+        cache.load();
+        cache.put(ISSUE_KEY, createIssue());
+        cache.save();
+        assertTrue(Files.exists(file));
+
+        JiraIssueCache nextRunCache = new JiraIssueCache(TIME_TO_LIVE, file);
+        nextRunCache.load();
+        JiraIssue issue = nextRunCache.get(ISSUE_KEY).get();
+        assertEquals("001", issue.getId());
+        assertEquals(ISSUE_KEY, issue.getKey());
+        assertEquals("Open", issue.getStatus());
+
+        JiraIssueCache expiredCache = new JiraIssueCache(Duration.ZERO, file);
+        expiredCache.load();
+        assertFalse(expiredCache.get(ISSUE_KEY).isPresent());
+    }
+
+    @Test
+    void shouldIgnoreCorruptedCacheFile(@TempDir Path tempDirectory) throws IOException
+    {
+        Path file = Files.writeString(tempDirectory.resolve("jira-issues.json"), "not a json");
+        JiraIssueCache cache = new JiraIssueCache(TIME_TO_LIVE, file);
+        cache.load();
+        assertFalse(cache.get(ISSUE_KEY).isPresent());
+    }
+
+    private static JiraIssue createIssue()
+    {
+        JiraIssue issue = new JiraIssue();
+        issue.setId("001");
+        issue.setKey(ISSUE_KEY);
+        issue.setStatus("Open");
+        return issue;
+    }
+}
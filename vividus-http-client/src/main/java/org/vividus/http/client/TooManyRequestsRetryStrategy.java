@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.client;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ServiceUnavailableRetryStrategy;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Retries the requests rejected by rate limiting (status code 429). The delay before the retry is taken from
+ * <code>Retry-After</code> header (in seconds) if it's present, otherwise the delay is doubled on each next retry
+ * starting from the initial interval.
+ */
+public class TooManyRequestsRetryStrategy implements ServiceUnavailableRetryStrategy
+{
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final int maxRetries;
+    private final long initialRetryIntervalMillis;
+    private final ThreadLocal<Long> retryInterval = new ThreadLocal<>();
+
+    public TooManyRequestsRetryStrategy(int maxRetries, Duration initialRetryInterval)
+    {
+        this.maxRetries = maxRetries;
+        this.initialRetryIntervalMillis = initialRetryInterval.toMillis();
+    }
+
+    @Override
+    public boolean retryRequest(HttpResponse response, int executionCount, HttpContext context)
+    {
+        if (executionCount > maxRetries || response.getStatusLine().getStatusCode() != TOO_MANY_REQUESTS)
+        {
+            return false;
+        }
+        retryInterval.set(getRetryAfter(response).orElse(initialRetryIntervalMillis << (executionCount - 1)));
+        return true;
+    }
+
+    @Override
+    public long getRetryInterval()
+    {
+        Long interval = retryInterval.get();
+        retryInterval.remove();
+        return interval != null ? interval : initialRetryIntervalMillis;
+    }
+
+    private static Optional<Long> getRetryAfter(HttpResponse response)
+    {
+        return Optional.ofNullable(response.getFirstHeader(HttpHeaders.RETRY_AFTER))
+                .map(Header::getValue)
+                .map(String::trim)
+                .filter(NumberUtils::isDigits)
+                .map(seconds -> Duration.ofSeconds(Long.parseLong(seconds)).toMillis());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class TooManyRequestsRetryStrategyTests
+{
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final String RETRY_AFTER = "Retry-After";
+
+    private final TooManyRequestsRetryStrategy strategy = new TooManyRequestsRetryStrategy(3, Duration.ofMillis(100));
+
+    @Test
+    void shouldRetryWithExponentialDelay()
+    {
+        HttpResponse response = createResponse(TOO_MANY_REQUESTS);
+        assertTrue(strategy.retryRequest(response, 1, new BasicHttpContext()));
+        assertEquals(100, strategy.getRetryInterval());
+        assertTrue(strategy.retryRequest(response, 3, new BasicHttpContext()));
+        assertEquals(400, strategy.getRetryInterval());
+        assertFalse(strategy.retryRequest(response, 4, new BasicHttpContext()));
+    }
+
+    @Test
+    void shouldRetryWithDelayFromRetryAfterHeader()
+    {
+        HttpResponse response = createResponse(TOO_MANY_REQUESTS);
+        response.addHeader(RETRY_AFTER, "2");
+        assertTrue(strategy.retryRequest(response, 1, new BasicHttpContext()));
+        assertEquals(2000, strategy.getRetryInterval());
+    }
+
+    @Test
+    void shouldIgnoreRetryAfterHeaderInDateFormat()
+    {
+        HttpResponse response = createResponse(TOO_MANY_REQUESTS);
+        response.addHeader(RETRY_AFTER, "Wed, 21 Oct 2015 07:28:00 GMT");
+        assertTrue(strategy.retryRequest(response, 2, new BasicHttpContext()));
+        assertEquals(200, strategy.getRetryInterval());
+    }
+
+    @Test
+    void shouldNotRetryOtherStatusCodes()
+    {
+        assertFalse(strategy.retryRequest(createResponse(503), 1, new BasicHttpContext()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "2, 200, 3",
+        "5, 429, 4"
+    })
+    void shouldRetryRequestsRejectedByLocalServer(int rejectedRequests, int expectedStatusCode, int expectedRequests)
+            throws IOException
+    {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            if (requests.incrementAndGet() <= rejectedRequests)
+            {
+                exchange.getResponseHeaders().add(RETRY_AFTER, "0");
+                exchange.sendResponseHeaders(TOO_MANY_REQUESTS, -1);
+            }
+            else
+            {
+                exchange.sendResponseHeaders(HttpStatus.SC_OK, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+        try (CloseableHttpClient httpClient = HttpClients.custom().setServiceUnavailableRetryStrategy(strategy).build();
+                CloseableHttpResponse response = httpClient.execute(
+                        new HttpGet("http://localhost:" + server.getAddress().getPort() + "/")))
+        {
+            assertEquals(expectedStatusCode, response.getStatusLine().getStatusCode());
+            assertEquals(expectedRequests, requests.get());
+        }
+        finally
+        {
+            server.stop(0);
+        }
+    }
+
+    private static HttpResponse createResponse(int statusCode)
+    {
+        return new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+    }
+}
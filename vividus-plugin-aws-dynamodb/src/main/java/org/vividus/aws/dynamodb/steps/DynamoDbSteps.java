@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,31 +16,61 @@
 
 package org.vividus.aws.dynamodb.steps;
 
+import static java.util.stream.Collectors.joining;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.STSAssumeRoleSessionCredentialsProvider.Builder;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
-import com.amazonaws.services.dynamodbv2.document.Item;
 import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchExecuteStatementRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchStatementError;
+import com.amazonaws.services.dynamodbv2.model.BatchStatementRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchStatementResponse;
 import com.amazonaws.services.dynamodbv2.model.ExecuteStatementRequest;
 import com.amazonaws.services.dynamodbv2.model.ExecuteStatementResult;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
 
+import org.apache.commons.lang3.Validate;
 import org.jbehave.core.annotations.When;
+import org.jbehave.core.model.ExamplesTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.context.VariableContext;
+import org.vividus.util.Sleeper;
 import org.vividus.variable.VariableScope;
 
 public class DynamoDbSteps
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDbSteps.class);
 
+    private static final int MAX_BATCH_SIZE = 25;
+    private static final int MAX_BATCH_ATTEMPTS = 5;
+    private static final Duration BATCH_RETRY_BASE_DELAY = Duration.ofMillis(100);
+    private static final Set<String> RETRYABLE_ERROR_CODES = Set.of("ProvisionedThroughputExceeded",
+            "RequestLimitExceeded", "ThrottlingError", "TransactionConflict", "InternalServerError");
+    private static final String STATEMENT_COLUMN = "statement";
+
     private final AmazonDynamoDB amazonDynamoDB;
     private final VariableContext variableContext;
 
+    private Integer maxQueryItems;
+    private int maxScanParallelism;
+
     public DynamoDbSteps(String roleArn, VariableContext variableContext)
     {
         AmazonDynamoDBClientBuilder amazonDynamoDBClientBuilder = AmazonDynamoDBClientBuilder.standard();
@@ -83,6 +113,9 @@ public class DynamoDbSteps
      * <code>
      * When I execute query `$partiqlQuery` against DynamoDB
      * </code>
+     * <br>
+     * All pages of the result are read, the number of the saved items can be limited using the property
+     * <code>aws.dynamodb.query.max-items</code>.
      * @param partiqlQuery The PartiQL (A SQL-Compatible Query Language for Amazon DynamoDB) statement representing
      *                     the operation to run.
      * @param scopes       The set (comma separated list of scopes e.g.: STORY, NEXT_BATCHES) of variable's scope<br>
@@ -99,11 +132,178 @@ public class DynamoDbSteps
             + "`$variableName`")
     public void executeQuery(String partiqlQuery, Set<VariableScope> scopes, String variableName)
     {
-        String jsonResult = executeQuery(partiqlQuery).getItems()
-                .stream()
-                .map(ItemUtils::toItem)
-                .map(Item::toJSON)
-                .collect(Collectors.joining(",", "[", "]"));
-        variableContext.putVariable(scopes, variableName, jsonResult);
+        LOGGER.info("Executing query: {}", partiqlQuery);
+        StringBuilder jsonResult = new StringBuilder("[");
+        int itemsCount = 0;
+        ExecuteStatementRequest request = new ExecuteStatementRequest().withStatement(partiqlQuery);
+        String nextToken;
+        do
+        {
+            ExecuteStatementResult result = amazonDynamoDB.executeStatement(request);
+            Iterator<Map<String, AttributeValue>> items = result.getItems().iterator();
+            while (items.hasNext() && !isQueryItemsLimitReached(itemsCount))
+            {
+                appendItem(jsonResult, items.next(), itemsCount++);
+            }
+            nextToken = result.getNextToken();
+            if (isQueryItemsLimitReached(itemsCount) && (items.hasNext() || nextToken != null))
+            {
+                LOGGER.warn("The query result is limited to the first {} items", maxQueryItems);
+                break;
+            }
+            request.setNextToken(nextToken);
+        }
+        while (nextToken != null);
+        variableContext.putVariable(scopes, variableName, jsonResult.append(']').toString());
+    }
+
+    /**
+     * Executes the PartiQL statements in batches of up to 25 statements. The statements failed due to throttling or
+     * other transient errors are retried, the step fails if any of the statements can't be executed.
+     *
+     * @param statements The ExamplesTable with the column <code>statement</code> containing PartiQL INSERT, UPDATE or
+     *                   DELETE statements to execute.
+     */
+    @When("I execute batch of statements against DynamoDB:$statements")
+    public void executeBatch(ExamplesTable statements)
+    {
+        List<BatchStatementRequest> requests = statements.getRows().stream()
+                .map(row -> row.get(STATEMENT_COLUMN))
+                .map(statement -> new BatchStatementRequest().withStatement(statement))
+                .collect(Collectors.toList());
+        Validate.isTrue(!requests.isEmpty(), "At least one statement is expected in '%s' column", STATEMENT_COLUMN);
+        LOGGER.info("Executing batch of {} statements", requests.size());
+        List<String> errors = new ArrayList<>();
+        for (int from = 0; from < requests.size(); from += MAX_BATCH_SIZE)
+        {
+            executeBatch(requests.subList(from, Math.min(from + MAX_BATCH_SIZE, requests.size())), errors);
+        }
+        Validate.validState(errors.isEmpty(), "Failed to execute statements:%n%s",
+                errors.stream().collect(joining(System.lineSeparator())));
+    }
+
+    private void executeBatch(List<BatchStatementRequest> batch, List<String> errors)
+    {
+        List<BatchStatementRequest> pending = batch;
+        for (int attempt = 1; !pending.isEmpty(); attempt++)
+        {
+            List<BatchStatementResponse> responses = amazonDynamoDB.batchExecuteStatement(
+                    new BatchExecuteStatementRequest().withStatements(pending)).getResponses();
+            List<BatchStatementRequest> retryable = new ArrayList<>();
+            for (int i = 0; i < responses.size(); i++)
+            {
+                BatchStatementError error = responses.get(i).getError();
+                if (error == null)
+                {
+                    continue;
+                }
+                if (attempt < MAX_BATCH_ATTEMPTS && RETRYABLE_ERROR_CODES.contains(error.getCode()))
+                {
+                    retryable.add(pending.get(i));
+                }
+                else
+                {
+                    errors.add(String.format(" - %s: %s %s", pending.get(i).getStatement(), error.getCode(),
+                            error.getMessage()));
+                }
+            }
+            if (!retryable.isEmpty())
+            {
+                Sleeper.sleep(BATCH_RETRY_BASE_DELAY.multipliedBy(1L << (attempt - 1)));
+            }
+            pending = retryable;
+        }
+    }
+
+    /**
+     * Reads all items of the table using the parallel scan: the table is divided into the segments which are scanned
+     * concurrently, every segment is read page by page. The items are saved in JSON format in the order of the
+     * segments. The number of the segments scanned at the same time is limited by the max scan parallelism.
+     *
+     * @param tableName    The name of the table to scan.
+     * @param segments     The number of segments to scan in parallel.
+     * @param scopes       The set (comma separated list of scopes e.g.: STORY, NEXT_BATCHES) of variable's scope<br>
+     *                     <i>Available scopes:</i>
+     *                     <ul>
+     *                     <li><b>STEP</b> - the variable will be available only within the step,
+     *                     <li><b>SCENARIO</b> - the variable will be available only within the scenario,
+     *                     <li><b>STORY</b> - the variable will be available within the whole story,
+     *                     <li><b>NEXT_BATCHES</b> - the variable will be available starting from next batch
+     *                     </ul>
+     * @param variableName The name of the variable to save the items in JSON format
+     */
+    @When("I scan `$tableName` DynamoDB table using $segments parallel segments and save result as JSON to $scopes "
+            + "variable `$variableName`")
+    public void scanTable(String tableName, int segments, Set<VariableScope> scopes, String variableName)
+    {
+        Validate.isTrue(segments > 0, "The number of segments must be positive, but got: %d", segments);
+        LOGGER.info("Scanning table {} using {} segments", tableName, segments);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(segments, maxScanParallelism));
+        try
+        {
+            List<CompletableFuture<StringBuilder>> segmentScans = IntStream.range(0, segments)
+                    .mapToObj(segment -> CompletableFuture.supplyAsync(() -> scanSegment(tableName, segment, segments),
+                            executor))
+                    .collect(Collectors.toList());
+            StringBuilder jsonResult = new StringBuilder("[");
+            for (CompletableFuture<StringBuilder> segmentScan : segmentScans)
+            {
+                StringBuilder segmentItems = segmentScan.join();
+                if (segmentItems.length() > 0)
+                {
+                    jsonResult.append(jsonResult.length() > 1 ? "," : "").append(segmentItems);
+                }
+            }
+            variableContext.putVariable(scopes, variableName, jsonResult.append(']').toString());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private StringBuilder scanSegment(String tableName, int segment, int totalSegments)
+    {
+        StringBuilder segmentItems = new StringBuilder();
+        int itemsCount = 0;
+        ScanRequest request = new ScanRequest().withTableName(tableName).withSegment(segment)
+                .withTotalSegments(totalSegments);
+        Map<String, AttributeValue> lastEvaluatedKey;
+        do
+        {
+            ScanResult result = amazonDynamoDB.scan(request);
+            for (Map<String, AttributeValue> item : result.getItems())
+            {
+                appendItem(segmentItems, item, itemsCount++);
+            }
+            lastEvaluatedKey = result.getLastEvaluatedKey();
+            request.setExclusiveStartKey(lastEvaluatedKey);
+        }
+        while (lastEvaluatedKey != null && !lastEvaluatedKey.isEmpty());
+        return segmentItems;
+    }
+
+    private boolean isQueryItemsLimitReached(int itemsCount)
+    {
+        return maxQueryItems != null && itemsCount >= maxQueryItems;
+    }
+
+    private static void appendItem(StringBuilder json, Map<String, AttributeValue> item, int index)
+    {
+        if (index > 0)
+        {
+            json.append(',');
+        }
+        json.append(ItemUtils.toItem(item).toJSON());
+    }
+
+    public void setMaxQueryItems(Integer maxQueryItems)
+    {
+        this.maxQueryItems = maxQueryItems;
+    }
+
+    public void setMaxScanParallelism(int maxScanParallelism)
+    {
+        this.maxScanParallelism = maxScanParallelism;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,32 +17,47 @@
 package org.vividus.aws.dynamodb.steps;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import com.amazonaws.auth.STSAssumeRoleSessionCredentialsProvider;
 import com.amazonaws.auth.STSAssumeRoleSessionCredentialsProvider.Builder;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchExecuteStatementRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchExecuteStatementResult;
+import com.amazonaws.services.dynamodbv2.model.BatchStatementError;
+import com.amazonaws.services.dynamodbv2.model.BatchStatementRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchStatementResponse;
 import com.amazonaws.services.dynamodbv2.model.ExecuteStatementRequest;
 import com.amazonaws.services.dynamodbv2.model.ExecuteStatementResult;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
+import org.jbehave.core.model.ExamplesTable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -58,6 +73,12 @@ class DynamoDbStepsTests
 {
     private static final TestLogger LOGGER = TestLoggerFactory.getTestLogger(DynamoDbSteps.class);
 
+    private static final String SELECT_QUERY = "SELECT * FROM Table";
+    private static final String VARIABLE_NAME = "var";
+    private static final Set<VariableScope> SCOPES = Set.of(VariableScope.STORY);
+    private static final String INSERT_1 = "INSERT INTO Table value {'key':'1'}";
+    private static final String INSERT_2 = "INSERT INTO Table value {'key':'2'}";
+
     @Mock private VariableContext variableContext;
 
     @SuppressWarnings({ "try", "PMD.CloseResource" })
@@ -102,6 +123,128 @@ class DynamoDbStepsTests
         });
     }
 
+    @Test
+    void shouldExecuteSelectQueryFollowingNextToken()
+    {
+        String nextToken = "next-token";
+        testWithClient((amazonDynamoDB, steps) -> {
+            List<String> requestedTokens = new ArrayList<>();
+            when(amazonDynamoDB.executeStatement(any(ExecuteStatementRequest.class))).thenAnswer(invocation -> {
+                String token = invocation.getArgument(0, ExecuteStatementRequest.class).getNextToken();
+                requestedTokens.add(token);
+                return token == null ? page(nextToken, item("key1", "value1")) : page(null, item("key2", "value2"));
+            });
+            steps.executeQuery(SELECT_QUERY, SCOPES, VARIABLE_NAME);
+            assertEquals(Arrays.asList(null, nextToken), requestedTokens);
+            verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, "[{\"key1\":\"value1\"},{\"key2\":\"value2\"}]");
+        });
+    }
+
+    @Test
+    void shouldLimitNumberOfSelectQueryItems()
+    {
+        testWithClient((amazonDynamoDB, steps) -> {
+            steps.setMaxQueryItems(1);
+            when(amazonDynamoDB.executeStatement(any(ExecuteStatementRequest.class))).thenReturn(
+                    page("next-token", item("key1", "value1"), item("key2", "value2")));
+            steps.executeQuery(SELECT_QUERY, SCOPES, VARIABLE_NAME);
+            verify(amazonDynamoDB).executeStatement(any(ExecuteStatementRequest.class));
+            verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, "[{\"key1\":\"value1\"}]");
+            assertThat(LOGGER.getLoggingEvents(), equalTo(List.of(info("Executing query: {}", SELECT_QUERY),
+                    warn("The query result is limited to the first {} items", 1))));
+        });
+    }
+
+    @Test
+    void shouldExecuteBatchRetryingThrottledStatements()
+    {
+        testWithClient((amazonDynamoDB, steps) -> {
+            List<List<String>> batches = new ArrayList<>();
+            when(amazonDynamoDB.batchExecuteStatement(any(BatchExecuteStatementRequest.class))).thenAnswer(
+                    invocation -> {
+                        List<String> batch = invocation.getArgument(0, BatchExecuteStatementRequest.class)
+                                .getStatements().stream().map(BatchStatementRequest::getStatement)
+                                .collect(Collectors.toList());
+                        batches.add(batch);
+                        return batches.size() == 1
+                                ? batchResult(null, new BatchStatementError().withCode("ThrottlingError"))
+                                : batchResult((BatchStatementError) null);
+                    });
+            steps.executeBatch(new ExamplesTable("|statement|\n|" + INSERT_1 + "|\n|" + INSERT_2 + "|"));
+            assertEquals(List.of(List.of(INSERT_1, INSERT_2), List.of(INSERT_2)), batches);
+        });
+    }
+
+    @Test
+    void shouldFailBatchOnNonRetryableErrors()
+    {
+        testWithClient((amazonDynamoDB, steps) -> {
+            when(amazonDynamoDB.batchExecuteStatement(any(BatchExecuteStatementRequest.class))).thenReturn(
+                    batchResult(new BatchStatementError().withCode("DuplicateItem").withMessage("Duplicate"), null));
+            ExamplesTable statements = new ExamplesTable("|statement|\n|" + INSERT_1 + "|\n|" + INSERT_2 + "|");
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> steps.executeBatch(statements));
+            assertEquals("Failed to execute statements:" + System.lineSeparator() + " - " + INSERT_1
+                    + ": DuplicateItem Duplicate", exception.getMessage());
+        });
+    }
+
+    @Test
+    void shouldScanTableUsingParallelSegments()
+    {
+        testWithClient((amazonDynamoDB, steps) -> {
+            Map<String, AttributeValue> lastEvaluatedKey = item("key", "a");
+            when(amazonDynamoDB.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+                ScanRequest request = invocation.getArgument(0, ScanRequest.class);
+                assertEquals("Table", request.getTableName());
+                assertEquals(3, request.getTotalSegments());
+                if (request.getSegment() == 1)
+                {
+                    return new ScanResult().withItems(List.of());
+                }
+                if (request.getExclusiveStartKey() == null)
+                {
+                    return new ScanResult().withItems(List.of(item("key", "a" + request.getSegment())))
+                            .withLastEvaluatedKey(lastEvaluatedKey);
+                }
+                return new ScanResult().withItems(List.of(item("key", "b" + request.getSegment())));
+            });
+            steps.setMaxScanParallelism(2);
+            steps.scanTable("Table", 3, SCOPES, VARIABLE_NAME);
+            verify(variableContext).putVariable(SCOPES, VARIABLE_NAME,
+                    "[{\"key\":\"a0\"},{\"key\":\"b0\"},{\"key\":\"a2\"},{\"key\":\"b2\"}]");
+        });
+    }
+
+    private static Map<String, AttributeValue> item(String key, String value)
+    {
+        return Map.of(key, new AttributeValue(value));
+    }
+
+    @SafeVarargs
+    private static ExecuteStatementResult page(String nextToken, Map<String, AttributeValue>... items)
+    {
+        return new ExecuteStatementResult().withItems(List.of(items)).withNextToken(nextToken);
+    }
+
+    private static BatchExecuteStatementResult batchResult(BatchStatementError... errors)
+    {
+        return new BatchExecuteStatementResult().withResponses(Arrays.stream(errors)
+                .map(error -> new BatchStatementResponse().withError(error)).collect(Collectors.toList()));
+    }
+
+    private void testWithClient(BiConsumer<AmazonDynamoDB, DynamoDbSteps> test)
+    {
+        try (MockedStatic<AmazonDynamoDBClientBuilder> builder = mockStatic(AmazonDynamoDBClientBuilder.class))
+        {
+            AmazonDynamoDBClientBuilder amazonDynamoDBClientBuilder = mock(AmazonDynamoDBClientBuilder.class);
+            builder.when(AmazonDynamoDBClientBuilder::standard).thenReturn(amazonDynamoDBClientBuilder);
+            AmazonDynamoDB amazonDynamoDB = mock(AmazonDynamoDB.class);
+            when(amazonDynamoDBClientBuilder.build()).thenReturn(amazonDynamoDB);
+            test.accept(amazonDynamoDB, new DynamoDbSteps(null, variableContext));
+        }
+    }
+
     private AmazonDynamoDBClientBuilder executeQuery(String roleArn, String partiqlQuery, ExecuteStatementResult result,
             Consumer<DynamoDbSteps> test)
     {
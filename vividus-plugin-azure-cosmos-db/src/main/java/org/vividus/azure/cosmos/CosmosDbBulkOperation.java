@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.azure.cosmos;
+
+import com.azure.cosmos.models.CosmosBulkOperations;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.PartitionKey;
+import com.fasterxml.jackson.databind.JsonNode;
+
+public enum CosmosDbBulkOperation
+{
+    INSERT(201)
+    {
+        @Override
+        CosmosItemOperation createOperation(JsonNode item, PartitionKey partitionKey)
+        {
+            return CosmosBulkOperations.getCreateItemOperation(item, partitionKey);
+        }
+    },
+    UPSERT(200)
+    {
+        @Override
+        CosmosItemOperation createOperation(JsonNode item, PartitionKey partitionKey)
+        {
+            return CosmosBulkOperations.getUpsertItemOperation(item, partitionKey);
+        }
+    },
+    DELETE(204)
+    {
+        @Override
+        CosmosItemOperation createOperation(JsonNode item, PartitionKey partitionKey)
+        {
+            return CosmosBulkOperations.getDeleteItemOperation(item.path("id").asText(), partitionKey);
+        }
+    };
+
+    private final int expectedStatusCode;
+
+    CosmosDbBulkOperation(int expectedStatusCode)
+    {
+        this.expectedStatusCode = expectedStatusCode;
+    }
+
+    public int getExpectedStatusCode()
+    {
+        return expectedStatusCode;
+    }
+
+    abstract CosmosItemOperation createOperation(JsonNode item, PartitionKey partitionKey);
+}
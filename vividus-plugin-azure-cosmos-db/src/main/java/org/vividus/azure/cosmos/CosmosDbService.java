@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,53 @@
 
 package org.vividus.azure.cosmos;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import com.azure.cosmos.CosmosClientBuilder;
 import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosBulkExecutionOptions;
+import com.azure.cosmos.models.CosmosBulkItemResponse;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.FeedResponse;
 import com.azure.cosmos.models.PartitionKey;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.vividus.azure.cosmos.model.CosmosDbAccount;
 import org.vividus.azure.cosmos.model.CosmosDbContainer;
 import org.vividus.azure.cosmos.model.CosmosDbDatabase;
+import org.vividus.util.Sleeper;
 import org.vividus.util.json.JsonUtils;
 import org.vividus.util.property.PropertyMappedCollection;
 
 public class CosmosDbService
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CosmosDbService.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectWriter PRETTY_WRITER = OBJECT_MAPPER.writerWithDefaultPrettyPrinter();
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int MAX_BULK_ATTEMPTS = 5;
+    private static final Duration BULK_RETRY_BASE_DELAY = Duration.ofMillis(500);
+
     private final LoadingCache<CosmosDbContainer, CosmosContainer> containers = CacheBuilder.newBuilder()
             .build(
                 new CacheLoader<CosmosDbContainer, CosmosContainer>()
@@ -60,6 +89,9 @@ public class CosmosDbService
     private final PropertyMappedCollection<CosmosDbAccount> accounts;
     private final PropertyMappedCollection<CosmosDbDatabase> databases;
 
+    private int queryMaxItemCount;
+    private int bulkMaxMicroBatchConcurrency;
+
     public CosmosDbService(JsonUtils jsonUtils, PropertyMappedCollection<CosmosDbAccount> accounts,
             PropertyMappedCollection<CosmosDbDatabase> databases)
     {
@@ -68,12 +100,41 @@ public class CosmosDbService
         this.databases = databases;
     }
 
+    /**
+     * Executes the query page by page, the pages are requested using continuation tokens and written to the resulting
+     * JSON one by one, the total request charge of the query is logged
+     * @param cosmosDbContainer The container to query
+     * @param query The query to execute
+     * @return The found items in JSON format
+     */
     public String executeQuery(CosmosDbContainer cosmosDbContainer, String query)
     {
-        return containers.getUnchecked(cosmosDbContainer).queryItems(query, null, JsonNode.class)
-                                                         .stream()
-                                                         .collect(Collectors.collectingAndThen(Collectors.toList(),
-                                                             jsonUtils::toPrettyJson));
+        Iterable<FeedResponse<JsonNode>> pages = containers.getUnchecked(cosmosDbContainer)
+                .queryItems(query, null, JsonNode.class)
+                .iterableByPage(queryMaxItemCount);
+        double requestCharge = 0;
+        int pagesCount = 0;
+        StringWriter result = new StringWriter();
+        try (JsonGenerator generator = PRETTY_WRITER.createGenerator(result))
+        {
+            generator.writeStartArray();
+            for (FeedResponse<JsonNode> page : pages)
+            {
+                for (JsonNode item : page.getResults())
+                {
+                    OBJECT_MAPPER.writeTree(generator, item);
+                }
+                requestCharge += page.getRequestCharge();
+                pagesCount++;
+            }
+            generator.writeEndArray();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        LOGGER.info("The query consumed {} request units in {} page(s)", requestCharge, pagesCount);
+        return result.toString();
     }
 
     public String readById(CosmosDbContainer cosmosDbContainer, String id, String partition)
@@ -103,4 +164,128 @@ public class CosmosDbService
                          .deleteItem(jsonUtils.readTree(data), null)
                          .getStatusCode();
     }
+
+    /**
+     * Executes the operation for each of the items from the JSON array using the bulk executor
+     * @param cosmosDbContainer The container to modify
+     * @param operation The operation to execute
+     * @param items The JSON array of the items to execute the operation for
+     * @return The number of the items per status code of the operation
+     */
+    public Map<Integer, Long> executeBulk(CosmosDbContainer cosmosDbContainer, CosmosDbBulkOperation operation,
+            String items)
+    {
+        JsonNode itemsArray = jsonUtils.readTree(items);
+        Validate.isTrue(itemsArray.isArray(), "JSON array of items is expected, but got: %s", itemsArray.getNodeType());
+        List<JsonNode> itemsList = new ArrayList<>(itemsArray.size());
+        itemsArray.forEach(itemsList::add);
+        return executeBulk(cosmosDbContainer, operation, itemsList);
+    }
+
+    /**
+     * Executes the operation for each of the items using the bulk executor. The operations throttled by the service
+     * (status code 429) are retried with backoff.
+     * @param cosmosDbContainer The container to modify
+     * @param operation The operation to execute
+     * @param items The items to execute the operation for
+     * @return The number of the items per status code of the operation
+     */
+    public Map<Integer, Long> executeBulk(CosmosDbContainer cosmosDbContainer, CosmosDbBulkOperation operation,
+            List<JsonNode> items)
+    {
+        CosmosContainer container = containers.getUnchecked(cosmosDbContainer);
+        String partitionKeyPath = container.read().getProperties().getPartitionKeyDefinition().getPaths().get(0);
+        List<CosmosItemOperation> pending = items.stream()
+                .map(item -> operation.createOperation(item, getPartitionKey(item, partitionKeyPath)))
+                .collect(Collectors.toList());
+        CosmosBulkExecutionOptions options = new CosmosBulkExecutionOptions()
+                .setMaxMicroBatchConcurrency(bulkMaxMicroBatchConcurrency);
+        Map<Integer, Long> statusCodes = new TreeMap<>();
+        double requestCharge = 0;
+        for (int attempt = 1; !pending.isEmpty(); attempt++)
+        {
+            List<CosmosItemOperation> throttled = new ArrayList<>();
+            Duration retryAfter = BULK_RETRY_BASE_DELAY.multipliedBy(1L << (attempt - 1));
+            for (CosmosBulkOperationResponse<Object> response : container.executeBulkOperations(pending, options))
+            {
+                CosmosBulkItemResponse itemResponse = response.getResponse();
+                if (itemResponse != null)
+                {
+                    requestCharge += itemResponse.getRequestCharge();
+                }
+                int statusCode = getStatusCode(response);
+                if (statusCode == TOO_MANY_REQUESTS && attempt < MAX_BULK_ATTEMPTS)
+                {
+                    throttled.add(response.getOperation());
+                    Duration itemRetryAfter = getRetryAfter(response);
+                    if (itemRetryAfter != null && itemRetryAfter.compareTo(retryAfter) > 0)
+                    {
+                        retryAfter = itemRetryAfter;
+                    }
+                }
+                else
+                {
+                    statusCodes.merge(statusCode, 1L, Long::sum);
+                }
+            }
+            if (!throttled.isEmpty())
+            {
+                LOGGER.info("{} operation(s) were throttled, retrying in {}", throttled.size(), retryAfter);
+                Sleeper.sleep(retryAfter);
+            }
+            pending = throttled;
+        }
+        LOGGER.info("Bulk {} of {} item(s) consumed {} request units", operation, items.size(), requestCharge);
+        return statusCodes;
+    }
+
+    private static int getStatusCode(CosmosBulkOperationResponse<?> response)
+    {
+        return response.getResponse() != null ? response.getResponse().getStatusCode()
+                : getException(response).getStatusCode();
+    }
+
+    private static Duration getRetryAfter(CosmosBulkOperationResponse<?> response)
+    {
+        return response.getResponse() != null ? response.getResponse().getRetryAfterDuration()
+                : getException(response).getRetryAfterDuration();
+    }
+
+    private static CosmosException getException(CosmosBulkOperationResponse<?> response)
+    {
+        Exception exception = response.getException();
+        if (exception instanceof CosmosException)
+        {
+            return (CosmosException) exception;
+        }
+        throw new IllegalStateException(exception);
+    }
+
+    private static PartitionKey getPartitionKey(JsonNode item, String partitionKeyPath)
+    {
+        JsonNode value = item.at(partitionKeyPath);
+        if (value.isMissingNode())
+        {
+            return PartitionKey.NONE;
+        }
+        if (value.isNumber())
+        {
+            return new PartitionKey(value.doubleValue());
+        }
+        if (value.isBoolean())
+        {
+            return new PartitionKey(value.booleanValue());
+        }
+        return new PartitionKey(value.isNull() ? null : value.asText());
+    }
+
+    public void setQueryMaxItemCount(int queryMaxItemCount)
+    {
+        this.queryMaxItemCount = queryMaxItemCount;
+    }
+
+    public void setBulkMaxMicroBatchConcurrency(int bulkMaxMicroBatchConcurrency)
+    {
+        this.bulkMaxMicroBatchConcurrency = bulkMaxMicroBatchConcurrency;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,18 @@
 
 package org.vividus.azure.cosmos;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import org.jbehave.core.annotations.When;
+import org.jbehave.core.model.ExamplesTable;
 import org.vividus.azure.cosmos.model.CosmosDbContainer;
 import org.vividus.context.VariableContext;
 import org.vividus.softassert.SoftAssert;
@@ -124,6 +132,53 @@ public class CosmosDbSteps
         executeAndVerify(NO_CONTENT, containerKey, c -> cosmosDbService.delete(c, data));
     }
 
+    /**
+     * Executes the operation for each item of the JSON array using the bulk executor and verifies the status codes of
+     * all the operations: 201 for insert, 200 for upsert and 204 for delete.
+     * @param operation    The operation to execute: <code>insert</code>, <code>upsert</code> or <code>delete</code>
+     * @param items        The JSON array of the items
+     * @param containerKey The container key
+     */
+    @When("I execute bulk $operation of items `$items` in CosmosDB container `$containerKey`")
+    public void executeBulk(CosmosDbBulkOperation operation, String items, String containerKey)
+    {
+        Map<Integer, Long> statusCodes = executeWithin(containerKey,
+            c -> cosmosDbService.executeBulk(c, operation, items));
+        verifyBulkStatusCodes(operation, statusCodes);
+    }
+
+    /**
+     * Executes the operation for each row of the table using the bulk executor and verifies the status codes of all
+     * the operations: 201 for insert, 200 for upsert and 204 for delete. Every row is converted to the item with the
+     * column names as the property names and the cell values as the string property values.
+     * @param operation    The operation to execute: <code>insert</code>, <code>upsert</code> or <code>delete</code>
+     * @param containerKey The container key
+     * @param items        The ExamplesTable with the items
+     */
+    @When("I execute bulk $operation of items in CosmosDB container `$containerKey`:$items")
+    public void executeBulk(CosmosDbBulkOperation operation, String containerKey, ExamplesTable items)
+    {
+        List<JsonNode> itemsList = items.getRows().stream().map(CosmosDbSteps::toItem).collect(Collectors.toList());
+        Map<Integer, Long> statusCodes = executeWithin(containerKey,
+            c -> cosmosDbService.executeBulk(c, operation, itemsList));
+        verifyBulkStatusCodes(operation, statusCodes);
+    }
+
+    private static JsonNode toItem(Map<String, String> row)
+    {
+        ObjectNode item = JsonNodeFactory.instance.objectNode();
+        row.forEach(item::put);
+        return item;
+    }
+
+    private void verifyBulkStatusCodes(CosmosDbBulkOperation operation, Map<Integer, Long> statusCodes)
+    {
+        long itemsCount = statusCodes.values().stream().mapToLong(Long::longValue).sum();
+        Map<Integer, Long> expected = itemsCount == 0 ? Map.of()
+                : Map.of(operation.getExpectedStatusCode(), itemsCount);
+        softAssert.assertEquals("Number of items per status code of bulk operations", expected, statusCodes);
+    }
+
     private void executeAndVerify(int expected, String containerKey, Function<CosmosDbContainer, Integer> toExecute)
     {
         int statusCode = executeWithin(containerKey, toExecute);
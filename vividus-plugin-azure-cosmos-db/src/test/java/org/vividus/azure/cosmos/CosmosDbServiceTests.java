@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,42 @@
 
 package org.vividus.azure.cosmos;
 
+import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
-import java.util.stream.Stream;
 
 import com.azure.cosmos.CosmosClient;
 import com.azure.cosmos.CosmosClientBuilder;
 import com.azure.cosmos.CosmosContainer;
 import com.azure.cosmos.CosmosDatabase;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosBulkExecutionOptions;
+import com.azure.cosmos.models.CosmosBulkItemResponse;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosContainerProperties;
+import com.azure.cosmos.models.CosmosContainerResponse;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.CosmosItemOperationType;
 import com.azure.cosmos.models.CosmosItemResponse;
+import com.azure.cosmos.models.FeedResponse;
 import com.azure.cosmos.models.PartitionKey;
 import com.azure.cosmos.util.CosmosPagedIterable;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,9 +65,11 @@ import org.vividus.azure.cosmos.model.CosmosDbDatabase;
 import org.vividus.util.json.JsonUtils;
 import org.vividus.util.property.PropertyMappedCollection;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
 class CosmosDbServiceTests
 {
+    private static final TestLogger LOGGER = TestLoggerFactory.getTestLogger(CosmosDbService.class);
+
     private static final String UNCHECKED = "unchecked";
     private static final String ENDPOINT = "https://azure.cosmos";
     private static final String ACCOUNT_KEY = "accountKey";
@@ -60,6 +80,8 @@ class CosmosDbServiceTests
     private static final String QUERY = "SELECT * FROM ITEMS";
     private static final String DB = "db";
     private static final String KEY = "key";
+    private static final int MAX_ITEM_COUNT = 10;
+    private static final int TOO_MANY_REQUESTS = 429;
 
     private final JsonUtils jsonUtils = new JsonUtils();
     private final JsonNode node = jsonUtils.readTree(JSON_STRING);
@@ -83,6 +105,8 @@ class CosmosDbServiceTests
         when(accounts.get(ACCOUNT_KEY, "Account configuration not found for the key: %s", ACCOUNT_KEY))
             .thenReturn(cosmosDbAccount);
         cosmosDbService = new CosmosDbService(jsonUtils, accounts, databases);
+        cosmosDbService.setQueryMaxItemCount(MAX_ITEM_COUNT);
+        cosmosDbService.setBulkMaxMicroBatchConcurrency(2);
     }
 
     @Test
@@ -91,10 +115,14 @@ class CosmosDbServiceTests
         testWithContainer((cosmosDbContainer, container) -> {
             @SuppressWarnings(UNCHECKED)
             CosmosPagedIterable<JsonNode> result = mock(CosmosPagedIterable.class);
-            when(result.stream()).thenReturn(Stream.of(node));
+            FeedResponse<JsonNode> firstPage = mockPage(2.5, node);
+            FeedResponse<JsonNode> secondPage = mockPage(1, jsonUtils.readTree("{\"key\": 2}"));
+            when(result.iterableByPage(MAX_ITEM_COUNT)).thenReturn(List.of(firstPage, secondPage));
             when(container.queryItems(QUERY, null, JsonNode.class)).thenReturn(result);
             String resultSet = cosmosDbService.executeQuery(cosmosDbContainer, QUERY);
-            assertEquals(String.format("[ {%n  \"key\" : \"value\"%n} ]"), resultSet);
+            assertEquals(String.format("[ {%n  \"key\" : \"value\"%n}, {%n  \"key\" : 2%n} ]"), resultSet);
+            assertEquals(List.of(info("The query consumed {} request units in {} page(s)", 3.5, 2)),
+                    LOGGER.getLoggingEvents());
         }, "query");
     }
 
@@ -147,6 +175,74 @@ class CosmosDbServiceTests
         }, "http://azure.com/read");
     }
 
+    @Test
+    void shouldExecuteBulkOperationRetryingThrottledItems()
+    {
+        testWithContainer((cosmosDbContainer, container) -> {
+            CosmosContainerResponse containerResponse = mock(CosmosContainerResponse.class);
+            when(containerResponse.getProperties()).thenReturn(new CosmosContainerProperties(ID, "/category"));
+            when(container.read()).thenReturn(containerResponse);
+            List<List<CosmosItemOperation>> attempts = new ArrayList<>();
+            when(container.executeBulkOperations(any(), argThat((CosmosBulkExecutionOptions options) ->
+                    options.getMaxMicroBatchConcurrency() == 2))).thenAnswer(invocation -> {
+                        List<CosmosItemOperation> operations = new ArrayList<>();
+                        invocation.<Iterable<CosmosItemOperation>>getArgument(0).forEach(operations::add);
+                        attempts.add(operations);
+                        List<CosmosBulkOperationResponse<Object>> responses = new ArrayList<>();
+                        if (attempts.size() == 1)
+                        {
+                            responses.add(mockBulkResponse(201));
+                            responses.add(mockThrottledBulkResponse(operations.get(1)));
+                        }
+                        else
+                        {
+                            responses.add(mockBulkResponse(201));
+                        }
+                        return responses;
+                    });
+            Map<Integer, Long> statusCodes = cosmosDbService.executeBulk(cosmosDbContainer,
+                    CosmosDbBulkOperation.INSERT,
+                    "[{\"id\":\"1\",\"category\":\"a\"},{\"id\":\"2\",\"category\":\"b\"}]");
+            assertEquals(Map.of(201, 2L), statusCodes);
+            assertThat(attempts, hasSize(2));
+            CosmosItemOperation first = attempts.get(0).get(0);
+            assertEquals(CosmosItemOperationType.CREATE, first.getOperationType());
+            assertEquals(new PartitionKey("a"), first.getPartitionKeyValue());
+            assertEquals(new PartitionKey("b"), attempts.get(1).get(0).getPartitionKeyValue());
+        }, "bulk");
+    }
+
+    @SuppressWarnings(UNCHECKED)
+    private static FeedResponse<JsonNode> mockPage(double requestCharge, JsonNode item)
+    {
+        FeedResponse<JsonNode> page = mock(FeedResponse.class);
+        when(page.getResults()).thenReturn(List.of(item));
+        when(page.getRequestCharge()).thenReturn(requestCharge);
+        return page;
+    }
+
+    @SuppressWarnings(UNCHECKED)
+    private static CosmosBulkOperationResponse<Object> mockBulkResponse(int statusCode)
+    {
+        CosmosBulkOperationResponse<Object> response = mock(CosmosBulkOperationResponse.class);
+        CosmosBulkItemResponse itemResponse = mock(CosmosBulkItemResponse.class);
+        when(itemResponse.getStatusCode()).thenReturn(statusCode);
+        when(response.getResponse()).thenReturn(itemResponse);
+        return response;
+    }
+
+    @SuppressWarnings(UNCHECKED)
+    private static CosmosBulkOperationResponse<Object> mockThrottledBulkResponse(CosmosItemOperation operation)
+    {
+        CosmosBulkOperationResponse<Object> response = mock(CosmosBulkOperationResponse.class);
+        CosmosException exception = mock(CosmosException.class);
+        when(exception.getStatusCode()).thenReturn(TOO_MANY_REQUESTS);
+        when(exception.getRetryAfterDuration()).thenReturn(Duration.ofMillis(1));
+        when(response.getException()).thenReturn(exception);
+        when(response.getOperation()).thenReturn(operation);
+        return response;
+    }
+
     private void testWithContainer(BiConsumer<CosmosDbContainer, CosmosContainer> testToRun, String containerId)
     {
         CosmosDbContainer dbContainer = new CosmosDbContainer();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,8 +20,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.jbehave.core.model.ExamplesTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +36,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.azure.cosmos.model.CosmosDbContainer;
 import org.vividus.context.VariableContext;
 import org.vividus.softassert.SoftAssert;
+import org.vividus.util.json.JsonUtils;
 import org.vividus.util.property.PropertyMappedCollection;
 import org.vividus.variable.VariableScope;
 
@@ -48,6 +54,7 @@ class CosmosDbStepsTests
     private static final String RESULT = "{}";
     private static final String QUERY = "SELECT * FROM DEVS";
     private static final String CONTAINER = "container";
+    private static final String BULK_ASSERTION = "Number of items per status code of bulk operations";
     private final CosmosDbContainer container = new CosmosDbContainer();
 
     @Mock private VariableContext variableContext;
@@ -106,6 +113,27 @@ class CosmosDbStepsTests
         verifyNoInteractions(softAssert);
     }
 
+    @Test
+    void shouldExecuteBulkOperationWithJsonItems()
+    {
+        String items = "[{\"id\":\"1\"},{\"id\":\"2\"}]";
+        when(cosmosDbService.executeBulk(container, CosmosDbBulkOperation.UPSERT, items)).thenReturn(
+                Map.of(OK, 1L, 429, 1L));
+        dbSteps.executeBulk(CosmosDbBulkOperation.UPSERT, items, CONTAINER);
+        verify(softAssert).assertEquals(BULK_ASSERTION, Map.of(OK, 2L), Map.of(OK, 1L, 429, 1L));
+    }
+
+    @Test
+    void shouldExecuteBulkOperationWithTableItems()
+    {
+        List<JsonNode> items = List.of(new JsonUtils().readTree("{\"id\":\"1\",\"category\":\"personal\"}"));
+        when(cosmosDbService.executeBulk(container, CosmosDbBulkOperation.INSERT, items)).thenReturn(
+                Map.of(CREATED, 1L));
+        dbSteps.executeBulk(CosmosDbBulkOperation.INSERT, CONTAINER,
+                new ExamplesTable("|id|category|\n|1|personal|"));
+        verify(softAssert).assertEquals(BULK_ASSERTION, Map.of(CREATED, 1L), Map.of(CREATED, 1L));
+    }
+
     private void verifyAssertion(int expected)
     {
         verify(softAssert).assertEquals("Query status code", expected, UNAUTHORIZED);
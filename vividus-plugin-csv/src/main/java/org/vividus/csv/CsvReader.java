@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
 public class CsvReader
@@ -72,6 +73,20 @@ public class CsvReader
         }
     }
 
+    /**
+     * Opens CSV parser reading the records lazily: the records are parsed one by one while iterating over the parser,
+     * so the whole CSV is never kept in memory. The parser must be closed after use.
+     *
+     * @param resourceUrl URL of CSV resource
+     * @param header      CSV header, if no header is provided, the first record is used as header
+     * @return CSV parser
+     * @throws IOException if an I/O error occurs while opening CSV resource
+     */
+    public CSVParser openCsvFile(URL resourceUrl, String... header) throws IOException
+    {
+        return createParser(new InputStreamReader(resourceUrl.openStream(), StandardCharsets.UTF_8), header);
+    }
+
     private List<Map<String, String>> collectCsv(Reader reader, String... header) throws IOException
     {
         return readCsvFile(reader, header).map(CSVRecord::toMap).collect(Collectors.toList());
@@ -79,6 +94,11 @@ public class CsvReader
 
     private Stream<CSVRecord> readCsvFile(Reader reader, String... header) throws IOException
     {
-        return StreamSupport.stream(csvFormat.builder().setHeader(header).build().parse(reader).spliterator(), false);
+        return StreamSupport.stream(createParser(reader, header).spliterator(), false);
+    }
+
+    private CSVParser createParser(Reader reader, String... header) throws IOException
+    {
+        return csvFormat.builder().setHeader(header).build().parse(reader);
     }
 }
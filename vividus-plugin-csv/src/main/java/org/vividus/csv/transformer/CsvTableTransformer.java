@@ -16,7 +16,6 @@
 
 package org.vividus.csv.transformer;
 
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.Validate.isTrue;
 import static org.vividus.util.ResourceUtils.findResource;
 
@@ -24,9 +23,9 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
@@ -58,24 +57,20 @@ public class CsvTableTransformer implements ExtendedTableTransformer
                     delimiter, delimiterLength);
             csvFormat = csvFormat.builder().setDelimiter(delimiter.charAt(0)).build();
         }
-        try
+        try (CSVParser csvParser = new CsvReader(csvFormat).openCsvFile(findResource(getClass(), csvPath)))
         {
-            List<CSVRecord> result = new CsvReader(csvFormat).readCsvFile(findResource(getClass(), csvPath));
-            return ExamplesTableProcessor.buildExamplesTable(result.get(0).toMap().keySet(), extractValues(result),
-                    properties, true);
+            List<String> header = csvParser.getHeaderNames();
+            List<List<String>> values = new ArrayList<>();
+            for (CSVRecord csvRecord : csvParser)
+            {
+                List<String> row = csvRecord.toList();
+                values.add(row.size() > header.size() ? row.subList(0, header.size()) : row);
+            }
+            return ExamplesTableProcessor.buildExamplesTable(header, values, properties, true);
         }
         catch (IOException e)
         {
             throw new UncheckedIOException("Problem during CSV file reading", e);
         }
     }
-
-    private List<List<String>> extractValues(List<CSVRecord> data)
-    {
-        return data.stream()
-                .map(CSVRecord::toMap)
-                .map(Map::values)
-                .map(ArrayList::new)
-                .collect(toList());
-    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,17 +17,20 @@
 package org.vividus.csv;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.junit.jupiter.api.Test;
 
@@ -85,6 +88,19 @@ class CsvReaderTests
         assertEquals(CSV_RECORDS, result.stream().map(CSVRecord::toMap).collect(Collectors.toList()));
     }
 
+    @Test
+    void testOpenCsvFromUrl() throws IOException
+    {
+        URL url = getCsvResource();
+        try (CSVParser csvParser = csvReader.openCsvFile(url, FIRST_HEADER, SECOND_HEADER))
+        {
+            assertEquals(List.of(FIRST_HEADER, SECOND_HEADER), csvParser.getHeaderNames());
+            Iterator<CSVRecord> records = csvParser.iterator();
+            assertEquals(CSV_RECORD, records.next().toMap());
+            assertFalse(records.hasNext());
+        }
+    }
+
     private URL getCsvResource()
     {
         return getCsvResource("unittest.csv");
@@ -93,7 +93,7 @@ class CsvTableTransformerTests
                 (mock, context) -> {
                     assertEquals(1, context.getCount());
                     assertEquals(List.of(CSVFormat.DEFAULT), context.arguments());
-                    when(mock.readCsvFile(csvResource)).thenThrow(ioException);
+                    when(mock.openCsvFile(csvResource)).thenThrow(ioException);
                 }))
         {
             var transformer = new CsvTableTransformer(CSVFormat.DEFAULT);
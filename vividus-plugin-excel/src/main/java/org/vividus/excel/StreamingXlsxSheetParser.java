@@ -0,0 +1,311 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.vividus.model.CellValue;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Parser of XLSX sheets based on POI event model: the sheet XML is read by SAX parser, only the cells from the
+ * requested regions are kept in memory and the parsing is stopped right after the last requested row. The cell values
+ * are represented in the same way as {@link ExcelSheetParser} does.
+ */
+public final class StreamingXlsxSheetParser implements IExcelRangeParser
+{
+    private final Map<CellAddress, String> cells;
+    private final Set<Integer> rows;
+
+    private StreamingXlsxSheetParser(Map<CellAddress, String> cells, Set<Integer> rows)
+    {
+        this.cells = cells;
+        this.rows = rows;
+    }
+
+    /**
+     * Checks whether the file is an Office Open XML document which can be parsed in streaming mode
+     * @param file the file to check
+     * @return <code>true</code> if the file is an OOXML document, otherwise <code>false</code>
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public static boolean isApplicable(File file) throws IOException
+    {
+        return FileMagic.valueOf(file) == FileMagic.OOXML;
+    }
+
+    /**
+     * Parses the cells of the requested regions of the sheet
+     * @param file the XLSX file
+     * @param sheetName the name of the sheet to parse
+     * @param regions the regions of cells to keep
+     * @return the parser of the parsed sheet regions or empty optional if the sheet with the given name is not found
+     * @throws WorkbookParsingException if the workbook can not be parsed
+     */
+    public static Optional<IExcelRangeParser> parse(File file, String sheetName, List<CellRangeAddress> regions)
+            throws WorkbookParsingException
+    {
+        try
+        {
+            OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ);
+            try
+            {
+                XSSFReader reader = new XSSFReader(opcPackage);
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+                while (sheets.hasNext())
+                {
+                    try (InputStream sheet = sheets.next())
+                    {
+                        if (sheetName.equals(sheets.getSheetName()))
+                        {
+                            SheetHandler handler = new SheetHandler(new ReadOnlySharedStringsTable(opcPackage),
+                                    regions);
+                            handler.parse(sheet);
+                            return Optional.of(new StreamingXlsxSheetParser(handler.cells, handler.rows));
+                        }
+                    }
+                }
+                return Optional.empty();
+            }
+            finally
+            {
+                opcPackage.revert();
+            }
+        }
+        catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e)
+        {
+            throw new WorkbookParsingException(e);
+        }
+    }
+
+    @Override
+    public List<CellValue> getDataFromRange(String range)
+    {
+        return StreamSupport.stream(CellRangeAddress.valueOf(range).spliterator(), false)
+                .map(CellAddress::formatAsString)
+                .map(addr -> new CellValue(getDataFromCell(addr), addr))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String getDataFromCell(String address)
+    {
+        CellReference cellReference = new CellReference(address);
+        if (!rows.contains(cellReference.getRow()))
+        {
+            throw new IllegalArgumentException(String.format("Row at address '%s' doesn't exist", address));
+        }
+        return cells.get(new CellAddress(cellReference.getRow(), cellReference.getCol()));
+    }
+
+    @Override
+    public Map<String, List<String>> getDataAsTable(String range)
+    {
+        CellRangeAddress address = CellRangeAddress.valueOf(range);
+        Map<String, List<String>> data = new LinkedHashMap<>();
+        for (int colIndex = address.getFirstColumn(); colIndex <= address.getLastColumn(); colIndex++)
+        {
+            int column = colIndex;
+            String columnName = getCellValue(address.getFirstRow(), column);
+            List<String> columnsData = IntStream.rangeClosed(address.getFirstRow() + 1, address.getLastRow())
+                    .mapToObj(row -> getCellValue(row, column))
+                    .collect(Collectors.toList());
+            data.put(columnName, columnsData);
+        }
+        return data;
+    }
+
+    private String getCellValue(int row, int column)
+    {
+        return cells.get(new CellAddress(row, column));
+    }
+
+    private static final class SheetHandler extends DefaultHandler
+    {
+        private static final String REFERENCE_ATTRIBUTE = "r";
+
+        private final SharedStrings sharedStrings;
+        private final List<CellRangeAddress> regions;
+        private final int lastRow;
+        private final Map<CellAddress, String> cells = new HashMap<>();
+        private final Set<Integer> rows = new HashSet<>();
+        private final StringBuilder value = new StringBuilder();
+
+        private int rowIndex = -1;
+        private int columnIndex;
+        private boolean cellRequested;
+        private String cellType;
+        private boolean valueElement;
+        private boolean phoneticRun;
+
+        private SheetHandler(SharedStrings sharedStrings, List<CellRangeAddress> regions)
+        {
+            this.sharedStrings = sharedStrings;
+            this.regions = regions;
+            this.lastRow = regions.stream().mapToInt(CellRangeAddress::getLastRow).max().orElse(-1);
+        }
+
+        private void parse(InputStream sheet) throws IOException, SAXException, ParserConfigurationException
+        {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(this);
+            try
+            {
+                xmlReader.parse(new InputSource(sheet));
+            }
+            catch (StopParsingException e)
+            {
+                // All requested rows are parsed
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException
+        {
+            switch (localName)
+            {
+                case "row":
+                    startRow(attributes.getValue(REFERENCE_ATTRIBUTE));
+                    break;
+                case "c":
+                    startCell(attributes.getValue(REFERENCE_ATTRIBUTE), attributes.getValue("t"));
+                    break;
+                case "v":
+                    valueElement = cellRequested;
+                    break;
+                case "t":
+                    valueElement = cellRequested && !phoneticRun;
+                    break;
+                case "rPh":
+                    phoneticRun = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void startRow(String rowReference) throws StopParsingException
+        {
+            rowIndex = rowReference == null ? rowIndex + 1 : Integer.parseInt(rowReference) - 1;
+            if (rowIndex > lastRow)
+            {
+                throw new StopParsingException();
+            }
+            columnIndex = -1;
+            if (regions.stream().anyMatch(r -> r.getFirstRow() <= rowIndex && rowIndex <= r.getLastRow()))
+            {
+                rows.add(rowIndex);
+            }
+        }
+
+        private void startCell(String cellReference, String type)
+        {
+            columnIndex = cellReference == null ? columnIndex + 1 : new CellReference(cellReference).getCol();
+            cellRequested = regions.stream().anyMatch(r -> r.isInRange(rowIndex, columnIndex));
+            cellType = type;
+            value.setLength(0);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName)
+        {
+            switch (localName)
+            {
+                case "v":
+                case "t":
+                    valueElement = false;
+                    break;
+                case "rPh":
+                    phoneticRun = false;
+                    break;
+                case "c":
+                    if (cellRequested)
+                    {
+                        cells.put(new CellAddress(rowIndex, columnIndex), getCellValue());
+                        cellRequested = false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length)
+        {
+            if (valueElement)
+            {
+                value.append(ch, start, length);
+            }
+        }
+
+        private String getCellValue()
+        {
+            String rawValue = value.toString();
+            switch (cellType == null ? "n" : cellType)
+            {
+                case "s":
+                    return sharedStrings.getItemAt(Integer.parseInt(rawValue.trim())).getString();
+                case "inlineStr":
+                case "str":
+                case "d":
+                    return rawValue;
+                case "b":
+                    return rawValue.isEmpty() ? "" : String.valueOf("1".equals(rawValue.trim()));
+                case "e":
+                    return "";
+                default:
+                    return rawValue.isEmpty() ? "" : String.valueOf(Double.parseDouble(rawValue));
+            }
+        }
+    }
+
+    private static final class StopParsingException extends SAXException
+    {
+        private static final long serialVersionUID = -2390474725335092236L;
+    }
+}
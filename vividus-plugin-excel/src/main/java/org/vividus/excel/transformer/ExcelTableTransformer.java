@@ -19,6 +19,8 @@ package org.vividus.excel.transformer;
 import static java.util.Map.entry;
 import static org.apache.commons.lang3.Validate.notBlank;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -27,21 +29,26 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.util.CellRangeAddress;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 import org.vividus.excel.ExcelSheetParser;
 import org.vividus.excel.ExcelSheetsExtractor;
-import org.vividus.excel.IExcelSheetParser;
-import org.vividus.excel.IExcelSheetsExtractor;
+import org.vividus.excel.IExcelRangeParser;
+import org.vividus.excel.StreamingXlsxSheetParser;
 import org.vividus.excel.WorkbookParsingException;
 import org.vividus.model.CellValue;
 import org.vividus.transformer.ExtendedTableTransformer;
 import org.vividus.util.ExamplesTableProcessor;
+import org.vividus.util.ResourceUtils;
 
 public class ExcelTableTransformer implements ExtendedTableTransformer
 {
     private static final String RANGE = "range";
+    private static final String COLUMN = "column";
+    private static final String ADDRESSES = "addresses";
+    private static final String ADDRESSES_SEPARATOR = ";";
 
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
@@ -49,19 +56,13 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         checkTableEmptiness(tableAsString);
         String path = properties.getMandatoryNonBlankProperty("path", String.class);
         String sheetName = properties.getMandatoryNonBlankProperty("sheet", String.class);
+        String column = properties.getProperties().getProperty(COLUMN);
+        List<CellRangeAddress> regions = getRequestedRegions(properties, column);
         try
         {
-            IExcelSheetsExtractor excelSheetsExtractor = new ExcelSheetsExtractor(path);
-            Optional<Sheet> sheet = excelSheetsExtractor.getSheet(sheetName);
-            if (sheet.isEmpty())
-            {
-                throw new IllegalArgumentException("Sheet with name '" + sheetName + "' does not exist");
-            }
-            IExcelSheetParser excelSheetParser = new ExcelSheetParser(sheet.get());
-            String column = properties.getProperties().getProperty("column");
+            IExcelRangeParser excelSheetParser = createSheetParser(path, sheetName, regions);
             if (column != null)
             {
-                notBlank(column, "Table property 'column' is blank");
                 String joinValues = properties.getProperties().getProperty("joinValues");
                 List<String> result = extractData(excelSheetParser, properties);
                 List<String> data = Boolean.parseBoolean(joinValues) ? List.of(String.join(" ", result)) : result;
@@ -77,14 +78,51 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         }
     }
 
-    private List<String> extractData(IExcelSheetParser sheetParser, TableProperties properties)
+    private List<CellRangeAddress> getRequestedRegions(TableProperties properties, String column)
+    {
+        if (column == null)
+        {
+            return List.of(CellRangeAddress.valueOf(properties.getMandatoryNonBlankProperty(RANGE, String.class)));
+        }
+        notBlank(column, "Table property 'column' is blank");
+        return processCompetingMandatoryProperties(properties,
+                entry(RANGE, range -> List.of(CellRangeAddress.valueOf(range))),
+                entry(ADDRESSES, addresses -> Stream.of(addresses.split(ADDRESSES_SEPARATOR))
+                        .map(CellRangeAddress::valueOf)
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * XLSX sheets are parsed in streaming mode and only the requested regions of the requested sheet are kept in
+     * memory, other formats are parsed using the workbook object model.
+     */
+    private IExcelRangeParser createSheetParser(String path, String sheetName, List<CellRangeAddress> regions)
+            throws WorkbookParsingException
+    {
+        File file = ResourceUtils.loadFile(getClass(), StringUtils.prependIfMissing(path, "/"));
+        Optional<? extends IExcelRangeParser> sheetParser;
+        try
+        {
+            sheetParser = StreamingXlsxSheetParser.isApplicable(file)
+                    ? StreamingXlsxSheetParser.parse(file, sheetName, regions)
+                    : new ExcelSheetsExtractor(path).getSheet(sheetName).map(ExcelSheetParser::new);
+        }
+        catch (IOException e)
+        {
+            throw new WorkbookParsingException(e);
+        }
+        return sheetParser.orElseThrow(
+            () -> new IllegalArgumentException("Sheet with name '" + sheetName + "' does not exist"));
+    }
+
+    private List<String> extractData(IExcelRangeParser sheetParser, TableProperties properties)
     {
         return processCompetingMandatoryProperties(properties,
                 entry(RANGE, range -> extractDataFromRange(sheetParser, properties, range)),
-                entry("addresses", addresses -> extractDataFromAddresses(sheetParser, addresses)));
+                entry(ADDRESSES, addresses -> extractDataFromAddresses(sheetParser, addresses)));
     }
 
-    private List<String> extractDataFromRange(IExcelSheetParser sheetParser, TableProperties properties, String range)
+    private List<String> extractDataFromRange(IExcelRangeParser sheetParser, TableProperties properties, String range)
     {
         List<String> data = extractValues(sheetParser, range);
         String incrementAsString = properties.getProperties().getProperty("increment");
@@ -98,14 +136,16 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         return data;
     }
 
-    private List<String> extractValues(IExcelSheetParser sheetParser, String range)
+    private List<String> extractValues(IExcelRangeParser sheetParser, String range)
     {
         return sheetParser.getDataFromRange(range).stream().map(CellValue::getValue).collect(Collectors.toList());
     }
 
-    private List<String> extractDataFromAddresses(IExcelSheetParser sheetParser, String addresses)
+    private List<String> extractDataFromAddresses(IExcelRangeParser sheetParser, String addresses)
     {
-        return Stream.of(addresses.split(";")).map(sheetParser::getDataFromCell).collect(Collectors.toList());
+        return Stream.of(addresses.split(ADDRESSES_SEPARATOR))
+                .map(sheetParser::getDataFromCell)
+                .collect(Collectors.toList());
     }
 
     private String build(Collection<String> headers, Collection<List<String>> data, TableProperties properties)
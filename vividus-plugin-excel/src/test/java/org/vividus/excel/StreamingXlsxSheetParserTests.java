@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.vividus.model.CellValue;
+import org.vividus.util.ResourceUtils;
+
+class StreamingXlsxSheetParserTests
+{
+    private static final String TEMPLATE_PATH = "/TestTemplate.xlsx";
+    private static final String REPEATING_DATA_SHEET = "RepeatingData";
+
+    private final File template = ResourceUtils.loadFile(getClass(), TEMPLATE_PATH);
+
+    @ParameterizedTest
+    @CsvSource({
+            "Mapping,       A1:B5",
+            "AsString,      A1:B3",
+            "RepeatingData, A1:B8"
+    })
+    void shouldParseCellsInTheSameWayAsObjectModelParser(String sheetName, String range)
+            throws WorkbookParsingException
+    {
+        IExcelRangeParser streamingParser = parse(sheetName, range);
+        IExcelSheetParser objectModelParser = new ExcelSheetParser(
+                new ExcelSheetsExtractor(TEMPLATE_PATH).getSheet(sheetName).get());
+        assertEquals(toStrings(objectModelParser.getDataFromRange(range)),
+                toStrings(streamingParser.getDataFromRange(range)));
+    }
+
+    @Test
+    void shouldParseTableInTheSameWayAsObjectModelParser() throws WorkbookParsingException
+    {
+        String range = "A1:B8";
+        IExcelRangeParser streamingParser = parse(REPEATING_DATA_SHEET, range);
+        IExcelSheetParser objectModelParser = new ExcelSheetParser(
+                new ExcelSheetsExtractor(TEMPLATE_PATH).getSheet(REPEATING_DATA_SHEET).get());
+        assertEquals(objectModelParser.getDataAsTable(range), streamingParser.getDataAsTable(range));
+    }
+
+    @Test
+    void shouldKeepOnlyRequestedRegions() throws WorkbookParsingException
+    {
+        IExcelRangeParser streamingParser = parse(REPEATING_DATA_SHEET, "B2:B3");
+        assertEquals("OPEN", streamingParser.getDataFromCell("B3"));
+        assertNull(streamingParser.getDataFromCell("A3"));
+        assertEquals(Collections.singletonList(null), streamingParser.getDataAsTable("A2:A3").get(null));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> streamingParser.getDataFromCell("B5"));
+        assertEquals("Row at address 'B5' doesn't exist", exception.getMessage());
+    }
+
+    @Test
+    void shouldReturnEmptyParserForMissingSheet() throws WorkbookParsingException
+    {
+        assertEquals(Optional.empty(), StreamingXlsxSheetParser.parse(template, "missing",
+                List.of(CellRangeAddress.valueOf("A1:A2"))));
+    }
+
+    @Test
+    void shouldBeApplicableForXlsxFile() throws IOException
+    {
+        assertTrue(StreamingXlsxSheetParser.isApplicable(template));
+    }
+
+    @Test
+    void shouldNotBeApplicableForNonXlsxFile(@TempDir Path tempDir) throws IOException
+    {
+        Path file = Files.writeString(tempDir.resolve("data.csv"), "key,value");
+        assertFalse(StreamingXlsxSheetParser.isApplicable(file.toFile()));
+    }
+
+    private IExcelRangeParser parse(String sheetName, String range) throws WorkbookParsingException
+    {
+        return StreamingXlsxSheetParser.parse(template, sheetName, List.of(CellRangeAddress.valueOf(range))).get();
+    }
+
+    private static List<String> toStrings(List<CellValue> cellValues)
+    {
+        Function<CellValue, String> toString = v -> v.getAddress() + '=' + v.getValue();
+        return cellValues.stream().map(toString).collect(Collectors.toList());
+    }
+}
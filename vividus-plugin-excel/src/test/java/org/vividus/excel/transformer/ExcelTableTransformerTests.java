@@ -141,4 +141,14 @@ class ExcelTableTransformerTests
         String actualResult = transformer.transform("", null, properties);
         assertEquals("|Sixth|CLOSED|\n|Seventh|CLOSED !|", actualResult);
     }
+
+    @Test
+    void testTransformWithMissingSheet()
+    {
+        properties.getProperties().setProperty("sheet", "Missing");
+        properties.getProperties().setProperty(RANGE, EXTEND_RANGE_VALUE);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> transformer.transform("", null, properties));
+        assertEquals("Sheet with name 'Missing' does not exist", exception.getMessage());
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,16 +18,21 @@ package org.vividus.steps.mongodb;
 
 import static java.util.function.Function.identity;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
@@ -47,6 +52,11 @@ public class MongoDbSteps
     private final Map<String, String> connections;
     private final JsonUtils jsonUtils;
     private final VariableContext variableContext;
+    private final Map<String, MongoClient> clients = new ConcurrentHashMap<>();
+
+    private int maxPoolSize;
+    private int minPoolSize;
+    private Duration maxConnectionIdleTime;
 
     public MongoDbSteps(Map<String, String> connections, JsonUtils jsonUtils, VariableContext variableContext)
     {
@@ -55,6 +65,12 @@ public class MongoDbSteps
         this.variableContext = variableContext;
     }
 
+    public void destroy()
+    {
+        clients.values().forEach(MongoClient::close);
+        clients.clear();
+    }
+
     /**
      * Actions performed in the step:
      * <ul>
@@ -128,6 +144,13 @@ public class MongoDbSteps
      * <td>collects previously found documents into JSON format, takes no arguments</td>
      * <td></td>
      * </tr>
+     * <tr>
+     * <td>stream</td>
+     * <td>terminal</td>
+     * <td>streams previously found documents by batches into a temporary file in JSON format and saves the path to
+     * the file, takes optional JSON with the number of documents to fetch per batch as an argument</td>
+     * <td>{ batchSize: 1000 }</td>
+     * </tr>
      * </table>
      * Command sequence rules
      * <ul>
@@ -156,10 +179,11 @@ public class MongoDbSteps
             String instanceKey, Set<VariableScope> scopes, String variableName)
     {
         verify(commands);
+        MongoCommand terminalCommand = commands.get(commands.size() - 1).getCommand();
         executeInDatabase(instanceKey, dbName,
             db -> commands.stream()
                 .reduce(identity(), (f, c) -> c.getCommand().apply(f, c.getArgument()), (l, r) -> l)
-                .andThen(jsonUtils::toJson)
+                .andThen(terminalCommand::toVariableValue)
                 .andThen(putVariable(scopes, variableName))
                 .apply(db.getCollection(collectionName)));
     }
@@ -211,10 +235,36 @@ public class MongoDbSteps
     {
         String connection = connections.get(connectionKey);
         Validate.validState(connection != null, "Connection with key '%s' does not exist", connectionKey);
-        try (MongoClient client = MongoClients.create(connection))
-        {
-            MongoDatabase database = client.getDatabase(dbKey);
-            databaseConsumer.accept(database);
-        }
+        MongoClient client = clients.computeIfAbsent(connectionKey, k -> createClient(connection));
+        MongoDatabase database = client.getDatabase(dbKey);
+        databaseConsumer.accept(database);
+    }
+
+    private MongoClient createClient(String connection)
+    {
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyToConnectionPoolSettings(builder -> builder
+                        .maxSize(maxPoolSize)
+                        .minSize(minPoolSize)
+                        .maxConnectionIdleTime(maxConnectionIdleTime.toMillis(), TimeUnit.MILLISECONDS))
+                // The pool options set in the connection string take precedence over the default ones
+                .applyConnectionString(new ConnectionString(connection))
+                .build();
+        return MongoClients.create(settings);
+    }
+
+    public void setMaxPoolSize(int maxPoolSize)
+    {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public void setMinPoolSize(int minPoolSize)
+    {
+        this.minPoolSize = minPoolSize;
+    }
+
+    public void setMaxConnectionIdleTime(Duration maxConnectionIdleTime)
+    {
+        this.maxConnectionIdleTime = maxConnectionIdleTime;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,11 @@ package org.vividus.steps.mongodb.command;
 
 import static java.util.stream.StreamSupport.stream;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -27,8 +32,12 @@ import java.util.stream.Stream;
 
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 
+import org.bson.BsonInt32;
 import org.bson.conversions.Bson;
+import org.vividus.util.ResourceUtils;
+import org.vividus.util.json.JsonUtils;
 
 public enum MongoCommand
 {
@@ -66,8 +75,28 @@ public enum MongoCommand
         {
             return chain.andThen(out -> stream(cast(out, FindIterable.class).spliterator(), false).count());
         }
+    },
+    STREAM(CommandType.TERMINAL)
+    {
+        @Override
+        public Function<Object, Object> apply(Function<Object, Object> chain, Bson argument)
+        {
+            int batchSize = argument.toBsonDocument().getInt32("batchSize", new BsonInt32(DEFAULT_BATCH_SIZE))
+                    .getValue();
+            return chain.andThen(out -> writeToTempFile(cast(out, FindIterable.class).batchSize(batchSize)));
+        }
+
+        @Override
+        public Object toVariableValue(Object result)
+        {
+            // The result is the path to the file already containing the documents in JSON format
+            return result;
+        }
     };
 
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final JsonUtils JSON_UTILS = new JsonUtils();
+
     private static final Map<CommandType, List<MongoCommand>> COMMANDS;
 
     private final CommandType commandType;
@@ -95,8 +124,48 @@ public enum MongoCommand
 
     public abstract Function<Object, Object> apply(Function<Object, Object> chain, Bson argument);
 
+    /**
+     * Converts the result of the terminal command into the value to save into the variable
+     * @param result the result of the terminal command
+     * @return the result in JSON format
+     */
+    public Object toVariableValue(Object result)
+    {
+        return JSON_UTILS.toJson(result);
+    }
+
     <T> T cast(Object object, Class<T> type)
     {
         return type.cast(object);
     }
+
+    /**
+     * Writes the documents into a temporary file as JSON array, the documents are fetched from the database by
+     * batches, so only one batch is kept in memory at a time
+     */
+    String writeToTempFile(FindIterable<?> documents)
+    {
+        try
+        {
+            Path file = ResourceUtils.createTempFile("mongodb-documents-", ".json");
+            try (BufferedWriter writer = Files.newBufferedWriter(file); MongoCursor<?> cursor = documents.cursor())
+            {
+                writer.write('[');
+                while (cursor.hasNext())
+                {
+                    writer.write(JSON_UTILS.toJson(cursor.next()));
+                    if (cursor.hasNext())
+                    {
+                        writer.write(',');
+                    }
+                }
+                writer.write(']');
+            }
+            return file.toAbsolutePath().toString();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,15 +19,21 @@ package org.vividus.steps.mongodb;
 import static java.lang.System.lineSeparator;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
@@ -83,13 +89,54 @@ class MongoDbStepsTests
             MongoDatabase database = mockDatabase(mongoClients);
             when(database.runCommand(COMMAND)).thenReturn(Document.parse(DOCUMENT_JSON));
 
-            MongoDbSteps steps = new MongoDbSteps(Map.of(LOCAL_KEY, CONNECTION_KEY), jsonUtils, context);
+            MongoDbSteps steps = createSteps();
             steps.executeCommand(COMMAND, LOCAL_KEY, LOCAL_KEY, Set.of(VariableScope.STORY), VARIABLE_KEY);
 
             verify(context).putVariable(Set.of(VariableScope.STORY), VARIABLE_KEY, Map.of("id", "1"));
         }
     }
 
+    @Test
+    void shouldReuseClientPerConnectionAndCloseItOnDestroy()
+    {
+        try (MockedStatic<MongoClients> mongoClients = Mockito.mockStatic(MongoClients.class))
+        {
+            MongoClient client = mock(MongoClient.class);
+            mongoClients.when(() -> MongoClients.create(any(MongoClientSettings.class))).thenReturn(client);
+            MongoDatabase database = mock(MongoDatabase.class);
+            when(client.getDatabase(LOCAL_KEY)).thenReturn(database);
+            when(database.runCommand(COMMAND)).thenReturn(Document.parse(DOCUMENT_JSON));
+
+            MongoDbSteps steps = createSteps();
+            steps.executeCommand(COMMAND, LOCAL_KEY, LOCAL_KEY, Set.of(VariableScope.STORY), VARIABLE_KEY);
+            steps.executeCommand(COMMAND, LOCAL_KEY, LOCAL_KEY, Set.of(VariableScope.STORY), VARIABLE_KEY);
+
+            mongoClients.verify(() -> MongoClients.create(argThat((MongoClientSettings settings) ->
+                    settings.getConnectionPoolSettings().getMaxSize() == 10
+                    && settings.getConnectionPoolSettings().getMinSize() == 1
+                    && settings.getConnectionPoolSettings().getMaxConnectionIdleTime(TimeUnit.SECONDS) == 30)));
+            verify(context, times(2)).putVariable(Set.of(VariableScope.STORY), VARIABLE_KEY, Map.of("id", "1"));
+            steps.destroy();
+            verify(client).close();
+        }
+    }
+
+    @Test
+    void shouldPreferPoolOptionsFromConnectionString()
+    {
+        try (MockedStatic<MongoClients> mongoClients = Mockito.mockStatic(MongoClients.class))
+        {
+            MongoDatabase database = mockDatabase(mongoClients);
+            when(database.runCommand(COMMAND)).thenReturn(Document.parse(DOCUMENT_JSON));
+
+            MongoDbSteps steps = createSteps(CONNECTION_KEY + "/?maxPoolSize=5");
+            steps.executeCommand(COMMAND, LOCAL_KEY, LOCAL_KEY, Set.of(VariableScope.STORY), VARIABLE_KEY);
+
+            mongoClients.verify(() -> MongoClients.create(argThat(
+                    (MongoClientSettings settings) -> settings.getConnectionPoolSettings().getMaxSize() == 5)));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void testExecuteCommands()
@@ -104,7 +151,7 @@ class MongoDbStepsTests
             when(collection.find(argument)).thenReturn(findIterable);
             when(findIterable.spliterator()).thenReturn(List.of(Document.parse(DOCUMENT_JSON)).spliterator());
 
-            MongoDbSteps steps = new MongoDbSteps(Map.of(LOCAL_KEY, CONNECTION_KEY), jsonUtils, context);
+            MongoDbSteps steps = createSteps();
 
             steps.executeCommands(
                     List.of(commandEntry(MongoCommand.FIND, argument), commandEntry(MongoCommand.COLLECT, argument)),
@@ -124,7 +171,7 @@ class MongoDbStepsTests
                     lineSeparator()
                     + " - Command sequence must start with one of the source commands: [FIND]"
                     + lineSeparator()
-                    + " - Command sequence must end with one of the terminal commands: [COLLECT, COUNT]"
+                    + " - Command sequence must end with one of the terminal commands: [COLLECT, COUNT, STREAM]"
                     + lineSeparator()
                     + " - Only the following commands are allowed between the first and the last ones: "
                     + "[PROJECTION]"),
@@ -142,6 +189,20 @@ class MongoDbStepsTests
         assertEquals(message, exception.getMessage());
     }
 
+    private MongoDbSteps createSteps()
+    {
+        return createSteps(CONNECTION_KEY);
+    }
+
+    private MongoDbSteps createSteps(String connection)
+    {
+        MongoDbSteps steps = new MongoDbSteps(Map.of(LOCAL_KEY, connection), jsonUtils, context);
+        steps.setMaxPoolSize(10);
+        steps.setMinPoolSize(1);
+        steps.setMaxConnectionIdleTime(Duration.ofSeconds(30));
+        return steps;
+    }
+
     private static MongoCommandEntry commandEntry(MongoCommand command, Bson argument)
     {
         MongoCommandEntry entry = new MongoCommandEntry();
@@ -154,7 +215,7 @@ class MongoDbStepsTests
     private MongoDatabase mockDatabase(MockedStatic<MongoClients> mongoClients)
     {
         MongoClient client = mock(MongoClient.class);
-        mongoClients.when(() -> MongoClients.create(CONNECTION_KEY)).thenReturn(client);
+        mongoClients.when(() -> MongoClients.create(any(MongoClientSettings.class))).thenReturn(client);
 
         MongoDatabase database = mock(MongoDatabase.class);
         when(client.getDatabase(LOCAL_KEY)).thenReturn(database);
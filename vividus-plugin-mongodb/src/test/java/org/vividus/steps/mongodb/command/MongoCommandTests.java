@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,18 +18,26 @@ package org.vividus.steps.mongodb.command;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
 
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -77,5 +85,29 @@ class MongoCommandTests
         when(findIterable.spliterator()).thenReturn(List.of(document).spliterator());
         Object output = MongoCommand.COUNT.apply(Function.identity(), bson).apply(findIterable);
         assertEquals(1L, output);
+        assertEquals("1", MongoCommand.COUNT.toVariableValue(output));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'{ batchSize: 2 }', 2",
+        "'{}',               1000"
+    })
+    @SuppressWarnings("unchecked")
+    void testStream(String argument, int batchSize) throws IOException
+    {
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        Iterator<Document> documents = List.of(Document.parse("{\"id\":1}"), Document.parse("{\"id\":2}"))
+                .iterator();
+        when(cursor.hasNext()).thenAnswer(i -> documents.hasNext());
+        when(cursor.next()).thenAnswer(i -> documents.next());
+        when(findIterable.batchSize(batchSize)).thenReturn(findIterable);
+        when(findIterable.cursor()).thenReturn(cursor);
+        Object output = MongoCommand.STREAM.apply(Function.identity(), Document.parse(argument)).apply(findIterable);
+        assertEquals(output, MongoCommand.STREAM.toVariableValue(output));
+        Path file = Path.of((String) output);
+        assertEquals("[{\"id\":1},{\"id\":2}]", Files.readString(file));
+        verify(cursor).close();
+        Files.delete(file);
     }
 }
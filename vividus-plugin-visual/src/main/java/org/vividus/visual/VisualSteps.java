@@ -199,7 +199,9 @@ public class VisualSteps extends AbstractVisualSteps
         {
             return;
         }
-        if (result.getBaseline() == null)
+        // The images are published for the failed checks only, so the checkpoint without the baseline means the
+        // baseline is missing
+        if (result.getBaseline() == null && result.getCheckpoint() != null)
         {
             getSoftAssert().recordFailedAssertion(
                     "Unable to find baseline with name: " + result.getBaselineName());
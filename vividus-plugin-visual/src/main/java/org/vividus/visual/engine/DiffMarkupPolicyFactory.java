@@ -29,7 +29,12 @@ public class DiffMarkupPolicyFactory
     public DiffMarkupPolicy create(int imageHeight, int imageWidth, int diffPercentage)
     {
         PointsMarkupPolicy pointsMarkupPolicy = new PointsMarkupPolicy();
-        pointsMarkupPolicy.setDiffSizeTrigger(imageHeight * imageWidth * diffPercentage / ONE_HUNDRED);
+        pointsMarkupPolicy.setDiffSizeTrigger((int) calculateDiffSizeTrigger(imageHeight, imageWidth, diffPercentage));
         return pointsMarkupPolicy.withDiffColor(DIFF_COLOR);
     }
+
+    public long calculateDiffSizeTrigger(int imageHeight, int imageWidth, int diffPercentage)
+    {
+        return (long) imageHeight * imageWidth * diffPercentage / ONE_HUNDRED;
+    }
 }
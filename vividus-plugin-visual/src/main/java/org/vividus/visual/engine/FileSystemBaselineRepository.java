@@ -25,6 +25,8 @@ import java.util.function.Supplier;
 import javax.imageio.ImageIO;
 
 import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -38,8 +40,11 @@ import ru.yandex.qatools.ashot.Screenshot;
 public class FileSystemBaselineRepository implements IBaselineRepository
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemBaselineRepository.class);
+    private static final int BYTES_PER_PIXEL = 4;
+    private static final int KILOBYTE = 1024;
 
     private File baselinesFolder;
+    private int baselinesCacheMaxSizeMb;
 
     private final Supplier<File> baselineFolderResolver = Suppliers.memoize(() -> {
         if (!baselinesFolder.isAbsolute())
@@ -51,6 +56,14 @@ public class FileSystemBaselineRepository implements IBaselineRepository
         return baselinesFolder;
     });
 
+    private final Supplier<Cache<File, CachedBaseline>> baselinesCache = Suppliers.memoize(
+        // Single segment, so large baselines are not limited by a per-segment share of the weight
+        () -> CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight((long) baselinesCacheMaxSizeMb * KILOBYTE)
+                .weigher((File file, CachedBaseline baseline) -> baseline.getSizeKb())
+                .build());
+
     @Override
     public Optional<Screenshot> getBaseline(String baselineName) throws IOException
     {
@@ -60,13 +73,20 @@ public class FileSystemBaselineRepository implements IBaselineRepository
             LOGGER.warn("Unable to find a baseline at the path: {}", baselineFile);
             return Optional.empty();
         }
-        BufferedImage baselineImage = ImageIO.read(baselineFile);
-        if (baselineImage == null)
+        long lastModified = baselineFile.lastModified();
+        CachedBaseline cachedBaseline = baselinesCache.get().getIfPresent(baselineFile);
+        if (cachedBaseline == null || cachedBaseline.getLastModified() != lastModified)
         {
-            throw new ResourceLoadException(
-                    "The baseline at the path '" + baselineFile + "' is broken or has unsupported format");
+            BufferedImage baselineImage = ImageIO.read(baselineFile);
+            if (baselineImage == null)
+            {
+                throw new ResourceLoadException(
+                        "The baseline at the path '" + baselineFile + "' is broken or has unsupported format");
+            }
+            cachedBaseline = new CachedBaseline(baselineImage, lastModified);
+            baselinesCache.get().put(baselineFile, cachedBaseline);
         }
-        return Optional.of(new Screenshot(baselineImage));
+        return Optional.of(new Screenshot(cachedBaseline.getImage()));
     }
 
     private String appendExtension(String baselineName)
@@ -79,6 +99,7 @@ public class FileSystemBaselineRepository implements IBaselineRepository
     {
         File baselineToSave = new File(baselineFolderResolver.get(), appendExtension(baselineName));
         ImageUtils.writeAsPng(toSave.getImage(), baselineToSave);
+        baselinesCache.get().invalidate(baselineToSave);
         LOGGER.atInfo().addArgument(baselineToSave::getAbsolutePath).log("Baseline saved to: {}");
     }
 
@@ -86,4 +107,42 @@ public class FileSystemBaselineRepository implements IBaselineRepository
     {
         this.baselinesFolder = baselinesFolder;
     }
+
+    /**
+     * Sets the max size of the decoded baselines kept in memory, the cached images are shared between the checks, so
+     * they must not be modified
+     * @param baselinesCacheMaxSizeMb max size in megabytes, 0 disables caching
+     */
+    public void setBaselinesCacheMaxSizeMb(int baselinesCacheMaxSizeMb)
+    {
+        this.baselinesCacheMaxSizeMb = baselinesCacheMaxSizeMb;
+    }
+
+    private static final class CachedBaseline
+    {
+        private final BufferedImage image;
+        private final long lastModified;
+
+        CachedBaseline(BufferedImage image, long lastModified)
+        {
+            this.image = image;
+            this.lastModified = lastModified;
+        }
+
+        BufferedImage getImage()
+        {
+            return image;
+        }
+
+        long getLastModified()
+        {
+            return lastModified;
+        }
+
+        int getSizeKb()
+        {
+            long sizeBytes = (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+            return (int) Math.min(Integer.MAX_VALUE, sizeBytes / KILOBYTE + 1);
+        }
+    }
 }
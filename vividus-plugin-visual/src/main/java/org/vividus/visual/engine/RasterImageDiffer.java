@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import ru.yandex.qatools.ashot.Screenshot;
+
+/**
+ * Counts different pixels using the same criteria as AShot {@link ru.yandex.qatools.ashot.comparison.ImageDiffer}:
+ * the pixels outside of the common area of the images are different, the pixels inside the common area are different
+ * if any of RGB channels differs by more than the color distortion. The images are read by whole rows into
+ * <code>int[]</code> buffers, the rows are split into stripes processed in parallel, the counting stops as soon as
+ * the number of different pixels exceeds the limit.
+ */
+public class RasterImageDiffer
+{
+    private static final int DEFAULT_COLOR_DISTORTION = 15;
+    private static final int MIN_STRIPE_HEIGHT = 64;
+    private static final int RED_SHIFT = 16;
+    private static final int GREEN_SHIFT = 8;
+    private static final int CHANNEL_MASK = 0xFF;
+
+    private final int colorDistortion;
+
+    public RasterImageDiffer()
+    {
+        this(DEFAULT_COLOR_DISTORTION);
+    }
+
+    public RasterImageDiffer(int colorDistortion)
+    {
+        this.colorDistortion = colorDistortion;
+    }
+
+    /**
+     * Checks whether the screenshots can be compared by this differ: the screenshots must have neither ignored areas
+     * nor restricted areas to compare.
+     * @param expected expected screenshot
+     * @param actual actual screenshot
+     * @return <code>true</code> if the screenshots can be compared, otherwise <code>false</code>
+     */
+    public boolean isApplicable(Screenshot expected, Screenshot actual)
+    {
+        return isWholeImageCompared(expected) && isWholeImageCompared(actual);
+    }
+
+    private static boolean isWholeImageCompared(Screenshot screenshot)
+    {
+        if (screenshot.getIgnoredAreas() != null && !screenshot.getIgnoredAreas().isEmpty()
+                || screenshot.getCoordsToCompare() == null)
+        {
+            return false;
+        }
+        BufferedImage image = screenshot.getImage();
+        Rectangle wholeImage = new Rectangle(0, 0, image.getWidth(), image.getHeight());
+        return screenshot.getCoordsToCompare().stream().anyMatch(coords -> coords.contains(wholeImage));
+    }
+
+    /**
+     * Counts the number of different pixels
+     * @param expected expected image
+     * @param actual actual image
+     * @param limit the number of different pixels, the counting is stopped as soon as it's exceeded
+     * @return the number of different pixels if it doesn't exceed the limit, otherwise any value greater than the
+     * limit
+     */
+    public long countDiffPixels(BufferedImage expected, BufferedImage actual, long limit)
+    {
+        int commonWidth = Math.min(expected.getWidth(), actual.getWidth());
+        int commonHeight = Math.min(expected.getHeight(), actual.getHeight());
+        long width = Math.max(expected.getWidth(), actual.getWidth());
+        long height = Math.max(expected.getHeight(), actual.getHeight());
+
+        long outsideCommonArea = width * height - (long) commonWidth * commonHeight;
+        if (outsideCommonArea > limit || commonWidth == 0)
+        {
+            return outsideCommonArea;
+        }
+
+        AtomicLong diffPixels = new AtomicLong(outsideCommonArea);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int stripes = Math.max(1, Math.min(parallelism, commonHeight / MIN_STRIPE_HEIGHT));
+        int stripeHeight = (commonHeight + stripes - 1) / stripes;
+        IntStream.range(0, stripes).parallel().forEach(stripe -> {
+            int[] expectedRow = new int[commonWidth];
+            int[] actualRow = new int[commonWidth];
+            int end = Math.min(commonHeight, (stripe + 1) * stripeHeight);
+            for (int y = stripe * stripeHeight; y < end && diffPixels.get() <= limit; y++)
+            {
+                expected.getRGB(0, y, commonWidth, 1, expectedRow, 0, commonWidth);
+                actual.getRGB(0, y, commonWidth, 1, actualRow, 0, commonWidth);
+                int rowDiffPixels = 0;
+                for (int x = 0; x < commonWidth; x++)
+                {
+                    if (!isSameColor(expectedRow[x], actualRow[x]))
+                    {
+                        rowDiffPixels++;
+                    }
+                }
+                if (rowDiffPixels > 0)
+                {
+                    diffPixels.addAndGet(rowDiffPixels);
+                }
+            }
+        });
+        return diffPixels.get();
+    }
+
+    private boolean isSameColor(int expected, int actual)
+    {
+        return expected == actual
+                || !hasDiffInChannel(expected, actual, RED_SHIFT)
+                && !hasDiffInChannel(expected, actual, GREEN_SHIFT)
+                && !hasDiffInChannel(expected, actual, 0);
+    }
+
+    private boolean hasDiffInChannel(int expected, int actual, int shift)
+    {
+        return Math.abs((expected >> shift & CHANNEL_MASK) - (actual >> shift & CHANNEL_MASK)) > colorDistortion;
+    }
+}
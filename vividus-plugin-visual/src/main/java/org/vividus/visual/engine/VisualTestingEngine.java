@@ -22,6 +22,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,17 +45,19 @@ public class VisualTestingEngine implements IVisualTestingEngine
     private final ScreenshotProvider screenshotProvider;
     private final IBaselineRepository baselineRepository;
     private final DiffMarkupPolicyFactory diffMarkupPolicyFactory;
+    private final RasterImageDiffer rasterImageDiffer;
 
     private double acceptableDiffPercentage;
     private double requiredDiffPercentage;
     private boolean overrideBaselines;
 
     public VisualTestingEngine(ScreenshotProvider screenshotProvider, IBaselineRepository baselineRepository,
-            DiffMarkupPolicyFactory diffMarkupPolicyFactory)
+            DiffMarkupPolicyFactory diffMarkupPolicyFactory, RasterImageDiffer rasterImageDiffer)
     {
         this.screenshotProvider = screenshotProvider;
         this.baselineRepository = baselineRepository;
         this.diffMarkupPolicyFactory = diffMarkupPolicyFactory;
+        this.rasterImageDiffer = rasterImageDiffer;
     }
 
     @Override
@@ -77,25 +80,43 @@ public class VisualTestingEngine implements IVisualTestingEngine
     {
         VisualCheckResult comparisonResult = new VisualCheckResult(visualCheck);
         Screenshot checkpoint = getCheckpointScreenshot(visualCheck);
-        comparisonResult.setCheckpoint(imageToBase64(checkpoint.getImage()));
         Optional<Screenshot> baseline = baselineRepository.getBaseline(visualCheck.getBaselineName());
         if (baseline.isPresent())
         {
             Screenshot baselineScreenshot = baseline.get();
-            comparisonResult.setBaseline(imageToBase64(baselineScreenshot.getImage()));
 
             boolean inequalityCheck = visualCheck.getAction() == VisualActionType.CHECK_INEQUALITY_AGAINST;
             int height = Math.max(baselineScreenshot.getImage().getHeight(), checkpoint.getImage().getHeight());
             int width = Math.max(baselineScreenshot.getImage().getWidth(), checkpoint.getImage().getWidth());
             double diffPercentage = calculateDiffPercentage(visualCheck, inequalityCheck);
-            ImageDiff diff = findImageDiff(baselineScreenshot, checkpoint, height, width, diffPercentage);
-            comparisonResult.setPassed(!diff.hasDiff());
-            comparisonResult.setDiff(imageToBase64(diff.getMarkedImage()));
+
+            OptionalLong acceptableDiffSize = inequalityCheck ? OptionalLong.empty()
+                    : findAcceptableDiffSize(baselineScreenshot, checkpoint, height, width, diffPercentage);
+            long diffSize;
+            if (acceptableDiffSize.isPresent())
+            {
+                comparisonResult.setPassed(true);
+                diffSize = acceptableDiffSize.getAsLong();
+            }
+            else
+            {
+                ImageDiff diff = findImageDiff(baselineScreenshot, checkpoint, height, width, diffPercentage);
+                comparisonResult.setPassed(!diff.hasDiff());
+                diffSize = diff.getDiffSize();
+                // The images are published for the failed checks only
+                if (comparisonResult.isPassed() == inequalityCheck)
+                {
+                    comparisonResult.setBaseline(imageToBase64(baselineScreenshot.getImage()));
+                    comparisonResult.setCheckpoint(imageToBase64(checkpoint.getImage()));
+                    comparisonResult.setDiff(imageToBase64(diff.getMarkedImage()));
+                }
+            }
+            long actualDiffSize = diffSize;
             LOGGER.atInfo()
                   .addArgument(() -> inequalityCheck ? "required" : "acceptable")
                   .addArgument(BigDecimal.valueOf(diffPercentage))
                   .addArgument(() -> BigDecimal.valueOf(
-                      (double) (diff.getDiffSize() * ONE_HUNDRED) / (width * height)).setScale(SCALE,
+                      (double) (actualDiffSize * ONE_HUNDRED) / (width * height)).setScale(SCALE,
                           RoundingMode.CEILING))
                   .log("The {} visual difference percentage is {}% , but actual was {}%");
             if (overrideBaselines)
@@ -105,6 +126,7 @@ public class VisualTestingEngine implements IVisualTestingEngine
         }
         else
         {
+            comparisonResult.setCheckpoint(imageToBase64(checkpoint.getImage()));
             comparisonResult.setPassed(false);
         }
 
@@ -120,6 +142,18 @@ public class VisualTestingEngine implements IVisualTestingEngine
         return visualCheck.getAcceptableDiffPercentage().orElse(this.acceptableDiffPercentage);
     }
 
+    private OptionalLong findAcceptableDiffSize(Screenshot baseline, Screenshot checkpoint, int height, int width,
+            double diffPercentage)
+    {
+        if (!rasterImageDiffer.isApplicable(baseline, checkpoint))
+        {
+            return OptionalLong.empty();
+        }
+        long diffSizeTrigger = diffMarkupPolicyFactory.calculateDiffSizeTrigger(height, width, (int) diffPercentage);
+        long diffSize = rasterImageDiffer.countDiffPixels(baseline.getImage(), checkpoint.getImage(), diffSizeTrigger);
+        return diffSize <= diffSizeTrigger ? OptionalLong.of(diffSize) : OptionalLong.empty();
+    }
+
     private ImageDiff findImageDiff(Screenshot expected, Screenshot actual, int height, int width,
             double diffPercentage)
     {
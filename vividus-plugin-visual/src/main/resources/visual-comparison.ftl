@@ -1,3 +1,21 @@
 <#include "base-report.ftl">
 
+<#if result.actionType.name() != "ESTABLISH" && !result.checkpoint?hasContent>
+<!doctype html>
+<html lang="en">
+<head>
+    <meta charset="utf-8">
+    <title>Visual tests result table</title>
+    <link rel="stylesheet" href="../../styles.css"/>
+    <link rel="stylesheet" href="../../webjars/bootstrap/3.3.6/css/bootstrap.min.css"/>
+</head>
+<body>
+    <div class="container-fluid">
+        <h3>Baseline name: ${result.baselineName}</h3>
+        <p>The images are published for the failed visual checks only</p>
+    </div>
+</body>
+</html>
+<#else>
 <@report />
+</#if>
@@ -18,6 +18,7 @@ package org.vividus.visual;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
@@ -141,6 +142,20 @@ class VisualStepsTests
         verifyCheckResultPublish();
     }
 
+    @Test
+    void shouldVerifyPassedCheckWithoutPublishedImages() throws IOException
+    {
+        VisualCheck visualCheck = mockVisualCheckFactory(VisualActionType.COMPARE_AGAINST);
+        mockUiContext();
+        when(visualTestingEngine.compareAgainst(visualCheck)).thenReturn(visualCheckResult);
+        when(visualCheckResult.getActionType()).thenReturn(VisualActionType.COMPARE_AGAINST);
+        when(visualCheckResult.isPassed()).thenReturn(true);
+        visualSteps.runVisualTests(VisualActionType.COMPARE_AGAINST, BASELINE);
+        verify(softAssert).assertTrue(VISUAL_CHECK_PASSED, true);
+        verify(softAssert, never()).recordFailedAssertion(anyString());
+        verifyCheckResultPublish();
+    }
+
     @Test
     void shouldRecordFailedAssertionInCaseOfMissingBaseline() throws IOException
     {
@@ -148,6 +163,7 @@ class VisualStepsTests
         mockUiContext();
         when(visualTestingEngine.compareAgainst(visualCheck)).thenReturn(visualCheckResult);
         when(visualCheckResult.getBaselineName()).thenReturn(BASELINE);
+        when(visualCheckResult.getCheckpoint()).thenReturn(StringUtils.EMPTY);
         visualSteps.runVisualTests(VisualActionType.COMPARE_AGAINST, BASELINE);
         verify(softAssert, never()).assertTrue(VISUAL_CHECK_PASSED, false);
         verify(softAssert).recordFailedAssertion("Unable to find baseline with name: baseline");
@@ -17,6 +17,7 @@
 package org.vividus.visual.engine;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 
 import java.awt.Color;
@@ -44,4 +45,10 @@ class DiffMarkupPolicyFactoryTests
             verify(vlad).withDiffColor(new Color(238, 111, 238));
         }
     }
+
+    @Test
+    void shouldCalculateDiffSizeTriggerForLargeImages()
+    {
+        assertEquals(2_880_000_000L, new DiffMarkupPolicyFactory().calculateDiffSizeTrigger(30_000, 1920, 50));
+    }
 }
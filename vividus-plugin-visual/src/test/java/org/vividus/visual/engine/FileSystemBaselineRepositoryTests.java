@@ -21,6 +21,8 @@ import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -67,6 +69,42 @@ class FileSystemBaselineRepositoryTests
         assertThat(fileSystemBaselineRepository.getBaseline(BASELINE).get().getImage(), ImageTool.equalImage(baseline));
     }
 
+    @Test
+    void shouldCacheDecodedBaselines(@TempDir File folder) throws IOException
+    {
+        fileSystemBaselineRepository.setBaselinesFolder(folder);
+        fileSystemBaselineRepository.setBaselinesCacheMaxSizeMb(1);
+        Screenshot screenshot = new Screenshot(loadBaseline());
+        fileSystemBaselineRepository.saveBaseline(screenshot, BASELINE);
+        BufferedImage baseline = fileSystemBaselineRepository.getBaseline(BASELINE).get().getImage();
+        assertSame(baseline, fileSystemBaselineRepository.getBaseline(BASELINE).get().getImage());
+        fileSystemBaselineRepository.saveBaseline(screenshot, BASELINE);
+        BufferedImage savedBaseline = fileSystemBaselineRepository.getBaseline(BASELINE).get().getImage();
+        assertNotSame(baseline, savedBaseline);
+        assertThat(savedBaseline, ImageTool.equalImage(baseline));
+    }
+
+    @Test
+    void shouldCacheBaselineLargerThanQuarterOfCacheSize(@TempDir File folder) throws IOException
+    {
+        fileSystemBaselineRepository.setBaselinesFolder(folder);
+        fileSystemBaselineRepository.setBaselinesCacheMaxSizeMb(1);
+        int width = 512;
+        int height = 384;
+        fileSystemBaselineRepository.saveBaseline(
+                new Screenshot(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)), BASELINE);
+        BufferedImage baseline = fileSystemBaselineRepository.getBaseline(BASELINE).get().getImage();
+        assertSame(baseline, fileSystemBaselineRepository.getBaseline(BASELINE).get().getImage());
+    }
+
+    @Test
+    void shouldNotCacheBaselinesIfCacheIsDisabled() throws IOException
+    {
+        fileSystemBaselineRepository.setBaselinesFolder(BASELINES_FOLDER);
+        BufferedImage baseline = fileSystemBaselineRepository.getBaseline(BASELINE).get().getImage();
+        assertNotSame(baseline, fileSystemBaselineRepository.getBaseline(BASELINE).get().getImage());
+    }
+
     @Test
     void shouldReturnEmptyImageForMissingBaseline(@TempDir File baselineFolder) throws IOException
     {
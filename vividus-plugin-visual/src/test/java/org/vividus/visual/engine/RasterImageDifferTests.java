@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.visual.engine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import ru.yandex.qatools.ashot.Screenshot;
+import ru.yandex.qatools.ashot.comparison.ImageDiffer;
+import ru.yandex.qatools.ashot.coordinates.Coords;
+
+class RasterImageDifferTests
+{
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 300;
+    private static final int WHITE = 0xFFFFFF;
+
+    private final RasterImageDiffer differ = new RasterImageDiffer();
+
+    @Test
+    void shouldCountDiffPixelsInTheSameWayAsAshot()
+    {
+        BufferedImage expected = createImage(WIDTH, HEIGHT, WHITE);
+        BufferedImage actual = createImage(WIDTH, HEIGHT, WHITE);
+        for (int y = 0; y < HEIGHT; y += 3)
+        {
+            actual.setRGB(y % WIDTH, y, 0x000000);
+            actual.setRGB((y + 1) % WIDTH, y, 0xF5F5F5);
+        }
+        long ashotDiffSize = new ImageDiffer().makeDiff(new Screenshot(expected), new Screenshot(actual))
+                .getDiffSize();
+        assertEquals(HEIGHT / 3, ashotDiffSize);
+        assertEquals(ashotDiffSize, differ.countDiffPixels(expected, actual, Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldCountPixelsOutsideOfCommonAreaAsDifferent()
+    {
+        BufferedImage expected = createImage(WIDTH, HEIGHT, WHITE);
+        BufferedImage actual = createImage(WIDTH + 1, HEIGHT + 1, WHITE);
+        assertEquals(WIDTH + HEIGHT + 1, differ.countDiffPixels(expected, actual, Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldStopCountingOnceLimitIsExceeded()
+    {
+        BufferedImage expected = createImage(WIDTH, HEIGHT, WHITE);
+        BufferedImage actual = createImage(WIDTH, HEIGHT, 0);
+        int limit = 10;
+        assertThat(differ.countDiffPixels(expected, actual, limit), greaterThan((long) limit));
+    }
+
+    @Test
+    void shouldBeApplicableForWholeImageComparison()
+    {
+        Screenshot expected = new Screenshot(createImage(WIDTH, HEIGHT, WHITE));
+        Screenshot actual = new Screenshot(createImage(WIDTH, HEIGHT, WHITE));
+        assertTrue(differ.isApplicable(expected, actual));
+    }
+
+    @Test
+    void shouldNotBeApplicableForScreenshotsWithIgnoredAreas()
+    {
+        Screenshot expected = new Screenshot(createImage(WIDTH, HEIGHT, WHITE));
+        Screenshot actual = new Screenshot(createImage(WIDTH, HEIGHT, WHITE));
+        actual.setIgnoredAreas(Set.of(new Coords(0, 0, 1, 1)));
+        assertFalse(differ.isApplicable(expected, actual));
+    }
+
+    private static BufferedImage createImage(int width, int height, int rgb)
+    {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+}
@@ -92,6 +92,7 @@ class VisualTestingEngineTests
     @Mock private IBaselineRepository baselineRepository;
     @Mock private ScreenshotProvider screenshotProvider;
     @Spy private DiffMarkupPolicyFactory diffMarkupPolicyFactory;
+    @Spy private RasterImageDiffer rasterImageDiffer;
 
     @InjectMocks private VisualTestingEngine visualTestingEngine;
 
@@ -140,12 +141,10 @@ class VisualTestingEngineTests
         mockGetCheckpointScreenshot(visualCheck);
         VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
         Assertions.assertAll(
-            () -> assertEquals(BASELINE_BASE64, checkResult.getBaseline()),
             () -> assertEquals(BASELINE, checkResult.getBaselineName()),
-            () -> assertEquals(CHECKPOINT_BASE64, checkResult.getCheckpoint()),
             () -> assertEquals(VisualActionType.COMPARE_AGAINST, checkResult.getActionType()),
-            () -> assertEquals(DIFF_BASE64, checkResult.getDiff()),
             () -> assertEquals(status, checkResult.isPassed()));
+        assertImages(checkResult, !status);
         verify(baselineRepository, never()).saveBaseline(any(), any());
         assertThat(testLogger.getLoggingEvents(), is(List.of(info(LOG_MESSAGE, ACCEPTABLE,
                 BigDecimal.valueOf(acceptableDiffPercentage), DIFF))));
@@ -166,12 +165,10 @@ class VisualTestingEngineTests
         mockGetCheckpointScreenshot(visualCheck);
         VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
         Assertions.assertAll(
-            () -> assertEquals(BASELINE_BASE64, checkResult.getBaseline()),
             () -> assertEquals(BASELINE, checkResult.getBaselineName()),
-            () -> assertEquals(CHECKPOINT_BASE64, checkResult.getCheckpoint()),
             () -> assertEquals(VisualActionType.CHECK_INEQUALITY_AGAINST, checkResult.getActionType()),
-            () -> assertEquals(DIFF_BASE64, checkResult.getDiff()),
             () -> assertEquals(status, checkResult.isPassed()));
+        assertImages(checkResult, status);
         verify(baselineRepository, never()).saveBaseline(any(), any());
         assertThat(testLogger.getLoggingEvents(), is(List.of(info(LOG_MESSAGE, "required",
             BigDecimal.valueOf(requiredDiffPercentage), DIFF))));
@@ -186,12 +183,10 @@ class VisualTestingEngineTests
         mockGetCheckpointScreenshot(visualCheck);
         VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
         Assertions.assertAll(
-            () -> assertEquals(BASELINE_BASE64, checkResult.getBaseline()),
             () -> assertEquals(BASELINE, checkResult.getBaselineName()),
-            () -> assertEquals(CHECKPOINT_BASE64, checkResult.getCheckpoint()),
             () -> assertEquals(VisualActionType.COMPARE_AGAINST, checkResult.getActionType()),
-            () -> assertEquals(DIFF_BASE64, checkResult.getDiff()),
             () -> assertTrue(checkResult.isPassed()));
+        assertImages(checkResult, false);
         verify(baselineRepository, never()).saveBaseline(any(), any());
         assertThat(testLogger.getLoggingEvents(), is(List.of(info(LOG_MESSAGE, ACCEPTABLE, BigDecimal.valueOf(50.0),
                 DIFF))));
@@ -205,12 +200,10 @@ class VisualTestingEngineTests
         mockGetCheckpointScreenshot(visualCheck, BASELINE);
         VisualCheckResult checkResult = visualTestingEngine.compareAgainst(visualCheck);
         Assertions.assertAll(
-            () -> assertEquals(BASELINE_BASE64, checkResult.getBaseline()),
             () -> assertEquals(BASELINE, checkResult.getBaselineName()),
-            () -> assertEquals(BASELINE_BASE64, checkResult.getCheckpoint()),
             () -> assertEquals(VisualActionType.COMPARE_AGAINST, checkResult.getActionType()),
-            () -> assertEquals(BASELINE_BASE64, checkResult.getDiff()),
             () -> assertTrue(checkResult.isPassed()));
+        assertImages(checkResult, false);
         verify(baselineRepository, never()).saveBaseline(any(), any());
         assertThat(testLogger.getLoggingEvents(), is(List.of(info(LOG_MESSAGE, ACCEPTABLE, BigDecimal.valueOf(0d),
                 new BigDecimal(0).setScale(3)))));
@@ -246,6 +239,24 @@ class VisualTestingEngineTests
         assertThat(testLogger.getLoggingEvents(), is(empty()));
     }
 
+    private static void assertImages(VisualCheckResult checkResult, boolean published)
+    {
+        if (published)
+        {
+            Assertions.assertAll(
+                () -> assertEquals(BASELINE_BASE64, checkResult.getBaseline()),
+                () -> assertEquals(CHECKPOINT_BASE64, checkResult.getCheckpoint()),
+                () -> assertEquals(DIFF_BASE64, checkResult.getDiff()));
+        }
+        else
+        {
+            Assertions.assertAll(
+                () -> assertNull(checkResult.getBaseline()),
+                () -> assertNull(checkResult.getCheckpoint()),
+                () -> assertNull(checkResult.getDiff()));
+        }
+    }
+
     private BufferedImage mockGetCheckpointScreenshot(VisualCheck visualCheck, String imageName) throws IOException
     {
         BufferedImage image = loadImage(imageName);
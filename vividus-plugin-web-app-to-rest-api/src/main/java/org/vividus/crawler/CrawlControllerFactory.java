@@ -16,10 +16,13 @@
 
 package org.vividus.crawler;
 
+import static java.util.stream.Collectors.toMap;
+
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -40,6 +43,8 @@ import edu.uci.ics.crawler4j.url.SleepycatWebURLFactory;
 
 public class CrawlControllerFactory implements ICrawlControllerFactory
 {
+    private static final String POLITENESS_DELAY_PER_HOST_PREFIX = "politeness-delay-per-host.";
+
     private final Map<String, String> defaultCrawlConfig;
     private final IPropertyMapper propertyMapper;
 
@@ -77,7 +82,17 @@ public class CrawlControllerFactory implements ICrawlControllerFactory
 
     private CrawlConfig createCrawlConfig(URI mainApplicationPage) throws IOException
     {
-        CrawlConfig crawlConfig = propertyMapper.readValue(defaultCrawlConfig, MappedCrawlConfig.class);
+        Map<String, String> crawlConfigProperties = defaultCrawlConfig.entrySet().stream()
+                .filter(e -> !e.getKey().startsWith(POLITENESS_DELAY_PER_HOST_PREFIX))
+                .collect(toMap(Entry::getKey, Entry::getValue));
+        CrawlConfig crawlConfig = propertyMapper.readValue(crawlConfigProperties, MappedCrawlConfig.class);
+
+        String politenessDelay = defaultCrawlConfig.get(POLITENESS_DELAY_PER_HOST_PREFIX
+                + mainApplicationPage.getHost());
+        if (politenessDelay != null)
+        {
+            crawlConfig.setPolitenessDelay(Integer.parseInt(politenessDelay));
+        }
 
         /*
          * The crawler4j requires the crawl storage folder to exist, so it should be updated to create
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.crawler;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.uci.ics.crawler4j.crawler.CrawlController;
+
+/**
+ * Periodically logs the crawling progress: the number of crawled pages, the crawl rate and the number of URLs waiting
+ * in the frontier queue. The summary of the crawling is logged on close.
+ */
+public final class CrawlStatisticsReporter implements AutoCloseable
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CrawlStatisticsReporter.class);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final CrawlController controller;
+    private final LinkCrawlerData linkCrawlerData;
+    private final long startNanos = System.nanoTime();
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates the reporter and starts the periodic reporting
+     * @param controller      the controller performing the crawling
+     * @param linkCrawlerData the data collected by the crawlers
+     * @param reportingPeriod the period of the progress reporting, if it's <code>null</code> or not positive, only
+     *                        the summary is reported
+     */
+    public CrawlStatisticsReporter(CrawlController controller, LinkCrawlerData linkCrawlerData,
+            Duration reportingPeriod)
+    {
+        this.controller = controller;
+        this.linkCrawlerData = linkCrawlerData;
+        if (reportingPeriod != null && !reportingPeriod.isZero() && !reportingPeriod.isNegative())
+        {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "crawl-statistics-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long periodMillis = reportingPeriod.toMillis();
+            executor.scheduleAtFixedRate(this::reportProgress, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
+        else
+        {
+            executor = null;
+        }
+    }
+
+    void reportProgress()
+    {
+        try
+        {
+            long crawledPages = linkCrawlerData.getCrawledPagesCount();
+            LOGGER.info("Crawling progress: {} pages are crawled ({} pages/s), {} URLs are waiting in the queue, {}"
+                    + " URLs are collected", crawledPages, formatRate(crawledPages, getElapsedNanos()),
+                    controller.getFrontier().getQueueLength(), linkCrawlerData.getAbsoluteUrls().size());
+        }
+        catch (RuntimeException e)
+        {
+            // The periodic reporting is stopped on the first exception, so it must not be propagated
+            LOGGER.debug("Unable to report crawling progress", e);
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = getElapsedNanos();
+        long crawledPages = linkCrawlerData.getCrawledPagesCount();
+        LOGGER.info("Crawling is finished: {} pages are crawled in {} ({} pages/s), {} URLs are collected",
+                crawledPages, DurationFormatUtils.formatDurationWords(TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        true, true), formatRate(crawledPages, elapsedNanos), linkCrawlerData.getAbsoluteUrls().size());
+    }
+
+    private long getElapsedNanos()
+    {
+        return System.nanoTime() - startNanos;
+    }
+
+    private static String formatRate(long crawledPages, long elapsedNanos)
+    {
+        double rate = elapsedNanos > 0 ? crawledPages * NANOS_PER_SECOND / elapsedNanos : 0;
+        return String.format("%.1f", rate);
+    }
+}
@@ -54,6 +54,7 @@ public class LinkCrawler extends WebCrawler
     {
         String url = page.getWebURL().getURL();
         LINK_CRAWLER_LOGGER.info("Crawled: {}", url);
+        linkCrawlerData.recordCrawledPage();
 
         if (page.getParseData() instanceof HtmlParseData)
         {
@@ -19,13 +19,25 @@ package org.vividus.crawler;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 public class LinkCrawlerData
 {
     private final Set<String> absoluteUrls = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final LongAdder crawledPages = new LongAdder();
 
     public Set<String> getAbsoluteUrls()
     {
         return absoluteUrls;
     }
+
+    public void recordCrawledPage()
+    {
+        crawledPages.increment();
+    }
+
+    public long getCrawledPagesCount()
+    {
+        return crawledPages.sum();
+    }
 }
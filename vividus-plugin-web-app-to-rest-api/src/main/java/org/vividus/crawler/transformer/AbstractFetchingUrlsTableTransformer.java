@@ -18,9 +18,18 @@ package org.vividus.crawler.transformer;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,6 +51,8 @@ public abstract class AbstractFetchingUrlsTableTransformer implements ExtendedTa
     private WebApplicationConfiguration webApplicationConfiguration;
     private HttpRedirectsProvider httpRedirectsProvider;
     private boolean filterRedirects;
+    private int maxParallelRequests = 1;
+    private int maxParallelRequestsPerHost = 1;
 
     @Override
     public String transform(String tableAsString, TableParsers tableParsers, TableProperties properties)
@@ -62,30 +73,87 @@ public abstract class AbstractFetchingUrlsTableTransformer implements ExtendedTa
         if (filterRedirects)
         {
             Set<String> uniqueUrls = urls.collect(Collectors.toSet());
-            results = uniqueUrls.stream().filter(url -> isNotExistingRedirect(url, uniqueUrls));
+            Map<String, Optional<URI>> lastRedirects = getLastRedirects(uniqueUrls);
+            results = uniqueUrls.stream().filter(url -> isNotExistingRedirect(lastRedirects.get(url), uniqueUrls));
         }
         return results.collect(Collectors.toSet());
     }
 
-    private boolean isNotExistingRedirect(String urlToCheck, Set<String> allUrls)
+    private boolean isNotExistingRedirect(Optional<URI> lastRedirect, Set<String> allUrls)
     {
-        return getLastRedirect(urlToCheck)
+        return lastRedirect
                 .map(URI::toString)
-                .map(lastRedirect -> !allUrls.contains(lastRedirect))
+                .map(redirect -> !allUrls.contains(redirect))
                 .orElse(true);
     }
 
-    private Optional<URI> getLastRedirect(String urlAsString)
+    /**
+     * Resolves the redirects of the URLs in parallel: the total number of simultaneous requests and the number of
+     * simultaneous requests to the same host are limited. The errors are logged in the calling thread in the order
+     * of the URLs.
+     */
+    private Map<String, Optional<URI>> getLastRedirects(Set<String> urls)
+    {
+        Map<String, Optional<URI>> lastRedirects = new LinkedHashMap<>();
+        if (urls.isEmpty())
+        {
+            return lastRedirects;
+        }
+        Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxParallelRequests, urls.size()));
+        try
+        {
+            Map<String, Future<List<URI>>> redirects = new LinkedHashMap<>();
+            for (String url : urls)
+            {
+                URI uri = URI.create(url);
+                Semaphore permits = hostPermits.computeIfAbsent(Objects.toString(uri.getHost(), ""),
+                        host -> new Semaphore(maxParallelRequestsPerHost));
+                redirects.put(url, executor.submit(() -> {
+                    permits.acquire();
+                    try
+                    {
+                        return httpRedirectsProvider.getRedirects(uri);
+                    }
+                    finally
+                    {
+                        permits.release();
+                    }
+                }));
+            }
+            redirects.forEach((url, future) -> lastRedirects.put(url, getLastRedirect(future)));
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        return lastRedirects;
+    }
+
+    private Optional<URI> getLastRedirect(Future<List<URI>> redirects)
     {
         try
         {
-            return Optional.ofNullable(httpRedirectsProvider.getRedirects(URI.create(urlAsString)))
-                    .map(redirects -> redirects.get(redirects.size() - 1));
+            return Optional.ofNullable(redirects.get()).map(r -> r.get(r.size() - 1));
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalStateException)
+            {
+                logger.warn("Exception during redirects receiving", cause);
+                return Optional.empty();
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
         }
-        catch (IllegalStateException e)
+        catch (InterruptedException e)
         {
-            logger.warn("Exception during redirects receiving", e);
-            return Optional.empty();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
         }
     }
 
@@ -116,4 +184,14 @@ public abstract class AbstractFetchingUrlsTableTransformer implements ExtendedTa
     {
         this.filterRedirects = filterRedirects;
     }
+
+    public void setMaxParallelRequests(int maxParallelRequests)
+    {
+        this.maxParallelRequests = maxParallelRequests;
+    }
+
+    public void setMaxParallelRequestsPerHost(int maxParallelRequestsPerHost)
+    {
+        this.maxParallelRequestsPerHost = maxParallelRequestsPerHost;
+    }
 }
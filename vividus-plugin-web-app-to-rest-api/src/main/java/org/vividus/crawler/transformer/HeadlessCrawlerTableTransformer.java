@@ -17,6 +17,7 @@
 package org.vividus.crawler.transformer;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -24,21 +25,30 @@ import com.google.common.base.Suppliers;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.crawler.CrawlStatisticsReporter;
 import org.vividus.crawler.ICrawlControllerFactory;
 import org.vividus.crawler.LinkCrawlerData;
 import org.vividus.crawler.LinkCrawlerFactory;
+import org.vividus.util.Sleeper;
 import org.vividus.util.UriUtils;
 
 import edu.uci.ics.crawler4j.crawler.CrawlController;
 
 public class HeadlessCrawlerTableTransformer extends AbstractFetchingUrlsTableTransformer
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeadlessCrawlerTableTransformer.class);
+
     private static final String FORWARD_SLASH = "/";
-    private static final int NUMBER_OF_CRAWLERS = 50;
+    private static final Duration CRAWL_COMPLETION_POLLING_PERIOD = Duration.ofMillis(500);
 
     private ICrawlControllerFactory crawlControllerFactory;
 
     private Set<String> seedRelativeUrls;
+    private int numberOfCrawlers = 50;
+    private Duration maxCrawlDuration;
+    private Duration statisticsReportingPeriod;
 
     private final Supplier<Set<String>> urlsProvider = Suppliers.memoize(() ->
     {
@@ -48,11 +58,38 @@ public class HeadlessCrawlerTableTransformer extends AbstractFetchingUrlsTableTr
         addSeeds(mainApplicationPage, controller);
 
         LinkCrawlerData linkCrawlerData = new LinkCrawlerData();
-        controller.start(new LinkCrawlerFactory(linkCrawlerData), NUMBER_OF_CRAWLERS);
+        try (CrawlStatisticsReporter statisticsReporter = new CrawlStatisticsReporter(controller, linkCrawlerData,
+                statisticsReportingPeriod))
+        {
+            crawl(controller, new LinkCrawlerFactory(linkCrawlerData));
+        }
         Set<String> absoluteUrls = linkCrawlerData.getAbsoluteUrls();
         return filterResults(absoluteUrls.stream());
     });
 
+    private void crawl(CrawlController controller, LinkCrawlerFactory crawlerFactory)
+    {
+        if (maxCrawlDuration == null)
+        {
+            controller.start(crawlerFactory, numberOfCrawlers);
+            return;
+        }
+        controller.startNonBlocking(crawlerFactory, numberOfCrawlers);
+        long deadline = System.nanoTime() + maxCrawlDuration.toNanos();
+        while (!controller.isFinished())
+        {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0)
+            {
+                LOGGER.info("The crawling is stopped as the crawl time budget of {} is exhausted", maxCrawlDuration);
+                controller.shutdown();
+                break;
+            }
+            Sleeper.sleep(Duration.ofNanos(Math.min(remainingNanos, CRAWL_COMPLETION_POLLING_PERIOD.toNanos())));
+        }
+        controller.waitUntilFinish();
+    }
+
     private void addSeeds(URI mainApplicationPage, CrawlController controller)
     {
         addSeed(controller, mainApplicationPage.toString());
@@ -97,4 +134,19 @@ public class HeadlessCrawlerTableTransformer extends AbstractFetchingUrlsTableTr
     {
         this.seedRelativeUrls = seedRelativeUrls;
     }
+
+    public void setNumberOfCrawlers(int numberOfCrawlers)
+    {
+        this.numberOfCrawlers = numberOfCrawlers;
+    }
+
+    public void setMaxCrawlDuration(Duration maxCrawlDuration)
+    {
+        this.maxCrawlDuration = maxCrawlDuration;
+    }
+
+    public void setStatisticsReportingPeriod(Duration statisticsReportingPeriod)
+    {
+        this.statisticsReportingPeriod = statisticsReportingPeriod;
+    }
 }
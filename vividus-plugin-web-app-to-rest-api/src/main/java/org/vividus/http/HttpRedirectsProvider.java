@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,23 @@
 package org.vividus.http;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.function.FailableSupplier;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.CircularRedirectException;
 import org.apache.http.client.protocol.HttpClientContext;
@@ -28,15 +42,35 @@ import org.vividus.http.client.IHttpClient;
 
 public class HttpRedirectsProvider
 {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<URI, CachedRedirects> cache = new ConcurrentHashMap<>();
+    private volatile boolean persistedCacheLoaded;
+
     private IHttpClient httpClient;
+    private String cacheFile;
+    private Duration cacheTtl;
 
     /**
-     * Executes HEAD request to get redirects.
+     * Executes HEAD request to get redirects. The resolved redirects are cached for the whole run, if the cache file
+     * is configured, the redirects resolved within the cache TTL by the previous runs are reused as well.
      * Throws IllegalStateException in case of status code outside of "200-207"
      * @param from URI to issue HEAD request
      * @return List of redirects. {@code null} if there are no redirects.
      */
     public List<URI> getRedirects(URI from)
+    {
+        loadPersistedCache();
+        CachedRedirects cachedRedirects = cache.get(from);
+        if (cachedRedirects == null)
+        {
+            cachedRedirects = new CachedRedirects(requestRedirects(from), Instant.now().toEpochMilli());
+            cache.put(from, cachedRedirects);
+        }
+        return cachedRedirects.getRedirects();
+    }
+
+    private List<URI> requestRedirects(URI from)
     {
         try
         {
@@ -62,8 +96,113 @@ public class HttpRedirectsProvider
         }
     }
 
+    private void loadPersistedCache()
+    {
+        if (!persistedCacheLoaded && StringUtils.isNotBlank(cacheFile))
+        {
+            synchronized (this)
+            {
+                if (!persistedCacheLoaded)
+                {
+                    Path path = Paths.get(cacheFile);
+                    if (Files.exists(path))
+                    {
+                        long oldestAllowed = Instant.now().minus(cacheTtl).toEpochMilli();
+                        performIo(() -> OBJECT_MAPPER.readValue(path.toFile(),
+                                new TypeReference<Map<URI, CachedRedirects>>() { }))
+                                .forEach((uri, redirects) -> {
+                                    if (redirects.getResolvedAt() >= oldestAllowed)
+                                    {
+                                        cache.putIfAbsent(uri, redirects);
+                                    }
+                                });
+                    }
+                    persistedCacheLoaded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the resolved redirects to the cache file if it is configured
+     */
+    public void destroy()
+    {
+        if (StringUtils.isNotBlank(cacheFile) && !cache.isEmpty())
+        {
+            Path path = Paths.get(cacheFile);
+            performIo(() -> {
+                Path parent = path.toAbsolutePath().getParent();
+                if (parent != null)
+                {
+                    Files.createDirectories(parent);
+                }
+                OBJECT_MAPPER.writeValue(path.toFile(), new HashMap<>(cache));
+                return null;
+            });
+        }
+    }
+
+    private static <T> T performIo(FailableSupplier<T, IOException> operation)
+    {
+        try
+        {
+            return operation.get();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public void setHttpClient(IHttpClient httpClient)
     {
         this.httpClient = httpClient;
     }
+
+    public void setCacheFile(String cacheFile)
+    {
+        this.cacheFile = cacheFile;
+    }
+
+    public void setCacheTtl(Duration cacheTtl)
+    {
+        this.cacheTtl = cacheTtl;
+    }
+
+    private static final class CachedRedirects
+    {
+        private List<URI> redirects;
+        private long resolvedAt;
+
+        CachedRedirects()
+        {
+        }
+
+        CachedRedirects(List<URI> redirects, long resolvedAt)
+        {
+            this.redirects = redirects == null ? null : List.copyOf(redirects);
+            this.resolvedAt = resolvedAt;
+        }
+
+        public List<URI> getRedirects()
+        {
+            return redirects;
+        }
+
+        public void setRedirects(List<URI> redirects)
+        {
+            this.redirects = redirects;
+        }
+
+        public long getResolvedAt()
+        {
+            return resolvedAt;
+        }
+
+        public void setResolvedAt(long resolvedAt)
+        {
+            this.resolvedAt = resolvedAt;
+        }
+    }
 }
@@ -110,4 +110,27 @@ class CrawlControllerFactoryTests
             assertNull(crawlConfig.getAuthInfos());
         }
     }
+
+    @Test
+    void shouldApplyPolitenessDelayOfMainApplicationPageHost(@TempDir Path baseDirectory) throws URISyntaxException
+    {
+        try (MockedConstruction<SleepycatFrontierConfiguration> frontier = Mockito
+                .mockConstruction(SleepycatFrontierConfiguration.class))
+        {
+            Path crawlStorage = baseDirectory.resolve(CRAWL_STORAGE_FOLDER_KEY);
+
+            Map<String, String> config = Map.of(
+                CRAWL_STORAGE_FOLDER_KEY, crawlStorage.toString(),
+                "politeness-delay", "100",
+                "politeness-delay-per-host.example.com", "500",
+                "politeness-delay-per-host.example.com.au", "1000"
+            );
+
+            CrawlControllerFactory factory = new CrawlControllerFactory(config, propertyMapper);
+
+            CrawlController controller = factory.createCrawlController(new URI(URL));
+
+            assertEquals(500, controller.getConfig().getPolitenessDelay());
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.crawler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.github.valfirst.slf4jtest.LoggingEvent;
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import edu.uci.ics.crawler4j.crawler.CrawlController;
+import edu.uci.ics.crawler4j.frontier.Frontier;
+
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
+class CrawlStatisticsReporterTests
+{
+    private static final String URL = "https://example.com/";
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(CrawlStatisticsReporter.class);
+
+    @Mock private CrawlController controller;
+    @Mock private Frontier frontier;
+
+    @Test
+    void shouldReportProgress()
+    {
+        LinkCrawlerData linkCrawlerData = createLinkCrawlerData();
+        when(controller.getFrontier()).thenReturn(frontier);
+        when(frontier.getQueueLength()).thenReturn(5L);
+        CrawlStatisticsReporter reporter = new CrawlStatisticsReporter(controller, linkCrawlerData, null);
+        reporter.reportProgress();
+        List<LoggingEvent> loggingEvents = logger.getLoggingEvents();
+        assertThat(loggingEvents, hasSize(1));
+        List<Object> arguments = loggingEvents.get(0).getArguments();
+        assertEquals(2L, arguments.get(0));
+        assertEquals(5L, arguments.get(2));
+        assertEquals(1, arguments.get(3));
+    }
+
+    @Test
+    void shouldNotFailOnProgressReportingError()
+    {
+        IllegalStateException exception = new IllegalStateException("Frontier is closed");
+        when(controller.getFrontier()).thenThrow(exception);
+        CrawlStatisticsReporter reporter = new CrawlStatisticsReporter(controller, createLinkCrawlerData(), null);
+        reporter.reportProgress();
+        assertThat(logger.getLoggingEvents(),
+                is(List.of(LoggingEvent.debug(exception, "Unable to report crawling progress"))));
+    }
+
+    @Test
+    void shouldReportSummaryOnClose()
+    {
+        LinkCrawlerData linkCrawlerData = createLinkCrawlerData();
+        try (CrawlStatisticsReporter reporter = new CrawlStatisticsReporter(controller, linkCrawlerData,
+                Duration.ofHours(1)))
+        {
+            linkCrawlerData.recordCrawledPage();
+        }
+        List<LoggingEvent> loggingEvents = logger.getLoggingEvents();
+        assertThat(loggingEvents, hasSize(1));
+        LoggingEvent loggingEvent = loggingEvents.get(0);
+        assertEquals("Crawling is finished: {} pages are crawled in {} ({} pages/s), {} URLs are collected",
+                loggingEvent.getMessage());
+        assertEquals(3L, loggingEvent.getArguments().get(0));
+        assertEquals(1, loggingEvent.getArguments().get(3));
+        verifyNoInteractions(controller);
+    }
+
+    private static LinkCrawlerData createLinkCrawlerData()
+    {
+        LinkCrawlerData linkCrawlerData = new LinkCrawlerData();
+        linkCrawlerData.getAbsoluteUrls().add(URL);
+        linkCrawlerData.recordCrawledPage();
+        linkCrawlerData.recordCrawledPage();
+        return linkCrawlerData;
+    }
+}
@@ -98,6 +98,7 @@ class LinkCrawlerTests
         crawler.visit(page);
         assertEquals(Set.of(ABSOLUTE_RESOURCE_URL, PAGE_URL + "/*", PAGE_URL + RELATIVE_URL),
                 linkCrawlerData.getAbsoluteUrls());
+        assertEquals(1, linkCrawlerData.getCrawledPagesCount());
         assertThat(logger.getLoggingEvents(), is(List.of(info(CRAWLED_LOG_MESSAGE, PAGE_URL))));
     }
 
@@ -110,6 +111,7 @@ class LinkCrawlerTests
         page.setParseData(new TextParseData());
         crawler.visit(page);
         assertEquals(Set.of(), linkCrawlerData.getAbsoluteUrls());
+        assertEquals(1, linkCrawlerData.getCrawledPagesCount());
         assertThat(logger.getLoggingEvents(), is(List.of(info(CRAWLED_LOG_MESSAGE, PAGE_URL))));
     }
 
@@ -19,16 +19,29 @@ package org.vividus.crawler.transformer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 import org.jbehave.core.configuration.Keywords;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.steps.ParameterConverters;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.vividus.http.HttpRedirectsProvider;
+import org.vividus.http.client.HttpClient;
 import org.vividus.ui.web.configuration.AuthenticationMode;
 import org.vividus.ui.web.configuration.WebApplicationConfiguration;
 
@@ -74,6 +87,51 @@ class FetchingUrlsTableTransformerTests
         assertEquals("URL of the main application page should be non-blank", exception.getMessage());
     }
 
+    @Test
+    void shouldFilterRedirectsResolvedInParallelUsingLocalServer() throws IOException
+    {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ExecutorService serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/old"))
+            {
+                exchange.getResponseHeaders().add(HttpHeaders.LOCATION, path.replace("/old", "/new"));
+                exchange.sendResponseHeaders(HttpStatus.SC_MOVED_PERMANENTLY, -1);
+            }
+            else
+            {
+                exchange.sendResponseHeaders(HttpStatus.SC_OK, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+        try (CloseableHttpClient closeableHttpClient = HttpClients.createDefault())
+        {
+            HttpClient httpClient = new HttpClient();
+            httpClient.setCloseableHttpClient(closeableHttpClient);
+            httpClient.setHttpResponseHandlers(List.of());
+            HttpRedirectsProvider redirectsProvider = new HttpRedirectsProvider();
+            redirectsProvider.setHttpClient(httpClient);
+            transformer.setHttpRedirectsProvider(redirectsProvider);
+            transformer.setFilterRedirects(true);
+            transformer.setMaxParallelRequests(4);
+            transformer.setMaxParallelRequestsPerHost(2);
+            String baseUrl = "http://localhost:" + server.getAddress().getPort();
+            String newFirst = baseUrl + "/new1";
+            String oldSecond = baseUrl + "/old2";
+            String newThird = baseUrl + "/new3";
+            Set<String> urls = Set.of(baseUrl + "/old1", newFirst, oldSecond, newThird);
+            assertEquals(Set.of(newFirst, oldSecond, newThird), transformer.filterResults(urls.stream()));
+        }
+        finally
+        {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
     private static final class TestTransformer extends AbstractFetchingUrlsTableTransformer
     {
         @Override
@@ -16,6 +16,7 @@
 
 package org.vividus.crawler.transformer;
 
+import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -29,12 +30,14 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -199,6 +202,45 @@ class HeadlessCrawlerTableTransformerTests
         verifyNoInteractions(redirectsProvider);
     }
 
+    @Test
+    void shouldStopCrawlingWhenCrawlTimeBudgetIsExhausted() throws InterruptedException
+    {
+        int numberOfCrawlers = 10;
+        transformer.setNumberOfCrawlers(numberOfCrawlers);
+        transformer.setMaxCrawlDuration(Duration.ZERO);
+        String mainAppPage = buildAppPageUrl(DEFAULT_RELATIVE_URL);
+        CrawlController crawlController = mockCrawlerControllerFactory(mainAppPage);
+        Set<String> urls = transformer.fetchUrls(buildTableProperties());
+        assertThat(urls, equalTo(Set.of()));
+        InOrder ordered = inOrder(crawlController);
+        ordered.verify(crawlController).addSeed(mainAppPage);
+        ordered.verify(crawlController).startNonBlocking(any(LinkCrawlerFactory.class), eq(numberOfCrawlers));
+        ordered.verify(crawlController).isFinished();
+        ordered.verify(crawlController).shutdown();
+        ordered.verify(crawlController).waitUntilFinish();
+        verifyNoMoreInteractions(crawlController);
+        assertThat(logger.getLoggingEvents(), is(List.of(
+                info("The crawling is stopped as the crawl time budget of {} is exhausted", Duration.ZERO))));
+    }
+
+    @Test
+    void shouldWaitForCrawlingCompletionWithinCrawlTimeBudget() throws InterruptedException
+    {
+        transformer.setMaxCrawlDuration(Duration.ofMinutes(1));
+        String mainAppPage = buildAppPageUrl(DEFAULT_RELATIVE_URL);
+        CrawlController crawlController = mockCrawlerControllerFactory(mainAppPage);
+        when(crawlController.isFinished()).thenReturn(false, true);
+        Set<String> urls = transformer.fetchUrls(buildTableProperties());
+        assertThat(urls, equalTo(Set.of()));
+        InOrder ordered = inOrder(crawlController);
+        ordered.verify(crawlController).addSeed(mainAppPage);
+        ordered.verify(crawlController).startNonBlocking(any(LinkCrawlerFactory.class), eq(50));
+        ordered.verify(crawlController, times(2)).isFinished();
+        ordered.verify(crawlController).waitUntilFinish();
+        verifyNoMoreInteractions(crawlController);
+        assertThat(logger.getLoggingEvents(), is(List.of()));
+    }
+
     private Set<String> testFetchUrls(String mainAppPageRelativeUrl, List<String> expectedSeedRelativeUrls)
             throws IOException, InterruptedException
     {
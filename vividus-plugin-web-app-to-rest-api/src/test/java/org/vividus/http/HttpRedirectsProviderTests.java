@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,15 @@ package org.vividus.http;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 import org.apache.http.HttpStatus;
@@ -31,6 +36,7 @@ import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -42,6 +48,9 @@ import org.vividus.http.client.HttpResponse;
 class HttpRedirectsProviderTests
 {
     private static final URI URI_EXAMPLES = URI.create("http://examples.com");
+    private static final List<URI> REDIRECTS = List.of(URI.create("http://examples.com/redirect"));
+    private static final Duration CACHE_TTL = Duration.ofDays(1);
+    private static final String CACHE_FILE = "redirects.json";
 
     @Mock private HttpClientContext httpClientContext;
     @Mock private HttpClient httpClient;
@@ -94,4 +103,63 @@ class HttpRedirectsProviderTests
             assertEquals(redirects, redirectsProvider.getRedirects(URI_EXAMPLES));
         }
     }
+
+    @Test
+    void shouldCacheRedirectsForTheWholeRun() throws IOException
+    {
+        try (MockedStatic<HttpClientContext> httpClientContextMock = mockStatic(HttpClientContext.class))
+        {
+            mockRedirects(httpClientContextMock);
+            assertEquals(REDIRECTS, redirectsProvider.getRedirects(URI_EXAMPLES));
+            assertEquals(REDIRECTS, redirectsProvider.getRedirects(URI_EXAMPLES));
+            verify(httpClient).doHttpHead(URI_EXAMPLES, httpClientContext);
+        }
+    }
+
+    @Test
+    void shouldPersistRedirectsBetweenRuns(@TempDir Path tempDir) throws IOException
+    {
+        String cacheFile = tempDir.resolve(CACHE_FILE).toString();
+        try (MockedStatic<HttpClientContext> httpClientContextMock = mockStatic(HttpClientContext.class))
+        {
+            mockRedirects(httpClientContextMock);
+            configureCache(redirectsProvider, cacheFile);
+            assertEquals(REDIRECTS, redirectsProvider.getRedirects(URI_EXAMPLES));
+            redirectsProvider.destroy();
+        }
+        HttpRedirectsProvider nextRunRedirectsProvider = new HttpRedirectsProvider();
+        nextRunRedirectsProvider.setHttpClient(httpClient);
+        configureCache(nextRunRedirectsProvider, cacheFile);
+        assertEquals(REDIRECTS, nextRunRedirectsProvider.getRedirects(URI_EXAMPLES));
+        verify(httpClient).doHttpHead(URI_EXAMPLES, httpClientContext);
+    }
+
+    @Test
+    void shouldIgnoreExpiredPersistedRedirects(@TempDir Path tempDir) throws IOException
+    {
+        Path cacheFile = tempDir.resolve(CACHE_FILE);
+        Files.writeString(cacheFile, "{\"http://examples.com\":{\"redirects\":[\"http://examples.com/expired\"],"
+                + "\"resolvedAt\":0}}", StandardCharsets.UTF_8);
+        try (MockedStatic<HttpClientContext> httpClientContextMock = mockStatic(HttpClientContext.class))
+        {
+            mockRedirects(httpClientContextMock);
+            configureCache(redirectsProvider, cacheFile.toString());
+            assertEquals(REDIRECTS, redirectsProvider.getRedirects(URI_EXAMPLES));
+        }
+    }
+
+    private void mockRedirects(MockedStatic<HttpClientContext> httpClientContextMock) throws IOException
+    {
+        httpClientContextMock.when(HttpClientContext::create).thenReturn(httpClientContext);
+        HttpResponse httpResponse = new HttpResponse();
+        httpResponse.setStatusCode(HttpStatus.SC_OK);
+        when(httpClient.doHttpHead(URI_EXAMPLES, httpClientContext)).thenReturn(httpResponse);
+        when(httpClientContext.getRedirectLocations()).thenReturn(REDIRECTS);
+    }
+
+    private static void configureCache(HttpRedirectsProvider redirectsProvider, String cacheFile)
+    {
+        redirectsProvider.setCacheFile(cacheFile);
+        redirectsProvider.setCacheTtl(CACHE_TTL);
+    }
 }
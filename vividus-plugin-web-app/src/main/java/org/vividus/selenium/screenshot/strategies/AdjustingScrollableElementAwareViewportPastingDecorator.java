@@ -66,4 +66,11 @@ public class AdjustingScrollableElementAwareViewportPastingDecorator extends Adj
         javascriptActions
             .executeScript(getScrollVerticallyScript(), scrollY, scrollableElement);
     }
+
+    @Override
+    protected int scrollVerticallyAndWait(JavascriptExecutor js, int scrollY)
+    {
+        return ((Number) javascriptActions.executeAsyncScript(getScrollVerticallyAndWaitScript(), scrollY,
+                scrollableElement, scrollTimeout)).intValue();
+    }
 }
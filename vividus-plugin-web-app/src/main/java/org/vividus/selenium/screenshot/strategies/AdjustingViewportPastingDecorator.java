@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 
 package org.vividus.selenium.screenshot.strategies;
 
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 
 import ru.yandex.qatools.ashot.shooting.DebuggingViewportPastingDecorator;
@@ -51,20 +50,14 @@ public class AdjustingViewportPastingDecorator extends DebuggingViewportPastingD
     }
 
     @Override
-    protected int getCurrentScrollY(JavascriptExecutor js)
+    protected int adjustScrollY(int scrollY)
     {
-        int currentScrollY = getScrollY(js);
         if (scrolls != 0)
         {
             scrolls--;
-            return currentScrollY;
+            return scrollY;
         }
-        return currentScrollY + headerAdjustment;
-    }
-
-    protected int getScrollY(JavascriptExecutor js)
-    {
-        return super.getCurrentScrollY(js);
+        return scrollY + headerAdjustment;
     }
 
     public int getHeaderAdjustment()
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.screenshot.strategies;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ru.yandex.qatools.ashot.coordinates.Coords;
+import ru.yandex.qatools.ashot.shooting.ShootingStrategy;
+
+/**
+ * Takes full-page screenshots using the browser native capabilities in one round trip: Chrome DevTools Protocol
+ * <code>Page.captureScreenshot</code> command with <code>captureBeyondViewport</code> option for Chromium-based
+ * browsers and full-page screenshot command for Firefox. The fallback strategy is used for the other browsers and if
+ * the native screenshot is failed.
+ */
+public class NativeFullPageShootingStrategy implements ShootingStrategy
+{
+    private static final long serialVersionUID = 5368245027546420931L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NativeFullPageShootingStrategy.class);
+
+    private static final String PAGE_METRICS_JS = "return [window.devicePixelRatio || 1,"
+            + "document.documentElement.clientWidth,"
+            + "Math.max(document.body.scrollHeight,"
+            + "document.body.offsetHeight,"
+            + "document.documentElement.clientHeight,"
+            + "document.documentElement.scrollHeight,"
+            + "document.documentElement.offsetHeight)];";
+
+    private final ShootingStrategy fallbackStrategy;
+    private boolean fallbackUsed;
+
+    public NativeFullPageShootingStrategy(ShootingStrategy fallbackStrategy)
+    {
+        this.fallbackStrategy = fallbackStrategy;
+    }
+
+    @Override
+    public BufferedImage getScreenshot(WebDriver wd)
+    {
+        return getScreenshot(wd, null);
+    }
+
+    @Override
+    public BufferedImage getScreenshot(WebDriver wd, Set<Coords> coords)
+    {
+        Optional<BufferedImage> screenshot = takeNativeScreenshot(wd);
+        fallbackUsed = screenshot.isEmpty();
+        return screenshot.orElseGet(() -> fallbackStrategy.getScreenshot(wd, coords));
+    }
+
+    @Override
+    public Set<Coords> prepareCoords(Set<Coords> coordsSet)
+    {
+        return fallbackUsed ? fallbackStrategy.prepareCoords(coordsSet) : coordsSet;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<BufferedImage> takeNativeScreenshot(WebDriver wd)
+    {
+        WebDriver driver = getNativeDriver(wd);
+        if (!(driver instanceof HasCdp) && !(driver instanceof HasFullPageScreenshot))
+        {
+            return Optional.empty();
+        }
+        try
+        {
+            List<Number> pageMetrics = (List<Number>) ((JavascriptExecutor) wd).executeScript(PAGE_METRICS_JS);
+            double devicePixelRatio = pageMetrics.get(0).doubleValue();
+            byte[] screenshot = driver instanceof HasFullPageScreenshot
+                    ? ((HasFullPageScreenshot) driver).getFullPageScreenshotAs(OutputType.BYTES)
+                    : captureBeyondViewport((HasCdp) driver, pageMetrics.get(1).intValue(),
+                            pageMetrics.get(2).intValue());
+            return Optional.of(scale(readImage(screenshot), devicePixelRatio));
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.warn("Unable to take native full-page screenshot, falling back to viewport pasting", e);
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] captureBeyondViewport(HasCdp driver, int width, int height)
+    {
+        Map<String, Object> clip = Map.of("x", 0, "y", 0, "width", width, "height", height, "scale", 1);
+        Map<String, Object> result = driver.executeCdpCommand("Page.captureScreenshot",
+                Map.of("format", "png", "captureBeyondViewport", true, "clip", clip));
+        return Base64.getDecoder().decode((String) result.get("data"));
+    }
+
+    private static WebDriver getNativeDriver(WebDriver webDriver)
+    {
+        WebDriver driver = webDriver;
+        while (!isNativeScreenshotSupported(driver) && driver instanceof WrapsDriver)
+        {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        if (driver instanceof RemoteWebDriver && !isNativeScreenshotSupported(driver))
+        {
+            // Remote drivers are created without the browser-specific interfaces, augmentation adds them
+            driver = new Augmenter().augment(driver);
+        }
+        return driver;
+    }
+
+    private static boolean isNativeScreenshotSupported(WebDriver driver)
+    {
+        return driver instanceof HasCdp || driver instanceof HasFullPageScreenshot;
+    }
+
+    private static BufferedImage readImage(byte[] image)
+    {
+        try
+        {
+            return ImageIO.read(new ByteArrayInputStream(image));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, double devicePixelRatio)
+    {
+        if (devicePixelRatio == 1)
+        {
+            return image;
+        }
+        int width = (int) Math.round(image.getWidth() / devicePixelRatio);
+        int height = (int) Math.round(image.getHeight() / devicePixelRatio);
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+}
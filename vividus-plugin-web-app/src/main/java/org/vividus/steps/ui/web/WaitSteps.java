@@ -25,6 +25,8 @@ import static org.openqa.selenium.support.ui.ExpectedConditions.titleIs;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 import javax.inject.Inject;
 
@@ -48,6 +50,8 @@ import org.vividus.ui.action.search.Locator;
 import org.vividus.ui.context.IUiContext;
 import org.vividus.ui.monitor.TakeScreenshotOnFailure;
 import org.vividus.ui.util.XpathLocatorUtils;
+import org.vividus.ui.web.action.BrowserCondition;
+import org.vividus.ui.web.action.InBrowserWaitActions;
 import org.vividus.ui.web.action.WebJavascriptActions;
 import org.vividus.ui.web.action.search.WebLocatorType;
 
@@ -66,6 +70,7 @@ public class WaitSteps
     @Inject private IBaseValidations baseValidations;
     @Inject private WebJavascriptActions javascriptActions;
     @Inject private TimeoutConfigurer timeoutConfigurer;
+    @Inject private InBrowserWaitActions inBrowserWaitActions;
 
     /**
      * Waits <b>duration</b> with <b>pollingDuration</b> until <b>an element</b> by the specified <b>locator</b>
@@ -94,8 +99,10 @@ public class WaitSteps
     public boolean waitDurationWithPollingDurationTillElementState(Duration duration, Duration pollingDuration,
             Locator locator, State state)
     {
-        return waitActions.wait(getSearchContext(), duration, pollingDuration,
-                state.getExpectedCondition(expectedSearchActionsConditions, locator)).isWaitPassed();
+        SearchContext searchContext = getSearchContext();
+        return waitActions.wait(searchContext, duration, pollingDuration,
+                withInBrowserWait(searchContext, state.getExpectedCondition(expectedSearchActionsConditions, locator),
+                        BrowserCondition.forState(state, locator), duration)).isWaitPassed();
     }
 
     /**
@@ -154,7 +161,7 @@ public class WaitSteps
     public void waitTillElementAppears(String elementTag, String attributeType, String attributeValue)
     {
         waitForElementAppearance(getSearchContext(),
-                By.xpath(XpathLocatorUtils.getXPathByTagNameAndAttribute(elementTag, attributeType, attributeValue)));
+                XpathLocatorUtils.getXPathByTagNameAndAttribute(elementTag, attributeType, attributeValue));
     }
 
     /**
@@ -200,7 +207,10 @@ public class WaitSteps
     @When("I wait until state of element located `$locator` is $state")
     public void waitTillElementIsSelected(Locator locator, State state)
     {
-        waitActions.wait(getSearchContext(), state.getExpectedCondition(expectedSearchActionsConditions, locator));
+        SearchContext searchContext = getSearchContext();
+        waitActions.wait(searchContext, withInBrowserWait(searchContext,
+                state.getExpectedCondition(expectedSearchActionsConditions, locator),
+                BrowserCondition.forState(state, locator)));
     }
 
     /**
@@ -266,8 +276,10 @@ public class WaitSteps
     @When("I wait until element located `$locator` contains text '$text'")
     public void waitTillElementContainsText(Locator locator, String text)
     {
-        waitActions.wait(getSearchContext(),
-              expectedSearchActionsConditions.textToBePresentInElementLocated(locator, text));
+        SearchContext searchContext = getSearchContext();
+        waitActions.wait(searchContext, withInBrowserWait(searchContext,
+                expectedSearchActionsConditions.textToBePresentInElementLocated(locator, text),
+                BrowserCondition.textToBePresentInElementLocated(locator, text)));
     }
 
     /**
@@ -280,7 +292,8 @@ public class WaitSteps
     @When("I wait until the page title contains the text '$text'")
     public void waitTillPageContainsTitle(String text)
     {
-        waitActions.wait(getWebDriver(), titleContains(text));
+        waitActions.wait(getWebDriver(),
+                inBrowserWaitActions.withInBrowserWait(titleContains(text), BrowserCondition.titleContains(text)));
     }
 
     /**
@@ -293,7 +306,8 @@ public class WaitSteps
     @When("I wait until the page has the title '$title'")
     public void waitTillPageHasTitle(String title)
     {
-        waitActions.wait(getWebDriver(), titleIs(title));
+        waitActions.wait(getWebDriver(),
+                inBrowserWaitActions.withInBrowserWait(titleIs(title), BrowserCondition.titleIs(title)));
     }
 
     /**
@@ -315,9 +329,9 @@ public class WaitSteps
     {
         uiContext.getSearchContext(WebDriver.class).ifPresent(
                 searchContext -> {
-                    By locator = XpathLocatorUtils.getXPathLocator(
+                    String xpath = XpathLocatorUtils.getXPath(
                             "*[(local-name()='frame' or local-name()='iframe') and @*='%s']", frameName);
-                    waitForElementAppearance(searchContext, locator);
+                    waitForElementAppearance(searchContext, xpath);
                 }
         );
     }
@@ -330,9 +344,11 @@ public class WaitSteps
     @Then("an element with the id '$id' disappears")
     public void elementByIdDisappears(String id)
     {
-        By locator = By.xpath(XpathLocatorUtils.getXPathByAttribute("id", id));
-        waitActions.wait(getSearchContext(),
-                State.NOT_VISIBLE.getExpectedCondition(expectedSearchContextConditions, locator));
+        String xpath = XpathLocatorUtils.getXPathByAttribute("id", id);
+        SearchContext searchContext = getSearchContext();
+        waitActions.wait(searchContext, withInBrowserWait(searchContext,
+                State.NOT_VISIBLE.getExpectedCondition(expectedSearchContextConditions, By.xpath(xpath)),
+                BrowserCondition.invisibilityOfElementsLocatedByXpath(xpath)));
     }
 
     /**
@@ -363,14 +379,17 @@ public class WaitSteps
     @Then("element located '$locator' disappears in '$timeout'")
     public boolean waitForElementDisappearance(Locator locator, Duration timeout)
     {
-        return waitActions.wait(getSearchContext(), timeout,
-                expectedSearchActionsConditions.invisibilityOfElement(locator)).isWaitPassed();
+        SearchContext searchContext = getSearchContext();
+        return waitActions.wait(searchContext, timeout, withInBrowserWait(searchContext,
+                expectedSearchActionsConditions.invisibilityOfElement(locator),
+                BrowserCondition.forState(State.NOT_VISIBLE, locator), timeout)).isWaitPassed();
     }
 
-    private boolean waitForElementAppearance(SearchContext searchContext, By by)
+    private boolean waitForElementAppearance(SearchContext searchContext, String xpath)
     {
-        return waitActions.wait(searchContext,
-                expectedSearchContextConditions.visibilityOfAllElementsLocatedBy(by)).isWaitPassed();
+        return waitActions.wait(searchContext, withInBrowserWait(searchContext,
+                expectedSearchContextConditions.visibilityOfAllElementsLocatedBy(By.xpath(xpath)),
+                BrowserCondition.visibilityOfElementsLocatedByXpath(xpath))).isWaitPassed();
     }
 
     /**
@@ -407,6 +426,29 @@ public class WaitSteps
         return webDriverProvider.get();
     }
 
+    private <T, V> Function<T, V> withInBrowserWait(SearchContext searchContext, Function<T, V> condition,
+            BrowserCondition browserCondition)
+    {
+        return searchContext instanceof WebDriver
+                ? inBrowserWaitActions.withInBrowserWait(condition, browserCondition)
+                : condition;
+    }
+
+    private <T, V> Function<T, V> withInBrowserWait(SearchContext searchContext, Function<T, V> condition,
+            Optional<BrowserCondition> browserCondition)
+    {
+        return browserCondition.map(c -> withInBrowserWait(searchContext, condition, c)).orElse(condition);
+    }
+
+    private <T, V> Function<T, V> withInBrowserWait(SearchContext searchContext, Function<T, V> condition,
+            Optional<BrowserCondition> browserCondition, Duration timeout)
+    {
+        return searchContext instanceof WebDriver
+                ? browserCondition.map(c -> inBrowserWaitActions.withInBrowserWait(condition, c, timeout))
+                        .orElse(condition)
+                : condition;
+    }
+
     private SearchContext getSearchContext()
     {
         return uiContext.getSearchContext();
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import org.vividus.ui.State;
+import org.vividus.ui.action.search.Locator;
+import org.vividus.ui.action.search.Visibility;
+import org.vividus.ui.util.XpathLocatorUtils;
+import org.vividus.ui.web.action.search.WebLocatorType;
+
+/**
+ * Condition evaluated right in the browser by {@link InBrowserWaitActions}. Only the conditions for the elements
+ * located by XPath or CSS selector without filters and the conditions for the page title are supported.
+ */
+public final class BrowserCondition
+{
+    private static final String XPATH = "xpath";
+    private static final String CSS = "css";
+
+    private final String type;
+    private final String locatorType;
+    private final String locatorValue;
+    private final String text;
+
+    private BrowserCondition(String type, String locatorType, String locatorValue, String text)
+    {
+        this.type = type;
+        this.locatorType = locatorType;
+        this.locatorValue = locatorValue;
+        this.text = text;
+    }
+
+    public static BrowserCondition visibilityOfElementsLocatedByXpath(String xpath)
+    {
+        return new BrowserCondition(State.VISIBLE.name(), XPATH, xpath, null);
+    }
+
+    public static BrowserCondition invisibilityOfElementsLocatedByXpath(String xpath)
+    {
+        return new BrowserCondition(State.NOT_VISIBLE.name(), XPATH, xpath, null);
+    }
+
+    public static BrowserCondition titleContains(String text)
+    {
+        return new BrowserCondition("TITLE_CONTAINS", null, null, text);
+    }
+
+    public static BrowserCondition titleIs(String title)
+    {
+        return new BrowserCondition("TITLE_IS", null, null, title);
+    }
+
+    /**
+     * Creates the condition for the element state
+     * @param state the expected state of the elements
+     * @param locator the locator of the elements
+     * @return the condition or empty optional if either the state or the locator is not supported
+     */
+    public static Optional<BrowserCondition> forState(State state, Locator locator)
+    {
+        if (state != State.VISIBLE && state != State.NOT_VISIBLE)
+        {
+            return Optional.empty();
+        }
+        return forLocator(state.name(), locator, null);
+    }
+
+    /**
+     * Creates the condition for the text to be present in the elements
+     * @param locator the locator of the elements
+     * @param text the expected text
+     * @return the condition or empty optional if the locator is not supported
+     */
+    public static Optional<BrowserCondition> textToBePresentInElementLocated(Locator locator, String text)
+    {
+        return forLocator("TEXT_PRESENT", locator, text);
+    }
+
+    private static Optional<BrowserCondition> forLocator(String type, Locator locator, String text)
+    {
+        if (!locator.getFilterAttributes().isEmpty() || !locator.getChildLocators().isEmpty()
+                || locator.getSearchParameters().getVisibility() != Visibility.VISIBLE)
+        {
+            return Optional.empty();
+        }
+        String value = locator.getSearchParameters().getValue();
+        if (locator.getLocatorType() == WebLocatorType.XPATH)
+        {
+            return Optional.of(new BrowserCondition(type, XPATH, XpathLocatorUtils.getXPath(value), text));
+        }
+        if (locator.getLocatorType() == WebLocatorType.CSS_SELECTOR)
+        {
+            return Optional.of(new BrowserCondition(type, CSS, value, text));
+        }
+        return Optional.empty();
+    }
+
+    Object[] toScriptArguments()
+    {
+        return new Object[] { type, locatorType, locatorValue, text };
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(type, locatorType, locatorValue, text);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass())
+        {
+            return false;
+        }
+        BrowserCondition other = (BrowserCondition) obj;
+        return type.equals(other.type) && Objects.equals(locatorType, other.locatorType)
+                && Objects.equals(locatorValue, other.locatorValue) && Objects.equals(text, other.text);
+    }
+}
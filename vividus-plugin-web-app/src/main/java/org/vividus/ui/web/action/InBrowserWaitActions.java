@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.util.ResourceUtils;
+
+/**
+ * Speeds up the waits by evaluating the conditions right in the browser: a single asynchronous script re-checks the
+ * condition on DOM mutations (observed via <code>MutationObserver</code> and throttled by animation frames) and
+ * returns as soon as the condition is met or the timeout is expired. The in-browser wait is performed only if the
+ * condition is not met at the first check. Since the in-browser checks are approximate, the condition is always
+ * confirmed by the regular polling wait afterwards, the same polling is used as the fallback if the in-browser wait is
+ * interrupted, e.g. by the page navigation.
+ */
+public class InBrowserWaitActions
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(InBrowserWaitActions.class);
+
+    private static final String WAIT_FOR_CONDITION = ResourceUtils.loadResource(InBrowserWaitActions.class,
+            "wait-for-condition.js");
+
+    private final WebJavascriptActions javascriptActions;
+
+    private boolean enabled;
+    private Duration defaultTimeout;
+    private Duration maxScriptDuration;
+
+    public InBrowserWaitActions(WebJavascriptActions javascriptActions)
+    {
+        this.javascriptActions = javascriptActions;
+    }
+
+    /**
+     * Decorates the condition, so the failed first check is followed by the in-browser wait with the default timeout
+     * @param condition the condition to decorate
+     * @param browserCondition the equivalent of the condition to evaluate in the browser
+     * @param <T> the type of the wait input
+     * @param <V> the type of the condition result
+     * @return the decorated condition
+     */
+    public <T, V> Function<T, V> withInBrowserWait(Function<T, V> condition, BrowserCondition browserCondition)
+    {
+        return withInBrowserWait(condition, browserCondition, defaultTimeout);
+    }
+
+    /**
+     * Decorates the condition, so the failed first check is followed by the in-browser wait
+     * @param condition the condition to decorate
+     * @param browserCondition the equivalent of the condition to evaluate in the browser
+     * @param timeout the timeout of the wait the condition is used by
+     * @param <T> the type of the wait input
+     * @param <V> the type of the condition result
+     * @return the decorated condition, or the original one if the in-browser waits are disabled
+     */
+    public <T, V> Function<T, V> withInBrowserWait(Function<T, V> condition, BrowserCondition browserCondition,
+            Duration timeout)
+    {
+        return enabled ? new InBrowserWaitCondition<>(condition, browserCondition, timeout) : condition;
+    }
+
+    private void waitInBrowser(BrowserCondition browserCondition, Duration timeout)
+    {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long timeLeft = timeout.toMillis();
+        while (timeLeft > 0)
+        {
+            long scriptDuration = Math.min(timeLeft, maxScriptDuration.toMillis());
+            Object result;
+            try
+            {
+                result = javascriptActions.executeAsyncScript(WAIT_FOR_CONDITION,
+                        ArrayUtils.add(browserCondition.toScriptArguments(), scriptDuration));
+            }
+            catch (WebDriverException e)
+            {
+                LOGGER.debug("In-browser wait is interrupted, falling back to polling", e);
+                return;
+            }
+            if (!Boolean.FALSE.equals(result))
+            {
+                return;
+            }
+            timeLeft = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+        }
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout)
+    {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public void setMaxScriptDuration(Duration maxScriptDuration)
+    {
+        this.maxScriptDuration = maxScriptDuration;
+    }
+
+    private final class InBrowserWaitCondition<T, V> implements Function<T, V>
+    {
+        private final Function<T, V> condition;
+        private final BrowserCondition browserCondition;
+        private final Duration timeout;
+        private boolean waitedInBrowser;
+
+        private InBrowserWaitCondition(Function<T, V> condition, BrowserCondition browserCondition, Duration timeout)
+        {
+            this.condition = condition;
+            this.browserCondition = browserCondition;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public V apply(T input)
+        {
+            V value = condition.apply(input);
+            if (waitedInBrowser || value != null && !Boolean.FALSE.equals(value))
+            {
+                return value;
+            }
+            waitedInBrowser = true;
+            waitInBrowser(browserCondition, timeout);
+            return condition.apply(input);
+        }
+
+        @Override
+        public String toString()
+        {
+            return condition.toString();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action;
+
+public enum PageLoadDetectionMode
+{
+    /**
+     * Waits for the fixed timeout for the page to start loading if the current document is already loaded (Chrome and
+     * iOS only), then polls the document ready state
+     */
+    TIMEOUT,
+    /**
+     * Marks each loaded document and waits in a single asynchronous script either for a new (unmarked) document to
+     * become ready or for a short quiet period if the current document is the marked one
+     */
+    EVENTS
+}
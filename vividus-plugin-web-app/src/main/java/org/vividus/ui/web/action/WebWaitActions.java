@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,26 +17,41 @@
 package org.vividus.ui.web.action;
 
 import java.time.Duration;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.inject.Inject;
 
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.Browser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.vividus.selenium.IWebDriverProvider;
 import org.vividus.selenium.manager.IWebDriverManager;
 import org.vividus.ui.action.WaitActions;
+import org.vividus.util.ResourceUtils;
 
 public class WebWaitActions extends WaitActions implements IWebWaitActions
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebWaitActions.class);
+
+    private static final String WAIT_FOR_PAGE_LOAD = ResourceUtils.loadResource(WebWaitActions.class,
+            "wait-for-page-load.js");
+    private static final String MARK_PAGE_LOADED = "window.vividusPageLoadMarker = arguments[0]";
+
+    private final String pageLoadMarker = UUID.randomUUID().toString();
+
     @Inject private IWebDriverProvider webDriverProvider;
 
     @Inject private WebJavascriptActions javascriptActions;
     @Inject private IAlertActions alertActions;
     @Inject private IWebDriverManager webDriverManager;
 
+    private PageLoadDetectionMode pageLoadDetectionMode;
     private Duration pageStartsToLoadTimeout;
+    private Duration pageLoadQuietPeriod;
 
     @Override
     public void waitForPageLoad()
@@ -50,12 +65,19 @@ public class WebWaitActions extends WaitActions implements IWebWaitActions
         if (!alertActions.isAlertPresent(webDriver) && !webDriverManager.isElectronApp())
         {
             boolean internetExplorer = webDriverManager.isBrowserAnyOf(Browser.IE);
-            /*
-             * Workaround for ChromeDriver. Waits for the specified timeout for the page to start reloading.
-             */
-            if ((webDriverManager.isBrowserAnyOf(Browser.CHROME) || webDriverManager.isIOS())
+            if (pageLoadDetectionMode == PageLoadDetectionMode.EVENTS)
+            {
+                if (waitForPageLoadByEvents(internetExplorer))
+                {
+                    return;
+                }
+            }
+            else if ((webDriverManager.isBrowserAnyOf(Browser.CHROME) || webDriverManager.isIOS())
                     && checkDocumentReadyState(webDriver, internetExplorer))
             {
+                /*
+                 * Workaround for ChromeDriver. Waits for the specified timeout for the page to start reloading.
+                 */
                 sleepForTimeout(pageStartsToLoadTimeout);
             }
             wait(webDriver, new Function<WebDriver, Boolean>()
@@ -72,6 +94,53 @@ public class WebWaitActions extends WaitActions implements IWebWaitActions
                     return "page load";
                 }
             });
+            if (pageLoadDetectionMode == PageLoadDetectionMode.EVENTS)
+            {
+                markPageLoaded(webDriver);
+            }
+        }
+    }
+
+    /**
+     * Marks the current document as loaded, so the next wait for page load treats it as the already loaded one and
+     * waits only for the quiet period. The marking is performed only if the page load is detected by events.
+     * @param webDriver WebDriver instance
+     */
+    public void markPageLoaded(WebDriver webDriver)
+    {
+        if (pageLoadDetectionMode == PageLoadDetectionMode.EVENTS)
+        {
+            try
+            {
+                ((JavascriptExecutor) webDriver).executeScript(MARK_PAGE_LOADED, pageLoadMarker);
+            }
+            catch (WebDriverException e)
+            {
+                // The document is being unloaded or an alert is shown, the next document is checked by its ready state
+                LOGGER.debug("Unable to mark the page as loaded", e);
+            }
+        }
+    }
+
+    /**
+     * Waits in a single asynchronous script either for a new document to become ready or for the quiet period if the
+     * current document is already loaded. The script is interrupted if the document is unloaded (a navigation has
+     * been started), if an alert appears or if the script timeout is exceeded, in all these cases the caller should
+     * fall back to the polling of the document ready state.
+     * @param internetExplorer whether the <code>interactive</code> state is treated as the ready one
+     * @return <code>true</code> if the page is loaded, <code>false</code> if the script is interrupted
+     */
+    private boolean waitForPageLoadByEvents(boolean internetExplorer)
+    {
+        try
+        {
+            javascriptActions.executeAsyncScript(WAIT_FOR_PAGE_LOAD, pageLoadMarker, pageLoadQuietPeriod.toMillis(),
+                    internetExplorer);
+            return true;
+        }
+        catch (WebDriverException e)
+        {
+            return false;
         }
     }
 
@@ -93,8 +162,18 @@ public class WebWaitActions extends WaitActions implements IWebWaitActions
         return "complete".equals(status) || isIExplore && "interactive".equals(status);
     }
 
+    public void setPageLoadDetectionMode(PageLoadDetectionMode pageLoadDetectionMode)
+    {
+        this.pageLoadDetectionMode = pageLoadDetectionMode;
+    }
+
     public void setPageStartsToLoadTimeout(Duration pageStartsToLoadTimeout)
     {
         this.pageStartsToLoadTimeout = pageStartsToLoadTimeout;
     }
+
+    public void setPageLoadQuietPeriod(Duration pageLoadQuietPeriod)
+    {
+        this.pageLoadQuietPeriod = pageLoadQuietPeriod;
+    }
 }
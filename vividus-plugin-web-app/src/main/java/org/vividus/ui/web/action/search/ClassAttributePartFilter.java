@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,10 @@
 package org.vividus.ui.web.action.search;
 
 import org.openqa.selenium.WebElement;
-import org.vividus.ui.action.search.IElementFilterAction;
+import org.vividus.ui.action.search.IJavascriptElementFilterAction;
 import org.vividus.ui.action.search.LocatorType;
 
-public class ClassAttributePartFilter implements IElementFilterAction
+public class ClassAttributePartFilter implements IJavascriptElementFilterAction
 {
     @Override
     public boolean matches(WebElement element, String text)
@@ -28,6 +28,13 @@ public class ClassAttributePartFilter implements IElementFilterAction
         return element.getAttribute("class").contains(text);
     }
 
+    @Override
+    public String getFilterScript()
+    {
+        return "var classAttribute = element.getAttribute('class');"
+                + "return classAttribute != null && classAttribute.indexOf(value) !== -1;";
+    }
+
     @Override
     public LocatorType getType()
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,11 @@
 package org.vividus.ui.web.action.search;
 
 import org.openqa.selenium.WebElement;
-import org.vividus.ui.action.search.IElementFilterAction;
+import org.vividus.ui.action.search.IJavascriptElementFilterAction;
 import org.vividus.ui.action.search.LocatorType;
 import org.vividus.ui.web.action.WebJavascriptActions;
 
-public class FieldTextFilter implements IElementFilterAction
+public class FieldTextFilter implements IJavascriptElementFilterAction
 {
     private final WebJavascriptActions javascriptActions;
 
@@ -36,6 +36,12 @@ public class FieldTextFilter implements IElementFilterAction
         return text.equals(javascriptActions.getElementValue(element));
     }
 
+    @Override
+    public String getFilterScript()
+    {
+        return "return value === element.value;";
+    }
+
     @Override
     public LocatorType getType()
     {
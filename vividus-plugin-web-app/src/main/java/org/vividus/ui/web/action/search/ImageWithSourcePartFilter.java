@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,9 @@ package org.vividus.ui.web.action.search;
 
 import org.openqa.selenium.WebElement;
 import org.vividus.ui.action.search.ByLocatorSearch;
-import org.vividus.ui.action.search.IElementFilterAction;
+import org.vividus.ui.action.search.IJavascriptElementFilterAction;
 
-public class ImageWithSourcePartFilter extends ByLocatorSearch implements IElementFilterAction
+public class ImageWithSourcePartFilter extends ByLocatorSearch implements IJavascriptElementFilterAction
 {
     public ImageWithSourcePartFilter()
     {
@@ -32,4 +32,11 @@ public class ImageWithSourcePartFilter extends ByLocatorSearch implements IEleme
     {
         return element.getAttribute("src").contains(imageSrcPart);
     }
+
+    @Override
+    public String getFilterScript()
+    {
+        return "var src = element.src || element.getAttribute('src');"
+                + "return src != null && src.indexOf(value) !== -1;";
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.listener;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
+import org.vividus.ui.web.action.WebWaitActions;
+
+/**
+ * Marks the documents loaded by the navigation commands: WebDriver returns from these commands once the page is
+ * loaded, so the next wait for page load should not treat such document as a new one.
+ */
+public class PageLoadMarkingListener extends AbstractWebDriverEventListener
+{
+    private WebWaitActions waitActions;
+
+    @Override
+    public void afterNavigateTo(String url, WebDriver driver)
+    {
+        waitActions.markPageLoaded(driver);
+    }
+
+    @Override
+    public void afterNavigateBack(WebDriver driver)
+    {
+        waitActions.markPageLoaded(driver);
+    }
+
+    @Override
+    public void afterNavigateForward(WebDriver driver)
+    {
+        waitActions.markPageLoaded(driver);
+    }
+
+    @Override
+    public void afterNavigateRefresh(WebDriver driver)
+    {
+        waitActions.markPageLoaded(driver);
+    }
+
+    public void setWaitActions(WebWaitActions waitActions)
+    {
+        this.waitActions = waitActions;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,14 +23,13 @@ import static ru.yandex.qatools.ashot.util.InnerScript.execute;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.vividus.selenium.screenshot.ScreenshotDebugger;
-import org.vividus.util.Sleeper;
+import org.vividus.util.ResourceUtils;
 
 import ru.yandex.qatools.ashot.coordinates.Coords;
 
@@ -50,6 +49,8 @@ public class DebuggingViewportPastingDecorator extends ShootingDecorator {
             + "    %1$s.scrollTo(0, arguments[0]);"
             + "}"
             + "return [];";
+    private static final String SCROLL_VERTICALLY_AND_WAIT_JS = ResourceUtils.loadResource(
+            DebuggingViewportPastingDecorator.class, "scroll-vertically-and-wait.js");
     private static final long serialVersionUID = 4173686031614281540L;
     private static final String CURRENT_SCROLL = "current_scroll_";
     protected int scrollTimeout;
@@ -90,10 +91,9 @@ public class DebuggingViewportPastingDecorator extends ShootingDecorator {
 
         int scrollTimes = (int) Math.ceil(shootingArea.getHeight() / viewportHeight);
         for (int n = 0; n < scrollTimes; n++) {
-            scrollVertically(js, shootingArea.y + viewportHeight * n);
-            Sleeper.sleep(Duration.ofMillis(scrollTimeout));
+            // The scroll position is returned by the same script once the scroll is settled
+            int currentScrollY = adjustScrollY(scrollVerticallyAndWait(js, shootingArea.y + viewportHeight * n));
             BufferedImage part = getShootingStrategy().getScreenshot(wd);
-            int currentScrollY = getCurrentScrollY(js);
             debugScreenshot(CURRENT_SCROLL + currentScrollY + "_part_" + n, part);
             graphics.drawImage(part, 0, currentScrollY - shootingArea.y, null);
             debugScreenshot(CURRENT_SCROLL + currentScrollY, finalImage);
@@ -128,14 +128,38 @@ public class DebuggingViewportPastingDecorator extends ShootingDecorator {
     }
 
     protected int getCurrentScrollY(JavascriptExecutor js) {
+        return adjustScrollY(getScrollY(js));
+    }
+
+    protected int getScrollY(JavascriptExecutor js) {
         return ((Number) js.executeScript("var scrY = window.scrollY;"
                 + "if(scrY){return scrY;} else {return 0;}")).intValue();
     }
 
+    protected int adjustScrollY(int scrollY) {
+        return scrollY;
+    }
+
     protected void scrollVertically(JavascriptExecutor js, int scrollY) {
         js.executeScript(scrollVerticallyScript, scrollY);
     }
 
+    /**
+     * Scrolls vertically and waits in the browser until the scroll is settled, but not longer than the scroll timeout
+     * @param js JavaScript executor
+     * @param scrollY the vertical position to scroll to
+     * @return the vertical scroll position after the scroll is settled
+     */
+    protected int scrollVerticallyAndWait(JavascriptExecutor js, int scrollY) {
+        return ((Number) js.executeAsyncScript(SCROLL_VERTICALLY_AND_WAIT_JS, scrollY, null, scrollTimeout))
+                .intValue();
+    }
+
+    protected static String getScrollVerticallyAndWaitScript()
+    {
+        return SCROLL_VERTICALLY_AND_WAIT_JS;
+    }
+
     protected String getScrollVerticallyScript()
     {
         return scrollVerticallyScript;
@@ -0,0 +1,90 @@
+var conditionType = arguments[0];
+var locatorType = arguments[1];
+var locatorValue = arguments[2];
+var expectedText = arguments[3];
+var timeout = arguments[4];
+var exit = arguments[arguments.length-1];
+
+// The checks are intentionally permissive: the condition is always confirmed by the regular WebDriver check, so
+// the only purpose of this script is to return as soon as the condition is likely to be met
+function findElements() {
+    if (locatorType === 'css') {
+        return Array.from(document.querySelectorAll(locatorValue));
+    }
+    var snapshot = document.evaluate(locatorValue, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+    var elements = [];
+    for (var i = 0; i < snapshot.snapshotLength; i++) {
+        elements.push(snapshot.snapshotItem(i));
+    }
+    return elements;
+}
+
+function hasLayoutBox(element) {
+    return element.getClientRects().length > 0;
+}
+
+function mayBeHidden(element) {
+    if (!hasLayoutBox(element)) {
+        return true;
+    }
+    var style = window.getComputedStyle(element);
+    return style.visibility !== 'visible' || style.opacity === '0';
+}
+
+function removeWhitespaces(text) {
+    return text.replace(/\s+/g, '');
+}
+
+var conditions = {
+    VISIBLE: () => findElements().some(hasLayoutBox),
+    NOT_VISIBLE: () => findElements().every(mayBeHidden),
+    TEXT_PRESENT: () => findElements().some(
+            e => removeWhitespaces(e.textContent).includes(removeWhitespaces(expectedText))),
+    TITLE_CONTAINS: () => document.title.includes(expectedText),
+    TITLE_IS: () => document.title === expectedText
+};
+
+var condition = conditions[conditionType];
+var observer;
+var interval;
+var deadline;
+var checkScheduled = false;
+var finished = false;
+
+function finish(result) {
+    if (!finished) {
+        finished = true;
+        observer.disconnect();
+        clearInterval(interval);
+        clearTimeout(deadline);
+        exit(result);
+    }
+}
+
+function check() {
+    checkScheduled = false;
+    try {
+        if (condition()) {
+            finish(true);
+        }
+    }
+    catch (e) {
+        // The condition can't be evaluated in the browser, let the caller fall back to the polling
+        finish(null);
+    }
+}
+
+function scheduleCheck() {
+    if (!checkScheduled) {
+        checkScheduled = true;
+        window.requestAnimationFrame(check);
+    }
+}
+
+observer = new MutationObserver(scheduleCheck);
+observer.observe(document, { attributes: true, childList: true, characterData: true, subtree: true });
+// Neither CSS animations nor transitions are reported as mutations, animation frames are not fired for the
+// background windows, so the condition is also re-checked periodically
+interval = setInterval(check, 250);
+deadline = setTimeout(() => finish(false), timeout);
+check();
@@ -0,0 +1,33 @@
+var marker = arguments[0];
+var quietPeriod = arguments[1];
+var acceptInteractive = arguments[2];
+var exit = arguments[arguments.length-1];
+
+function isReady() {
+    return document.readyState === 'complete' || acceptInteractive && document.readyState === 'interactive';
+}
+
+function markAndExit() {
+    window.vividusPageLoadMarker = marker;
+    exit(true);
+}
+
+function onReadyStateChange() {
+    if (isReady()) {
+        document.removeEventListener('readystatechange', onReadyStateChange);
+        markAndExit();
+    }
+}
+
+if (window.vividusPageLoadMarker !== marker) {
+    // The document has not been seen yet: it's a new one, so wait until it's ready
+    if (isReady()) {
+        markAndExit();
+    } else {
+        document.addEventListener('readystatechange', onReadyStateChange);
+    }
+} else {
+    // The document has been already loaded: give a navigation a chance to start, if it's started, the document is
+    // unloaded and the script execution is interrupted
+    setTimeout(() => exit(false), quietPeriod);
+}
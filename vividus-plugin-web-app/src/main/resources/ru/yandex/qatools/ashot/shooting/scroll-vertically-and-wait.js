@@ -0,0 +1,58 @@
+const scrollY = arguments[0];
+const scrollableElement = arguments[1];
+const timeout = arguments[2];
+const exit = arguments[arguments.length - 1];
+
+const scrollTarget = scrollableElement || window;
+const getScrollY = () => (scrollableElement ? scrollableElement.scrollTop : window.scrollY) || 0;
+const getScrollHeight = () => scrollableElement ? scrollableElement.scrollHeight
+                                                : document.documentElement.scrollHeight;
+
+if ('scrollBehavior' in document.documentElement.style) {
+    scrollTarget.scrollTo({
+        "top": scrollY,
+        "left": 0,
+        "behavior": "instant"
+    });
+} else {
+    scrollTarget.scrollTo(0, scrollY);
+}
+
+// The scroll is settled when neither the scroll position nor the scrollable height change during two consecutive
+// frames (e.g. smooth scrolling is over and lazy content is rendered), the timeout limits the waiting
+const deadline = Date.now() + timeout;
+let lastScrollY = getScrollY();
+let lastScrollHeight = getScrollHeight();
+let stableFrames = 0;
+
+function check() {
+    const currentScrollY = getScrollY();
+    const currentScrollHeight = getScrollHeight();
+    if (currentScrollY === lastScrollY && currentScrollHeight === lastScrollHeight) {
+        stableFrames++;
+    } else {
+        stableFrames = 0;
+        lastScrollY = currentScrollY;
+        lastScrollHeight = currentScrollHeight;
+    }
+    if (stableFrames >= 2 || Date.now() >= deadline) {
+        exit(currentScrollY);
+        return;
+    }
+    scheduleCheck();
+}
+
+function scheduleCheck() {
+    // Animation frames are not fired for background tabs, so the timer guarantees the check is performed
+    let checked = false;
+    const checkOnce = () => {
+        if (!checked) {
+            checked = true;
+            check();
+        }
+    };
+    requestAnimationFrame(checkOnce);
+    setTimeout(checkOnce, 50);
+}
+
+scheduleCheck();
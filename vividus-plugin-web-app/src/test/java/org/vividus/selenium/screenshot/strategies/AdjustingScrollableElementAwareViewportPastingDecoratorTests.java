@@ -17,6 +17,7 @@
 package org.vividus.selenium.screenshot.strategies;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -116,4 +117,14 @@ class AdjustingScrollableElementAwareViewportPastingDecoratorTests
                 + "return [];",
                 THE_ANSWER, scrollableElement);
     }
+
+    @Test
+    void shouldUseScrollableElementToScrollVerticallyAndWait()
+    {
+        int scrollTimeout = 300;
+        strategy.withScrollTimeout(scrollTimeout);
+        when(javascriptActions.executeAsyncScript(startsWith("const scrollY = arguments[0];"), Mockito.eq(THE_ANSWER),
+                Mockito.eq(scrollableElement), Mockito.eq(scrollTimeout))).thenReturn(THE_ANSWER);
+        assertEquals(THE_ANSWER, strategy.scrollVerticallyAndWait(mock(JavascriptExecutor.class), THE_ANSWER));
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,9 @@
 package org.vividus.selenium.screenshot.strategies;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -76,4 +79,17 @@ class AdjustingViewportPastingDecoratorTests
         assertEquals(currentScrollY, decorator.getCurrentScrollY(jsExecutor));
         assertEquals(currentScrollY + HEADER_ADJUSTMENT, decorator.getCurrentScrollY(jsExecutor));
     }
+
+    @Test
+    void shouldScrollVerticallyAndWaitForScrollSettlingInBrowser()
+    {
+        JavascriptExecutor jsExecutor = (JavascriptExecutor) webDriver;
+        int scrollTimeout = 500;
+        int scrollY = 1000;
+        long settledScrollY = 990;
+        decorator.withScrollTimeout(scrollTimeout);
+        when(jsExecutor.executeAsyncScript(startsWith("const scrollY = arguments[0];"), eq(scrollY), isNull(),
+                eq(scrollTimeout))).thenReturn(settledScrollY);
+        assertEquals(settledScrollY, decorator.scrollVerticallyAndWait(jsExecutor, scrollY));
+    }
 }
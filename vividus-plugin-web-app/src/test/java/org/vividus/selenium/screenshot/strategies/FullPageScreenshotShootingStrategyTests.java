@@ -0,0 +1,32 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.screenshot.strategies;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+
+import org.junit.jupiter.api.Test;
+
+class FullPageScreenshotShootingStrategyTests
+{
+    @Test
+    void shouldCreateNativeFullPageShootingStrategy()
+    {
+        var strategy = new FullPageScreenshotShootingStrategy();
+        assertThat(strategy.getDecoratedShootingStrategy(null), instanceOf(NativeFullPageShootingStrategy.class));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.screenshot.strategies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
+
+import ru.yandex.qatools.ashot.coordinates.Coords;
+import ru.yandex.qatools.ashot.shooting.ShootingStrategy;
+
+@ExtendWith(MockitoExtension.class)
+class NativeFullPageShootingStrategyTests
+{
+    private static final String PAGE_METRICS_JS = "return [window.devicePixelRatio || 1,";
+    private static final long WIDTH = 100;
+    private static final long HEIGHT = 300;
+
+    @Mock private ShootingStrategy fallbackStrategy;
+
+    @Test
+    void shouldCaptureBeyondViewportUsingCdp() throws IOException
+    {
+        WebDriver webDriver = mock(WebDriver.class,
+                withSettings().extraInterfaces(HasCdp.class, JavascriptExecutor.class));
+        when(((JavascriptExecutor) webDriver).executeScript(startsWith(PAGE_METRICS_JS))).thenReturn(
+                List.of(2L, WIDTH, HEIGHT));
+        Map<String, Object> clip = Map.of("x", 0, "y", 0, "width", (int) WIDTH, "height", (int) HEIGHT, "scale", 1);
+        String screenshot = Base64.getEncoder().encodeToString(createPng(2 * (int) WIDTH, 2 * (int) HEIGHT));
+        when(((HasCdp) webDriver).executeCdpCommand("Page.captureScreenshot",
+                Map.of("format", "png", "captureBeyondViewport", true, "clip", clip)))
+                .thenReturn(Map.of("data", screenshot));
+        NativeFullPageShootingStrategy strategy = new NativeFullPageShootingStrategy(fallbackStrategy);
+        BufferedImage image = strategy.getScreenshot(webDriver);
+        assertEquals(WIDTH, image.getWidth());
+        assertEquals(HEIGHT, image.getHeight());
+        Set<Coords> coords = Set.of(new Coords(0, 0, 1, 1));
+        assertSame(coords, strategy.prepareCoords(coords));
+        verifyNoInteractions(fallbackStrategy);
+    }
+
+    @Test
+    void shouldTakeFirefoxFullPageScreenshot() throws IOException
+    {
+        WebDriver webDriver = mock(WebDriver.class,
+                withSettings().extraInterfaces(HasFullPageScreenshot.class, JavascriptExecutor.class));
+        when(((JavascriptExecutor) webDriver).executeScript(startsWith(PAGE_METRICS_JS))).thenReturn(
+                List.of(1L, WIDTH, HEIGHT));
+        when(((HasFullPageScreenshot) webDriver).getFullPageScreenshotAs(OutputType.BYTES)).thenReturn(
+                createPng((int) WIDTH, (int) HEIGHT));
+        BufferedImage image = new NativeFullPageShootingStrategy(fallbackStrategy).getScreenshot(webDriver);
+        assertEquals(WIDTH, image.getWidth());
+        assertEquals(HEIGHT, image.getHeight());
+        verifyNoInteractions(fallbackStrategy);
+    }
+
+    @Test
+    void shouldUseFallbackStrategyIfNativeScreenshotIsNotSupported()
+    {
+        WebDriver webDriver = mock(WebDriver.class);
+        BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        when(fallbackStrategy.getScreenshot(webDriver, null)).thenReturn(image);
+        Set<Coords> coords = Set.of(new Coords(0, 0, 1, 1));
+        Set<Coords> preparedCoords = Set.of(new Coords(0, 1, 1, 1));
+        when(fallbackStrategy.prepareCoords(coords)).thenReturn(preparedCoords);
+        NativeFullPageShootingStrategy strategy = new NativeFullPageShootingStrategy(fallbackStrategy);
+        assertSame(image, strategy.getScreenshot(webDriver));
+        assertSame(preparedCoords, strategy.prepareCoords(coords));
+    }
+
+    @Test
+    void shouldUseFallbackStrategyIfNativeScreenshotIsFailed()
+    {
+        WebDriver webDriver = mock(WebDriver.class,
+                withSettings().extraInterfaces(HasCdp.class, JavascriptExecutor.class));
+        when(((JavascriptExecutor) webDriver).executeScript(startsWith(PAGE_METRICS_JS))).thenThrow(
+                new WebDriverException("Page.captureScreenshot is not supported"));
+        BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        Set<Coords> coords = Set.of(new Coords(0, 0, 1, 1));
+        when(fallbackStrategy.getScreenshot(webDriver, coords)).thenReturn(image);
+        assertSame(image, new NativeFullPageShootingStrategy(fallbackStrategy).getScreenshot(webDriver, coords));
+    }
+
+    private static byte[] createPng(int width, int height) throws IOException
+    {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", output);
+        return output.toByteArray();
+    }
+}
@@ -17,6 +17,7 @@
 package org.vividus.steps.ui.web;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -36,6 +37,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriver.Options;
 import org.openqa.selenium.WebDriver.Timeouts;
@@ -52,7 +54,9 @@ import org.vividus.ui.action.WaitResult;
 import org.vividus.ui.action.search.Locator;
 import org.vividus.ui.context.IUiContext;
 import org.vividus.ui.util.XpathLocatorUtils;
+import org.vividus.ui.web.action.BrowserCondition;
 import org.vividus.ui.web.action.IWebWaitActions;
+import org.vividus.ui.web.action.InBrowserWaitActions;
 import org.vividus.ui.web.action.WebJavascriptActions;
 import org.vividus.ui.web.action.search.WebLocatorType;
 
@@ -81,6 +85,7 @@ class WaitStepsTests
     @Mock private ISearchActions searchActions;
     @Mock private WebJavascriptActions javascriptActions;
     @Mock private TimeoutConfigurer timeoutConfigurer;
+    @Mock private InBrowserWaitActions inBrowserWaitActions;
     @InjectMocks private WaitSteps waitSteps;
 
     @Test
@@ -209,16 +214,47 @@ class WaitStepsTests
                 State.NOT_VISIBLE));
     }
 
+    @Test
+    void shouldWaitInBrowserTillElementAppearsInPageContext()
+    {
+        when(uiContext.getSearchContext()).thenReturn(webDriver);
+        WaitResult<WebElement> waitResult = new WaitResult<>();
+        waitResult.setWaitPassed(true);
+        Locator locator = new Locator(WebLocatorType.CSS_SELECTOR, "div.loaded");
+        IExpectedSearchContextCondition<WebElement> condition = mock(IExpectedSearchContextCondition.class);
+        when(expectedSearchActionsConditions.visibilityOfElement(locator)).thenReturn(condition);
+        Function<SearchContext, WebElement> inBrowserCondition = mock(Function.class);
+        when(inBrowserWaitActions.withInBrowserWait(condition, BrowserCondition.forState(State.VISIBLE, locator)
+                .get(), TIMEOUT)).thenReturn(inBrowserCondition);
+        when(waitActions.wait(webDriver, TIMEOUT, TIMEOUT, inBrowserCondition)).thenReturn(waitResult);
+        assertTrue(waitSteps.waitDurationWithPollingDurationTillElementState(TIMEOUT, TIMEOUT, locator,
+                State.VISIBLE));
+    }
+
+    @Test
+    void shouldNotWaitInBrowserForUnsupportedLocator()
+    {
+        when(uiContext.getSearchContext()).thenReturn(webDriver);
+        Locator locator = new Locator(WebLocatorType.ELEMENT_NAME, NAME);
+        IExpectedSearchContextCondition<Boolean> condition = mock(IExpectedSearchContextCondition.class);
+        when(expectedSearchActionsConditions.textToBePresentInElementLocated(locator, TEXT)).thenReturn(condition);
+        waitSteps.waitTillElementContainsText(locator, TEXT);
+        verify(waitActions).wait(webDriver, condition);
+        verifyNoInteractions(inBrowserWaitActions);
+    }
+
     @Test
     void testWaitTillFrameAppears()
     {
         when(uiContext.getSearchContext(WebDriver.class)).thenReturn(Optional.of(webDriver));
         WaitResult<List<WebElement>> waitResult = mock(WaitResult.class);
         IExpectedSearchContextCondition<List<WebElement>> condition = mock(IExpectedSearchContextCondition.class);
-        By locator = XpathLocatorUtils
-                .getXPathLocator("*[(local-name()='frame' or local-name()='iframe') and @*=\"name\"]");
-        when(expectedSearchContextConditions.visibilityOfAllElementsLocatedBy(locator)).thenReturn(condition);
-        when(waitActions.wait(webDriver, condition)).thenReturn(waitResult);
+        String xpath = XpathLocatorUtils.getXPath("*[(local-name()='frame' or local-name()='iframe') and @*=\"name\"]");
+        when(expectedSearchContextConditions.visibilityOfAllElementsLocatedBy(By.xpath(xpath))).thenReturn(condition);
+        Function<SearchContext, List<WebElement>> inBrowserCondition = mock(Function.class);
+        when(inBrowserWaitActions.withInBrowserWait(condition,
+                BrowserCondition.visibilityOfElementsLocatedByXpath(xpath))).thenReturn(inBrowserCondition);
+        when(waitActions.wait(webDriver, inBrowserCondition)).thenReturn(waitResult);
         waitSteps.waitTillFrameAppears(NAME);
         verify(waitResult).isWaitPassed();
     }
@@ -227,6 +263,8 @@ class WaitStepsTests
     void testWaitTillPageContainsTitle()
     {
         when(webDriverProvider.get()).thenReturn(webDriver);
+        when(inBrowserWaitActions.withInBrowserWait(any(), eq(BrowserCondition.titleContains(TEXT))))
+                .thenAnswer(a -> a.getArgument(0));
         waitSteps.waitTillPageContainsTitle(TEXT);
         verify(waitActions).wait(eq(webDriver),
                 argThat(e -> "title to contain \"text\". Current title: \"\"".equals(e.toString())));
@@ -236,6 +274,8 @@ class WaitStepsTests
     void testWaitTillPageHasTitle()
     {
         when(webDriverProvider.get()).thenReturn(webDriver);
+        when(inBrowserWaitActions.withInBrowserWait(any(), eq(BrowserCondition.titleIs(TEXT))))
+                .thenAnswer(a -> a.getArgument(0));
         waitSteps.waitTillPageHasTitle(TEXT);
         verify(waitActions).wait(eq(webDriver),
                 argThat(e -> "title to be \"text\". Current title: \"\"".equals(e.toString())));
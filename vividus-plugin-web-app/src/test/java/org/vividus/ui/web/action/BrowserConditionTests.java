@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.vividus.ui.State;
+import org.vividus.ui.action.search.Locator;
+import org.vividus.ui.action.search.SearchParameters;
+import org.vividus.ui.action.search.Visibility;
+import org.vividus.ui.util.XpathLocatorUtils;
+import org.vividus.ui.web.action.search.WebLocatorType;
+
+class BrowserConditionTests
+{
+    private static final String CSS_SELECTOR = "div.loaded";
+    private static final String TEXT = "text";
+
+    @Test
+    void shouldCreateConditionForXpathLocator()
+    {
+        String xpath = "//div[text()='a b']";
+        Locator locator = new Locator(WebLocatorType.XPATH, xpath);
+        Optional<BrowserCondition> condition = BrowserCondition.forState(State.NOT_VISIBLE, locator);
+        assertArrayEquals(new Object[] { "NOT_VISIBLE", "xpath", XpathLocatorUtils.getXPath(xpath), null },
+                condition.get().toScriptArguments());
+    }
+
+    @Test
+    void shouldCreateTextConditionForCssSelectorLocator()
+    {
+        Locator locator = new Locator(WebLocatorType.CSS_SELECTOR, CSS_SELECTOR);
+        Optional<BrowserCondition> condition = BrowserCondition.textToBePresentInElementLocated(locator, TEXT);
+        assertArrayEquals(new Object[] { "TEXT_PRESENT", "css", CSS_SELECTOR, TEXT },
+                condition.get().toScriptArguments());
+    }
+
+    @ParameterizedTest
+    @EnumSource(names = { "ENABLED", "DISABLED", "SELECTED", "NOT_SELECTED" })
+    void shouldNotCreateConditionForUnsupportedState(State state)
+    {
+        assertTrue(BrowserCondition.forState(state, new Locator(WebLocatorType.CSS_SELECTOR, CSS_SELECTOR))
+                .isEmpty());
+    }
+
+    @Test
+    void shouldNotCreateConditionForUnsupportedLocatorType()
+    {
+        assertTrue(BrowserCondition.forState(State.VISIBLE, new Locator(WebLocatorType.ID, "id")).isEmpty());
+    }
+
+    @Test
+    void shouldNotCreateConditionForLocatorOfNotOnlyVisibleElements()
+    {
+        Locator locator = new Locator(WebLocatorType.CSS_SELECTOR,
+                new SearchParameters(CSS_SELECTOR, Visibility.ALL));
+        assertTrue(BrowserCondition.forState(State.VISIBLE, locator).isEmpty());
+    }
+
+    @Test
+    void shouldNotCreateConditionForLocatorWithChildLocators()
+    {
+        Locator locator = new Locator(WebLocatorType.CSS_SELECTOR, CSS_SELECTOR);
+        locator.addChildLocator(new Locator(WebLocatorType.CSS_SELECTOR, "span"));
+        assertTrue(BrowserCondition.textToBePresentInElementLocated(locator, TEXT).isEmpty());
+    }
+
+    @Test
+    void shouldCompareConditions()
+    {
+        assertEquals(BrowserCondition.titleIs(TEXT), BrowserCondition.titleIs(TEXT));
+        assertEquals(BrowserCondition.titleIs(TEXT).hashCode(), BrowserCondition.titleIs(TEXT).hashCode());
+        assertNotEquals(BrowserCondition.titleIs(TEXT), BrowserCondition.titleContains(TEXT));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+@ExtendWith(MockitoExtension.class)
+class InBrowserWaitActionsTests
+{
+    private static final String VISIBLE = "VISIBLE";
+    private static final String XPATH = "//div";
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+    private static final Duration MAX_SCRIPT_DURATION = Duration.ofSeconds(30);
+    private static final BrowserCondition CONDITION = BrowserCondition.visibilityOfElementsLocatedByXpath(XPATH);
+
+    @Mock private WebJavascriptActions javascriptActions;
+    @Mock private WebDriver webDriver;
+    @Mock private Function<WebDriver, Boolean> condition;
+
+    private InBrowserWaitActions inBrowserWaitActions;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        inBrowserWaitActions = new InBrowserWaitActions(javascriptActions);
+        inBrowserWaitActions.setEnabled(true);
+        inBrowserWaitActions.setDefaultTimeout(TIMEOUT);
+        inBrowserWaitActions.setMaxScriptDuration(MAX_SCRIPT_DURATION);
+    }
+
+    @Test
+    void shouldNotDecorateConditionIfInBrowserWaitsAreDisabled()
+    {
+        inBrowserWaitActions.setEnabled(false);
+        assertSame(condition, inBrowserWaitActions.withInBrowserWait(condition, CONDITION));
+    }
+
+    @Test
+    void shouldNotWaitInBrowserIfConditionIsMetAtFirstCheck()
+    {
+        when(condition.apply(webDriver)).thenReturn(true);
+        assertEquals(true, inBrowserWaitActions.withInBrowserWait(condition, CONDITION).apply(webDriver));
+        verifyNoInteractions(javascriptActions);
+    }
+
+    @Test
+    void shouldWaitInBrowserOnceIfConditionIsNotMetAtFirstCheck()
+    {
+        when(condition.apply(webDriver)).thenReturn(false).thenReturn(true);
+        when(executeScript(MAX_SCRIPT_DURATION)).thenReturn(true);
+        Function<WebDriver, Boolean> decorated = inBrowserWaitActions.withInBrowserWait(condition, CONDITION);
+        assertEquals(true, decorated.apply(webDriver));
+        assertEquals(true, decorated.apply(webDriver));
+        verify(javascriptActions).executeAsyncScript(anyString(), eq(VISIBLE), eq("xpath"), eq(XPATH),
+                isNull(), eq(MAX_SCRIPT_DURATION.toMillis()));
+        verify(condition, times(3)).apply(webDriver);
+    }
+
+    @Test
+    void shouldRepeatInBrowserWaitUntilTimeout()
+    {
+        Duration timeout = Duration.ofMillis(100);
+        when(condition.apply(webDriver)).thenReturn(false);
+        when(javascriptActions.executeAsyncScript(anyString(), eq(VISIBLE), eq("xpath"), eq(XPATH), isNull(),
+                anyLong())).thenReturn(false);
+        assertEquals(false, inBrowserWaitActions.withInBrowserWait(condition, CONDITION, timeout).apply(webDriver));
+    }
+
+    @Test
+    void shouldSplitLongInBrowserWaitIntoSeveralScripts()
+    {
+        when(condition.apply(webDriver)).thenReturn(false).thenReturn(true);
+        when(executeScript(MAX_SCRIPT_DURATION)).thenReturn(false).thenReturn(true);
+        assertEquals(true, inBrowserWaitActions.withInBrowserWait(condition, CONDITION).apply(webDriver));
+        verify(javascriptActions, times(2)).executeAsyncScript(anyString(), eq(VISIBLE), eq("xpath"),
+                eq(XPATH), isNull(), eq(MAX_SCRIPT_DURATION.toMillis()));
+    }
+
+    @Test
+    void shouldFallBackToPollingIfInBrowserWaitIsInterrupted()
+    {
+        when(condition.apply(webDriver)).thenReturn(false).thenReturn(true);
+        when(executeScript(MAX_SCRIPT_DURATION)).thenThrow(
+                new WebDriverException("document unloaded while waiting for result"));
+        Function<WebDriver, Boolean> decorated = inBrowserWaitActions.withInBrowserWait(condition, CONDITION);
+        assertEquals(true, decorated.apply(webDriver));
+        verify(condition, times(2)).apply(webDriver);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepDescriptionOfDecoratedCondition()
+    {
+        Function<WebDriver, Boolean> titleCondition = mock(Function.class, "title to be \"text\"");
+        assertEquals("title to be \"text\"",
+                inBrowserWaitActions.withInBrowserWait(titleCondition, BrowserCondition.titleIs("text")).toString());
+    }
+
+    private Object executeScript(Duration scriptDuration)
+    {
+        return javascriptActions.executeAsyncScript(anyString(), eq(VISIBLE), eq("xpath"), eq(XPATH), isNull(),
+                eq(scriptDuration.toMillis()));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,10 +18,12 @@ package org.vividus.ui.web.action;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -33,11 +35,13 @@ import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriver.TargetLocator;
@@ -58,10 +62,12 @@ class WebWaitActionsTests
     private static final String SCRIPT_READY_STATE = "return document.readyState";
     private static final long TIMEOUT_VALUE = 1;
     private static final Duration TIMEOUT_MILLIS = Duration.ofMillis(1);
+    private static final Duration QUIET_PERIOD = Duration.ofMillis(100);
+    private static final String MARK_PAGE_LOADED = "window.vividusPageLoadMarker = arguments[0]";
 
     private WebWaitActions spy;
 
-    @Mock(extraInterfaces = HasCapabilities.class)
+    @Mock(extraInterfaces = { HasCapabilities.class, JavascriptExecutor.class })
     private WebDriver webDriver;
 
     @Mock private IWebDriverProvider webDriverProvider;
@@ -198,6 +204,110 @@ class WebWaitActionsTests
         verify(spy, never()).sleepForTimeout(Duration.ofDays(TIMEOUT_VALUE));
     }
 
+    @Test
+    void shouldWaitForPageLoadByEvents()
+    {
+        spy = spy(waitActions);
+        configureEventsDetection();
+        spy.waitForPageLoad(webDriver);
+        verify(javascriptActions).executeAsyncScript(anyString(), anyString(), eq(QUIET_PERIOD.toMillis()),
+                eq(false));
+        verify(javascriptActions, never()).executeScript(SCRIPT_READY_STATE);
+        verify(spy, never()).wait(eq(webDriver), any());
+        verify(spy, never()).sleepForTimeout(any());
+    }
+
+    @Test
+    void shouldWaitForPageLoadByEventsAcceptingInteractiveStateForIExplore()
+    {
+        configureEventsDetection();
+        when(webDriverManager.isBrowserAnyOf(Browser.IE)).thenReturn(true);
+        waitActions.waitForPageLoad(webDriver);
+        verify(javascriptActions).executeAsyncScript(anyString(), anyString(), eq(QUIET_PERIOD.toMillis()),
+                eq(true));
+    }
+
+    @Test
+    void shouldFallBackToReadyStatePollingWhenPageLoadWaitingByEventsIsInterrupted()
+    {
+        spy = spy(waitActions);
+        configureEventsDetection();
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        Mockito.lenient().when(webDriverManager.isBrowserAnyOf(Browser.CHROME)).thenReturn(true);
+        when(javascriptActions.executeAsyncScript(anyString(), anyString(), eq(QUIET_PERIOD.toMillis()), eq(false)))
+                .thenThrow(new WebDriverException("document unloaded while waiting for result"));
+        when(javascriptActions.executeScript(SCRIPT_READY_STATE)).thenReturn(COMPLETE);
+        spy.waitForPageLoad(webDriver);
+        verify(spy).wait(eq(webDriver), any());
+        verify(spy, never()).sleepForTimeout(any());
+        verify((JavascriptExecutor) webDriver).executeScript(eq(MARK_PAGE_LOADED), anyString());
+    }
+
+    @Test
+    void shouldWaitForNavigationStartedDuringQuietPeriod()
+    {
+        configureEventsDetection();
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        when(javascriptActions.executeAsyncScript(anyString(), anyString(), eq(QUIET_PERIOD.toMillis()), eq(false)))
+                .thenThrow(new WebDriverException("document unloaded while waiting for result"));
+        when(javascriptActions.executeScript(SCRIPT_READY_STATE)).thenReturn("loading", INTERACTIVE, COMPLETE);
+        waitActions.waitForPageLoad(webDriver);
+        verify(javascriptActions, times(3)).executeScript(SCRIPT_READY_STATE);
+        verify((JavascriptExecutor) webDriver).executeScript(eq(MARK_PAGE_LOADED), anyString());
+    }
+
+    @Test
+    void shouldWaitForQuietPeriodOnPageLoadedAfterFallbackToReadyStatePolling()
+    {
+        configureEventsDetection();
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        when(javascriptActions.executeAsyncScript(anyString(), anyString(), eq(QUIET_PERIOD.toMillis()), eq(false)))
+                .thenThrow(new WebDriverException("document unloaded while waiting for result"))
+                .thenReturn(true);
+        when(javascriptActions.executeScript(SCRIPT_READY_STATE)).thenReturn(COMPLETE);
+        waitActions.waitForPageLoad(webDriver);
+        waitActions.waitForPageLoad(webDriver);
+        var markerCaptor = ArgumentCaptor.forClass(String.class);
+        verify((JavascriptExecutor) webDriver).executeScript(eq(MARK_PAGE_LOADED), markerCaptor.capture());
+        var marker = markerCaptor.getValue();
+        // The document marked after the fallback is recognized by the script as the already loaded one
+        verify(javascriptActions, times(2)).executeAsyncScript(anyString(), eq(marker), eq(QUIET_PERIOD.toMillis()),
+                eq(false));
+        verify(javascriptActions).executeScript(SCRIPT_READY_STATE);
+    }
+
+    @Test
+    void shouldMarkPageLoadedIfPageLoadIsDetectedByEvents()
+    {
+        configureEventsDetection();
+        waitActions.markPageLoaded(webDriver);
+        verify((JavascriptExecutor) webDriver).executeScript(eq(MARK_PAGE_LOADED), anyString());
+    }
+
+    @Test
+    void shouldIgnoreErrorAtPageLoadMarking()
+    {
+        configureEventsDetection();
+        when(((JavascriptExecutor) webDriver).executeScript(eq(MARK_PAGE_LOADED), anyString())).thenThrow(
+                new WebDriverException("unexpected alert open"));
+        waitActions.markPageLoaded(webDriver);
+        verify((JavascriptExecutor) webDriver).executeScript(eq(MARK_PAGE_LOADED), anyString());
+    }
+
+    @Test
+    void shouldNotMarkPageLoadedIfPageLoadIsDetectedByTimeout()
+    {
+        configureWaitActions();
+        waitActions.markPageLoaded(webDriver);
+        verifyNoInteractions(webDriver);
+    }
+
+    private void configureEventsDetection()
+    {
+        waitActions.setPageLoadDetectionMode(PageLoadDetectionMode.EVENTS);
+        waitActions.setPageLoadQuietPeriod(QUIET_PERIOD);
+    }
+
     private void mockDescriptiveWait(TemporalUnit timeunit)
     {
         FluentWait<WebDriver> fluentWait = new FluentWait<>(webDriver);
@@ -210,6 +320,7 @@ class WebWaitActionsTests
 
     private void configureWaitActions()
     {
+        waitActions.setPageLoadDetectionMode(PageLoadDetectionMode.TIMEOUT);
         waitActions.setPageStartsToLoadTimeout(TIMEOUT_MILLIS);
     }
 }
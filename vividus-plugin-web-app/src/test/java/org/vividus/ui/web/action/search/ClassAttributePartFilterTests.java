@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -85,4 +85,12 @@ class ClassAttributePartFilterTests
     {
         assertEquals(WebLocatorType.CLASS_ATTRIBUTE_PART, classAttributePartFilter.getType());
     }
+
+    @Test
+    void shouldReturnFilterScript()
+    {
+        assertEquals("var classAttribute = element.getAttribute('class');"
+                + "return classAttribute != null && classAttribute.indexOf(value) !== -1;",
+                classAttributePartFilter.getFilterScript());
+    }
 }
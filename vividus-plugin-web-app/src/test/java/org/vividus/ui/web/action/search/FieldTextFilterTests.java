@@ -90,6 +90,12 @@ class FieldTextFilterTests
         assertEquals(WebLocatorType.FIELD_TEXT, fieldTextFilter.getType());
     }
 
+    @Test
+    void shouldReturnFilterScript()
+    {
+        assertEquals("return value === element.value;", fieldTextFilter.getFilterScript());
+    }
+
     private void testTextFilterEmptyOrNull(String text)
     {
         List<WebElement> filteredText = fieldTextFilter.filter(webElements, text);
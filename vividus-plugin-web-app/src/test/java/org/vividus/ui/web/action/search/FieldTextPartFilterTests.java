@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -84,4 +84,11 @@ class FieldTextPartFilterTests
     {
         assertEquals(WebLocatorType.FIELD_TEXT_PART, filter.getType());
     }
+
+    @Test
+    void shouldReturnFilterScript()
+    {
+        assertEquals("return element.value != null && element.value.indexOf(value) !== -1;",
+                filter.getFilterScript());
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -80,4 +80,12 @@ class ImageWithSourcePartFilterTests
         List<WebElement> foundElements = search.filter(webElements, "wrongValue");
         assertTrue(foundElements.isEmpty());
     }
+
+    @Test
+    void shouldReturnFilterScript()
+    {
+        assertEquals("var src = element.src || element.getAttribute('src');"
+                + "return src != null && src.indexOf(value) !== -1;",
+                search.getFilterScript());
+    }
 }
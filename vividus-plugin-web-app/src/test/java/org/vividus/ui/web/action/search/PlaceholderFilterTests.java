@@ -86,4 +86,10 @@ class PlaceholderFilterTests
     {
         assertEquals(WebLocatorType.PLACEHOLDER, filter.getType());
     }
+
+    @Test
+    void shouldReturnFilterScript()
+    {
+        assertEquals("return value === element.getAttribute('placeholder');", filter.getFilterScript());
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -85,4 +85,11 @@ class TooltipFilterTests
         List<WebElement> foundElements = search.filter(webElements, TOOLTIP);
         assertTrue(foundElements.isEmpty());
     }
+
+    @Test
+    void shouldReturnFilterScript()
+    {
+        assertEquals("return value === element.getAttribute('title');",
+                search.getFilterScript());
+    }
 }
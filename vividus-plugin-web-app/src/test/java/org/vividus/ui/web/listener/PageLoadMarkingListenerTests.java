@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.listener;
+
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.WebDriver;
+import org.vividus.ui.web.action.WebWaitActions;
+
+@ExtendWith(MockitoExtension.class)
+class PageLoadMarkingListenerTests
+{
+    @Mock private WebWaitActions waitActions;
+    @Mock private WebDriver webDriver;
+    @InjectMocks private PageLoadMarkingListener listener;
+
+    @Test
+    void shouldMarkPageLoadedAfterNavigateTo()
+    {
+        listener.afterNavigateTo("https://example.com", webDriver);
+        verify(waitActions).markPageLoaded(webDriver);
+    }
+
+    @Test
+    void shouldMarkPageLoadedAfterNavigateBack()
+    {
+        listener.afterNavigateBack(webDriver);
+        verify(waitActions).markPageLoaded(webDriver);
+    }
+
+    @Test
+    void shouldMarkPageLoadedAfterNavigateForward()
+    {
+        listener.afterNavigateForward(webDriver);
+        verify(waitActions).markPageLoaded(webDriver);
+    }
+
+    @Test
+    void shouldMarkPageLoadedAfterNavigateRefresh()
+    {
+        listener.afterNavigateRefresh(webDriver);
+        verify(waitActions).markPageLoaded(webDriver);
+    }
+}
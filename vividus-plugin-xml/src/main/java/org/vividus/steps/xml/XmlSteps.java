@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,15 +19,17 @@ package org.vividus.steps.xml;
 import static org.hamcrest.xml.HasXPath.hasXPath;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.Set;
 
 import org.jbehave.core.annotations.Then;
 import org.jbehave.core.annotations.When;
 import org.vividus.context.VariableContext;
 import org.vividus.softassert.ISoftAssert;
+import org.vividus.util.xml.StreamingXpathMatcher;
+import org.vividus.util.xml.XmlDocumentCache;
 import org.vividus.util.xml.XmlUtils;
 import org.vividus.variable.VariableScope;
-import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 import org.xmlunit.builder.DiffBuilder;
 import org.xmlunit.diff.DefaultNodeMatcher;
@@ -38,11 +40,13 @@ public class XmlSteps
 {
     private final ISoftAssert softAssert;
     private final VariableContext variableContext;
+    private final XmlDocumentCache documentCache;
 
-    public XmlSteps(ISoftAssert softAssert, VariableContext variableContext)
+    public XmlSteps(ISoftAssert softAssert, VariableContext variableContext, XmlDocumentCache documentCache)
     {
         this.softAssert = softAssert;
         this.variableContext = variableContext;
+        this.documentCache = documentCache;
     }
 
     /**
@@ -55,7 +59,7 @@ public class XmlSteps
     @When("I save data found by xpath `$xpath` in XML `$xml` to $scopes variable `$variableName`")
     public void saveDataByXpath(String xpath, String xml, Set<VariableScope> scopes, String variableName)
     {
-        XmlUtils.getXmlByXpath(xml, xpath).ifPresent(
+        documentCache.apply(xml, document -> XmlUtils.getXmlByXpath(document, xpath)).ifPresent(
             data -> variableContext.putVariable(scopes, variableName, data));
     }
 
@@ -75,15 +79,24 @@ public class XmlSteps
     }
 
     /**
-     * Checks if xml contains element by XPath
+     * Checks if xml contains element by XPath, simple XPaths (see {@link StreamingXpathMatcher}) are checked by
+     * streaming the XML without building DOM
      * @param xml XML
      * @param xpath XPath
      */
     @Then("XML `$xml` contains element by xpath `$xpath`")
     public void doesElementExistByXpath(String xml, String xpath)
     {
-        Document doc = XmlUtils.convertToDocument(xml);
-        softAssert.assertThat("XML has element with XPath: " + xpath, doc, hasXPath(xpath));
+        String description = "XML has element with XPath: " + xpath;
+        Optional<StreamingXpathMatcher> streamingXpathMatcher = StreamingXpathMatcher.compile(xpath);
+        if (streamingXpathMatcher.isPresent())
+        {
+            softAssert.assertTrue(description, streamingXpathMatcher.get().matches(xml));
+        }
+        else
+        {
+            documentCache.apply(xml, document -> softAssert.assertThat(description, document, hasXPath(xpath)));
+        }
     }
 
     /**
@@ -94,11 +107,11 @@ public class XmlSteps
     @Then("XML `$xml` is equal to `$expectedXml`")
     public void compareXmls(String xml, String expectedXml)
     {
-        Diff diff = DiffBuilder.compare(expectedXml).withTest(xml)
+        Diff diff = documentCache.apply(xml, document -> DiffBuilder.compare(expectedXml).withTest(document)
                 .withNodeMatcher(new DefaultNodeMatcher(ElementSelectors.byNameAndAllAttributes))
                 .ignoreWhitespace()
                 .checkForSimilar()
-                .build();
+                .build());
 
         Iterable<?> allDifferences = diff.getDifferences();
         if (allDifferences.iterator().hasNext())
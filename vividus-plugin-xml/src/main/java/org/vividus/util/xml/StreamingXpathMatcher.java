@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.xml;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.vividus.util.pool.UnsafeGenericObjectPool;
+
+/**
+ * Checks existence of elements located by simple XPaths in a single streaming (StAX) pass without building DOM, the
+ * parsing stops as soon as the first matching element is found. Only the XPaths consisting of unprefixed element
+ * names separated by <code>/</code>, optionally starting with <code>//</code> and optionally ending with an
+ * unprefixed attribute step, are supported, e.g. <code>/root/child</code>, <code>//child/@attribute</code>.
+ */
+public final class StreamingXpathMatcher
+{
+    private static final String NAME = "[A-Za-z_][\\w.-]*";
+    private static final Pattern SIMPLE_XPATH = Pattern.compile(
+            "(//?)(" + NAME + "(?:/" + NAME + ")*)(?:/@(" + NAME + "))?");
+
+    private static final UnsafeGenericObjectPool<XMLInputFactory> XML_INPUT_FACTORY = new UnsafeGenericObjectPool<>(
+            StreamingXpathMatcher::createXmlInputFactory);
+
+    private final boolean anyDepth;
+    private final List<String> elementNames;
+    private final String attributeName;
+
+    private StreamingXpathMatcher(boolean anyDepth, List<String> elementNames, String attributeName)
+    {
+        this.anyDepth = anyDepth;
+        this.elementNames = elementNames;
+        this.attributeName = attributeName;
+    }
+
+    /**
+     * Creates matcher for the XPath if it is supported
+     * @param xpath XPath
+     * @return the matcher or empty optional if the XPath is not simple enough to be evaluated by streaming
+     */
+    public static Optional<StreamingXpathMatcher> compile(String xpath)
+    {
+        Matcher matcher = SIMPLE_XPATH.matcher(xpath.strip());
+        if (!matcher.matches())
+        {
+            return Optional.empty();
+        }
+        return Optional.of(new StreamingXpathMatcher("//".equals(matcher.group(1)),
+                List.of(StringUtils.split(matcher.group(2), '/')), matcher.group(3)));
+    }
+
+    /**
+     * Checks whether XML contains at least one node located by the XPath
+     * @param xml XML
+     * @return <code>true</code> if the node is found, otherwise <code>false</code>
+     */
+    public boolean matches(String xml)
+    {
+        return XML_INPUT_FACTORY.apply(xmlInputFactory -> {
+            try
+            {
+                XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(new StringReader(xml));
+                try
+                {
+                    return matches(reader);
+                }
+                finally
+                {
+                    reader.close();
+                }
+            }
+            catch (XMLStreamException e)
+            {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        });
+    }
+
+    private boolean matches(XMLStreamReader reader) throws XMLStreamException
+    {
+        List<String> path = new ArrayList<>();
+        while (reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                path.add(StringUtils.isEmpty(reader.getNamespaceURI()) ? reader.getLocalName() : null);
+                if (isMatchingPath(path) && (attributeName == null || hasAttribute(reader)))
+                {
+                    return true;
+                }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                path.remove(path.size() - 1);
+            }
+        }
+        return false;
+    }
+
+    private boolean isMatchingPath(List<String> path)
+    {
+        int offset = path.size() - elementNames.size();
+        return (anyDepth ? offset >= 0 : offset == 0) && elementNames.equals(path.subList(offset, path.size()));
+    }
+
+    private boolean hasAttribute(XMLStreamReader reader)
+    {
+        for (int i = 0; i < reader.getAttributeCount(); i++)
+        {
+            if (attributeName.equals(reader.getAttributeLocalName(i))
+                    && StringUtils.isEmpty(reader.getAttributeNamespace(i)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static XMLInputFactory createXmlInputFactory()
+    {
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+}
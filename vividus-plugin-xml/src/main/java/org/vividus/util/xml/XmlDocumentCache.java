@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.xml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import org.w3c.dom.Document;
+
+/**
+ * Cache of parsed XML documents keyed by the hash of the XML content, so the same XML checked by several steps is
+ * parsed once. The cache is bounded by the total length of the cached XML strings, the parsed DOM takes several
+ * times more memory than the XML string itself. The cache is disabled if the maximum total length is zero. DOM is not
+ * thread-safe even for reading, so the cached documents are accessed only via {@link #apply(String, Function)} which
+ * locks the document for the time of the access.
+ */
+public class XmlDocumentCache
+{
+    private final Cache<HashCode, CachedDocument> documents;
+
+    public XmlDocumentCache(long maxTotalLength)
+    {
+        documents = maxTotalLength > 0 ? CacheBuilder.newBuilder()
+                // Single segment, so large XML is not limited by a per-segment share of the weight
+                .concurrencyLevel(1)
+                .maximumWeight(maxTotalLength)
+                .<HashCode, CachedDocument>weigher((hash, cachedDocument) -> cachedDocument.length)
+                .build() : null;
+    }
+
+    /**
+     * Applies the function to the parsed XML document, the document is parsed only if it is not cached yet. The
+     * function must not modify the document.
+     * @param xml XML
+     * @param function the function to apply to the parsed document
+     * @param <R> the type of the result of the function
+     * @return the result of the function
+     */
+    public <R> R apply(String xml, Function<Document, R> function)
+    {
+        if (documents == null)
+        {
+            return function.apply(XmlUtils.convertToDocument(xml));
+        }
+        HashCode hash = Hashing.sha256().hashString(xml, StandardCharsets.UTF_8);
+        CachedDocument cachedDocument = documents.getIfPresent(hash);
+        if (cachedDocument == null)
+        {
+            cachedDocument = new CachedDocument(XmlUtils.convertToDocument(xml), xml.length());
+            documents.put(hash, cachedDocument);
+        }
+        Document document = cachedDocument.document;
+        synchronized (document)
+        {
+            return function.apply(document);
+        }
+    }
+
+    long size()
+    {
+        return documents == null ? 0 : documents.size();
+    }
+
+    private static final class CachedDocument
+    {
+        private final Document document;
+        private final int length;
+
+        private CachedDocument(Document document, int length)
+        {
+            this.document = document;
+            this.length = length;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,20 +30,31 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.apache.commons.lang3.function.FailableFunction;
 import org.apache.commons.pool2.BasePooledObjectFactory;
 import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.vividus.util.pool.UnsafeGenericObjectPool;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
@@ -63,6 +74,15 @@ public final class XmlUtils
     private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
     private static final UnsafeGenericObjectPool<DocumentBuilder> DOCUMENT_BUILDER;
 
+    private static final int COMPILED_CACHE_MAX_SIZE = 100;
+    private static final LoadingCache<String, UnsafeGenericObjectPool<XPathExpression>> XPATH_EXPRESSIONS =
+            CacheBuilder.newBuilder().maximumSize(COMPILED_CACHE_MAX_SIZE)
+                    .build(CacheLoader.from(XmlUtils::createXpathExpressionPool));
+    private static final Cache<String, Templates> TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(COMPILED_CACHE_MAX_SIZE).build();
+    private static final Cache<String, Schema> SCHEMAS = CacheBuilder.newBuilder()
+            .maximumSize(COMPILED_CACHE_MAX_SIZE).build();
+
     static
     {
         DOCUMENT_BUILDER_FACTORY.setNamespaceAware(true);
@@ -117,11 +137,28 @@ public final class XmlUtils
      */
     public static Optional<String> getXmlByXpath(String xml, String xpath)
     {
-        return XPATH_FACTORY.apply(xPathFactory -> {
+        return getXmlByXpath(xpath, xPathExpression -> xPathExpression.evaluate(createInputSource(xml),
+                XPathConstants.NODESET));
+    }
+
+    /**
+     * Search by XPath in already parsed XML
+     * @param node XML node to search in, e.g. XML document
+     * @param xpath xpath
+     * @return Search result
+     */
+    public static Optional<String> getXmlByXpath(Node node, String xpath)
+    {
+        return getXmlByXpath(xpath, xPathExpression -> xPathExpression.evaluate(node, XPathConstants.NODESET));
+    }
+
+    private static Optional<String> getXmlByXpath(String xpath,
+            FailableFunction<XPathExpression, Object, XPathExpressionException> evaluator)
+    {
+        return getXpathExpressionPool(xpath).apply(xPathExpression -> {
             try
             {
-                InputSource source = createInputSource(xml);
-                NodeList nodeList = (NodeList) xPathFactory.newXPath().evaluate(xpath, source, XPathConstants.NODESET);
+                NodeList nodeList = (NodeList) evaluator.apply(xPathExpression);
                 Node singleNode = nodeList.item(0);
                 Properties outputProperties = new Properties();
                 outputProperties.setProperty(OutputKeys.OMIT_XML_DECLARATION, YES);
@@ -134,24 +171,76 @@ public final class XmlUtils
         });
     }
 
+    private static UnsafeGenericObjectPool<XPathExpression> getXpathExpressionPool(String xpath)
+    {
+        try
+        {
+            return XPATH_EXPRESSIONS.getUnchecked(xpath);
+        }
+        catch (UncheckedExecutionException e)
+        {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Creates pool of compiled XPath expressions: the compiled expressions are not thread-safe, so they are pooled
+     * per XPath. The pools are short-lived cache entries, so they are not registered in JMX. The evicted pools are not
+     * closed, as other threads may still use them, they are left to the garbage collector instead. The first expression
+     * is compiled eagerly, so the XPaths failing to compile are not cached.
+     */
+    private static UnsafeGenericObjectPool<XPathExpression> createXpathExpressionPool(String xpath)
+    {
+        GenericObjectPoolConfig<XPathExpression> config = new GenericObjectPoolConfig<>();
+        config.setJmxEnabled(false);
+        UnsafeGenericObjectPool<XPathExpression> pool = new UnsafeGenericObjectPool<>(() -> compileXpath(xpath),
+                config);
+        pool.accept(xPathExpression -> { });
+        return pool;
+    }
+
+    private static XPathExpression compileXpath(String xpath)
+    {
+        return XPATH_FACTORY.apply(xPathFactory -> {
+            try
+            {
+                return xPathFactory.newXPath().compile(xpath);
+            }
+            catch (XPathExpressionException e)
+            {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        });
+    }
+
     public static void validateXmlAgainstXsd(String xml, String xsd) throws SAXException, IOException
     {
-        SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
-                .newSchema(createStreamSource(xsd))
-                .newValidator()
-                .validate(createStreamSource(xml));
+        getSchema(xsd).newValidator().validate(createStreamSource(xml));
+    }
+
+    /**
+     * Returns compiled schema, the schemas are thread-safe, so they are compiled once per XSD and shared
+     */
+    private static Schema getSchema(String xsd) throws SAXException
+    {
+        Schema schema = SCHEMAS.getIfPresent(xsd);
+        if (schema == null)
+        {
+            schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(createStreamSource(xsd));
+            SCHEMAS.put(xsd, schema);
+        }
+        return schema;
     }
 
     public static void transform(String xml, String xslt, Consumer<String> transformedXmlConsumer,
             Consumer<TransformerException> transformerExceptionConsumer)
     {
         StreamSource xmlSource = createStreamSource(xml);
-        StreamSource xsltSource = createStreamSource(xslt);
         TRANSFORMER_FACTORY.accept(transformerFactory ->
         {
             try
             {
-                Transformer transformer = transformerFactory.newTransformer(xsltSource);
+                Transformer transformer = getTemplates(transformerFactory, xslt).newTransformer();
                 String transformedXml = transform(xmlSource, transformer);
                 transformedXmlConsumer.accept(transformedXml);
             }
@@ -162,6 +251,22 @@ public final class XmlUtils
         });
     }
 
+    /**
+     * Returns compiled stylesheet, the compiled stylesheets are thread-safe, so they are compiled once per XSLT and
+     * shared
+     */
+    private static Templates getTemplates(TransformerFactory transformerFactory, String xslt)
+            throws TransformerException
+    {
+        Templates templates = TEMPLATES.getIfPresent(xslt);
+        if (templates == null)
+        {
+            templates = transformerFactory.newTemplates(createStreamSource(xslt));
+            TEMPLATES.put(xslt, templates);
+        }
+        return templates;
+    }
+
     /**
      * Performs formatting of xml string using default properties.
      * <br>
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,21 +19,24 @@ package org.vividus.steps.xml;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.util.Set;
 
 import javax.xml.transform.TransformerException;
 
 import org.hamcrest.Matcher;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.context.VariableContext;
 import org.vividus.softassert.ISoftAssert;
 import org.vividus.util.ResourceUtils;
-import org.vividus.util.xml.XmlUtils;
+import org.vividus.util.xml.XmlDocumentCache;
 import org.vividus.variable.VariableScope;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
@@ -43,6 +46,7 @@ class XmlStepsTests
 {
     private static final String XML = "<test>data</test>";
     private static final String XPATH = "//test/text()";
+    private static final String DESCRIPTION = "XML has element with XPath: ";
 
     @Mock
     private VariableContext variableContext;
@@ -50,9 +54,14 @@ class XmlStepsTests
     @Mock
     private ISoftAssert softAssert;
 
-    @InjectMocks
     private XmlSteps xmlValidationSteps;
 
+    @BeforeEach
+    void beforeEach()
+    {
+        xmlValidationSteps = new XmlSteps(softAssert, variableContext, new XmlDocumentCache(Integer.MAX_VALUE));
+    }
+
     @Test
     void shouldSaveDataByXpathIntoScopeVariable()
     {
@@ -62,12 +71,39 @@ class XmlStepsTests
         verify(variableContext).putVariable(scopes, name, "data");
     }
 
+    @Test
+    void shouldSaveDataByXpathFromTheSameXmlSeveralTimes()
+    {
+        Set<VariableScope> scopes = Set.of(VariableScope.STEP);
+        String xml = "<root><a>first</a><b attr=\"value\">second</b></root>";
+        xmlValidationSteps.saveDataByXpath("/root/a/text()", xml, scopes, "a");
+        xmlValidationSteps.saveDataByXpath("//b", xml, scopes, "b");
+        verify(variableContext).putVariable(scopes, "a", "first");
+        verify(variableContext).putVariable(scopes, "b", "<b attr=\"value\">second</b>");
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void shouldValidateXmlElementExistenceByXpath()
     {
-        Document doc = XmlUtils.convertToDocument(XML);
-        softAssert.assertThat(eq("XML has element with XPath: " + XPATH), eq(doc), any(Matcher.class));
+        xmlValidationSteps.doesElementExistByXpath(XML, XPATH);
+        verify(softAssert).assertThat(eq(DESCRIPTION + XPATH), any(Document.class), any(Matcher.class));
+        verifyNoMoreInteractions(softAssert);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "//test,                    true",
+        "/root/test,                true",
+        "//test/@attr,              true",
+        "/test,                     false",
+        "//root/test/@missing,      false"
+    })
+    void shouldValidateXmlElementExistenceBySimpleXpathWithoutDom(String xpath, boolean exists)
+    {
+        xmlValidationSteps.doesElementExistByXpath("<root><test attr=\"1\">data</test></root>", xpath);
+        verify(softAssert).assertTrue(DESCRIPTION + xpath, exists);
+        verifyNoMoreInteractions(softAssert);
     }
 
     @Test
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StreamingXpathMatcherTests
+{
+    private static final String XML = "<root xmlns:ns=\"urn:ns\"><parent><child id=\"1\" ns:attr=\"2\"/></parent>"
+            + "<ns:child/></root>";
+
+    @ParameterizedTest
+    @CsvSource({
+        "/root,                     true",
+        "/root/parent/child,        true",
+        "//parent/child,            true",
+        "//child,                   true",
+        "//child/@id,               true",
+        "/child,                    false",
+        "/parent/child,             false",
+        "//root/child,              false",
+        "//child/@attr,             false",
+        "//parent/child/child,      false"
+    })
+    void shouldCheckElementExistence(String xpath, boolean exists)
+    {
+        assertEquals(exists, StreamingXpathMatcher.compile(xpath).get().matches(XML));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "//child[1]",
+        "//ns:child",
+        "//*",
+        "/root//child",
+        "//child/text()",
+        "count(//child)",
+        "//child | //parent"
+    })
+    void shouldNotSupportComplexXpath(String xpath)
+    {
+        assertEquals(Optional.empty(), StreamingXpathMatcher.compile(xpath));
+    }
+
+    @Test
+    void shouldStopParsingOnceElementIsFound()
+    {
+        assertTrue(StreamingXpathMatcher.compile("/root/first").get().matches("<root><first/><second></root>"));
+    }
+
+    @Test
+    void shouldFailOnInvalidXml()
+    {
+        StreamingXpathMatcher matcher = StreamingXpathMatcher.compile("//missing").get();
+        assertThrows(IllegalStateException.class, () -> matcher.matches("<root>"));
+        assertFalse(matcher.matches("<root/>"));
+    }
+}
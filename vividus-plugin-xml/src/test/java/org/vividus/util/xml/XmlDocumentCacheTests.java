@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+class XmlDocumentCacheTests
+{
+    private static final String XML = "<test>data</test>";
+
+    @Test
+    void shouldParseSameXmlOnce()
+    {
+        XmlDocumentCache cache = new XmlDocumentCache(Integer.MAX_VALUE);
+        Document document = cache.apply(XML, Function.identity());
+        assertEquals("data", document.getDocumentElement().getTextContent());
+        assertSame(document, cache.apply(new StringBuilder(XML).toString(), Function.identity()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldCacheDocumentLargerThanQuarterOfMaxTotalLength()
+    {
+        XmlDocumentCache cache = new XmlDocumentCache(XML.length());
+        Document document = cache.apply(XML, Function.identity());
+        assertSame(document, cache.apply(XML, Function.identity()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldEvictDocumentsExceedingMaxTotalLength()
+    {
+        XmlDocumentCache cache = new XmlDocumentCache(XML.length() - 1);
+        Document document = cache.apply(XML, Function.identity());
+        assertNotSame(document, cache.apply(XML, Function.identity()));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldNotCacheDocumentsIfDisabled()
+    {
+        XmlDocumentCache cache = new XmlDocumentCache(0);
+        Document document = cache.apply(XML, Function.identity());
+        assertEquals("data", document.getDocumentElement().getTextContent());
+        assertNotSame(document, cache.apply(XML, Function.identity()));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldNotCacheInvalidXml()
+    {
+        XmlDocumentCache cache = new XmlDocumentCache(Integer.MAX_VALUE);
+        assertThrows(IllegalStateException.class, () -> cache.apply("<test>", Function.identity()));
+        assertEquals(0, cache.size());
+    }
+}
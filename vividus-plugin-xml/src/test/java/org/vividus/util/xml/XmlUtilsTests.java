@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2020 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,10 +52,28 @@ class XmlUtilsTests
         assertEquals(Optional.of("value1"), XmlUtils.getXmlByXpath(XML, "//data/text()"));
     }
 
+    @Test
+    void shouldReturnXmlByXpathFromParsedDocument()
+    {
+        Document document = XmlUtils.convertToDocument(XML);
+        assertEquals(Optional.of("value1"), XmlUtils.getXmlByXpath(document, "//data/text()"));
+        assertEquals(Optional.of("<data>value2</data>"), XmlUtils.getXmlByXpath(document, "//data[2]"));
+    }
+
+    @Test
+    void shouldReuseCompiledXpathForDifferentXmls()
+    {
+        String xpath = "//data[2]/text()";
+        assertEquals(Optional.of("value2"), XmlUtils.getXmlByXpath(XML, xpath));
+        assertEquals(Optional.of("another"),
+                XmlUtils.getXmlByXpath("<test><data>one</data><data>another</data></test>", xpath));
+    }
+
     @Test
     void shouldThrowExceptionInCaseOfInvalidXpath()
     {
         assertThrows(IllegalStateException.class, () -> XmlUtils.getXmlByXpath(XML, "<invalidXpath>"));
+        assertThrows(IllegalStateException.class, () -> XmlUtils.getXmlByXpath(XML, "<invalidXpath>"));
     }
 
     @Test
@@ -82,6 +100,21 @@ class XmlUtilsTests
         assertThrows(SAXException.class, () -> XmlUtils.validateXmlAgainstXsd(XML, XSD));
     }
 
+    @Test
+    void shouldValidateSeveralXmlsAgainstTheSameXsd() throws IOException, SAXException
+    {
+        XmlUtils.validateXmlAgainstXsd("<test>value</test>", XSD);
+        assertThrows(SAXException.class, () -> XmlUtils.validateXmlAgainstXsd(XML, XSD));
+        XmlUtils.validateXmlAgainstXsd("<test>another value</test>", XSD);
+    }
+
+    @Test
+    void shouldThrowExceptionOnValidationAgainstInvalidXsd()
+    {
+        assertThrows(SAXException.class, () -> XmlUtils.validateXmlAgainstXsd(XML, "<invalidXsd/>"));
+        assertThrows(SAXException.class, () -> XmlUtils.validateXmlAgainstXsd(XML, "<invalidXsd/>"));
+    }
+
     @Test
     void shouldTransformXmlSuccessfully()
     {
@@ -93,6 +126,7 @@ class XmlUtilsTests
                 + "        </xsl:copy>"
                 + "    </xsl:template>" + "</xsl:stylesheet>";
         XmlUtils.transform(XML, xslt, xml -> assertEquals("<test>xslt test</test>", xml), Assertions::fail);
+        XmlUtils.transform("<test/>", xslt, xml -> assertEquals("<test>xslt test</test>", xml), Assertions::fail);
     }
 
     @Test
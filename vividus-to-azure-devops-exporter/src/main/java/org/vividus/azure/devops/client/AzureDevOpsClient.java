@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,16 +17,18 @@
 package org.vividus.azure.devops.client;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.azure.devops.client.model.AddOperation;
+import org.vividus.azure.devops.client.model.BatchRequest;
+import org.vividus.azure.devops.client.model.BatchResponse;
 import org.vividus.azure.devops.configuration.AzureDevOpsExporterOptions;
 import org.vividus.http.HttpMethod;
 import org.vividus.http.HttpRequestBuilder;
@@ -37,42 +39,61 @@ public class AzureDevOpsClient
     private static final Logger LOGGER = LoggerFactory.getLogger(AzureDevOpsClient.class);
 
     private static final String API_VERSION = "?api-version=6.1-preview.3";
+    // The work items $batch endpoint is documented only for API version 5.0
+    private static final String BATCH_API_VERSION = "?api-version=5.0";
 
     private final IHttpClient httpClient;
     private final String endpoint;
     private final ObjectMapper mapper;
-    private final String basePath;
+    private final ObjectReader batchResponsesReader;
+    private final String batchPath;
+    private final String workItemsPath;
 
     public AzureDevOpsClient(IHttpClient httpClient, AzureDevOpsExporterOptions options)
+    {
+        this(httpClient, options, "https://dev.azure.com/");
+    }
+
+    AzureDevOpsClient(IHttpClient httpClient, AzureDevOpsExporterOptions options, String endpoint)
     {
         this.httpClient = httpClient;
-        this.endpoint = "https://dev.azure.com/";
+        this.endpoint = endpoint;
         this.mapper = new ObjectMapper();
-        this.basePath = String.format("/%s/%s/_apis/wit/workitems", options.getOrganization(), options.getProject());
+        this.batchResponsesReader = mapper.readerForListOf(BatchResponse.class);
+        this.batchPath = String.format("/%s/_apis/wit/$batch", options.getOrganization());
+        this.workItemsPath = String.format("/%s/_apis/wit/workitems", options.getProject());
     }
 
-    public String createTestCase(List<AddOperation> operations) throws IOException
+    public BatchRequest createTestCaseRequest(List<AddOperation> operations)
     {
-        return execute(HttpMethod.POST, basePath + "/$test case" + API_VERSION, operations);
+        return new BatchRequest(HttpMethod.PATCH.name(), workItemsPath + "/$Test%20Case" + API_VERSION, operations);
     }
 
-    public void updateTestCase(String testCaseId, List<AddOperation> operations) throws IOException
+    public BatchRequest updateTestCaseRequest(String testCaseId, List<AddOperation> operations)
     {
-        execute(HttpMethod.PATCH, basePath + '/' + testCaseId + API_VERSION, operations);
+        return new BatchRequest(HttpMethod.PATCH.name(), workItemsPath + '/' + testCaseId + API_VERSION, operations);
     }
 
-    private String execute(HttpMethod method, String relativeUrl, List<AddOperation> operations) throws IOException
+    /**
+     * Executes the work item requests using single <code>$batch</code> request, the batch is not atomic: each work
+     * item request succeeds or fails independently
+     * @param requests the work item requests, at most 200 requests are allowed by Azure DevOps in one batch
+     * @return the responses in the order of the requests
+     * @throws IOException in case of the batch request failure
+     */
+    public List<BatchResponse> executeBatch(List<BatchRequest> requests) throws IOException
     {
-        String payload = mapper.writeValueAsString(operations);
+        String payload = mapper.writeValueAsString(requests);
         LOGGER.atInfo().addArgument(payload).log("Azure DevOps request: {}");
 
         HttpRequestBase httpRequest = HttpRequestBuilder.create()
-                .withHttpMethod(method)
+                .withHttpMethod(HttpMethod.POST)
                 .withEndpoint(endpoint)
-                .withRelativeUrl(relativeUrl)
-                .withContent(payload, ContentType.create("application/json-patch+json", StandardCharsets.UTF_8))
+                .withRelativeUrl(batchPath + BATCH_API_VERSION)
+                .withContent(payload, ContentType.APPLICATION_JSON)
                 .build();
 
-        return httpClient.execute(httpRequest).getResponseBodyAsString();
+        String response = httpClient.execute(httpRequest).getResponseBodyAsString();
+        return batchResponsesReader.readValue(mapper.readTree(response).path("value"));
     }
 }
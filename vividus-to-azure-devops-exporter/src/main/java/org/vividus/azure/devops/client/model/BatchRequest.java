@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.azure.devops.client.model;
+
+import java.util.List;
+import java.util.Map;
+
+public final class BatchRequest
+{
+    private final String method;
+    private final String uri;
+    private final Map<String, String> headers;
+    private final List<AddOperation> body;
+
+    public BatchRequest(String method, String uri, List<AddOperation> body)
+    {
+        this.method = method;
+        this.uri = uri;
+        this.headers = Map.of("Content-Type", "application/json-patch+json");
+        this.body = body;
+    }
+
+    public String getMethod()
+    {
+        return method;
+    }
+
+    public String getUri()
+    {
+        return uri;
+    }
+
+    public Map<String, String> getHeaders()
+    {
+        return headers;
+    }
+
+    public List<AddOperation> getBody()
+    {
+        return body;
+    }
+}
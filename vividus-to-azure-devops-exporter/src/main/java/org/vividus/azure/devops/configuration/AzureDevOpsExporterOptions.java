@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package org.vividus.azure.devops.configuration;
 
 import java.nio.file.Path;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties("azure-devops-exporter")
@@ -29,6 +32,13 @@ public class AzureDevOpsExporterOptions
     private String area;
     private SectionMapping sectionMapping;
 
+    @Positive(message = "Property 'azure-devops-exporter.batch-size' must be positive")
+    @Max(value = 200, message = "Property 'azure-devops-exporter.batch-size' must not be greater than 200")
+    private int batchSize;
+
+    @Positive(message = "Property 'azure-devops-exporter.max-concurrent-requests' must be positive")
+    private int maxConcurrentRequests;
+
     public Path getJsonResultsDirectory()
     {
         return jsonResultsDirectory;
@@ -78,4 +88,24 @@ public class AzureDevOpsExporterOptions
     {
         this.sectionMapping = sectionMapping;
     }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxConcurrentRequests()
+    {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests)
+    {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 }
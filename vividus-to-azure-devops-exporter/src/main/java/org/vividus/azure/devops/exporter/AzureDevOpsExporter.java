@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,24 @@
 
 package org.vividus.azure.devops.exporter;
 
+import static java.util.stream.Collectors.toList;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.collect.Lists;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.vividus.azure.devops.client.model.BatchRequest;
+import org.vividus.azure.devops.client.model.BatchResponse;
 import org.vividus.azure.devops.configuration.AzureDevOpsExporterOptions;
 import org.vividus.azure.devops.facade.AzureDevOpsFacade;
 import org.vividus.model.jbehave.NotUniqueMetaValueException;
@@ -29,11 +41,13 @@ import org.vividus.model.jbehave.Scenario;
 import org.vividus.model.jbehave.Story;
 import org.vividus.output.OutputReader;
 import org.vividus.output.SyntaxException;
+import org.vividus.util.json.JsonPathUtils;
 
 @Component
 public class AzureDevOpsExporter
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(AzureDevOpsExporter.class);
+    private static final String EXPORT_ERROR = "Got an error while exporting";
 
     private final AzureDevOpsExporterOptions options;
     private final AzureDevOpsFacade facade;
@@ -46,20 +60,46 @@ public class AzureDevOpsExporter
 
     public void exportResults() throws IOException
     {
+        List<TestCaseExport> exports = new ArrayList<>();
         for (Story story : OutputReader.readStoriesFromJsons(options.getJsonResultsDirectory()))
         {
             LOGGER.atInfo().addArgument(story::getPath).log("Exporting scenarios from {} story");
 
-            story.getFoldedScenarios().forEach(scenario -> exportScenario(story.getPath(), scenario));
+            story.getFoldedScenarios().forEach(scenario -> createExport(story.getPath(), scenario)
+                    .ifPresent(exports::add));
+        }
+
+        if (exports.isEmpty())
+        {
+            return;
+        }
+
+        List<List<TestCaseExport>> batches = Lists.partition(exports, options.getBatchSize());
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(batches.size(), options.getMaxConcurrentRequests()));
+        try
+        {
+            List<Future<List<BatchResponse>>> futures = batches.stream()
+                    .map(batch -> batch.stream().map(TestCaseExport::getRequest).collect(toList()))
+                    .map(requests -> executor.submit(() -> facade.executeBatch(requests)))
+                    .collect(toList());
+            for (int i = 0; i < batches.size(); i++)
+            {
+                logResults(batches.get(i), futures.get(i));
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
         }
     }
 
-    private void exportScenario(String storyPath, Scenario scenario)
+    private Optional<TestCaseExport> createExport(String storyPath, Scenario scenario)
     {
         if (scenario.hasMetaWithName("azure-devops.skip-export"))
         {
             LOGGER.atInfo().addArgument(scenario::getTitle).log("Skip export of {} scenario");
-            return;
+            return Optional.empty();
         }
 
         LOGGER.atInfo().addArgument(scenario::getTitle).log("Exporting {} scenario");
@@ -68,18 +108,85 @@ public class AzureDevOpsExporter
         {
             Optional<String> testCaseId = scenario.getUniqueMetaValue("testCaseId");
 
-            if (testCaseId.isPresent())
+            BatchRequest request = testCaseId.isPresent()
+                    ? facade.updateTestCaseRequest(testCaseId.get(), storyPath, scenario)
+                    : facade.createTestCaseRequest(storyPath, scenario);
+            return Optional.of(new TestCaseExport(scenario.getTitle(), testCaseId.orElse(null), request));
+        }
+        catch (IOException | NotUniqueMetaValueException | SyntaxException e)
+        {
+            LOGGER.atError().setCause(e).log(EXPORT_ERROR);
+            return Optional.empty();
+        }
+    }
+
+    private void logResults(List<TestCaseExport> batch, Future<List<BatchResponse>> future)
+    {
+        List<BatchResponse> responses;
+        try
+        {
+            responses = future.get();
+        }
+        catch (ExecutionException e)
+        {
+            LOGGER.atError().setCause(e.getCause()).log(EXPORT_ERROR);
+            return;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+
+        for (int i = 0; i < batch.size(); i++)
+        {
+            TestCaseExport export = batch.get(i);
+            BatchResponse response = responses.get(i);
+            if (!response.isSuccessful())
+            {
+                LOGGER.atError().addArgument(export::getTitle).addArgument(response::getCode)
+                        .addArgument(response::getBody)
+                        .log("Failed to export {} scenario, Azure DevOps responded with status code {}: {}");
+            }
+            else if (export.getTestCaseId() != null)
             {
-                facade.updateTestCase(testCaseId.get(), storyPath, scenario);
+                LOGGER.atInfo().addArgument(export::getTestCaseId).log("Test Case with ID {} has been updated");
             }
             else
             {
-                facade.createTestCase(storyPath, scenario);
+                LOGGER.atInfo()
+                      .addArgument(() -> JsonPathUtils.getData(response.getBody(), "$.id"))
+                      .log("Test Case with ID {} has been created");
             }
         }
-        catch (IOException | NotUniqueMetaValueException | SyntaxException e)
+    }
+
+    private static final class TestCaseExport
+    {
+        private final String title;
+        private final String testCaseId;
+        private final BatchRequest request;
+
+        private TestCaseExport(String title, String testCaseId, BatchRequest request)
+        {
+            this.title = title;
+            this.testCaseId = testCaseId;
+            this.request = request;
+        }
+
+        private String getTitle()
+        {
+            return title;
+        }
+
+        private String getTestCaseId()
+        {
+            return testCaseId;
+        }
+
+        private BatchRequest getRequest()
         {
-            LOGGER.atError().setCause(e).log("Got an error while exporting");
+            return request;
         }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,11 +36,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.vividus.azure.devops.client.AzureDevOpsClient;
 import org.vividus.azure.devops.client.model.AddOperation;
+import org.vividus.azure.devops.client.model.BatchRequest;
+import org.vividus.azure.devops.client.model.BatchResponse;
 import org.vividus.azure.devops.configuration.AzureDevOpsExporterOptions;
 import org.vividus.azure.devops.facade.model.ScenarioPart;
 import org.vividus.azure.devops.facade.model.Steps;
@@ -48,13 +48,10 @@ import org.vividus.model.jbehave.Scenario;
 import org.vividus.model.jbehave.Step;
 import org.vividus.output.ManualTestStep;
 import org.vividus.output.SyntaxException;
-import org.vividus.util.json.JsonPathUtils;
 
 @Component
 public class AzureDevOpsFacade
 {
-    private static final Logger LOGGER = LoggerFactory.getLogger(AzureDevOpsFacade.class);
-
     private final AzureDevOpsClient client;
     private final AzureDevOpsExporterOptions options;
 
@@ -67,21 +64,21 @@ public class AzureDevOpsFacade
         this.xmlMapper = new XmlMapper().configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
     }
 
-    public void createTestCase(String suiteTitle, Scenario scenario) throws IOException, SyntaxException
+    public BatchRequest createTestCaseRequest(String suiteTitle, Scenario scenario)
+            throws JacksonException, SyntaxException
+    {
+        return client.createTestCaseRequest(createPayload(suiteTitle, scenario));
+    }
+
+    public BatchRequest updateTestCaseRequest(String testCaseId, String suiteTitle, Scenario scenario)
+            throws JacksonException, SyntaxException
     {
-        LOGGER.atInfo().log("Creating Test Case");
-        String response = client.createTestCase(createPayload(suiteTitle, scenario));
-        LOGGER.atInfo()
-              .addArgument(() -> JsonPathUtils.getData(response, "$.id"))
-              .log("Test Case with ID {} has been created");
+        return client.updateTestCaseRequest(testCaseId, createPayload(suiteTitle, scenario));
     }
 
-    public void updateTestCase(String testCaseId, String suiteTitle, Scenario scenario)
-            throws IOException, SyntaxException
+    public List<BatchResponse> executeBatch(List<BatchRequest> requests) throws IOException
     {
-        LOGGER.atInfo().addArgument(testCaseId).log("Updating Test Case with ID {}");
-        client.updateTestCase(testCaseId, createPayload(suiteTitle, scenario));
-        LOGGER.atInfo().addArgument(testCaseId).log("Test Case with ID {} has been updated");
+        return client.executeBatch(requests);
     }
 
     private List<AddOperation> createPayload(String suiteTitle, Scenario scenario)
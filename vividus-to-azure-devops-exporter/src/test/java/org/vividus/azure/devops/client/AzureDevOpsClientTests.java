@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,19 +18,38 @@ package org.vividus.azure.devops.client;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+import com.sun.net.httpserver.HttpServer;
 
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,8 +58,11 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.azure.devops.client.model.AddOperation;
+import org.vividus.azure.devops.client.model.BatchRequest;
+import org.vividus.azure.devops.client.model.BatchResponse;
 import org.vividus.azure.devops.configuration.AzureDevOpsExporterOptions;
 import org.vividus.http.HttpMethod;
+import org.vividus.http.client.HttpClient;
 import org.vividus.http.client.HttpResponse;
 import org.vividus.http.client.IHttpClient;
 
@@ -49,12 +71,10 @@ class AzureDevOpsClientTests
 {
     private static final String PATH = "path-";
     private static final String VALUE = "value-";
-    private static final String BASE_URL = "https://dev.azure.com/organization/project/_apis/wit/workitems";
-    private static final String PAYLOAD_JSON = "[{\"op\":\"add\",\"path\":\"path-1\",\"value\":\"value-1\"},"
-            + "{\"op\":\"add\",\"path\":\"path-2\",\"value\":\"value-2\"},"
-            + "{\"op\":\"add\",\"path\":\"path-3\",\"value\":\"value-3\"}]";
+    private static final String WORK_ITEMS_PATH = "/project/_apis/wit/workitems";
     private static final String PAYLOAD_LOG = "Azure DevOps request: {}";
     private static final String VERSION = "?api-version=6.1-preview.3";
+    private static final String PATCH = "PATCH";
 
     @Captor private ArgumentCaptor<HttpUriRequest> requestCaptor;
     @Mock private HttpResponse httpResponse;
@@ -73,41 +93,134 @@ class AzureDevOpsClientTests
     }
 
     @Test
-    void shouldCreateTestCase() throws IOException
+    void shouldCreateTestCaseRequest()
+    {
+        List<AddOperation> operations = createOperations();
+        BatchRequest request = client.createTestCaseRequest(operations);
+        assertAll(
+            () -> assertEquals(PATCH, request.getMethod()),
+            () -> assertEquals(WORK_ITEMS_PATH + "/$Test%20Case" + VERSION, request.getUri()),
+            () -> assertEquals(operations, request.getBody())
+        );
+    }
+
+    @Test
+    void shouldUpdateTestCaseRequest()
+    {
+        List<AddOperation> operations = createOperations();
+        BatchRequest request = client.updateTestCaseRequest("1", operations);
+        assertAll(
+            () -> assertEquals(PATCH, request.getMethod()),
+            () -> assertEquals(WORK_ITEMS_PATH + "/1" + VERSION, request.getUri()),
+            () -> assertEquals(operations, request.getBody())
+        );
+    }
+
+    @Test
+    void shouldExecuteBatch() throws IOException
     {
-        String body = "{\"id\": 1}";
+        String body = "{\"count\":2,\"value\":[{\"code\":200,\"headers\":{\"Content-Type\":\"application/json\"},"
+                + "\"body\":\"{\\\"id\\\":1}\"},{\"code\":404,\"body\":\"{\\\"message\\\":\\\"not found\\\"}\"}]}";
         when(httpResponse.getResponseBodyAsString()).thenReturn(body);
         doReturn(httpResponse).when(httpClient).execute(requestCaptor.capture());
 
-        String response = client.createTestCase(List.of(
-            new AddOperation(PATH + 1, VALUE + 1),
-            new AddOperation(PATH + 2, VALUE + 2),
-            new AddOperation(PATH + 3, VALUE + 3)
-        ));
+        List<AddOperation> operations = createOperations();
+        List<BatchResponse> responses = client.executeBatch(List.of(client.createTestCaseRequest(operations),
+                client.updateTestCaseRequest("2", operations)));
+
+        assertThat(responses, hasSize(2));
+        BatchResponse created = responses.get(0);
+        BatchResponse failed = responses.get(1);
+        assertAll(
+            () -> assertTrue(created.isSuccessful()),
+            () -> assertEquals("{\"id\":1}", created.getBody()),
+            () -> assertFalse(failed.isSuccessful()),
+            () -> assertEquals(404, failed.getCode())
+        );
 
-        assertEquals(body, response);
-        assertThat(logger.getLoggingEvents(), is(List.of(info(PAYLOAD_LOG, PAYLOAD_JSON))));
+        String operationsJson = "[{\"op\":\"add\",\"path\":\"path-1\",\"value\":\"value-1\"},"
+                + "{\"op\":\"add\",\"path\":\"path-2\",\"value\":\"value-2\"}]";
+        String headersJson = ",\"headers\":{\"Content-Type\":\"application/json-patch+json\"},\"body\":";
+        String payload = "[{\"method\":\"PATCH\",\"uri\":\"" + WORK_ITEMS_PATH + "/$Test%20Case" + VERSION + "\""
+                + headersJson + operationsJson + "},{\"method\":\"PATCH\",\"uri\":\"" + WORK_ITEMS_PATH + "/2" + VERSION
+                + "\"" + headersJson + operationsJson + "}]";
+        assertThat(logger.getLoggingEvents(), is(List.of(info(PAYLOAD_LOG, payload))));
         HttpUriRequest request = requestCaptor.getValue();
         assertEquals(HttpMethod.POST.name(), request.getMethod());
-        assertEquals(BASE_URL + "/$test%20case" + VERSION, request.getURI().toString());
+        assertEquals("https://dev.azure.com/organization/_apis/wit/$batch?api-version=5.0",
+                request.getURI().toString());
+        assertEquals(payload, EntityUtils.toString(((HttpEntityEnclosingRequestBase) request).getEntity(),
+                StandardCharsets.UTF_8));
     }
 
     @Test
-    void shouldUpdateTestCase() throws IOException
+    void shouldExecuteBatchUsingLocalServer() throws IOException
     {
-        when(httpResponse.getResponseBodyAsString()).thenReturn("{}");
-        doReturn(httpResponse).when(httpClient).execute(requestCaptor.capture());
+        List<String> batchRequests = new CopyOnWriteArrayList<>();
+        ObjectMapper mapper = new ObjectMapper();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/organization/_apis/wit/$batch", exchange -> {
+            batchRequests.add(exchange.getRequestMethod() + ' ' + exchange.getRequestURI().getQuery() + ' '
+                    + exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+            StringBuilder responses = new StringBuilder();
+            int id = 0;
+            for (JsonNode request : mapper.readTree(exchange.getRequestBody()))
+            {
+                batchRequests.add(request.path("method").asText() + ' ' + request.path("uri").asText() + ' '
+                        + request.path("body").size());
+                id++;
+                boolean created = request.path("uri").asText().contains("$Test%20Case");
+                responses.append(responses.length() > 0 ? "," : "").append("{\"code\":").append(created ? 200 : 404)
+                        .append(",\"body\":").append(mapper.writeValueAsString("{\"id\":" + id + "}")).append('}');
+            }
+            byte[] response = ("{\"count\":" + id + ",\"value\":[" + responses + "]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(HttpStatus.SC_OK, response.length);
+            try (OutputStream responseBody = exchange.getResponseBody())
+            {
+                responseBody.write(response);
+            }
+        });
+        server.start();
+        try (CloseableHttpClient closeableHttpClient = HttpClients.createDefault())
+        {
+            HttpClient localHttpClient = new HttpClient();
+            localHttpClient.setCloseableHttpClient(closeableHttpClient);
+            localHttpClient.setHttpResponseHandlers(List.of());
+            AzureDevOpsExporterOptions options = new AzureDevOpsExporterOptions();
+            options.setOrganization("organization");
+            options.setProject("project");
+            AzureDevOpsClient localClient = new AzureDevOpsClient(localHttpClient, options,
+                    "http://localhost:" + server.getAddress().getPort() + "/");
 
-        String id = "1";
-        client.updateTestCase(id, List.of(
-            new AddOperation(PATH + 1, VALUE + 1),
-            new AddOperation(PATH + 2, VALUE + 2),
-            new AddOperation(PATH + 3, VALUE + 3)
-        ));
+            List<AddOperation> operations = createOperations();
+            List<BatchResponse> responses = localClient.executeBatch(List.of(
+                    localClient.createTestCaseRequest(operations), localClient.updateTestCaseRequest("2", operations)));
 
-        assertThat(logger.getLoggingEvents(), is(List.of(info(PAYLOAD_LOG, PAYLOAD_JSON))));
-        HttpUriRequest request = requestCaptor.getValue();
-        assertEquals(HttpMethod.PATCH.name(), request.getMethod());
-        assertEquals(BASE_URL + "/" + id + VERSION, request.getURI().toString());
+            assertEquals(List.of(
+                    "POST api-version=5.0 application/json; charset=UTF-8",
+                    "PATCH " + WORK_ITEMS_PATH + "/$Test%20Case" + VERSION + " 2",
+                    "PATCH " + WORK_ITEMS_PATH + "/2" + VERSION + " 2"
+            ), batchRequests);
+            assertThat(responses, hasSize(2));
+            assertAll(
+                () -> assertTrue(responses.get(0).isSuccessful()),
+                () -> assertEquals("{\"id\":1}", responses.get(0).getBody()),
+                () -> assertFalse(responses.get(1).isSuccessful()),
+                () -> assertEquals(404, responses.get(1).getCode())
+            );
+        }
+        finally
+        {
+            server.stop(0);
+        }
+    }
+
+    private static List<AddOperation> createOperations()
+    {
+        return List.of(
+            new AddOperation(PATH + 1, VALUE + 1),
+            new AddOperation(PATH + 2, VALUE + 2)
+        );
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,7 +27,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -43,6 +44,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.azure.devops.client.model.BatchRequest;
+import org.vividus.azure.devops.client.model.BatchResponse;
 import org.vividus.azure.devops.configuration.AzureDevOpsExporterOptions;
 import org.vividus.azure.devops.facade.AzureDevOpsFacade;
 import org.vividus.model.jbehave.Scenario;
@@ -56,8 +59,16 @@ class AzureDevOpsExporterTests
     private static final String EXPORT_SCENARIO_LOG = "Exporting {} scenario";
     private static final String STORY_PATH = "storyPath";
     private static final String EXPORT_STORY_LOG = "Exporting scenarios from {} story";
+    private static final String SKIP_SCENARIO_LOG = "Skip export of {} scenario";
+    private static final String EXPORT_ERROR_LOG = "Got an error while exporting";
     private static final String CREATE_TITLE = "Create test case";
     private static final String UPDATE_TITLE = "Update test case";
+    private static final String SKIP_TITLE = "Skip test case";
+    private static final String TEST_CASE_ID = "STUB-0";
+    private static final String EXPORT = "export";
+
+    private final BatchRequest createRequest = new BatchRequest("PATCH", "create", List.of());
+    private final BatchRequest updateRequest = new BatchRequest("PATCH", "update", List.of());
 
     @Captor private ArgumentCaptor<Scenario> scenarioCaptor;
     @Mock private AzureDevOpsFacade facade;
@@ -68,45 +79,88 @@ class AzureDevOpsExporterTests
     @Test
     void shouldExportScenarios() throws IOException, SyntaxException
     {
-        init("export");
+        init(EXPORT, 200);
+        mockRequestsCreation();
+        when(facade.executeBatch(List.of(createRequest, updateRequest))).thenReturn(
+                List.of(createResponse(200, "{\"id\":1}"), createResponse(200, "{\"id\":0}")));
 
         exporter.exportResults();
 
-        verify(facade).updateTestCase(eq("STUB-0"), eq(STORY_PATH), scenarioCaptor.capture());
-        verify(facade).createTestCase(eq(STORY_PATH), scenarioCaptor.capture());
-
         assertThat(logger.getLoggingEvents(), is(List.of(
             info(EXPORT_STORY_LOG, STORY_PATH),
             info(EXPORT_SCENARIO_LOG, CREATE_TITLE),
             info(EXPORT_SCENARIO_LOG, UPDATE_TITLE),
-            info("Skip export of {} scenario", "Skip test case")
+            info(SKIP_SCENARIO_LOG, SKIP_TITLE),
+            info("Test Case with ID {} has been created", 1),
+            info("Test Case with ID {} has been updated", TEST_CASE_ID)
         )));
 
         scenarioCaptor.getAllValues().forEach(this::assertScenario);
     }
 
+    @Test
+    void shouldExportScenariosConcurrentlyInSeveralBatches() throws IOException, SyntaxException
+    {
+        init(EXPORT, 1);
+        mockRequestsCreation();
+        String errorBody = "{\"message\":\"Work item does not exist\"}";
+        IOException exception = new IOException("Too many requests");
+        when(facade.executeBatch(List.of(createRequest))).thenThrow(exception);
+        when(facade.executeBatch(List.of(updateRequest))).thenReturn(List.of(createResponse(404, errorBody)));
+
+        exporter.exportResults();
+
+        assertThat(logger.getLoggingEvents(), is(List.of(
+            info(EXPORT_STORY_LOG, STORY_PATH),
+            info(EXPORT_SCENARIO_LOG, CREATE_TITLE),
+            info(EXPORT_SCENARIO_LOG, UPDATE_TITLE),
+            info(SKIP_SCENARIO_LOG, SKIP_TITLE),
+            error(exception, EXPORT_ERROR_LOG),
+            error("Failed to export {} scenario, Azure DevOps responded with status code {}: {}", UPDATE_TITLE, 404,
+                    errorBody)
+        )));
+    }
+
     @Test
     void shouldLogErrorsWhileExport() throws IOException, SyntaxException
     {
-        init("error");
+        init("error", 200);
 
         IOException exception = mock(IOException.class);
-        doThrow(exception).when(facade).createTestCase(eq(STORY_PATH), any());
+        doThrow(exception).when(facade).createTestCaseRequest(eq(STORY_PATH), any());
 
         exporter.exportResults();
 
         assertThat(logger.getLoggingEvents(), is(List.of(
             info(EXPORT_STORY_LOG, STORY_PATH),
             info(EXPORT_SCENARIO_LOG, "Error test case"),
-            error(exception, "Got an error while exporting")
+            error(exception, EXPORT_ERROR_LOG)
         )));
+        verifyNoMoreInteractions(facade);
+    }
+
+    private void mockRequestsCreation() throws IOException, SyntaxException
+    {
+        when(facade.createTestCaseRequest(eq(STORY_PATH), scenarioCaptor.capture())).thenReturn(createRequest);
+        when(facade.updateTestCaseRequest(eq(TEST_CASE_ID), eq(STORY_PATH), scenarioCaptor.capture())).thenReturn(
+                updateRequest);
+    }
+
+    private static BatchResponse createResponse(int code, String body)
+    {
+        BatchResponse response = new BatchResponse();
+        response.setCode(code);
+        response.setBody(body);
+        return response;
     }
 
-    private void init(String directory)
+    private void init(String directory, int batchSize)
     {
         AzureDevOpsExporterOptions options = new AzureDevOpsExporterOptions();
         Path output = ResourceUtils.loadFile(getClass(), directory).toPath();
         options.setJsonResultsDirectory(output);
+        options.setBatchSize(batchSize);
+        options.setMaxConcurrentRequests(2);
         this.exporter = new AzureDevOpsExporter(options, facade);
     }
 
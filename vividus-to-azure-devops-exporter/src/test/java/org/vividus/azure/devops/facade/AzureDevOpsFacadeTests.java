@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,17 @@
 
 package org.vividus.azure.devops.facade;
 
-import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
-import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.function.Consumer;
 
-import com.github.valfirst.slf4jtest.TestLogger;
-import com.github.valfirst.slf4jtest.TestLoggerFactory;
-import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
-
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,6 +36,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.azure.devops.client.AzureDevOpsClient;
 import org.vividus.azure.devops.client.model.AddOperation;
+import org.vividus.azure.devops.client.model.BatchRequest;
+import org.vividus.azure.devops.client.model.BatchResponse;
 import org.vividus.azure.devops.configuration.AzureDevOpsExporterOptions;
 import org.vividus.azure.devops.configuration.SectionMapping;
 import org.vividus.azure.devops.facade.model.ScenarioPart;
@@ -50,7 +45,7 @@ import org.vividus.model.jbehave.Scenario;
 import org.vividus.model.jbehave.Step;
 import org.vividus.output.SyntaxException;
 
-@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
+@ExtendWith(MockitoExtension.class)
 class AzureDevOpsFacadeTests
 {
     private static final String MANUAL_STEP_PREFIX = "Step: ";
@@ -64,7 +59,6 @@ class AzureDevOpsFacadeTests
             + "isformatted=\"true\"/></step></steps>";
     private static final String PROJECT = "project";
     private static final String AREA = "area";
-    private static final String CREATE_RESPONSE = "{\"id\": 1}";
     private static final String MANUAL_STEPS_DATA = "<steps id=\"0\" last=\"4\"><step id=\"2\" type=\"ActionStep\"><de"
             + "scription/><parameterizedString isformatted=\"true\">When I perform action</parameterizedString><parame"
             + "terizedString isformatted=\"true\">Then I perform verification</parameterizedString></step><step id=\"3"
@@ -80,10 +74,9 @@ class AzureDevOpsFacadeTests
 
     @Captor private ArgumentCaptor<List<AddOperation>> operationsCaptor;
     @Mock private AzureDevOpsClient client;
+    private final BatchRequest batchRequest = new BatchRequest("PATCH", "uri", List.of());
     private AzureDevOpsFacade facade;
 
-    private final TestLogger logger = TestLoggerFactory.getTestLogger(AzureDevOpsFacade.class);
-
     @BeforeEach
     void init()
     {
@@ -99,14 +92,13 @@ class AzureDevOpsFacadeTests
         SectionMapping mapping = new SectionMapping();
         mapping.setSteps(ScenarioPart.AUTOMATED);
         options.setSectionMapping(mapping);
-        when(client.createTestCase(operationsCaptor.capture())).thenReturn(CREATE_RESPONSE);
-        facade.createTestCase(SUITE_TITLE, createScenario(List.of(createStep(WHEN_STEP))));
+        when(client.createTestCaseRequest(operationsCaptor.capture())).thenReturn(batchRequest);
+        assertCreateTestCaseRequest(createScenario(List.of(createStep(WHEN_STEP))));
         assertOperations(3, ops -> assertAll(
             () -> assertAreaPath(ops.get(0)),
             () -> assertTitle(ops.get(1)),
             () -> assertSteps(ops.get(2), STEPS)
         ));
-        verifyCreateTestCaseLog();
     }
 
     @Test
@@ -115,8 +107,8 @@ class AzureDevOpsFacadeTests
         SectionMapping mapping = new SectionMapping();
         mapping.setSteps(ScenarioPart.AUTOMATED);
         options.setSectionMapping(mapping);
-        when(client.createTestCase(operationsCaptor.capture())).thenReturn(CREATE_RESPONSE);
-        facade.createTestCase(SUITE_TITLE, createScenario(List.of(
+        when(client.createTestCaseRequest(operationsCaptor.capture())).thenReturn(batchRequest);
+        assertCreateTestCaseRequest(createScenario(List.of(
             createManualStep("Just a comment"),
             createStep(WHEN_STEP)
         )));
@@ -130,7 +122,6 @@ class AzureDevOpsFacadeTests
             () -> assertTitle(ops.get(1)),
             () -> assertSteps(ops.get(2), data)
         ));
-        verifyCreateTestCaseLog();
     }
 
     @Test
@@ -139,8 +130,8 @@ class AzureDevOpsFacadeTests
         SectionMapping mapping = new SectionMapping();
         mapping.setSteps(ScenarioPart.MANUAL);
         options.setSectionMapping(mapping);
-        when(client.createTestCase(operationsCaptor.capture())).thenReturn(CREATE_RESPONSE);
-        facade.createTestCase(SUITE_TITLE, createScenario(List.of(
+        when(client.createTestCaseRequest(operationsCaptor.capture())).thenReturn(batchRequest);
+        assertCreateTestCaseRequest(createScenario(List.of(
             createManualStep(MANUAL_STEP_PREFIX + WHEN_STEP),
             createManualStep(MANUAL_RESULT_PREFIX + THEN_STEP),
             createManualStep(MANUAL_STEP_PREFIX + WHEN_STEP),
@@ -152,7 +143,6 @@ class AzureDevOpsFacadeTests
             () -> assertTitle(ops.get(1)),
             () -> assertSteps(ops.get(2), MANUAL_STEPS_DATA)
         ));
-        verifyCreateTestCaseLog();
     }
 
     @Test
@@ -161,8 +151,8 @@ class AzureDevOpsFacadeTests
         SectionMapping mapping = new SectionMapping();
         mapping.setSteps(ScenarioPart.AUTOMATED);
         options.setSectionMapping(mapping);
-        when(client.createTestCase(operationsCaptor.capture())).thenReturn(CREATE_RESPONSE);
-        facade.createTestCase(SUITE_TITLE, createScenario(List.of(
+        when(client.createTestCaseRequest(operationsCaptor.capture())).thenReturn(batchRequest);
+        assertCreateTestCaseRequest(createScenario(List.of(
             createManualStep(MANUAL_STEP_PREFIX + WHEN_STEP),
             createManualStep(MANUAL_RESULT_PREFIX + THEN_STEP),
             createManualStep(MANUAL_STEP_PREFIX + WHEN_STEP),
@@ -174,7 +164,6 @@ class AzureDevOpsFacadeTests
             () -> assertTitle(ops.get(1)),
             () -> assertDescription(ops.get(2), AUTOMATED_STEPS_DESC)
         ));
-        verifyCreateTestCaseLog();
     }
 
     @Test
@@ -184,8 +173,8 @@ class AzureDevOpsFacadeTests
         SectionMapping mapping = new SectionMapping();
         mapping.setSteps(ScenarioPart.AUTOMATED);
         options.setSectionMapping(mapping);
-        when(client.createTestCase(operationsCaptor.capture())).thenReturn(CREATE_RESPONSE);
-        facade.createTestCase(SUITE_TITLE, createScenario(List.of(
+        when(client.createTestCaseRequest(operationsCaptor.capture())).thenReturn(batchRequest);
+        assertCreateTestCaseRequest(createScenario(List.of(
             createManualStep(MANUAL_STEP_PREFIX + WHEN_STEP),
             createManualStep(MANUAL_RESULT_PREFIX + THEN_STEP),
             createManualStep(MANUAL_STEP_PREFIX + WHEN_STEP),
@@ -199,7 +188,6 @@ class AzureDevOpsFacadeTests
             () -> assertDescription(ops.get(2), AUTOMATED_STEPS_DESC),
             () -> assertSteps(ops.get(3), STEPS)
         ));
-        verifyCreateTestCaseLog();
     }
 
     @Test
@@ -209,8 +197,8 @@ class AzureDevOpsFacadeTests
         SectionMapping mapping = new SectionMapping();
         mapping.setSteps(ScenarioPart.MANUAL);
         options.setSectionMapping(mapping);
-        when(client.createTestCase(operationsCaptor.capture())).thenReturn(CREATE_RESPONSE);
-        facade.createTestCase(SUITE_TITLE, createScenario(List.of(
+        when(client.createTestCaseRequest(operationsCaptor.capture())).thenReturn(batchRequest);
+        assertCreateTestCaseRequest(createScenario(List.of(
             createManualStep(MANUAL_STEP_PREFIX + WHEN_STEP),
             createManualStep(MANUAL_RESULT_PREFIX + THEN_STEP),
             createManualStep(MANUAL_STEP_PREFIX + WHEN_STEP),
@@ -225,7 +213,6 @@ class AzureDevOpsFacadeTests
             () -> assertSteps(ops.get(2), MANUAL_STEPS_DATA),
             () -> assertDescription(ops.get(3), summary)
         ));
-        verifyCreateTestCaseLog();
     }
 
     @Test
@@ -235,25 +222,28 @@ class AzureDevOpsFacadeTests
         mapping.setSteps(ScenarioPart.AUTOMATED);
         options.setSectionMapping(mapping);
         String testCaseId = "test-case-id";
-        facade.updateTestCase(testCaseId, SUITE_TITLE, createScenario(List.of(createStep(WHEN_STEP))));
-        verify(client).updateTestCase(eq(testCaseId), operationsCaptor.capture());
+        when(client.updateTestCaseRequest(eq(testCaseId), operationsCaptor.capture())).thenReturn(batchRequest);
+        assertEquals(batchRequest,
+                facade.updateTestCaseRequest(testCaseId, SUITE_TITLE, createScenario(List.of(createStep(WHEN_STEP)))));
         assertOperations(3, ops -> assertAll(
             () -> assertAreaPath(ops.get(0)),
             () -> assertTitle(ops.get(1)),
             () -> assertSteps(ops.get(2), STEPS)
         ));
-        assertThat(logger.getLoggingEvents(), is(List.of(
-            info("Updating Test Case with ID {}", testCaseId),
-            info("Test Case with ID {} has been updated", testCaseId)
-        )));
     }
 
-    private void verifyCreateTestCaseLog()
+    @Test
+    void shouldExecuteBatch() throws IOException
+    {
+        List<BatchRequest> requests = List.of(batchRequest);
+        List<BatchResponse> responses = List.of(new BatchResponse());
+        when(client.executeBatch(requests)).thenReturn(responses);
+        assertEquals(responses, facade.executeBatch(requests));
+    }
+
+    private void assertCreateTestCaseRequest(Scenario scenario) throws IOException, SyntaxException
     {
-        assertThat(logger.getLoggingEvents(), is(List.of(
-            info("Creating Test Case"),
-            info("Test Case with ID {} has been created", 1)
-        )));
+        assertEquals(batchRequest, facade.createTestCaseRequest(SUITE_TITLE, scenario));
     }
 
     private void assertOperations(int size, Consumer<List<AddOperation>> operationsVerifier)
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package org.vividus.xray.configuration;
 
 import java.nio.file.Path;
 
+import javax.validation.constraints.Positive;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties("xray-exporter")
@@ -27,6 +29,9 @@ public class XrayExporterOptions
     private String testSetKey;
     private String testExecutionKey;
 
+    @Positive(message = "Property 'xray-exporter.max-concurrent-requests' must be positive")
+    private int maxConcurrentRequests;
+
     public Path getJsonResultsDirectory()
     {
         return jsonResultsDirectory;
@@ -56,4 +61,14 @@ public class XrayExporterOptions
     {
         this.testExecutionKey = testExecutionKey;
     }
+
+    public int getMaxConcurrentRequests()
+    {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests)
+    {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,10 +21,16 @@ import static java.util.Map.entry;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -79,23 +85,109 @@ public class XrayExporter
 
     public void exportResults() throws IOException
     {
-        List<Entry<String, Scenario>> testCases = new ArrayList<>();
+        List<ScenarioExport> scenarioExports = new ArrayList<>();
         for (Story story : OutputReader.readStoriesFromJsons(xrayExporterOptions.getJsonResultsDirectory()))
         {
             LOGGER.atInfo().addArgument(story::getPath).log("Exporting scenarios from {} story");
 
             for (Scenario scenario : story.getFoldedScenarios())
             {
-                exportScenario(story.getPath(), scenario).ifPresent(testCases::add);
+                prepareScenarioExport(story.getPath(), scenario).ifPresent(scenarioExports::add);
             }
         }
 
+        prefetchTestCases(scenarioExports);
+        List<Entry<String, Scenario>> testCases = exportScenarios(scenarioExports);
+
         addTestCasesToTestSet(testCases);
         addTestCasesToTestExecution(testCases);
 
         publishErrors();
     }
 
+    private void prefetchTestCases(List<ScenarioExport> scenarioExports)
+    {
+        Set<String> testCaseIds = new LinkedHashSet<>();
+        scenarioExports.stream().map(ScenarioExport::getTestCaseId).filter(Optional::isPresent).map(Optional::get)
+                .forEach(testCaseIds::add);
+        if (testCaseIds.isEmpty())
+        {
+            return;
+        }
+        try
+        {
+            xrayFacade.prefetchIssues(testCaseIds);
+        }
+        catch (IOException | JiraConfigurationException e)
+        {
+            LOGGER.atWarn().setCause(e).log("Unable to prefetch test cases, they will be retrieved one by one");
+        }
+    }
+
+    private List<Entry<String, Scenario>> exportScenarios(List<ScenarioExport> scenarioExports)
+    {
+        List<Entry<String, Scenario>> testCases = new ArrayList<>(scenarioExports.size());
+        if (scenarioExports.isEmpty())
+        {
+            return testCases;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(scenarioExports.size(), xrayExporterOptions.getMaxConcurrentRequests()));
+        try
+        {
+            List<Future<String>> futures = new ArrayList<>(scenarioExports.size());
+            for (ScenarioExport scenarioExport : scenarioExports)
+            {
+                futures.add(executor.submit(() -> exportTestCase(scenarioExport)));
+            }
+            for (int i = 0; i < scenarioExports.size(); i++)
+            {
+                ScenarioExport scenarioExport = scenarioExports.get(i);
+                try
+                {
+                    testCases.add(entry(futures.get(i).get(), scenarioExport.getScenario()));
+                }
+                catch (ExecutionException e)
+                {
+                    addScenarioError(scenarioExport.getStoryTitle(), scenarioExport.getScenario().getTitle(),
+                            e.getCause());
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        return testCases;
+    }
+
+    private String exportTestCase(ScenarioExport scenarioExport)
+            throws IOException, NonEditableIssueStatusException, JiraConfigurationException
+    {
+        Optional<String> testCaseId = scenarioExport.getTestCaseId();
+        String exportedTestCaseId;
+        if (testCaseId.isPresent())
+        {
+            exportedTestCaseId = testCaseId.get();
+            xrayFacade.updateTestCase(exportedTestCaseId, scenarioExport.getTestCase());
+        }
+        else
+        {
+            exportedTestCaseId = xrayFacade.createTestCase(scenarioExport.getTestCase());
+        }
+        Optional<String> requirementId = scenarioExport.getRequirementId();
+        if (requirementId.isPresent())
+        {
+            xrayFacade.createTestsLink(exportedTestCaseId, requirementId.get());
+        }
+        return exportedTestCaseId;
+    }
+
     private void addTestCasesToTestSet(List<Entry<String, Scenario>> testCases)
     {
         String testSetKey = xrayExporterOptions.getTestSetKey();
@@ -133,7 +225,7 @@ public class XrayExporter
         }
     }
 
-    private Optional<Entry<String, Scenario>> exportScenario(String storyTitle, Scenario scenario)
+    private Optional<ScenarioExport> prepareScenarioExport(String storyTitle, Scenario scenario)
     {
         String scenarioTitle = scenario.getTitle();
 
@@ -149,31 +241,27 @@ public class XrayExporter
             TestCaseType testCaseType = scenario.isManual() ? TestCaseType.MANUAL : TestCaseType.CUCUMBER;
 
             String testCaseId = scenario.getUniqueMetaValue("testCaseId").orElse(null);
+            String requirementId = scenario.getUniqueMetaValue("requirementId").orElse(null);
 
             AbstractTestCaseParameters parameters = parameterFactories.get(testCaseType).apply(scenarioTitle, scenario);
             AbstractTestCase testCase = testCaseFactories.get(testCaseType).apply(parameters);
-            if (testCaseId != null)
-            {
-                xrayFacade.updateTestCase(testCaseId, testCase);
-            }
-            else
-            {
-                testCaseId = xrayFacade.createTestCase(testCase);
-            }
-            createTestsLink(testCaseId, scenario);
-            return Optional.of(entry(testCaseId, scenario));
+            return Optional.of(new ScenarioExport(storyTitle, scenario, testCaseId, requirementId, testCase));
         }
-        catch (IOException | SyntaxException | NonEditableIssueStatusException | NotUniqueMetaValueException
-                | JiraConfigurationException e)
+        catch (SyntaxException | NotUniqueMetaValueException e)
         {
-            String errorMessage = "Story: " + storyTitle + lineSeparator() + "Scenario: " + scenarioTitle
-                    + lineSeparator() + "Error: " + e.getMessage();
-            errors.add(errorMessage);
-            LOGGER.atError().setCause(e).log("Got an error while exporting");
+            addScenarioError(storyTitle, scenarioTitle, e);
         }
         return Optional.empty();
     }
 
+    private void addScenarioError(String storyTitle, String scenarioTitle, Throwable e)
+    {
+        String errorMessage = "Story: " + storyTitle + lineSeparator() + "Scenario: " + scenarioTitle
+                + lineSeparator() + "Error: " + e.getMessage();
+        errors.add(errorMessage);
+        LOGGER.atError().setCause(e).log("Got an error while exporting");
+    }
+
     private ManualTestCaseParameters createManualTestCaseParameters(String storyTitle, Scenario scenario)
             throws SyntaxException
     {
@@ -222,16 +310,6 @@ public class XrayExporter
         LOGGER.atInfo().log("Export successful");
     }
 
-    private void createTestsLink(String testCaseId, Scenario scenario)
-            throws IOException, NotUniqueMetaValueException, JiraConfigurationException
-    {
-        Optional<String> requirementId = scenario.getUniqueMetaValue("requirementId");
-        if (requirementId.isPresent())
-        {
-            xrayFacade.createTestsLink(testCaseId, requirementId.get());
-        }
-    }
-
     @FunctionalInterface
     private interface CreateParametersFunction
             extends FailableBiFunction<String, Scenario, AbstractTestCaseParameters, SyntaxException>
@@ -243,4 +321,48 @@ public class XrayExporter
     {
         void run() throws IOException, JiraConfigurationException;
     }
+
+    private static final class ScenarioExport
+    {
+        private final String storyTitle;
+        private final Scenario scenario;
+        private final String testCaseId;
+        private final String requirementId;
+        private final AbstractTestCase testCase;
+
+        private ScenarioExport(String storyTitle, Scenario scenario, String testCaseId, String requirementId,
+                AbstractTestCase testCase)
+        {
+            this.storyTitle = storyTitle;
+            this.scenario = scenario;
+            this.testCaseId = testCaseId;
+            this.requirementId = requirementId;
+            this.testCase = testCase;
+        }
+
+        private String getStoryTitle()
+        {
+            return storyTitle;
+        }
+
+        private Scenario getScenario()
+        {
+            return scenario;
+        }
+
+        private Optional<String> getTestCaseId()
+        {
+            return Optional.ofNullable(testCaseId);
+        }
+
+        private Optional<String> getRequirementId()
+        {
+            return Optional.ofNullable(requirementId);
+        }
+
+        private AbstractTestCase getTestCase()
+        {
+            return testCase;
+        }
+    }
 }
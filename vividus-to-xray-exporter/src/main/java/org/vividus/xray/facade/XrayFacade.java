@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.vividus.xray.facade;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -118,6 +119,19 @@ public class XrayFacade
                 requestBody);
     }
 
+    /**
+     * Retrieves the issues in bulk, so the further checks of the issues statuses don't require separate requests
+     *
+     * @param issueKeys the keys of the issues to retrieve
+     * @throws IOException if any I/O error occurred
+     * @throws JiraConfigurationException if any error occurred during JIRA configuration resolution
+     */
+    public void prefetchIssues(Collection<String> issueKeys) throws IOException, JiraConfigurationException
+    {
+        LOGGER.atInfo().addArgument(issueKeys::size).log("Prefetching {} issues");
+        jiraFacade.getIssues(issueKeys);
+    }
+
     private void checkIfIssueEditable(String issueKey)
             throws IOException, NonEditableIssueStatusException, JiraConfigurationException
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.vividus.xray.exporter;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.error;
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
 import static java.lang.System.lineSeparator;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
@@ -53,6 +54,7 @@ import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
@@ -105,6 +107,12 @@ class XrayExporterTests
 
     private final TestLogger logger = TestLoggerFactory.getTestLogger(XrayExporter.class);
 
+    @BeforeEach
+    void beforeEach()
+    {
+        xrayExporterOptions.setMaxConcurrentRequests(2);
+    }
+
     @AfterEach
     void afterEach()
     {
@@ -148,6 +156,7 @@ class XrayExporterTests
 
         xrayExporter.exportResults();
 
+        verify(xrayFacade).prefetchIssues(Set.of(ISSUE_ID));
         verify(xrayFacade).updateTestCase(ISSUE_ID, testCase);
         String scenario = GIVEN_STEP + lineSeparator() + WHEN_STEP + lineSeparator() + THEN_STEP;
         verifyCucumberTestCaseParameters("Scenario", scenario);
@@ -171,6 +180,7 @@ class XrayExporterTests
 
         xrayExporter.exportResults();
 
+        verify(xrayFacade).prefetchIssues(Set.of(ISSUE_ID));
         verify(xrayFacade).updateTestCase(ISSUE_ID, testCase);
         verifyManualTestCaseParameters(Set.of("dummy-label-1", "dummy-label-2"),
                 Set.of("dummy-component-1", "dummy-component-2"));
@@ -212,12 +222,32 @@ class XrayExporterTests
 
         xrayExporter.exportResults();
 
+        verify(xrayFacade).prefetchIssues(Set.of(errorIssueId, ISSUE_ID));
         verify(xrayFacade).updateTestCase(ISSUE_ID, testCase);
         verify(xrayFacade).updateTestSet(TEST_SET_KEY, List.of(ISSUE_ID));
         verify(xrayFacade).updateTestExecution(any());
         verifyManualTestCaseParameters(Set.of(), Set.of());
-        validateLogs(jsonResultsUri, getExportingScenarioEvent(), error(exception, ERROR_MESSAGE),
-                getExportingScenarioEvent(), getExportFailedErrorEvent(errorLogMessage));
+        validateLogs(jsonResultsUri, getExportingScenarioEvent(), getExportingScenarioEvent(),
+                error(exception, ERROR_MESSAGE), getExportFailedErrorEvent(errorLogMessage));
+    }
+
+    @Test
+    void shouldExportTestCasesOneByOneIfPrefetchFailed() throws URISyntaxException, IOException,
+        NonEditableIssueStatusException, JiraConfigurationException
+    {
+        URI jsonResultsUri = getJsonResultsUri("updatecucumber");
+        xrayExporterOptions.setJsonResultsDirectory(Paths.get(jsonResultsUri));
+        CucumberTestCase testCase = mock(CucumberTestCase.class);
+        IOException exception = new IOException("Too many requests");
+        doThrow(exception).when(xrayFacade).prefetchIssues(Set.of(ISSUE_ID));
+        when(testCaseFactory.createCucumberTestCase(cucumberTestCaseParametersCaptor.capture())).thenReturn(testCase);
+
+        xrayExporter.exportResults();
+
+        verify(xrayFacade).updateTestCase(ISSUE_ID, testCase);
+        validateLogs(jsonResultsUri, getExportingScenarioEvent(),
+                warn(exception, "Unable to prefetch test cases, they will be retrieved one by one"),
+                getExportSuccessfulEvent());
     }
 
     @Test
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -103,6 +103,18 @@ class XrayFacadeTests
                 is(List.of(info("Create '{}' link from {} to {}", linkType, ISSUE_ID, requirementId))));
     }
 
+    @Test
+    void shouldPrefetchIssues() throws IOException, JiraConfigurationException
+    {
+        initializeFacade(List.of());
+        List<String> issueKeys = List.of(ISSUE_ID);
+
+        xrayFacade.prefetchIssues(issueKeys);
+
+        verify(jiraFacade).getIssues(issueKeys);
+        assertThat(logger.getLoggingEvents(), is(List.of(info("Prefetching {} issues", 1))));
+    }
+
     @Test
     void shouldUpdateManualTestCase() throws IOException, NonEditableIssueStatusException, JiraConfigurationException
     {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.nio.file.Path;
 import java.util.List;
 
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.vividus.zephyr.model.TestCaseStatus;
@@ -36,6 +37,9 @@ public class ZephyrExporterProperties
 
     private List<TestCaseStatus> statusesOfTestCasesToAddToExecution;
 
+    @Positive(message = "Property 'zephyr.exporter.max-concurrent-requests' must be positive")
+    private int maxConcurrentRequests;
+
     public String getJiraInstanceKey()
     {
         return jiraInstanceKey;
@@ -75,4 +79,14 @@ public class ZephyrExporterProperties
     {
         this.statusesOfTestCasesToAddToExecution = statusesOfTestCasesToAddToExecution;
     }
+
+    public int getMaxConcurrentRequests()
+    {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests)
+    {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,31 @@
 
 package org.vividus.zephyr.exporter;
 
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.common.collect.Lists;
 
+import org.apache.commons.lang3.function.FailableFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.jira.JiraConfigurationException;
@@ -36,7 +51,7 @@ import org.vividus.zephyr.configuration.ZephyrExporterProperties;
 import org.vividus.zephyr.databind.TestCaseDeserializer;
 import org.vividus.zephyr.facade.IZephyrFacade;
 import org.vividus.zephyr.facade.ZephyrFacade;
-import org.vividus.zephyr.model.ExecutionStatus;
+import org.vividus.zephyr.model.ExecutionsStatus;
 import org.vividus.zephyr.model.TestCase;
 import org.vividus.zephyr.model.ZephyrExecution;
 import org.vividus.zephyr.parser.TestCaseParser;
@@ -45,6 +60,8 @@ public class ZephyrExporter
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(ZephyrExporter.class);
 
+    private static final int MAX_EXECUTIONS_PER_STATUS_UPDATE = 500;
+
     private final JiraFacade jiraFacade;
     private IZephyrFacade zephyrFacade;
     private TestCaseParser testCaseParser;
@@ -65,42 +82,132 @@ public class ZephyrExporter
                 .registerModule(new SimpleModule().addDeserializer(TestCase.class, new TestCaseDeserializer()));
     }
 
+    /**
+     * Exports the test case results: the issue IDs are resolved by a few JQL searches, the executions are created (or
+     * found) concurrently, the execution statuses are updated by bulk requests, one per status.
+     *
+     * @throws IOException if any I/O error occurred
+     * @throws JiraConfigurationException if any error occurred during JIRA configuration resolution
+     */
     public void exportResults() throws IOException, JiraConfigurationException
     {
         List<TestCase> testCasesForImporting = testCaseParser.createTestCases(objectMapper);
         ZephyrConfiguration configuration = zephyrFacade.prepareConfiguration();
-        for (TestCase testCase : testCasesForImporting)
+        Map<String, String> issueIds = getIssueIds(testCasesForImporting);
+
+        List<OptionalInt> executionIds = executeConcurrently(testCasesForImporting,
+                testCase -> getExecutionId(testCase, issueIds.get(testCase.getKey()), configuration));
+
+        Map<Integer, List<String>> executionIdsPerStatus = new TreeMap<>();
+        for (int i = 0; i < testCasesForImporting.size(); i++)
+        {
+            TestCase testCase = testCasesForImporting.get(i);
+            OptionalInt executionId = executionIds.get(i);
+            Integer statusId = configuration.getTestStatusPerZephyrIdMapping().get(testCase.getStatus());
+            if (executionId.isEmpty())
+            {
+                LOGGER.atInfo().addArgument(testCase::getKey).log("Test case result for {} was not exported, "
+                        + "because execution does not exist");
+            }
+            else if (statusId == null)
+            {
+                LOGGER.atWarn().addArgument(testCase::getKey).addArgument(testCase::getStatus).log(
+                        "Test case result for {} was not exported, because status {} is not mapped to Zephyr status");
+            }
+            else
+            {
+                executionIdsPerStatus.computeIfAbsent(statusId, s -> new ArrayList<>())
+                        .add(String.valueOf(executionId.getAsInt()));
+            }
+        }
+
+        for (Map.Entry<Integer, List<String>> entry : executionIdsPerStatus.entrySet())
         {
-            exportTestExecution(testCase, configuration);
+            for (List<String> executions : Lists.partition(entry.getValue(), MAX_EXECUTIONS_PER_STATUS_UPDATE))
+            {
+                String executionsBody = objectMapper.writeValueAsString(
+                        new ExecutionsStatus(executions, String.valueOf(entry.getKey())));
+                zephyrFacade.updateExecutionStatuses(executionsBody);
+            }
         }
     }
 
-    private void exportTestExecution(TestCase testCase, ZephyrConfiguration configuration)
-            throws IOException, JiraConfigurationException
+    private Map<String, String> getIssueIds(List<TestCase> testCases) throws IOException, JiraConfigurationException
     {
-        JiraEntity issue = jiraFacade.getIssue(testCase.getKey());
-        ZephyrExecution execution = new ZephyrExecution(configuration, issue.getId(), testCase.getStatus());
-        OptionalInt executionId;
+        Set<String> issueKeys = testCases.stream().map(TestCase::getKey).collect(
+                toCollection(LinkedHashSet::new));
+        Map<String, String> issueIds = new HashMap<>();
+        for (JiraEntity issue : jiraFacade.getIssues(issueKeys))
+        {
+            issueIds.put(issue.getKey(), issue.getId());
+        }
+        // The keys of the moved issues are not returned by the search, such issues are requested one by one
+        List<String> notFoundIssueKeys = issueKeys.stream().filter(k -> !issueIds.containsKey(k)).collect(toList());
+        List<JiraEntity> notFoundIssues = executeConcurrently(notFoundIssueKeys, jiraFacade::getIssue);
+        for (int i = 0; i < notFoundIssueKeys.size(); i++)
+        {
+            issueIds.put(notFoundIssueKeys.get(i), notFoundIssues.get(i).getId());
+        }
+        return issueIds;
+    }
 
+    private OptionalInt getExecutionId(TestCase testCase, String issueId, ZephyrConfiguration configuration)
+            throws IOException, JiraConfigurationException
+    {
         if (zephyrExporterProperties.getUpdateExecutionStatusesOnly())
         {
-            executionId = zephyrFacade.findExecutionId(issue.getId());
+            return zephyrFacade.findExecutionId(issueId);
+        }
+        String createExecution = objectMapper.writeValueAsString(new ZephyrExecution(configuration, issueId,
+                testCase.getStatus()));
+        return OptionalInt.of(zephyrFacade.createExecution(createExecution));
+    }
+
+    private <T, R> List<R> executeConcurrently(List<T> items, FailableFunction<T, R, Exception> task)
+            throws IOException, JiraConfigurationException
+    {
+        if (items.isEmpty())
+        {
+            return List.of();
+        }
+        int threads = Math.min(items.size(), zephyrExporterProperties.getMaxConcurrentRequests());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            List<Future<R>> futures = items.stream().map(item -> executor.submit(() -> task.apply(item)))
+                    .collect(toList());
+            List<R> results = new ArrayList<>(items.size());
+            for (Future<R> future : futures)
+            {
+                results.add(future.get());
+            }
+            return results;
         }
-        else
+        catch (ExecutionException e)
         {
-            String createExecution = objectMapper.writeValueAsString(execution);
-            executionId = OptionalInt.of(zephyrFacade.createExecution(createExecution));
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            if (cause instanceof JiraConfigurationException)
+            {
+                throw (JiraConfigurationException) cause;
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
         }
-        if (executionId.isPresent())
+        catch (InterruptedException e)
         {
-            String executionBody = objectMapper.writeValueAsString(new ExecutionStatus(
-                String.valueOf(configuration.getTestStatusPerZephyrIdMapping().get(execution.getTestCaseStatus()))));
-            zephyrFacade.updateExecutionStatus(executionId.getAsInt(), executionBody);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
         }
-        else
+        finally
         {
-            LOGGER.atInfo().addArgument(testCase::getKey).log("Test case result for {} was not exported, "
-                    + "because execution does not exist");
+            executor.shutdownNow();
         }
     }
 }
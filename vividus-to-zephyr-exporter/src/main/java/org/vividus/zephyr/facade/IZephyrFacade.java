@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,7 +28,7 @@ public interface IZephyrFacade
 
     Integer createExecution(String execution) throws IOException, JiraConfigurationException;
 
-    void updateExecutionStatus(int executionId, String executionBody) throws IOException, JiraConfigurationException;
+    void updateExecutionStatuses(String executionsBody) throws IOException, JiraConfigurationException;
 
     OptionalInt findExecutionId(String issueId) throws IOException, JiraConfigurationException;
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -67,10 +67,9 @@ public class ZephyrFacade implements IZephyrFacade
     }
 
     @Override
-    public void updateExecutionStatus(int executionId, String executionBody)
-            throws IOException, JiraConfigurationException
+    public void updateExecutionStatuses(String executionsBody) throws IOException, JiraConfigurationException
     {
-        getJiraClient().executePut(String.format(ZAPI_ENDPOINT + "execution/%s/execute", executionId), executionBody);
+        getJiraClient().executePut(ZAPI_ENDPOINT + "execution/updateBulkStatus", executionsBody);
     }
 
     @Override
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.zephyr.model;
+
+import java.util.List;
+
+public class ExecutionsStatus
+{
+    private final List<String> executions;
+    private final String status;
+
+    public ExecutionsStatus(List<String> executions, String status)
+    {
+        this.executions = executions;
+        this.status = status;
+    }
+
+    public List<String> getExecutions()
+    {
+        return executions;
+    }
+
+    public String getStatus()
+    {
+        return status;
+    }
+}
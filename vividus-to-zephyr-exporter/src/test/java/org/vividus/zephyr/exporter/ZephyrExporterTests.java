@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,33 +17,65 @@
 package org.vividus.zephyr.exporter;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
 
+import org.apache.http.HttpStatus;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.http.client.HttpClient;
+import org.vividus.jira.JiraClient;
+import org.vividus.jira.JiraClientProvider;
 import org.vividus.jira.JiraConfigurationException;
 import org.vividus.jira.JiraFacade;
 import org.vividus.jira.model.JiraEntity;
+import org.vividus.jira.model.Project;
+import org.vividus.jira.model.Version;
 import org.vividus.zephyr.configuration.ZephyrConfiguration;
+import org.vividus.zephyr.configuration.ZephyrExporterConfiguration;
 import org.vividus.zephyr.configuration.ZephyrExporterProperties;
 import org.vividus.zephyr.facade.ZephyrFacade;
 import org.vividus.zephyr.model.TestCase;
@@ -57,7 +89,9 @@ class ZephyrExporterTests
     private static final String TEST_CASE_KEY2 = "TEST-2";
     private static final String ISSUE_ID1 = "1";
     private static final String ISSUE_ID2 = "2";
-    private static final String STATUS_UPDATE_JSON = "{\"status\":\"-1\"}";
+    private static final String EXECUTION_BODY = "{\"cycleId\":\"11113\",\"folderId\":\"11114\",\"issueId\":\"%s\","
+            + "\"projectId\":\"11111\",\"versionId\":\"11112\"}";
+    private static final String STATUS_UPDATE_JSON = "{\"executions\":[%s],\"status\":\"%s\"}";
 
     private final TestLogger testLogger = TestLoggerFactory.getTestLogger(ZephyrExporter.class);
 
@@ -70,40 +104,157 @@ class ZephyrExporterTests
     @Test
     void testExportResults() throws IOException, URISyntaxException, JiraConfigurationException
     {
-        when(testCaseParser.createTestCases(any())).thenReturn(List.of(
-                new TestCase(TEST_CASE_KEY1, TestCaseStatus.SKIPPED),
-                new TestCase(TEST_CASE_KEY2, TestCaseStatus.PASSED)));
+        mockTestCases();
+        when(zephyrExporterProperties.getMaxConcurrentRequests()).thenReturn(2);
         when(zephyrFacade.prepareConfiguration()).thenReturn(prepareTestConfiguration());
-        mockJiraIssueRetrieve(TEST_CASE_KEY1, ISSUE_ID1);
-        mockJiraIssueRetrieve(TEST_CASE_KEY2, ISSUE_ID2);
-        String executionBody = "{\"cycleId\":\"11113\",\"folderId\":\"11114\",\"issueId\":\"%s\","
-                + "\"projectId\":\"11111\",\"versionId\":\"11112\"}";
-        when(zephyrFacade.createExecution(String.format(executionBody, ISSUE_ID1))).thenReturn(111);
-        when(zephyrFacade.createExecution(String.format(executionBody, ISSUE_ID2))).thenReturn(222);
+        when(jiraFacade.getIssues(Set.of(TEST_CASE_KEY1, TEST_CASE_KEY2))).thenReturn(
+                List.of(createIssue(TEST_CASE_KEY1, ISSUE_ID1), createIssue(TEST_CASE_KEY2, ISSUE_ID2)));
+        when(zephyrFacade.createExecution(String.format(EXECUTION_BODY, ISSUE_ID1))).thenReturn(111);
+        when(zephyrFacade.createExecution(String.format(EXECUTION_BODY, ISSUE_ID2))).thenReturn(222);
         zephyrExporter.exportResults();
-        verify(zephyrFacade).updateExecutionStatus(111, STATUS_UPDATE_JSON);
-        verify(zephyrFacade).updateExecutionStatus(222, "{\"status\":\"1\"}");
+        verify(zephyrFacade).updateExecutionStatuses(String.format(STATUS_UPDATE_JSON, "\"111\"", "-1"));
+        verify(zephyrFacade).updateExecutionStatuses(String.format(STATUS_UPDATE_JSON, "\"222\"", "1"));
     }
 
     @Test
     void testExportResultsWithOnlyStatusUpdate() throws IOException, URISyntaxException, JiraConfigurationException
     {
         when(zephyrExporterProperties.getUpdateExecutionStatusesOnly()).thenReturn(true);
-        when(testCaseParser.createTestCases(any())).thenReturn(List.of(
-                new TestCase(TEST_CASE_KEY1, TestCaseStatus.SKIPPED),
-                new TestCase(TEST_CASE_KEY2, TestCaseStatus.PASSED)));
+        when(zephyrExporterProperties.getMaxConcurrentRequests()).thenReturn(2);
+        mockTestCases();
         when(zephyrFacade.prepareConfiguration()).thenReturn(prepareTestConfiguration());
-        mockJiraIssueRetrieve(TEST_CASE_KEY1, ISSUE_ID1);
-        mockJiraIssueRetrieve(TEST_CASE_KEY2, ISSUE_ID2);
+        when(jiraFacade.getIssues(Set.of(TEST_CASE_KEY1, TEST_CASE_KEY2))).thenReturn(
+                List.of(createIssue(TEST_CASE_KEY1, ISSUE_ID1)));
+        when(jiraFacade.getIssue(TEST_CASE_KEY2)).thenReturn(createIssue("TEST-3", ISSUE_ID2));
         when(zephyrFacade.findExecutionId(ISSUE_ID1)).thenReturn(OptionalInt.of(111));
         when(zephyrFacade.findExecutionId(ISSUE_ID2)).thenReturn(OptionalInt.empty());
         zephyrExporter.exportResults();
-        verify(zephyrFacade).updateExecutionStatus(111, STATUS_UPDATE_JSON);
+        verify(zephyrFacade).updateExecutionStatuses(String.format(STATUS_UPDATE_JSON, "\"111\"", "-1"));
         verifyNoMoreInteractions(zephyrFacade);
         assertThat(testLogger.getLoggingEvents(), is(List.of(info("Test case result for {} was not exported, "
                 + "because execution does not exist", TEST_CASE_KEY2))));
     }
 
+    @Test
+    void shouldSkipTestCasesWithUnmappedStatuses() throws IOException, JiraConfigurationException
+    {
+        mockTestCases();
+        when(zephyrExporterProperties.getMaxConcurrentRequests()).thenReturn(2);
+        ZephyrConfiguration configuration = prepareTestConfiguration();
+        configuration.getTestStatusPerZephyrIdMapping().remove(TestCaseStatus.PASSED);
+        when(zephyrFacade.prepareConfiguration()).thenReturn(configuration);
+        when(jiraFacade.getIssues(Set.of(TEST_CASE_KEY1, TEST_CASE_KEY2))).thenReturn(
+                List.of(createIssue(TEST_CASE_KEY1, ISSUE_ID1), createIssue(TEST_CASE_KEY2, ISSUE_ID2)));
+        when(zephyrFacade.createExecution(String.format(EXECUTION_BODY, ISSUE_ID1))).thenReturn(111);
+        when(zephyrFacade.createExecution(String.format(EXECUTION_BODY, ISSUE_ID2))).thenReturn(222);
+        zephyrExporter.exportResults();
+        verify(zephyrFacade).updateExecutionStatuses(String.format(STATUS_UPDATE_JSON, "\"111\"", "-1"));
+        verifyNoMoreInteractions(zephyrFacade);
+        assertThat(testLogger.getLoggingEvents(), is(List.of(warn("Test case result for {} was not exported, "
+                + "because status {} is not mapped to Zephyr status", TEST_CASE_KEY2, TestCaseStatus.PASSED))));
+    }
+
+    @Test
+    void shouldRethrowExceptionOccurredWhileCreatingExecution() throws IOException, JiraConfigurationException
+    {
+        mockTestCases();
+        when(zephyrExporterProperties.getMaxConcurrentRequests()).thenReturn(1);
+        when(zephyrFacade.prepareConfiguration()).thenReturn(prepareTestConfiguration());
+        when(jiraFacade.getIssues(Set.of(TEST_CASE_KEY1, TEST_CASE_KEY2))).thenReturn(
+                List.of(createIssue(TEST_CASE_KEY1, ISSUE_ID1), createIssue(TEST_CASE_KEY2, ISSUE_ID2)));
+        IOException exception = new IOException("The status code is expected to be between 200 and 299");
+        when(zephyrFacade.createExecution(anyString())).thenThrow(exception);
+        IOException thrown = assertThrows(IOException.class, zephyrExporter::exportResults);
+        assertSame(exception, thrown);
+        verify(zephyrFacade, never()).updateExecutionStatuses(anyString());
+    }
+
+    @Test
+    void shouldUpdateExecutionStatusesByChunksUsingLocalServer() throws IOException, JiraConfigurationException
+    {
+        AtomicInteger executionIds = new AtomicInteger();
+        List<Integer> executionsPerStatusUpdate = new CopyOnWriteArrayList<>();
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ExecutorService serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.createContext("/rest/zapi/latest/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/cycle"))
+            {
+                sendResponse(exchange, "{\"recordsCount\":1,\"11113\":{\"name\":\"cycle\"}}");
+            }
+            else if (path.endsWith("/testExecutionStatus"))
+            {
+                sendResponse(exchange, "[{\"id\":1,\"name\":\"PASS\"}]");
+            }
+            else if (path.endsWith("/updateBulkStatus"))
+            {
+                executionsPerStatusUpdate.add(
+                        objectMapper.readTree(exchange.getRequestBody()).path("executions").size());
+                sendResponse(exchange, "{}");
+            }
+            else
+            {
+                int executionId = executionIds.incrementAndGet();
+                sendResponse(exchange, String.format("{\"%1$d\":{\"id\":%1$d}}", executionId));
+            }
+        });
+        server.start();
+        try (CloseableHttpClient closeableHttpClient = HttpClients.createDefault())
+        {
+            HttpClient httpClient = new HttpClient();
+            httpClient.setCloseableHttpClient(closeableHttpClient);
+            httpClient.setHttpResponseHandlers(List.of());
+            JiraClientProvider jiraClientProvider = mock(JiraClientProvider.class);
+            when(jiraClientProvider.getByJiraConfigurationKey(Optional.empty())).thenReturn(
+                    new JiraClient("http://localhost:" + server.getAddress().getPort(), httpClient));
+            Version version = new Version();
+            version.setId("11112");
+            version.setName("version");
+            Project project = new Project();
+            project.setId("11111");
+            project.setVersions(List.of(version));
+            String projectKey = "PRJ";
+            when(jiraFacade.getProject(projectKey)).thenReturn(project);
+            ZephyrFacade localZephyrFacade = new ZephyrFacade(jiraFacade, jiraClientProvider,
+                    new ZephyrExporterConfiguration(projectKey, version.getName(), "cycle", null,
+                            Map.of(TestCaseStatus.PASSED, "PASS")), zephyrExporterProperties);
+            List<TestCase> testCases = IntStream.rangeClosed(1, 501)
+                    .mapToObj(i -> new TestCase("TEST-" + i, TestCaseStatus.PASSED)).collect(Collectors.toList());
+            when(testCaseParser.createTestCases(any())).thenReturn(testCases);
+            when(jiraFacade.getIssues(any())).thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0)
+                    .stream().map(key -> createIssue(key, key.replace("TEST-", ""))).collect(Collectors.toList()));
+            when(zephyrExporterProperties.getMaxConcurrentRequests()).thenReturn(4);
+            new ZephyrExporter(jiraFacade, localZephyrFacade, testCaseParser, zephyrExporterProperties)
+                    .exportResults();
+            assertEquals(501, executionIds.get());
+            assertEquals(List.of(500, 1), executionsPerStatusUpdate);
+        }
+        finally
+        {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    private static void sendResponse(HttpExchange exchange, String body) throws IOException
+    {
+        byte[] response = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(HttpStatus.SC_OK, response.length);
+        try (OutputStream responseBody = exchange.getResponseBody())
+        {
+            responseBody.write(response);
+        }
+    }
+
+    private void mockTestCases() throws IOException
+    {
+        when(testCaseParser.createTestCases(any())).thenReturn(List.of(
+                new TestCase(TEST_CASE_KEY1, TestCaseStatus.SKIPPED),
+                new TestCase(TEST_CASE_KEY2, TestCaseStatus.PASSED)));
+    }
+
     private ZephyrConfiguration prepareTestConfiguration()
     {
         ZephyrConfiguration configuration = new ZephyrConfiguration();
@@ -118,10 +269,11 @@ class ZephyrExporterTests
         return configuration;
     }
 
-    private void mockJiraIssueRetrieve(String issueKey, String issueId) throws IOException, JiraConfigurationException
+    private static JiraEntity createIssue(String issueKey, String issueId)
     {
         JiraEntity issue = new JiraEntity();
+        issue.setKey(issueKey);
         issue.setId(issueId);
-        when(jiraFacade.getIssue(issueKey)).thenReturn(issue);
+        return issue;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -92,12 +92,12 @@ class ZephyrFacadeTests
     }
 
     @Test
-    void testUpdateExecutionStatus() throws IOException, JiraConfigurationException
+    void testUpdateExecutionStatuses() throws IOException, JiraConfigurationException
     {
         when(jiraClientProvider.getByJiraConfigurationKey(Optional.empty())).thenReturn(client);
-        String executionBody = "{\"status\": \"1\"}";
-        zephyrFacade.updateExecutionStatus(11_116, executionBody);
-        verify(client).executePut(String.format(ZAPI_ENDPOINT + "execution/%s/execute", "11116"), executionBody);
+        String executionsBody = "{\"executions\":[\"11116\",\"11117\"],\"status\":\"1\"}";
+        zephyrFacade.updateExecutionStatuses(executionsBody);
+        verify(client).executePut(ZAPI_ENDPOINT + "execution/updateBulkStatus", executionsBody);
     }
 
     @Test
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.function.Supplier;
 
 import org.apache.commons.pool2.PooledObjectFactory;
 import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 
 public class UnsafeGenericObjectPool<T> extends GenericObjectPool<T>
 {
@@ -39,6 +40,12 @@ public class UnsafeGenericObjectPool<T> extends GenericObjectPool<T>
         this(new SuppliedPooledObjectFactory<>(supplier));
     }
 
+    public UnsafeGenericObjectPool(Supplier<T> supplier, GenericObjectPoolConfig<T> config)
+    {
+        super(new SuppliedPooledObjectFactory<>(supplier), config);
+        setMaxWait(MAX_WAIT_DURATION);
+    }
+
     public <R> R apply(Function<T, R> function)
     {
         try
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,11 +17,13 @@
 package org.vividus.util.pool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.Duration;
 import java.util.function.Consumer;
 
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.junit.jupiter.api.Test;
 
 class UnsafeGenericObjectPoolTests
@@ -34,6 +36,19 @@ class UnsafeGenericObjectPoolTests
         testSimplePool(pool -> assertEquals(Duration.ofMinutes(5), pool.getMaxWaitDuration()));
     }
 
+    @Test
+    void shouldCreatePoolWithConfig()
+    {
+        var config = new GenericObjectPoolConfig<String>();
+        config.setJmxEnabled(false);
+        try (var pool = new UnsafeGenericObjectPool<>(() -> VALUE, config))
+        {
+            assertNull(pool.getJmxName());
+            assertEquals(Duration.ofMinutes(5), pool.getMaxWaitDuration());
+            assertEquals(VALUE, pool.apply(pooled -> pooled));
+        }
+    }
+
     @Test
     void testApply()
     {
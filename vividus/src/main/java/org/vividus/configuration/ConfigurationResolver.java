@@ -16,16 +16,24 @@
 
 package org.vividus.configuration;
 
+import static org.springframework.core.io.support.ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX;
+
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
@@ -33,16 +41,25 @@ import com.google.common.collect.Multimap;
 import org.apache.commons.lang3.StringUtils;
 import org.jasypt.encryption.StringEncryptor;
 import org.jasypt.encryption.pbe.StandardPBEStringEncryptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.util.PropertyPlaceholderHelper;
+import org.vividus.configuration.LoadedConfiguration.ResolvedProperty;
 import org.vividus.spring.SpelExpressionResolver;
 
 public final class ConfigurationResolver
 {
     static final String CONFIGURATION_PROPERTY_FAMILY = "configuration.";
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationResolver.class);
+
     private static final String VIVIDUS_ENCRYPTOR_PASSWORD_PROPERTY = "vividus.encryptor.password";
     private static final String DEFAULT_ENCRYPTOR_ALGORITHM = "PBEWithMD5AndDES";
     private static final String DEFAULT_ENCRYPTOR_PASSWORD = "82=thuMUH@";
+    private static final String SNAPSHOT_FILE_PROPERTY = "vividus.configuration.snapshot-file";
+    private static final String PROPERTIES_LOCATION = CLASSPATH_ALL_URL_PREFIX + "/properties/**/*.properties";
+    private static final String OVERRIDING_PROPERTIES_LOCATION = "classpath:/overriding.properties";
 
     private static final SpelExpressionResolver SPEL_RESOLVER = new SpelExpressionResolver();
     private static final String VIVIDUS_SYSTEM_PROPERTY_FAMILY = "vividus.";
@@ -53,6 +70,7 @@ public final class ConfigurationResolver
     private static final String PLACEHOLDER_PREFIX = "${";
     private static final String PLACEHOLDER_SUFFIX = "}";
     private static final String PLACEHOLDER_VALUE_SEPARATOR = "=";
+    private static final String SPEL_PREFIX = "#{";
 
     private static final String[] DEFAULTS_PATHS = {
         "org/vividus/http/client",
@@ -75,7 +93,50 @@ public final class ConfigurationResolver
             return instance;
         }
 
-        PropertiesLoader propertiesLoader = new PropertiesLoader(BeanFactory.getResourcePatternResolver());
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        ResourcePatternResolver resourcePatternResolver = BeanFactory.getResourcePatternResolver();
+        Optional<ConfigurationSnapshot> snapshot = createSnapshot(resourcePatternResolver);
+        Optional<LoadedConfiguration> snapshotConfiguration = snapshot.flatMap(ConfigurationSnapshot::load);
+        if (snapshot.isPresent())
+        {
+            logPhaseDuration("snapshot lookup", stopwatch);
+        }
+
+        LoadedConfiguration loadedConfiguration;
+        if (snapshotConfiguration.isPresent())
+        {
+            loadedConfiguration = snapshotConfiguration.get();
+        }
+        else
+        {
+            loadedConfiguration = loadProperties(resourcePatternResolver, stopwatch);
+            if (snapshot.isPresent())
+            {
+                loadedConfiguration = new LoadedConfiguration(loadedConfiguration.getProperties(),
+                        loadedConfiguration.getOverridingProperties(), loadedConfiguration.getDeprecatedProperties(),
+                        resolveEnvironmentIndependentProperties(loadedConfiguration));
+                snapshot.get().save(loadedConfiguration);
+                logPhaseDuration("snapshot saving", stopwatch);
+            }
+        }
+        Properties properties = resolveProperties(loadedConfiguration, stopwatch);
+
+        StringEncryptor stringEncryptor = createStringEncryptor(properties);
+        BeanFactory.registerBean("stringEncryptor", StringEncryptor.class, () -> stringEncryptor);
+        PropertiesDecryptor decryptor = new PropertiesDecryptor(stringEncryptor);
+        SystemPropertiesProcessor systemPropertiesProcessor = new SystemPropertiesProcessor(decryptor);
+        systemPropertiesProcessor.process(properties);
+        properties = decryptor.decryptProperties(properties);
+        logPhaseDuration("decryption", stopwatch);
+
+        instance = new ConfigurationResolver(properties);
+        return instance;
+    }
+
+    private static LoadedConfiguration loadProperties(ResourcePatternResolver resourcePatternResolver,
+            Stopwatch stopwatch) throws IOException
+    {
+        PropertiesLoader propertiesLoader = new PropertiesLoader(resourcePatternResolver);
 
         Properties properties = new Properties();
 
@@ -104,20 +165,34 @@ public final class ConfigurationResolver
             properties.putAll(configurationItem);
         }
 
+        new DeprecatedPropertiesHandler(deprecatedProperties, PLACEHOLDER_PREFIX, PLACEHOLDER_SUFFIX)
+                .replaceDeprecated(properties);
+        logPhaseDuration("loading", stopwatch);
+        return new LoadedConfiguration(properties, overridingProperties, deprecatedProperties);
+    }
+
+    private static Properties resolveProperties(LoadedConfiguration loadedConfiguration, Stopwatch stopwatch)
+    {
+        Properties properties = loadedConfiguration.getProperties();
         DeprecatedPropertiesHandler deprecatedPropertiesHandler = new DeprecatedPropertiesHandler(
-                deprecatedProperties, PLACEHOLDER_PREFIX, PLACEHOLDER_SUFFIX);
-        deprecatedPropertiesHandler.replaceDeprecated(properties);
+                loadedConfiguration.getDeprecatedProperties(), PLACEHOLDER_PREFIX, PLACEHOLDER_SUFFIX);
+
+        Properties environmentProperties = new Properties();
+        environmentProperties.putAll(System.getenv());
+        environmentProperties.putAll(loadFilteredSystemProperties());
 
         Properties overridingAndSystemProperties = new Properties();
-        overridingAndSystemProperties.putAll(overridingProperties);
-        overridingAndSystemProperties.putAll(System.getenv());
-        overridingAndSystemProperties.putAll(loadFilteredSystemProperties());
+        overridingAndSystemProperties.putAll(loadedConfiguration.getOverridingProperties());
+        overridingAndSystemProperties.putAll(environmentProperties);
 
         deprecatedPropertiesHandler.replaceDeprecated(overridingAndSystemProperties, properties);
 
         properties.putAll(overridingAndSystemProperties);
+        Map<String, String> resolvedValues = getReusableResolvedValues(loadedConfiguration.getResolvedProperties(),
+                environmentProperties, deprecatedPropertiesHandler);
+        logPhaseDuration("merging", stopwatch);
 
-        resolveSpelExpressions(properties, true);
+        resolveSpelExpressions(properties, true, resolvedValues.keySet());
 
         PropertyPlaceholderHelper propertyPlaceholderHelper = createPropertyPlaceholderHelper(false);
 
@@ -125,23 +200,125 @@ public final class ConfigurationResolver
         {
             Object value = entry.getValue();
             deprecatedPropertiesHandler.warnIfDeprecated((String) entry.getKey(), value);
-            if (value instanceof String)
+            String resolvedValue = resolvedValues.get(entry.getKey());
+            if (resolvedValue != null)
+            {
+                entry.setValue(resolvedValue);
+            }
+            else if (value instanceof String)
             {
                 entry.setValue(propertyPlaceholderHelper.replacePlaceholders((String) value, properties::getProperty));
             }
         }
         deprecatedPropertiesHandler.removeDeprecated(properties);
-        resolveSpelExpressions(properties, false);
+        resolveSpelExpressions(properties, false, resolvedValues.keySet());
+        if (!resolvedValues.isEmpty())
+        {
+            LOGGER.info("{} of {} property values are reused from the configuration snapshot", resolvedValues.size(),
+                    properties.size());
+        }
+        logPhaseDuration("resolution", stopwatch);
+        return properties;
+    }
 
-        StringEncryptor stringEncryptor = createStringEncryptor(properties);
-        BeanFactory.registerBean("stringEncryptor", StringEncryptor.class, () -> stringEncryptor);
-        PropertiesDecryptor decryptor = new PropertiesDecryptor(stringEncryptor);
-        SystemPropertiesProcessor systemPropertiesProcessor = new SystemPropertiesProcessor(decryptor);
-        systemPropertiesProcessor.process(properties);
-        properties = decryptor.decryptProperties(properties);
+    /**
+     * Resolves the placeholders of the loaded properties merged with the overriding properties only. The values with
+     * SpEL expressions (either own or coming from the dependencies) are evaluated at each run, so they are skipped,
+     * as well as the values with unresolvable placeholders.
+     */
+    private static Map<String, ResolvedProperty> resolveEnvironmentIndependentProperties(
+            LoadedConfiguration loadedConfiguration)
+    {
+        Properties properties = new Properties();
+        properties.putAll(loadedConfiguration.getProperties());
+        Properties overridingProperties = new Properties();
+        overridingProperties.putAll(loadedConfiguration.getOverridingProperties());
+        new DeprecatedPropertiesHandler(loadedConfiguration.getDeprecatedProperties(), PLACEHOLDER_PREFIX,
+                PLACEHOLDER_SUFFIX).replaceDeprecated(overridingProperties, properties);
+        properties.putAll(overridingProperties);
 
-        instance = new ConfigurationResolver(properties);
-        return instance;
+        PropertyPlaceholderHelper propertyPlaceholderHelper = createPropertyPlaceholderHelper(false);
+        Map<String, ResolvedProperty> resolvedProperties = new HashMap<>();
+        for (String name : properties.stringPropertyNames())
+        {
+            Set<String> dependencies = new HashSet<>();
+            try
+            {
+                String value = propertyPlaceholderHelper.replacePlaceholders(properties.getProperty(name),
+                        dependency -> {
+                            dependencies.add(dependency);
+                            return properties.getProperty(dependency);
+                        });
+                if (!value.contains(SPEL_PREFIX) && Stream.concat(Stream.of(name), dependencies.stream())
+                        .map(properties::getProperty)
+                        .noneMatch(v -> v != null && v.contains(SPEL_PREFIX)))
+                {
+                    resolvedProperties.put(name, new ResolvedProperty(value, dependencies));
+                }
+            }
+            catch (IllegalArgumentException e)
+            {
+                // The unresolvable placeholders are either provided by the environment or reported at each run
+            }
+        }
+        return resolvedProperties;
+    }
+
+    /**
+     * Gets the values resolved without the environment which are still valid: neither the property nor any of its
+     * dependencies is set by the environment variables or the system properties (directly or via deprecated name).
+     */
+    private static Map<String, String> getReusableResolvedValues(Map<String, ResolvedProperty> resolvedProperties,
+            Properties environmentProperties, DeprecatedPropertiesHandler deprecatedPropertiesHandler)
+    {
+        if (resolvedProperties.isEmpty())
+        {
+            return Map.of();
+        }
+        Properties replacedDeprecatedProperties = new Properties();
+        deprecatedPropertiesHandler.replaceDeprecated(environmentProperties, replacedDeprecatedProperties);
+        Set<String> environmentPropertyNames = new HashSet<>(environmentProperties.stringPropertyNames());
+        environmentPropertyNames.addAll(replacedDeprecatedProperties.stringPropertyNames());
+
+        Map<String, String> resolvedValues = new HashMap<>();
+        resolvedProperties.forEach((name, resolvedProperty) -> {
+            if (!environmentPropertyNames.contains(name)
+                    && Collections.disjoint(resolvedProperty.getDependencies(), environmentPropertyNames))
+            {
+                resolvedValues.put(name, resolvedProperty.getValue());
+            }
+        });
+        return resolvedValues;
+    }
+
+    private static Optional<ConfigurationSnapshot> createSnapshot(ResourcePatternResolver resourcePatternResolver)
+            throws IOException
+    {
+        String snapshotFile = System.getProperty(SNAPSHOT_FILE_PROPERTY);
+        if (snapshotFile == null)
+        {
+            return Optional.empty();
+        }
+        String[] locations = Stream.concat(
+                Stream.of(PROPERTIES_LOCATION, OVERRIDING_PROPERTIES_LOCATION),
+                Stream.of(DEFAULTS_PATHS).map(p -> CLASSPATH_ALL_URL_PREFIX + p + "/defaults.properties")
+        ).toArray(String[]::new);
+        // The system properties selecting the configuration are the only ones used at the loading of the properties
+        List<String> systemPropertyNames = Stream.of(PROFILES, ENVIRONMENTS, SUITES)
+                .flatMap(key -> Stream.of(
+                        VIVIDUS_SYSTEM_PROPERTY_FAMILY + CONFIGURATION_PROPERTY_FAMILY + key,
+                        VIVIDUS_SYSTEM_PROPERTY_FAMILY + key,
+                        CONFIGURATION_PROPERTY_FAMILY + key,
+                        key))
+                .collect(Collectors.toList());
+        return Optional.of(ConfigurationSnapshot.create(Paths.get(snapshotFile), resourcePatternResolver,
+                systemPropertyNames, locations));
+    }
+
+    private static void logPhaseDuration(String phase, Stopwatch stopwatch)
+    {
+        LOGGER.info("Configuration {} took {} ms", phase, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        stopwatch.reset().start();
     }
 
     private static StringEncryptor createStringEncryptor(Properties properties)
@@ -240,7 +417,8 @@ public final class ConfigurationResolver
         return value;
     }
 
-    private static void resolveSpelExpressions(Properties properties, boolean ignoreValuesWithPropertyPlaceholders)
+    private static void resolveSpelExpressions(Properties properties, boolean ignoreValuesWithPropertyPlaceholders,
+            Set<String> resolvedPropertyNames)
     {
         Optional<Set<String>> propertyPlaceholders = ignoreValuesWithPropertyPlaceholders
                 ? Optional.of(properties.stringPropertyNames().stream()
@@ -251,7 +429,7 @@ public final class ConfigurationResolver
         for (Entry<Object, Object> entry : properties.entrySet())
         {
             Object value = entry.getValue();
-            if (value instanceof String)
+            if (value instanceof String && !resolvedPropertyNames.contains(entry.getKey()))
             {
                 String strValue = (String) value;
                 if (propertyPlaceholders.stream().flatMap(Set::stream).noneMatch(strValue::contains))
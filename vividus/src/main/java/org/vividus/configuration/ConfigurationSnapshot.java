@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.vividus.configuration.LoadedConfiguration.ResolvedProperty;
+
+/**
+ * Snapshot of the properties loaded from the property files stored between the runs. The snapshot is keyed by the
+ * fingerprint of the configuration inputs used at the loading: the property files (the location, the size and the
+ * last modification time of the files, the contents of the jar entries) and the system properties selecting the
+ * configuration, so the snapshot is used only if none of them has changed since the snapshot was saved. Besides the
+ * loaded properties, the snapshot stores the property values resolved without the environment along with the names
+ * of the properties they depend on: such values are reused only if neither the property nor any of its dependencies
+ * is set by the environment variables or the system properties at the current run. No values coming from the
+ * environment (e.g. secrets) are written to the snapshot.
+ */
+final class ConfigurationSnapshot
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationSnapshot.class);
+
+    private static final String FORMAT_VERSION = "3";
+    private static final String INPUTS_HASH = "inputs-hash";
+    private static final String PROPERTIES = "properties.";
+    private static final String OVERRIDING_PROPERTIES = "overriding-properties.";
+    private static final String DEPRECATED_PROPERTIES = "deprecated-properties.";
+    private static final String RESOLVED_PROPERTIES = "resolved-properties.";
+    private static final String RESOLVED_PROPERTY_DEPENDENCIES = "resolved-property-dependencies.";
+    private static final char DEPENDENCIES_SEPARATOR = ',';
+
+    private static final Splitter DEPENDENCIES_SPLITTER = Splitter.on(DEPENDENCIES_SEPARATOR).omitEmptyStrings();
+
+    private final Path file;
+    private final String inputsHash;
+
+    ConfigurationSnapshot(Path file, String inputsHash)
+    {
+        this.file = file;
+        this.inputsHash = inputsHash;
+    }
+
+    static ConfigurationSnapshot create(Path file, ResourcePatternResolver resourcePatternResolver,
+            Collection<String> systemPropertyNames, String... resourceLocations) throws IOException
+    {
+        Hasher hasher = Hashing.sha256().newHasher().putString(FORMAT_VERSION, StandardCharsets.UTF_8);
+        for (String resourceLocation : resourceLocations)
+        {
+            Resource[] resources = resourcePatternResolver.getResources(resourceLocation);
+            Arrays.sort(resources, Comparator.comparing(Resource::getDescription));
+            for (Resource resource : resources)
+            {
+                if (resource.exists())
+                {
+                    hasher.putString(resource.getDescription(), StandardCharsets.UTF_8).putByte((byte) 0);
+                    if (resource.isFile())
+                    {
+                        hasher.putLong(resource.contentLength()).putLong(resource.lastModified());
+                    }
+                    else
+                    {
+                        // The jar entries have no reliable modification time, so their contents are hashed
+                        try (InputStream inputStream = resource.getInputStream())
+                        {
+                            hasher.putBytes(inputStream.readAllBytes());
+                        }
+                    }
+                }
+            }
+        }
+        for (String systemPropertyName : new TreeSet<>(systemPropertyNames))
+        {
+            String value = System.getProperty(systemPropertyName);
+            if (value != null)
+            {
+                hasher.putString(systemPropertyName, StandardCharsets.UTF_8).putByte((byte) 0)
+                        .putString(value, StandardCharsets.UTF_8).putByte((byte) 0);
+            }
+        }
+        return new ConfigurationSnapshot(file, hasher.hash().toString());
+    }
+
+    /**
+     * Loads the snapshot if it exists and its inputs hash matches the current one
+     * @return the loaded configuration or empty optional if the snapshot can't be used
+     */
+    Optional<LoadedConfiguration> load()
+    {
+        Properties snapshot = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8))
+        {
+            snapshot.load(reader);
+        }
+        catch (NoSuchFileException e)
+        {
+            return Optional.empty();
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            LOGGER.warn("Unable to load configuration snapshot from {}", file, e);
+            return Optional.empty();
+        }
+        if (!inputsHash.equals(snapshot.getProperty(INPUTS_HASH)))
+        {
+            LOGGER.info("Configuration inputs have changed since the snapshot {} was saved", file);
+            return Optional.empty();
+        }
+        Properties resolvedDependencies = getSection(snapshot, RESOLVED_PROPERTY_DEPENDENCIES);
+        Map<String, ResolvedProperty> resolvedProperties = new HashMap<>();
+        getSection(snapshot, RESOLVED_PROPERTIES).forEach((name, value) -> resolvedProperties.put((String) name,
+                new ResolvedProperty((String) value, Set.copyOf(DEPENDENCIES_SPLITTER.splitToList(
+                        resolvedDependencies.getProperty((String) name, ""))))));
+        LoadedConfiguration configuration = new LoadedConfiguration(getSection(snapshot, PROPERTIES),
+                getSection(snapshot, OVERRIDING_PROPERTIES), getSection(snapshot, DEPRECATED_PROPERTIES),
+                resolvedProperties);
+        LOGGER.info("Configuration is loaded from the snapshot {}", file);
+        return Optional.of(configuration);
+    }
+
+    private static Properties getSection(Properties snapshot, String prefix)
+    {
+        Properties section = new Properties();
+        snapshot.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(prefix))
+                .forEach(name -> section.setProperty(StringUtils.removeStart(name, prefix),
+                        snapshot.getProperty(name)));
+        return section;
+    }
+
+    /**
+     * Saves the snapshot, the file is readable only by its owner if the file system supports POSIX permissions
+     * @param configuration the configuration loaded from the property files along with the values resolved without
+     *                      the environment
+     */
+    void save(LoadedConfiguration configuration)
+    {
+        Properties snapshot = new Properties();
+        snapshot.setProperty(INPUTS_HASH, inputsHash);
+        putSection(snapshot, PROPERTIES, configuration.getProperties());
+        putSection(snapshot, OVERRIDING_PROPERTIES, configuration.getOverridingProperties());
+        putSection(snapshot, DEPRECATED_PROPERTIES, configuration.getDeprecatedProperties());
+        configuration.getResolvedProperties().forEach((name, resolvedProperty) -> {
+            Set<String> dependencies = resolvedProperty.getDependencies();
+            // The values depending on the properties with the separator in the name are not reused
+            if (dependencies.stream().noneMatch(d -> d.indexOf(DEPENDENCIES_SEPARATOR) >= 0))
+            {
+                snapshot.setProperty(RESOLVED_PROPERTIES + name, resolvedProperty.getValue());
+                if (!dependencies.isEmpty())
+                {
+                    snapshot.setProperty(RESOLVED_PROPERTY_DEPENDENCIES + name,
+                            Joiner.on(DEPENDENCIES_SEPARATOR).join(new TreeSet<>(dependencies)));
+                }
+            }
+        });
+        try
+        {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try
+            {
+                if (Files.getFileStore(tempFile).supportsFileAttributeView("posix"))
+                {
+                    Files.setPosixFilePermissions(tempFile,
+                            Set.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE));
+                }
+                try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8))
+                {
+                    snapshot.store(writer, null);
+                }
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                LOGGER.info("Configuration snapshot is saved to {}", file);
+            }
+            finally
+            {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Unable to save configuration snapshot to {}", file, e);
+        }
+    }
+
+    private static void putSection(Properties snapshot, String prefix, Properties section)
+    {
+        section.stringPropertyNames().forEach(name -> snapshot.setProperty(prefix + name, section.getProperty(name)));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.configuration;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Properties loaded from the property files before merging with the environment variables and the system properties
+ * and before the resolution of placeholders and SpEL expressions, optionally along with the property values resolved
+ * without the environment.
+ */
+final class LoadedConfiguration
+{
+    private final Properties properties;
+    private final Properties overridingProperties;
+    private final Properties deprecatedProperties;
+    private final Map<String, ResolvedProperty> resolvedProperties;
+
+    LoadedConfiguration(Properties properties, Properties overridingProperties, Properties deprecatedProperties)
+    {
+        this(properties, overridingProperties, deprecatedProperties, Map.of());
+    }
+
+    LoadedConfiguration(Properties properties, Properties overridingProperties, Properties deprecatedProperties,
+            Map<String, ResolvedProperty> resolvedProperties)
+    {
+        this.properties = properties;
+        this.overridingProperties = overridingProperties;
+        this.deprecatedProperties = deprecatedProperties;
+        this.resolvedProperties = resolvedProperties;
+    }
+
+    Properties getProperties()
+    {
+        return properties;
+    }
+
+    Properties getOverridingProperties()
+    {
+        return overridingProperties;
+    }
+
+    Properties getDeprecatedProperties()
+    {
+        return deprecatedProperties;
+    }
+
+    Map<String, ResolvedProperty> getResolvedProperties()
+    {
+        return resolvedProperties;
+    }
+
+    /**
+     * Property value resolved without the environment and the names of the properties used at its resolution
+     */
+    static final class ResolvedProperty
+    {
+        private final String value;
+        private final Set<String> dependencies;
+
+        ResolvedProperty(String value, Set<String> dependencies)
+        {
+            this.value = value;
+            this.dependencies = dependencies;
+        }
+
+        String getValue()
+        {
+            return value;
+        }
+
+        Set<String> getDependencies()
+        {
+            return dependencies;
+        }
+    }
+}
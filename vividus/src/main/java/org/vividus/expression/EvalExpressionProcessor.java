@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,9 @@ import java.util.regex.Pattern;
 
 import javax.inject.Named;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.apache.commons.jexl3.JexlBuilder;
 import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlScript;
@@ -39,9 +42,13 @@ public class EvalExpressionProcessor extends AbstractExpressionProcessor<String>
     private static final int EVAL_GROUP = 1;
     private static final Map<String, Object> NAMESPACES = Map.of("math", Math.class, "stringUtils", StringUtils.class,
             "wordUtils", WordUtils.class);
+    private static final int MAX_CACHED_SCRIPTS = 1000;
 
     private final JexlEngine jexlEngine = new JexlBuilder().charset(StandardCharsets.UTF_8).namespaces(NAMESPACES)
             .create();
+    private final Cache<String, JexlScript> jexlScripts = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_SCRIPTS)
+            .build();
 
     private final VariableContext variableContext;
 
@@ -55,7 +62,13 @@ public class EvalExpressionProcessor extends AbstractExpressionProcessor<String>
     protected String evaluateExpression(Matcher expressionMatcher)
     {
         String expressionToEvaluate = expressionMatcher.group(EVAL_GROUP);
-        JexlScript jexlScript = jexlEngine.createScript(expressionToEvaluate);
+        // Parsed scripts are immutable and thread-safe, so the same expression is parsed only once
+        JexlScript jexlScript = jexlScripts.getIfPresent(expressionToEvaluate);
+        if (jexlScript == null)
+        {
+            jexlScript = jexlEngine.createScript(expressionToEvaluate);
+            jexlScripts.put(expressionToEvaluate, jexlScript);
+        }
         return String.valueOf(jexlScript.execute(new JexlVariableContext(variableContext)));
     }
 
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.freemarker;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import freemarker.cache.CacheStorageWithGetSize;
+import freemarker.cache.ConcurrentCacheStorage;
+import freemarker.cache.SoftCacheStorage;
+
+/**
+ * Template cache storage collecting the statistics of the cache hits and misses, the cached templates are kept in
+ * {@link SoftCacheStorage} which is the default storage of FreeMarker configuration.
+ */
+public class StatisticsCollectingCacheStorage implements ConcurrentCacheStorage, CacheStorageWithGetSize
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsCollectingCacheStorage.class);
+
+    private final SoftCacheStorage cacheStorage = new SoftCacheStorage();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    @Override
+    public Object get(Object key)
+    {
+        Object value = cacheStorage.get(key);
+        (value != null ? hitCount : missCount).increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value)
+    {
+        cacheStorage.put(key, value);
+    }
+
+    @Override
+    public void remove(Object key)
+    {
+        cacheStorage.remove(key);
+    }
+
+    @Override
+    public void clear()
+    {
+        cacheStorage.clear();
+    }
+
+    @Override
+    public int getSize()
+    {
+        return cacheStorage.getSize();
+    }
+
+    @Override
+    public boolean isConcurrent()
+    {
+        return cacheStorage.isConcurrent();
+    }
+
+    public long getHitCount()
+    {
+        return hitCount.sum();
+    }
+
+    public long getMissCount()
+    {
+        return missCount.sum();
+    }
+
+    public void destroy()
+    {
+        LOGGER.info("Template cache statistics: {} hits, {} misses, {} cached templates", getHitCount(),
+                getMissCount(), getSize());
+    }
+}
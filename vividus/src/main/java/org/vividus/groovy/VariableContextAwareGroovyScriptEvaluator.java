@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,39 @@
 
 package org.vividus.groovy;
 
+import java.io.IOException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.springframework.scripting.ScriptCompilationException;
 import org.springframework.scripting.ScriptSource;
 import org.springframework.scripting.groovy.GroovyScriptEvaluator;
+import org.springframework.util.ClassUtils;
 import org.vividus.context.VariableContext;
 
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyRuntimeException;
+import groovy.lang.MissingPropertyException;
+import groovy.lang.Script;
+
+/**
+ * Evaluates Groovy scripts with access to the variables from {@link VariableContext}. The compiled script classes are
+ * cached by the script text, so the same script is parsed and compiled only once. Each script class is defined by its
+ * own class loader, thus the classes evicted from the bounded cache can be unloaded.
+ */
 public class VariableContextAwareGroovyScriptEvaluator extends GroovyScriptEvaluator
 {
+    private static final int MAX_CACHED_SCRIPT_CLASSES = 1000;
+
     private final VariableContext variableContext;
+    private final Cache<String, Class<?>> scriptClasses = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_SCRIPT_CLASSES)
+            .removalListener((RemovalNotification<String, Class<?>> n) -> InvokerHelper.removeClass(n.getValue()))
+            .build();
 
     public VariableContextAwareGroovyScriptEvaluator(VariableContext variableContext)
     {
@@ -32,6 +58,73 @@ public class VariableContextAwareGroovyScriptEvaluator extends GroovyScriptEvalu
     @Override
     public Object evaluate(ScriptSource script)
     {
-        return evaluate(script, variableContext.getVariables());
+        try
+        {
+            String scriptText = script.getScriptAsString();
+            Class<?> scriptClass = scriptClasses.getIfPresent(scriptText);
+            if (scriptClass == null)
+            {
+                scriptClass = compile(scriptText);
+                scriptClasses.put(scriptText, scriptClass);
+            }
+            Script groovyScript = InvokerHelper.createScript(scriptClass, new VariableContextBinding(variableContext));
+            return groovyScript.run();
+        }
+        catch (IOException e)
+        {
+            throw new ScriptCompilationException(script, "Cannot access Groovy script", e);
+        }
+        catch (GroovyRuntimeException e)
+        {
+            throw new ScriptCompilationException(script, e);
+        }
+    }
+
+    private static Class<?> compile(String scriptText) throws IOException
+    {
+        try (GroovyClassLoader groovyClassLoader = new GroovyClassLoader(ClassUtils.getDefaultClassLoader()))
+        {
+            return groovyClassLoader.parseClass(scriptText);
+        }
+    }
+
+    long getCachedScriptClassesCount()
+    {
+        return scriptClasses.size();
+    }
+
+    /**
+     * The binding resolving the scoped variables from {@link VariableContext} on demand instead of copying all the
+     * variables for each script evaluation, the variables set by the script itself are kept in the binding.
+     */
+    private static final class VariableContextBinding extends Binding
+    {
+        private final VariableContext variableContext;
+
+        private VariableContextBinding(VariableContext variableContext)
+        {
+            this.variableContext = variableContext;
+        }
+
+        @Override
+        public Object getVariable(String name)
+        {
+            if (super.hasVariable(name))
+            {
+                return super.getVariable(name);
+            }
+            Object variable = variableContext.getScopedVariable(name);
+            if (variable == null)
+            {
+                throw new MissingPropertyException(name, getClass());
+            }
+            return variable;
+        }
+
+        @Override
+        public boolean hasVariable(String name)
+        {
+            return super.hasVariable(name) || variableContext.getScopedVariable(name) != null;
+        }
     }
 }
@@ -27,6 +27,8 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -66,7 +68,7 @@ public class CollectingStatisticsStoryReporter extends AbstractReportControlStor
     private final AtomicReference<Optional<Status>> status = new AtomicReference<>(Optional.empty());
     private final AtomicBoolean recordStatus = new AtomicBoolean(true);
     private final Map<ExecutableEntity, Statistic> statistics = new EnumMap<>(ExecutableEntity.class);
-    private final Optional<List<Failure>> failures;
+    private final Optional<Queue<Failure>> failures;
     private final Stopwatch stopwatch;
 
     private final Map<Status, Consumer<Statistic>> mapper = Map.of(
@@ -92,7 +94,7 @@ public class CollectingStatisticsStoryReporter extends AbstractReportControlStor
         this.jsonUtils = jsonUtils;
         this.statisticsFolder = statisticsFolder;
         Stream.of(ExecutableEntity.values()).forEach(t -> statistics.put(t, new Statistic()));
-        failures = collectFailures ? Optional.of(new ArrayList<>()) : Optional.empty();
+        failures = collectFailures ? Optional.of(new ConcurrentLinkedQueue<>()) : Optional.empty();
         stopwatch = Stopwatch.createUnstarted();
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -36,14 +37,23 @@ import org.vividus.util.freemarker.FreemarkerProcessor;
 import org.vividus.variable.VariableScope;
 
 import freemarker.template.Configuration;
+import freemarker.template.ObjectWrapper;
+import freemarker.template.SimpleHash;
+import freemarker.template.TemplateCollectionModel;
 import freemarker.template.TemplateException;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateHashModelEx;
 import freemarker.template.TemplateMethodModelEx;
+import freemarker.template.TemplateModel;
 import freemarker.template.TemplateModelException;
 
 public class FreemarkerSteps
 {
+    private static final String PARAMETERS = "parameters";
+
     private final VariableContext variableContext;
     private final FreemarkerProcessor freemarkerProcessor;
+    private final ObjectWrapper objectWrapper;
 
     private final boolean resolveVariables;
 
@@ -52,6 +62,7 @@ public class FreemarkerSteps
     {
         this.variableContext = variableContext;
         this.freemarkerProcessor = new FreemarkerProcessor(configuration);
+        this.objectWrapper = configuration.getObjectWrapper();
         configuration.setSharedVariable("execVividusExpression",
                 new FreemarkerVividusExpressionProcessor(expressionAdaptor));
         this.resolveVariables = resolveVariables;
@@ -101,11 +112,6 @@ public class FreemarkerSteps
     public void initVariableUsingTemplate(Set<VariableScope> scopes, String variableName, String templatePath,
             List<Map<String, String>> templateParameters) throws IOException, TemplateException
     {
-        Map<String, Object> dataModel = new HashMap<>();
-        if (resolveVariables)
-        {
-            dataModel.putAll(variableContext.getVariables());
-        }
         Map<String, List<String>> inputModel = templateParameters.stream()
                 .map(Map::entrySet)
                 .flatMap(Set::stream)
@@ -113,17 +119,83 @@ public class FreemarkerSteps
                         mapping(Entry::getValue, toCollection(ArrayList::new)))
                 );
 
-        dataModel.putAll(inputModel);
+        TemplateDataModel dataModel = new TemplateDataModel(inputModel);
+        TemplateHashModel parameters = dataModel.getValue(PARAMETERS).isPresent()
+                ? new SimpleHash(Map.of(PARAMETERS, dataModel), objectWrapper)
+                : dataModel;
+        String value = freemarkerProcessor.process(templatePath, parameters, StandardCharsets.UTF_8);
+        variableContext.putVariable(scopes, variableName, value);
+    }
+
+    /**
+     * The data model resolving the variables from {@link VariableContext} only when they are referred by the template,
+     * the template parameters take precedence over the variables. If neither the parameters nor the variables contain
+     * the entry with name <code>parameters</code>, the data model is exposed under this name too.
+     */
+    private final class TemplateDataModel implements TemplateHashModelEx
+    {
+        private final Map<String, List<String>> inputModel;
 
-        Map<String, Object> parameters = new HashMap<>();
-        String parametersKey = "parameters";
-        parameters.put(parametersKey, dataModel);
-        if (!dataModel.containsKey(parametersKey))
+        private TemplateDataModel(Map<String, List<String>> inputModel)
         {
-            parameters.putAll(dataModel);
+            this.inputModel = inputModel;
+        }
+
+        private Optional<Object> getValue(String key)
+        {
+            if (inputModel.containsKey(key))
+            {
+                return Optional.of(inputModel.get(key));
+            }
+            return resolveVariables ? Optional.ofNullable(variableContext.getScopedVariable(key)) : Optional.empty();
+        }
+
+        @Override
+        public TemplateModel get(String key) throws TemplateModelException
+        {
+            Optional<Object> value = getValue(key);
+            if (value.isEmpty() && PARAMETERS.equals(key))
+            {
+                return this;
+            }
+            return objectWrapper.wrap(value.orElse(null));
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return false;
+        }
+
+        @Override
+        public int size() throws TemplateModelException
+        {
+            return asHash().size();
+        }
+
+        @Override
+        public TemplateCollectionModel keys() throws TemplateModelException
+        {
+            return asHash().keys();
+        }
+
+        @Override
+        public TemplateCollectionModel values() throws TemplateModelException
+        {
+            return asHash().values();
+        }
+
+        private TemplateHashModelEx asHash()
+        {
+            Map<String, Object> dataModel = new HashMap<>();
+            if (resolveVariables)
+            {
+                dataModel.putAll(variableContext.getVariables());
+            }
+            dataModel.putAll(inputModel);
+            dataModel.putIfAbsent(PARAMETERS, this);
+            return new SimpleHash(dataModel, objectWrapper);
         }
-        String value = freemarkerProcessor.process(templatePath, parameters, StandardCharsets.UTF_8);
-        variableContext.putVariable(scopes, variableName, value);
     }
 
     private static final class FreemarkerVividusExpressionProcessor implements TemplateMethodModelEx
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,6 @@ import static org.apache.commons.lang3.Validate.isTrue;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,9 +44,4 @@ public abstract class AbstractFilteringTableTransformer implements ExtendedTable
         filtered.retainAll(selectedColumnNames);
         return filtered;
     }
-
-    protected void filterRowsByColumnNames(List<Map<String, String>> rows, List<String> columnNames)
-    {
-        rows.forEach(row -> row.keySet().retainAll(columnNames));
-    }
 }
@@ -18,24 +18,27 @@ package org.vividus.transformer;
 
 import static org.apache.commons.lang3.Validate.isTrue;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 
 import org.jbehave.core.model.ExamplesTable;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.TableParsers;
 
+/**
+ * Builds the cartesian product of the tables. The resulting table is written row by row directly into the output
+ * buffer of the precalculated size, the rows of the input tables are rendered only once and no intermediate tables
+ * are created.
+ */
 public class CartesianProductTableTransformer extends AbstractTableLoadingTransformer
 {
+    private static final String SEPARATOR = "|";
+    private static final char NEW_LINE = '\n';
+    private static final long MAX_TABLE_LENGTH = Integer.MAX_VALUE - 8;
+
     public CartesianProductTableTransformer()
     {
         super(true);
@@ -60,39 +63,81 @@ public class CartesianProductTableTransformer extends AbstractTableLoadingTransf
         isTrue(repeatingKeys.isEmpty(), "Tables must contain different keys, but found the same keys: %s",
                 repeatingKeys);
 
-        return tables.stream()
-                     .reduce(CartesianProductTableTransformer::cartesianProduct)
-                     .map(ExamplesTable::asString)
-                     .get();
+        StringBuilder headers = new StringBuilder();
+        tables.stream().map(ExamplesTable::getHeaders).flatMap(List::stream).forEach(
+                header -> headers.append(SEPARATOR).append(header));
+        headers.append(SEPARATOR).append(NEW_LINE);
+
+        List<List<String>> rowsPerTable = tables.stream()
+                                                .map(CartesianProductTableTransformer::renderRows)
+                                                .collect(Collectors.toList());
+        if (rowsPerTable.stream().anyMatch(List::isEmpty))
+        {
+            return headers.toString();
+        }
+        long tableLength = calculateTableLength(tables, rowsPerTable);
+        isTrue(tableLength <= MAX_TABLE_LENGTH,
+                "The cartesian product of the tables is too large to be represented as ExamplesTable: %s rows",
+                tables.stream().map(t -> String.valueOf(t.getRowCount())).collect(Collectors.joining(" x ")));
+
+        StringBuilder product = new StringBuilder((int) tableLength).append(headers);
+
+        int[] rowIndices = new int[rowsPerTable.size()];
+        boolean hasNext = true;
+        while (hasNext)
+        {
+            for (int tableIndex = 0; tableIndex < rowIndices.length; tableIndex++)
+            {
+                product.append(rowsPerTable.get(tableIndex).get(rowIndices[tableIndex]));
+            }
+            product.append(SEPARATOR).append(NEW_LINE);
+            hasNext = nextCombination(rowIndices, rowsPerTable);
+        }
+        return product.toString();
+    }
+
+    /**
+     * Moves the row indices to the next combination, the rows of the last table are changed most frequently
+     * @return <code>false</code> if all combinations are passed, otherwise <code>true</code>
+     */
+    private static boolean nextCombination(int[] rowIndices, List<List<String>> rowsPerTable)
+    {
+        for (int tableIndex = rowIndices.length - 1; tableIndex >= 0; tableIndex--)
+        {
+            if (++rowIndices[tableIndex] < rowsPerTable.get(tableIndex).size())
+            {
+                return true;
+            }
+            rowIndices[tableIndex] = 0;
+        }
+        return false;
     }
 
-    private static ExamplesTable cartesianProduct(ExamplesTable left, ExamplesTable right)
+    private static long calculateTableLength(List<ExamplesTable> tables, List<List<String>> rowsPerTable)
     {
-        List<String> headers = new ArrayList<>(left.getHeaders());
-        headers.addAll(right.getHeaders());
-
-        int counter = headers.size();
-        List<Map<String, String>> examplesTableRows = new ArrayList<>(left.getRowCount() * right.getRowCount());
-
-        Lists.cartesianProduct(List.of(getRows(left), getRows(right)))
-             .stream()
-             .map(Iterables::concat)
-             .map(Lists::newArrayList)
-             .forEach(row ->
-             {
-                 Map<String, String> tableRow = new LinkedHashMap<>(counter);
-                 IntStream.range(0, counter).forEach(index -> tableRow.put(headers.get(index), row.get(index)));
-                 examplesTableRows.add(tableRow);
-             });
-
-        return ExamplesTable.empty().withRows(examplesTableRows);
+        try
+        {
+            long rowCount = rowsPerTable.stream().mapToLong(List::size).reduce(1, Math::multiplyExact);
+            long length = tables.stream().map(ExamplesTable::getHeaders).flatMap(List::stream)
+                    .mapToLong(header -> header.length() + 1L).sum() + 2;
+            for (List<String> rows : rowsPerTable)
+            {
+                long rowsLength = rows.stream().mapToLong(String::length).sum();
+                length = Math.addExact(length, Math.multiplyExact(rowsLength, rowCount / rows.size()));
+            }
+            return Math.addExact(length, Math.multiplyExact(rowCount, 2));
+        }
+        catch (ArithmeticException e)
+        {
+            return Long.MAX_VALUE;
+        }
     }
 
-    private static List<List<String>> getRows(ExamplesTable table)
+    private static List<String> renderRows(ExamplesTable table)
     {
         return table.getRows().stream()
                               .map(Map::values)
-                              .map(ArrayList::new)
+                              .map(row -> row.stream().map(SEPARATOR::concat).collect(Collectors.joining()))
                               .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+
+/**
+ * Column-oriented representation of ExamplesTable: the header index and the array of cell values per column. The
+ * column arrays are shared between the tables produced by the column selection, the row operations (sorting,
+ * filtering, distinct) are performed over the row indices and copy the cells only once.
+ */
+final class ColumnarTable
+{
+    private final List<String> headers;
+    private final Map<String, Integer> headerIndex;
+    private final String[][] columns;
+    private final int rowCount;
+
+    private ColumnarTable(List<String> headers, String[][] columns, int rowCount)
+    {
+        this.headers = headers;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.headerIndex = new HashMap<>(headers.size() * 2);
+        for (int i = 0; i < headers.size(); i++)
+        {
+            headerIndex.putIfAbsent(headers.get(i), i);
+        }
+    }
+
+    static ColumnarTable of(List<String> headers, List<Map<String, String>> rows)
+    {
+        int rowCount = rows.size();
+        String[][] columns = new String[headers.size()][rowCount];
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++)
+        {
+            Map<String, String> row = rows.get(rowIndex);
+            for (int columnIndex = 0; columnIndex < columns.length; columnIndex++)
+            {
+                columns[columnIndex][rowIndex] = row.get(headers.get(columnIndex));
+            }
+        }
+        return new ColumnarTable(List.copyOf(headers), columns, rowCount);
+    }
+
+    List<String> getHeaders()
+    {
+        return headers;
+    }
+
+    int getRowCount()
+    {
+        return rowCount;
+    }
+
+    boolean hasColumn(String header)
+    {
+        return headerIndex.containsKey(header);
+    }
+
+    /**
+     * Gets the cells of the column, the returned array must not be modified
+     * @param header the column header
+     * @return the column cells or <code>null</code> if there is no column with the header
+     */
+    String[] getColumn(String header)
+    {
+        Integer columnIndex = headerIndex.get(header);
+        return columnIndex != null ? columns[columnIndex] : null;
+    }
+
+    ColumnarTable selectColumns(List<String> selectedHeaders)
+    {
+        String[][] selectedColumns = selectedHeaders.stream().map(this::getColumn).toArray(String[][]::new);
+        return new ColumnarTable(List.copyOf(selectedHeaders), selectedColumns, rowCount);
+    }
+
+    ColumnarTable selectRows(int... rowIndices)
+    {
+        String[][] selectedColumns = new String[columns.length][];
+        for (int columnIndex = 0; columnIndex < columns.length; columnIndex++)
+        {
+            String[] column = columns[columnIndex];
+            String[] selectedColumn = new String[rowIndices.length];
+            for (int i = 0; i < rowIndices.length; i++)
+            {
+                selectedColumn[i] = column[rowIndices[i]];
+            }
+            selectedColumns[columnIndex] = selectedColumn;
+        }
+        return new ColumnarTable(headers, selectedColumns, rowIndices.length);
+    }
+
+    ColumnarTable filterRows(IntPredicate rowFilter)
+    {
+        int[] rowIndices = new int[rowCount];
+        int filteredRowCount = 0;
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++)
+        {
+            if (rowFilter.test(rowIndex))
+            {
+                rowIndices[filteredRowCount++] = rowIndex;
+            }
+        }
+        return filteredRowCount == rowCount ? this : selectRows(Arrays.copyOf(rowIndices, filteredRowCount));
+    }
+
+    /**
+     * Sorts the rows by the values of the columns in the natural order of the strings, the columns missing in the
+     * table are ignored, the sorting is stable
+     * @param sortingHeaders the headers of the columns to sort by, in the order of priority
+     * @return the sorted table
+     */
+    ColumnarTable sortRows(Collection<String> sortingHeaders)
+    {
+        String[][] sortingColumns = sortingHeaders.stream().map(this::getColumn).filter(Objects::nonNull)
+                .toArray(String[][]::new);
+        Comparator<Integer> comparator = (r1, r2) -> {
+            int result = 0;
+            for (int i = 0; result == 0 && i < sortingColumns.length; i++)
+            {
+                result = sortingColumns[i][r1].compareTo(sortingColumns[i][r2]);
+            }
+            return result;
+        };
+        Integer[] rowIndices = new Integer[rowCount];
+        Arrays.setAll(rowIndices, i -> i);
+        Arrays.sort(rowIndices, comparator);
+        return selectRows(Arrays.stream(rowIndices).mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Removes the duplicate rows, the first occurrence of each row is kept
+     * @return the table with unique rows
+     */
+    ColumnarTable distinctRows()
+    {
+        Set<List<String>> uniqueRows = new HashSet<>();
+        return filterRows(rowIndex -> uniqueRows.add(getRow(rowIndex)));
+    }
+
+    private List<String> getRow(int rowIndex)
+    {
+        List<String> row = new ArrayList<>(columns.length);
+        for (String[] column : columns)
+        {
+            row.add(column[rowIndex]);
+        }
+        return row;
+    }
+
+    /**
+     * Renders the table using the separators from the table properties, the table properties themselves are not
+     * rendered
+     * @param properties the table properties
+     * @return ExamplesTable as string
+     */
+    String toExamplesTable(TableProperties properties)
+    {
+        String headerSeparator = properties.getHeaderSeparator();
+        String valueSeparator = properties.getValueSeparator();
+        String rowSeparator = properties.getRowSeparator();
+
+        long length = headerSeparator.length() * (headers.size() + 1L)
+                + (rowSeparator.length() + valueSeparator.length() * (columns.length + 1L)) * rowCount;
+        for (String header : headers)
+        {
+            length += header.length();
+        }
+        for (String[] column : columns)
+        {
+            for (String cell : column)
+            {
+                length += String.valueOf(cell).length();
+            }
+        }
+
+        StringBuilder table = new StringBuilder((int) Math.min(length, Integer.MAX_VALUE - 8));
+        headers.forEach(header -> table.append(headerSeparator).append(header));
+        table.append(headerSeparator);
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++)
+        {
+            table.append(rowSeparator);
+            for (String[] column : columns)
+            {
+                table.append(valueSeparator).append(column[rowIndex]);
+            }
+            table.append(valueSeparator);
+        }
+        return table.toString();
+    }
+}
@@ -16,18 +16,11 @@
 
 package org.vividus.transformer;
 
-import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
 public class DistinctingTableTransformer extends AbstractFilteringTableTransformer
 {
@@ -37,13 +30,9 @@ public class DistinctingTableTransformer extends AbstractFilteringTableTransform
         String byColumnNames = tableProperties.getMandatoryNonBlankProperty(BY_COLUMNS_NAMES_PROPERTY, String.class);
         TableRows tableRows = tableParsers.parseRows(tableAsString, tableProperties);
         List<String> filteredColumnNames = filterColumnNames(tableRows.getHeaders(), byColumnNames);
-        List<Map<String, String>> rows = tableRows.getRows();
-        filterRowsByColumnNames(rows, filteredColumnNames);
-
-        Collection<Map<String, String>> distinctRows = rows.stream().collect(
-                Collectors.toMap(row -> Objects.hash(row.values().toArray()), Function.identity(), (v1, v2) -> v1,
-                        LinkedHashMap::new)).values();
-
-        return ExamplesTableProcessor.buildExamplesTable(filteredColumnNames, distinctRows, tableProperties);
+        return ColumnarTable.of(tableRows.getHeaders(), tableRows.getRows())
+                .selectColumns(filteredColumnNames)
+                .distinctRows()
+                .toExamplesTable(tableProperties);
     }
 }
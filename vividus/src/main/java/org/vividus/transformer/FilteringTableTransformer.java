@@ -23,6 +23,7 @@ import static org.apache.commons.lang3.Validate.isTrue;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
@@ -30,13 +31,13 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
 public class FilteringTableTransformer extends AbstractFilteringTableTransformer
 {
@@ -77,8 +78,8 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                     BY_MAX_COLUMNS_PROPERTY, BY_COLUMNS_NAMES_PROPERTY, BY_MAX_ROWS_PROPERTY, BY_ROW_INDEXES_PROPERTY,
                     BY_RANDOM_ROWS_PROPERTY);
 
-            return ExamplesTableProcessor.buildExamplesTable(tableRows.getHeaders(),
-                    filterRows(columnFilters, tableRows.getRows(), properties), tableProperties);
+            return filterRows(columnFilters, ColumnarTable.of(tableRows.getHeaders(), tableRows.getRows()), properties)
+                    .toExamplesTable(tableProperties);
         }
 
         isTrue(anyNull(byMaxColumns, byColumnNames), CONFLICTING_PROPERTIES_MESSAGE,
@@ -94,41 +95,38 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 BY_RANDOM_ROWS_PROPERTY, BY_MAX_ROWS_PROPERTY);
 
         List<String> filteredColumnNames = filterColumnNames(byMaxColumns, byColumnNames, tableRows.getHeaders());
-        List<Map<String, String>> filteredRows = filterRows(byMaxRows, byRowIndexes, byRandomRows, tableRows.getRows());
-        filterRowsByColumnNames(filteredRows, filteredColumnNames);
-
-        return ExamplesTableProcessor.buildExamplesTable(filteredColumnNames, filteredRows, tableProperties);
+        ColumnarTable table = ColumnarTable.of(tableRows.getHeaders(), tableRows.getRows())
+                .selectColumns(filteredColumnNames);
+        return filterRows(byMaxRows, byRowIndexes, byRandomRows, table).toExamplesTable(tableProperties);
     }
 
-    private List<Map<String, String>> filterRows(String byMaxRows, String byRowIndexes, String byRandomRows,
-            List<Map<String, String>> rows)
+    private ColumnarTable filterRows(String byMaxRows, String byRowIndexes, String byRandomRows, ColumnarTable table)
     {
+        int rowCount = table.getRowCount();
         if (byRowIndexes == null && byRandomRows == null)
         {
             return Optional.ofNullable(byMaxRows)
                     .map(Integer::parseInt)
-                    .filter(m -> m < rows.size())
-                    .map(m -> rows.subList(0, m))
-                    .orElse(rows);
+                    .filter(m -> m < rowCount)
+                    .map(m -> table.selectRows(IntStream.range(0, m).toArray()))
+                    .orElse(table);
         }
         else if (byRandomRows != null)
         {
             int randomRowsCount = Integer.parseInt(byRandomRows);
-            isTrue(randomRowsCount <= rows.size(),
+            isTrue(randomRowsCount <= rowCount,
                     "'byRandomRows' must be less than or equal to the number of table rows");
-            return ThreadLocalRandom.current()
-                    .ints(0, rows.size())
+            return table.selectRows(ThreadLocalRandom.current()
+                    .ints(0, rowCount)
                     .distinct()
                     .limit(randomRowsCount)
-                    .mapToObj(rows::get)
-                    .collect(Collectors.toList());
+                    .toArray());
         }
         else
         {
-            return Stream.of(StringUtils.split(byRowIndexes, ';'))
+            return table.selectRows(Stream.of(StringUtils.split(byRowIndexes, ';'))
                     .mapToInt(Integer::parseInt)
-                    .mapToObj(rows::get)
-                    .collect(Collectors.toList());
+                    .toArray());
         }
     }
 
@@ -155,35 +153,19 @@ public class FilteringTableTransformer extends AbstractFilteringTableTransformer
                 .collect(Collectors.toSet());
     }
 
-    private List<Map<String, String>> filterRows(Set<String> columnFilters, List<Map<String, String>> rows,
-            Properties properties)
+    private ColumnarTable filterRows(Set<String> columnFilters, ColumnarTable table, Properties properties)
     {
-        return columnFilters.stream().collect(
-                Collectors.collectingAndThen(Collectors.toMap(k -> StringUtils.substringAfter(k, COLUMN_PREFIX),
-                        k -> createFilter(properties.getProperty(k))), filters -> filterRows(rows, filters)));
+        List<Entry<String[], Predicate<String>>> filteredColumns = columnFilters.stream()
+                .map(k -> Map.entry(StringUtils.substringAfter(k, COLUMN_PREFIX), k))
+                .filter(e -> table.hasColumn(e.getKey()))
+                .map(e -> Map.entry(table.getColumn(e.getKey()), createFilter(properties.getProperty(e.getValue()))))
+                .collect(Collectors.toList());
+        return table.filterRows(rowIndex -> filteredColumns.stream()
+                .allMatch(e -> e.getValue().test(e.getKey()[rowIndex])));
     }
 
     private static Predicate<String> createFilter(String regex)
     {
         return Pattern.compile(regex).asPredicate();
     }
-
-    public static List<Map<String, String>> filterRows(List<Map<String, String>> rows,
-            Map<String, Predicate<String>> columnFilters)
-    {
-        return rows.stream()
-                   .filter(row -> row.entrySet()
-                                     .stream()
-                                     .allMatch(applyFilters(columnFilters)))
-                   .collect(Collectors.toList());
-    }
-
-    private static Predicate<Map.Entry<String, String>> applyFilters(Map<String, Predicate<String>> columnFilters)
-    {
-        return col ->
-        {
-            Predicate<String> filter = columnFilters.get(col.getKey());
-            return Optional.ofNullable(filter).map(f -> f.test(col.getValue())).orElse(true);
-        };
-    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -27,7 +28,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.StringJoiner;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -63,21 +64,20 @@ public enum JoinMode
             String joinedColumn = properties.getMandatoryNonBlankProperty("joinedColumn", String.class);
             Set<String> columnsToJoin = getColumnsToJoin(table, properties);
 
-            List<Map<String, String>> rows = table.getRows();
+            ColumnarTable columnarTable = ColumnarTable.of(table.getHeaders(), table.getRows());
             List<String> headers = new ArrayList<>();
             List<List<String>> columns = new ArrayList<>();
-            for (String header : table.getHeaders())
+            for (String header : columnarTable.getHeaders())
             {
                 if (!columnsToJoin.contains(header))
                 {
                     headers.add(header);
-                    columns.add(buildColumn(rows, row -> row.get(header)));
+                    columns.add(Arrays.asList(columnarTable.getColumn(header)));
                 }
                 else if (!headers.contains(joinedColumn))
                 {
                     headers.add(joinedColumn);
-                    columns.add(buildColumn(rows,
-                        row -> columnsToJoin.stream().map(row::get).collect(Collectors.joining(DELIMITER))));
+                    columns.add(joinColumns(columnarTable, columnsToJoin));
                 }
             }
 
@@ -98,10 +98,20 @@ public enum JoinMode
 
     private static final String DELIMITER = " ";
 
-    private static List<String> buildColumn(List<Map<String, String>> rows,
-            Function<Map<String, String>, String> cellBuilder)
+    private static List<String> joinColumns(ColumnarTable table, Set<String> columnsToJoin)
     {
-        return rows.stream().map(cellBuilder).collect(Collectors.toList());
+        List<String[]> columns = columnsToJoin.stream().map(table::getColumn).collect(Collectors.toList());
+        String[] joinedColumn = new String[table.getRowCount()];
+        for (int rowIndex = 0; rowIndex < joinedColumn.length; rowIndex++)
+        {
+            StringJoiner joinedCell = new StringJoiner(DELIMITER);
+            for (String[] column : columns)
+            {
+                joinedCell.add(column != null ? column[rowIndex] : null);
+            }
+            joinedColumn[rowIndex] = joinedCell.toString();
+        }
+        return Arrays.asList(joinedColumn);
     }
 
     protected abstract String join(ExamplesTable table, TableProperties properties);
@@ -16,9 +16,7 @@
 
 package org.vividus.transformer;
 
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -26,7 +24,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.jbehave.core.model.ExamplesTable.TableProperties;
 import org.jbehave.core.model.ExamplesTable.TableRows;
 import org.jbehave.core.model.TableParsers;
-import org.vividus.util.ExamplesTableProcessor;
 
 public class SortingTableTransformer implements ExtendedTableTransformer
 {
@@ -35,26 +32,11 @@ public class SortingTableTransformer implements ExtendedTableTransformer
     {
         TableRows tableRows = tableParsers.parseRows(tableAsString, properties);
         String byColumns = properties.getMandatoryNonBlankProperty("byColumns", String.class);
-        List<String> headerValues = tableRows.getHeaders();
         List<String> columnsToCompare = Stream.of(StringUtils.split(byColumns, '|'))
                 .map(String::trim)
                 .collect(Collectors.toList());
-        List<Map<String, String>> rows = tableRows.getRows().stream()
-                .sorted((r1, r2) ->
-                {
-                    int result = 0;
-                    Iterator<String> columnIterator = columnsToCompare.iterator();
-                    while (result == 0 && columnIterator.hasNext())
-                    {
-                        String column = columnIterator.next();
-                        if (headerValues.contains(column))
-                        {
-                            result = r1.get(column).compareTo(r2.get(column));
-                        }
-                    }
-                    return result;
-                })
-                .collect(Collectors.toList());
-        return ExamplesTableProcessor.buildExamplesTable(headerValues, rows, properties);
+        return ColumnarTable.of(tableRows.getHeaders(), tableRows.getRows())
+                .sortRows(columnsToCompare)
+                .toExamplesTable(properties);
     }
 }
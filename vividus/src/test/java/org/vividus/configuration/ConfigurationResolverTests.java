@@ -33,14 +33,20 @@ import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentMatcher;
 import org.mockito.InOrder;
 import org.mockito.Mock;
@@ -88,6 +94,9 @@ class ConfigurationResolverTests
     private static final String EMPTY_STRING = "";
     private static final String NOSECURITY = "nosecurity";
     private static final String PROPERTY_8 = "property8";
+    private static final String HOST = "host";
+    private static final String URL = "url";
+    private static final String VERSION = "version";
 
     @Mock private ResourcePatternResolver resourcePatternResolver;
 
@@ -209,6 +218,66 @@ class ConfigurationResolverTests
         }
     }
 
+    @Test
+    void shouldReuseResolvedValuesFromSnapshotIfTheyDoNotDependOnEnvironment(@TempDir Path tempDirectory)
+            throws IOException
+    {
+        String snapshotFileProperty = "vividus.configuration.snapshot-file";
+        String hostProperty = "vividus.host";
+        String reusedValuesMessage = "{} of {} property values are reused from the configuration snapshot";
+        TestLogger logger = TestLoggerFactory.getTestLogger(ConfigurationResolver.class);
+        try (MockedStatic<BeanFactory> beanFactory = mockStatic(BeanFactory.class);
+             MockedConstruction<PropertiesLoader> newPropertiesLoaders = mockConstruction(PropertiesLoader.class,
+                 withSettings().useConstructor(resourcePatternResolver).defaultAnswer(
+                     invocation -> invocation.getMethod().getReturnType() == Properties.class ? new Properties()
+                             : null),
+                 (mock, context) -> when(mock.loadConfigurationProperties()).thenReturn(toProperties(
+                     Map.of(CONFIGURATION_PROFILES, EMPTY_STRING,
+                             CONFIGURATION_ENVIRONMENTS, EMPTY_STRING,
+                             CONFIGURATION_SUITES, EMPTY_STRING,
+                             HOST, "example.com",
+                             URL, "https://${host}/login",
+                             VERSION, "build-#{1 + 1}")))))
+        {
+            beanFactory.when(BeanFactory::getResourcePatternResolver).thenReturn(resourcePatternResolver);
+            when(resourcePatternResolver.getResources(any(String.class))).thenReturn(new Resource[0]);
+            System.setProperty(snapshotFileProperty, tempDirectory.resolve("configuration.snapshot").toString());
+
+            Properties properties = resolveProperties();
+            assertEquals("https://example.com/login", properties.getProperty(URL));
+            assertEquals("build-2", properties.getProperty(VERSION));
+
+            properties = resolveProperties();
+            assertEquals("https://example.com/login", properties.getProperty(URL));
+            assertEquals("build-2", properties.getProperty(VERSION));
+
+            System.setProperty(hostProperty, "other.com");
+            properties = resolveProperties();
+            assertEquals("https://other.com/login", properties.getProperty(URL));
+            assertEquals("build-2", properties.getProperty(VERSION));
+
+            assertThat(newPropertiesLoaders.constructed(), hasSize(1));
+            // The total number of the properties includes the environment variables
+            List<Object> reusedValuesNumbers = logger.getLoggingEvents().stream()
+                    .filter(e -> reusedValuesMessage.equals(e.getMessage()))
+                    .map(e -> e.getArguments().get(0))
+                    .collect(Collectors.toList());
+            assertEquals(List.of(5, 5, 3), reusedValuesNumbers);
+        }
+        finally
+        {
+            System.clearProperty(snapshotFileProperty);
+            System.clearProperty(hostProperty);
+            ConfigurationResolver.reset();
+        }
+    }
+
+    private static Properties resolveProperties() throws IOException
+    {
+        ConfigurationResolver.reset();
+        return ConfigurationResolver.getInstance().getProperties();
+    }
+
     private <T> T verifySingeConstruction(MockedConstruction<T> toVerify)
     {
         var beans = toVerify.constructed();
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.configuration;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.vividus.configuration.LoadedConfiguration.ResolvedProperty;
+
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
+class ConfigurationSnapshotTests
+{
+    private static final String HASH = "hash";
+    private static final String LOCATION = "classpath*:/properties/**/*.properties";
+    private static final String SNAPSHOT = "configuration.snapshot";
+    private static final String KEY = "key";
+    private static final String ENCRYPTED_VALUE = "ENC(0owj4MADNEoWpkeE22n5bFfkjEfaA4Tv)";
+    private static final String PROFILES_PROPERTY = "vividus.configuration.profiles";
+    private static final String PROPERTY_FILE = "key=value";
+    private static final long LAST_MODIFIED = 1_666_000_000_000L;
+    private static final String LOGIN_URL_KEY = "login-url";
+    private static final String LOGIN_URL = "${base-url}/login";
+    private static final String RESOLVED_LOGIN_URL = "https://example.com/login";
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(ConfigurationSnapshot.class);
+
+    @Mock private ResourcePatternResolver resourcePatternResolver;
+
+    @Test
+    void shouldSaveAndLoadConfigurationAsProperties(@TempDir Path tempDirectory) throws IOException
+    {
+        Path file = tempDirectory.resolve(SNAPSHOT);
+        LoadedConfiguration configuration = createConfiguration();
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(file, HASH);
+        snapshot.save(configuration);
+        Properties stored = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8))
+        {
+            stored.load(reader);
+        }
+        assertEquals(Map.of(
+                "inputs-hash", HASH,
+                "properties.key", ENCRYPTED_VALUE,
+                "properties.url", "https://${host}/#{'path'}",
+                "properties.login-url", LOGIN_URL,
+                "overriding-properties.configuration.profiles", "web/desktop/chrome",
+                "deprecated-properties.old-key", KEY,
+                "resolved-properties.key", ENCRYPTED_VALUE,
+                "resolved-properties.login-url", RESOLVED_LOGIN_URL,
+                "resolved-property-dependencies.login-url", "base-url,host"
+        ), stored);
+        Optional<LoadedConfiguration> loaded = snapshot.load();
+        assertTrue(loaded.isPresent());
+        assertEquals(configuration.getProperties(), loaded.get().getProperties());
+        assertEquals(configuration.getOverridingProperties(), loaded.get().getOverridingProperties());
+        assertEquals(configuration.getDeprecatedProperties(), loaded.get().getDeprecatedProperties());
+        Map<String, ResolvedProperty> resolvedProperties = loaded.get().getResolvedProperties();
+        assertEquals(Set.of(KEY, LOGIN_URL_KEY), resolvedProperties.keySet());
+        assertEquals(ENCRYPTED_VALUE, resolvedProperties.get(KEY).getValue());
+        assertEquals(Set.of(), resolvedProperties.get(KEY).getDependencies());
+        assertEquals(RESOLVED_LOGIN_URL, resolvedProperties.get(LOGIN_URL_KEY).getValue());
+        assertEquals(Set.of("host", "base-url"), resolvedProperties.get(LOGIN_URL_KEY).getDependencies());
+        assertThat(logger.getLoggingEvents(), contains(
+                info("Configuration snapshot is saved to {}", file),
+                info("Configuration is loaded from the snapshot {}", file)));
+    }
+
+    @Test
+    void shouldNotLoadSnapshotSavedForOtherInputs(@TempDir Path tempDirectory)
+    {
+        Path file = tempDirectory.resolve(SNAPSHOT);
+        new ConfigurationSnapshot(file, "other-hash").save(createConfiguration());
+        assertEquals(Optional.empty(), new ConfigurationSnapshot(file, HASH).load());
+        assertThat(logger.getLoggingEvents().get(1),
+                is(info("Configuration inputs have changed since the snapshot {} was saved", file)));
+    }
+
+    @Test
+    void shouldNotLoadMissingSnapshot(@TempDir Path tempDirectory)
+    {
+        assertEquals(Optional.empty(), new ConfigurationSnapshot(tempDirectory.resolve(SNAPSHOT), HASH).load());
+        assertTrue(logger.getLoggingEvents().isEmpty());
+    }
+
+    @Test
+    void shouldNotLoadCorruptedSnapshot(@TempDir Path tempDirectory) throws IOException
+    {
+        Path file = tempDirectory.resolve(SNAPSHOT);
+        Files.writeString(file, "inputs-hash=\\uXYZ");
+        assertEquals(Optional.empty(), new ConfigurationSnapshot(file, HASH).load());
+        assertEquals("Unable to load configuration snapshot from {}", logger.getLoggingEvents().get(0).getMessage());
+    }
+
+    @Test
+    void shouldChangeHashIfPropertyFileIsModified(@TempDir Path tempDirectory) throws IOException
+    {
+        Path file = tempDirectory.resolve(SNAPSHOT);
+        mockPropertyFile(LAST_MODIFIED);
+        createSnapshot(file).save(createConfiguration());
+        mockPropertyFile(LAST_MODIFIED);
+        assertTrue(createSnapshot(file).load().isPresent());
+        mockPropertyFile(LAST_MODIFIED + 1);
+        assertEquals(Optional.empty(), createSnapshot(file).load());
+    }
+
+    @Test
+    void shouldChangeHashIfPropertyFileInJarIsChanged(@TempDir Path tempDirectory) throws IOException
+    {
+        Path file = tempDirectory.resolve(SNAPSHOT);
+        mockPropertyFileInJar(PROPERTY_FILE);
+        createSnapshot(file).save(createConfiguration());
+        mockPropertyFileInJar(PROPERTY_FILE);
+        assertTrue(createSnapshot(file).load().isPresent());
+        mockPropertyFileInJar("key=changed");
+        assertEquals(Optional.empty(), createSnapshot(file).load());
+    }
+
+    @Test
+    void shouldIgnoreSystemPropertiesNotSelectingConfiguration(@TempDir Path tempDirectory) throws IOException
+    {
+        assertSnapshotUsage(tempDirectory, "vividus.allure.report-directory", true);
+    }
+
+    @Test
+    void shouldChangeHashIfSystemPropertySelectingConfigurationIsChanged(@TempDir Path tempDirectory)
+            throws IOException
+    {
+        assertSnapshotUsage(tempDirectory, PROFILES_PROPERTY, false);
+    }
+
+    private void assertSnapshotUsage(Path tempDirectory, String systemPropertyName, boolean snapshotUsed)
+            throws IOException
+    {
+        Path file = tempDirectory.resolve(SNAPSHOT);
+        try
+        {
+            System.setProperty(systemPropertyName, "web/desktop/chrome");
+            mockPropertyFile(LAST_MODIFIED);
+            createSnapshot(file).save(createConfiguration());
+            System.setProperty(systemPropertyName, "web/desktop/firefox");
+            mockPropertyFile(LAST_MODIFIED);
+            assertEquals(snapshotUsed, createSnapshot(file).load().isPresent());
+        }
+        finally
+        {
+            System.clearProperty(systemPropertyName);
+        }
+    }
+
+    private ConfigurationSnapshot createSnapshot(Path file) throws IOException
+    {
+        return ConfigurationSnapshot.create(file, resourcePatternResolver, List.of(PROFILES_PROPERTY), LOCATION);
+    }
+
+    private static LoadedConfiguration createConfiguration()
+    {
+        Properties properties = new Properties();
+        properties.setProperty(KEY, ENCRYPTED_VALUE);
+        properties.setProperty("url", "https://${host}/#{'path'}");
+        properties.setProperty(LOGIN_URL_KEY, LOGIN_URL);
+        Properties overridingProperties = new Properties();
+        overridingProperties.setProperty("configuration.profiles", "web/desktop/chrome");
+        Properties deprecatedProperties = new Properties();
+        deprecatedProperties.setProperty("old-key", KEY);
+        return new LoadedConfiguration(properties, overridingProperties, deprecatedProperties, Map.of(
+                KEY, new ResolvedProperty(ENCRYPTED_VALUE, Set.of()),
+                LOGIN_URL_KEY, new ResolvedProperty(RESOLVED_LOGIN_URL, Set.of("host", "base-url")),
+                "comma-url", new ResolvedProperty(RESOLVED_LOGIN_URL, Set.of("host,port"))));
+    }
+
+    private void mockPropertyFile(long lastModified) throws IOException
+    {
+        Resource resource = mockResource(true);
+        when(resource.contentLength()).thenReturn((long) PROPERTY_FILE.length());
+        when(resource.lastModified()).thenReturn(lastModified);
+    }
+
+    private void mockPropertyFileInJar(String content) throws IOException
+    {
+        Resource resource = mockResource(false);
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Resource mockResource(boolean file) throws IOException
+    {
+        Resource resource = mock(Resource.class);
+        when(resource.exists()).thenReturn(true);
+        when(resource.isFile()).thenReturn(file);
+        when(resource.getDescription()).thenReturn("file [/properties/suite.properties]");
+        when(resourcePatternResolver.getResources(LOCATION)).thenReturn(new Resource[] { resource });
+        return resource;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.vividus.expression;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
 
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -97,12 +98,23 @@ class EvalExpressionProcessorTests
         assertEquals(Optional.of(expectedValue), processor.execute(expression));
     }
 
+    @Test
+    void shouldReuseParsedScriptWithActualVariables()
+    {
+        String expression = "eval(someKey * 2)";
+        String variableKey = "someKey";
+        when(bddVariableContext.getVariable(variableKey)).thenReturn(2);
+        assertEquals(Optional.of("4"), processor.execute(expression));
+        when(bddVariableContext.getVariable(variableKey)).thenReturn(5);
+        assertEquals(Optional.of("10"), processor.execute(expression));
+    }
+
     @Test
     void shouldThrowAnExceptionInCaseOfMissingVariable()
     {
         JexlException.Variable exception = assertThrows(JexlException.Variable.class,
             () -> processor.execute("eval(missingVar + 'val')"));
-        assertEquals("org.vividus.expression.EvalExpressionProcessor.evaluateExpression:58 variable "
+        assertEquals("org.vividus.expression.EvalExpressionProcessor.evaluateExpression:69 variable "
                 + "'missingVar' is undefined", exception.getMessage());
     }
 
@@ -111,7 +123,7 @@ class EvalExpressionProcessorTests
     {
         JexlException.Parsing exception = assertThrows(JexlException.Parsing.class,
             () -> processor.execute("eval(var + 'val')"));
-        assertEquals("org.vividus.expression.EvalExpressionProcessor.evaluateExpression:58@1:1 parsing error"
+        assertEquals("org.vividus.expression.EvalExpressionProcessor.evaluateExpression:69@1:1 parsing error"
                 + " in 'var'", exception.getMessage());
     }
 }
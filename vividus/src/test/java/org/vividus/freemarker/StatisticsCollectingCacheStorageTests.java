@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.freemarker;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import freemarker.cache.StringTemplateLoader;
+import freemarker.template.Configuration;
+
+@ExtendWith(TestLoggerFactoryExtension.class)
+class StatisticsCollectingCacheStorageTests
+{
+    private static final String TEMPLATE_NAME = "template.ftl";
+
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(StatisticsCollectingCacheStorage.class);
+
+    @Test
+    void shouldCollectStatisticsOfTemplateCacheUsage() throws IOException
+    {
+        StringTemplateLoader templateLoader = new StringTemplateLoader();
+        templateLoader.putTemplate(TEMPLATE_NAME, "${value}");
+        StatisticsCollectingCacheStorage cacheStorage = new StatisticsCollectingCacheStorage();
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_31);
+        configuration.setTemplateLoader(templateLoader);
+        configuration.setCacheStorage(cacheStorage);
+
+        configuration.getTemplate(TEMPLATE_NAME);
+        configuration.getTemplate(TEMPLATE_NAME);
+        configuration.getTemplate(TEMPLATE_NAME);
+
+        assertEquals(2, cacheStorage.getHitCount());
+        assertEquals(1, cacheStorage.getMissCount());
+        assertEquals(1, cacheStorage.getSize());
+        cacheStorage.destroy();
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(
+                info("Template cache statistics: {} hits, {} misses, {} cached templates", 2L, 1L, 1))));
+    }
+
+    @Test
+    void shouldClearCache()
+    {
+        StatisticsCollectingCacheStorage cacheStorage = new StatisticsCollectingCacheStorage();
+        cacheStorage.put(TEMPLATE_NAME, TEMPLATE_NAME);
+        assertEquals(TEMPLATE_NAME, cacheStorage.get(TEMPLATE_NAME));
+        cacheStorage.remove(TEMPLATE_NAME);
+        assertEquals(0, cacheStorage.getSize());
+        cacheStorage.put(TEMPLATE_NAME, TEMPLATE_NAME);
+        cacheStorage.clear();
+        assertEquals(0, cacheStorage.getSize());
+        assertEquals(1, cacheStorage.getHitCount());
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,35 +17,81 @@
 package org.vividus.groovy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.Map;
-
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.scripting.ScriptSource;
+import org.springframework.scripting.ScriptCompilationException;
 import org.springframework.scripting.support.StaticScriptSource;
 import org.vividus.context.VariableContext;
 
+import groovy.lang.MissingPropertyException;
+
 @ExtendWith(MockitoExtension.class)
 class VariableContextAwareGroovyScriptEvaluatorTests
 {
+    private static final String VARIABLE_NAME = "var";
+    private static final String SCRIPT = "return var + 3";
+
     @Mock
     private VariableContext variableContext;
 
     @Test
-    void shouldPassVariableToEvaluate()
+    void shouldResolveVariablesFromContextOnDemand()
+    {
+        VariableContextAwareGroovyScriptEvaluator evaluator = new VariableContextAwareGroovyScriptEvaluator(
+                variableContext);
+        when(variableContext.getScopedVariable(VARIABLE_NAME)).thenReturn(2);
+        assertEquals(5, evaluator.evaluate(new StaticScriptSource(SCRIPT)));
+        verify(variableContext, never()).getVariables();
+    }
+
+    @Test
+    void shouldReuseCompiledScriptClassWithActualVariables()
+    {
+        VariableContextAwareGroovyScriptEvaluator evaluator = new VariableContextAwareGroovyScriptEvaluator(
+                variableContext);
+        when(variableContext.getScopedVariable(VARIABLE_NAME)).thenReturn(2);
+        assertEquals(5, evaluator.evaluate(new StaticScriptSource(SCRIPT)));
+        when(variableContext.getScopedVariable(VARIABLE_NAME)).thenReturn(7);
+        assertEquals(10, evaluator.evaluate(new StaticScriptSource(SCRIPT)));
+        assertEquals(1, evaluator.getCachedScriptClassesCount());
+    }
+
+    @Test
+    void shouldPreferVariablesAssignedByScript()
+    {
+        VariableContextAwareGroovyScriptEvaluator evaluator = new VariableContextAwareGroovyScriptEvaluator(
+                variableContext);
+        assertEquals("value", evaluator.evaluate(new StaticScriptSource("var = 'value'; return var")));
+        verify(variableContext, never()).getVariable(VARIABLE_NAME);
+    }
+
+    @Test
+    void shouldFailOnMissingVariable()
+    {
+        VariableContextAwareGroovyScriptEvaluator evaluator = new VariableContextAwareGroovyScriptEvaluator(
+                variableContext);
+        StaticScriptSource script = new StaticScriptSource(SCRIPT);
+        ScriptCompilationException exception = assertThrows(ScriptCompilationException.class,
+                () -> evaluator.evaluate(script));
+        assertInstanceOf(MissingPropertyException.class, exception.getCause());
+        verify(variableContext, never()).getVariable(VARIABLE_NAME);
+    }
+
+    @Test
+    void shouldFailOnInvalidScript()
     {
-        VariableContextAwareGroovyScriptEvaluator evaluator =
-            Mockito.spy(new VariableContextAwareGroovyScriptEvaluator(variableContext));
-        ScriptSource script = new StaticScriptSource("return 'value'");
-        Map<String, Object> variables = Map.of();
-        when(variableContext.getVariables()).thenReturn(variables);
-        String expected = "value";
-        when(evaluator.evaluate(script, variables)).thenReturn(expected);
-        assertEquals(expected, evaluator.evaluate(script));
+        VariableContextAwareGroovyScriptEvaluator evaluator = new VariableContextAwareGroovyScriptEvaluator(
+                variableContext);
+        StaticScriptSource script = new StaticScriptSource("return (");
+        assertThrows(ScriptCompilationException.class, () -> evaluator.evaluate(script));
+        assertEquals(0, evaluator.getCachedScriptClassesCount());
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,13 @@
 
 package org.vividus.steps;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mockConstruction;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +40,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -44,9 +49,14 @@ import org.vividus.expression.IExpressionProcessor;
 import org.vividus.util.freemarker.FreemarkerProcessor;
 import org.vividus.variable.VariableScope;
 
+import freemarker.cache.StringTemplateLoader;
 import freemarker.template.Configuration;
 import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateSequenceModel;
 
 @ExtendWith(MockitoExtension.class)
 class FreemarkerStepsTests
@@ -91,19 +101,22 @@ class FreemarkerStepsTests
         {
             String contextKey = "context-key";
             String contextValue = "context-value";
-            when(variableContext.getVariables()).thenReturn(Map.of(contextKey, contextValue));
+            when(variableContext.getScopedVariable(contextKey)).thenReturn(contextValue);
+            when(variableContext.getScopedVariable(PARAMETERS)).thenReturn(null);
 
             FreemarkerSteps steps = new FreemarkerSteps(true, createConfiguration(), variableContext,
                     new ExpressionAdaptor(storyControls));
 
             steps.initVariableUsingTemplate(SCOPES, VARIABLE_NAME, TEMPLATE_FILE_NAME, TEMPLATE_PARAMETERS);
 
-            FreemarkerProcessor processor = mockedProcessor.constructed().get(0);
-            Map<String, Object> parameters = Map.of(
-                TABLE_KEY, List.of(TABLE_VALUE), contextKey, contextValue,
-                PARAMETERS, Map.of(contextKey, contextValue, TABLE_KEY, List.of(TABLE_VALUE))
-            );
-            verify(processor).process(TEMPLATE_FILE_NAME, parameters, StandardCharsets.UTF_8);
+            TemplateHashModel dataModel = captureDataModel(mockedProcessor);
+            assertEquals(TABLE_VALUE, getFirstItem(dataModel.get(TABLE_KEY)));
+            assertEquals(contextValue, dataModel.get(contextKey).toString());
+            TemplateHashModel parameters = (TemplateHashModel) dataModel.get(PARAMETERS);
+            assertEquals(TABLE_VALUE, getFirstItem(parameters.get(TABLE_KEY)));
+            assertEquals(contextValue, parameters.get(contextKey).toString());
+            verify(variableContext, never()).getVariable(anyString());
+            verify(variableContext, never()).getVariables();
         }
     }
 
@@ -117,16 +130,65 @@ class FreemarkerStepsTests
 
             steps.initVariableUsingTemplate(SCOPES, VARIABLE_NAME, TEMPLATE_FILE_NAME, TEMPLATE_PARAMETERS);
 
-            FreemarkerProcessor processor = mockedProcessor.constructed().get(0);
-            Map<String, Object> parameters = Map.of(
-                TABLE_KEY, List.of(TABLE_VALUE),
-                PARAMETERS, Map.of(TABLE_KEY, List.of(TABLE_VALUE))
-            );
-            verify(processor).process(TEMPLATE_FILE_NAME, parameters, StandardCharsets.UTF_8);
-            verify(variableContext, times(0)).getVariables();
+            TemplateHashModel dataModel = captureDataModel(mockedProcessor);
+            assertEquals(TABLE_VALUE, getFirstItem(dataModel.get(TABLE_KEY)));
+            assertNull(dataModel.get("context-key"));
+            TemplateHashModel parameters = (TemplateHashModel) dataModel.get(PARAMETERS);
+            assertEquals(TABLE_VALUE, getFirstItem(parameters.get(TABLE_KEY)));
+            verify(variableContext, never()).getScopedVariable(anyString());
+            verify(variableContext, never()).getVariables();
         }
     }
 
+    @Test
+    void shouldExposeOnlyParametersEntryIfItIsPassed() throws IOException, TemplateException
+    {
+        try (MockedConstruction<FreemarkerProcessor> mockedProcessor = mockConstruction(FreemarkerProcessor.class))
+        {
+            FreemarkerSteps steps = new FreemarkerSteps(false, createConfiguration(), variableContext,
+                    new ExpressionAdaptor(storyControls));
+
+            steps.initVariableUsingTemplate(SCOPES, VARIABLE_NAME, TEMPLATE_FILE_NAME,
+                    List.of(Map.of(TABLE_KEY, TABLE_VALUE, PARAMETERS, PARAM)));
+
+            TemplateHashModel dataModel = captureDataModel(mockedProcessor);
+            assertNull(dataModel.get(TABLE_KEY));
+            TemplateHashModel parameters = (TemplateHashModel) dataModel.get(PARAMETERS);
+            assertEquals(TABLE_VALUE, getFirstItem(parameters.get(TABLE_KEY)));
+            assertEquals(PARAM, getFirstItem(parameters.get(PARAMETERS)));
+        }
+    }
+
+    @Test
+    void shouldListVariablesAndParameters() throws IOException, TemplateException
+    {
+        String contextKey = "contextKey";
+        when(variableContext.getVariables()).thenReturn(Map.of(contextKey, "value", TABLE_KEY, "overridden"));
+        Configuration configuration = createConfiguration();
+        StringTemplateLoader templateLoader = new StringTemplateLoader();
+        templateLoader.putTemplate(TEMPLATE_FILE_NAME, "<#list .data_model?keys?sort as key>${key};</#list>");
+        configuration.setTemplateLoader(templateLoader);
+        FreemarkerSteps steps = new FreemarkerSteps(true, configuration, variableContext,
+                new ExpressionAdaptor(storyControls));
+        steps.initVariableUsingTemplate(SCOPES, VARIABLE_NAME, TEMPLATE_FILE_NAME, TEMPLATE_PARAMETERS);
+        verify(variableContext).putVariable(SCOPES, VARIABLE_NAME, contextKey + ";" + PARAMETERS + ";" + TABLE_KEY
+                + ";");
+    }
+
+    private static TemplateHashModel captureDataModel(MockedConstruction<FreemarkerProcessor> mockedProcessor)
+            throws IOException, TemplateException
+    {
+        FreemarkerProcessor processor = mockedProcessor.constructed().get(0);
+        ArgumentCaptor<TemplateHashModel> dataModelCaptor = ArgumentCaptor.forClass(TemplateHashModel.class);
+        verify(processor).process(eq(TEMPLATE_FILE_NAME), dataModelCaptor.capture(), eq(StandardCharsets.UTF_8));
+        return dataModelCaptor.getValue();
+    }
+
+    private static String getFirstItem(TemplateModel sequence) throws TemplateModelException
+    {
+        return ((TemplateSequenceModel) sequence).get(0).toString();
+    }
+
     private Configuration createConfiguration()
     {
         Configuration configuration = new Configuration(Configuration.VERSION_2_3_31);
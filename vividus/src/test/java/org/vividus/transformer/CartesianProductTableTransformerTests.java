@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2021 the original author or authors.
+ * Copyright 2019-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -72,6 +72,48 @@ class CartesianProductTableTransformerTests
         assertEquals(expectedTable, tableAsString);
     }
 
+    @Test
+    void shouldTransformLargeTables()
+    {
+        int rowCount = 300;
+        doReturn(List.of(createTable("a", rowCount), createTable("b", rowCount), createTable("c", 2))).when(
+                transformer).loadTables(StringUtils.EMPTY, properties);
+
+        String tableAsString = transformer.transform(StringUtils.EMPTY, null, properties);
+        String[] lines = tableAsString.split("\n");
+        assertEquals(rowCount * rowCount * 2 + 1, lines.length);
+        assertEquals("|a|b|c|", lines[0]);
+        assertEquals("|a0|b0|c0|", lines[1]);
+        assertEquals("|a0|b0|c1|", lines[2]);
+        assertEquals("|a0|b1|c0|", lines[3]);
+        assertEquals("|a299|b299|c1|", lines[lines.length - 1]);
+        assertEquals(rowCount * rowCount * 2, new ExamplesTable(tableAsString).getRowCount());
+    }
+
+    @Test
+    void shouldReturnTableWithoutRowsIfAnyTableIsEmpty()
+    {
+        ExamplesTable emptyTable = new ExamplesTable("|number|");
+        doReturn(List.of(TABLE, emptyTable)).when(transformer).loadTables(StringUtils.EMPTY, properties);
+
+        String tableAsString = transformer.transform(StringUtils.EMPTY, null, properties);
+        assertEquals("|name|planet|number|\n", tableAsString);
+    }
+
+    @Test
+    void shouldFailIfProductIsTooLarge()
+    {
+        int rowCount = 100;
+        doReturn(List.of(createTable("a", rowCount), createTable("b", rowCount), createTable("c", rowCount),
+                createTable("d", rowCount), createTable("e", rowCount))).when(transformer)
+                .loadTables(StringUtils.EMPTY, properties);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> transformer.transform(StringUtils.EMPTY, null, properties));
+        assertEquals("The cartesian product of the tables is too large to be represented as ExamplesTable: "
+                + "100 x 100 x 100 x 100 x 100 rows", thrown.getMessage());
+    }
+
     @Test
     void shouldFailIfTablesContainEqualHeaders()
     {
@@ -82,4 +124,14 @@ class CartesianProductTableTransformerTests
         assertEquals("Tables must contain different keys, but found the same keys: [planet, name]",
                 thrown.getMessage());
     }
+
+    private static ExamplesTable createTable(String header, int rowCount)
+    {
+        StringBuilder table = new StringBuilder("|").append(header).append("|\n");
+        for (int i = 0; i < rowCount; i++)
+        {
+            table.append('|').append(header).append(i).append("|\n");
+        }
+        return new ExamplesTable(table.toString());
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.transformer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jbehave.core.configuration.Keywords;
+import org.jbehave.core.model.ExamplesTable.TableProperties;
+import org.jbehave.core.steps.ParameterConverters;
+import org.junit.jupiter.api.Test;
+
+class ColumnarTableTests
+{
+    private static final String KEY1 = "key1";
+    private static final String KEY2 = "key2";
+    private static final String KEY3 = "key3";
+
+    private final TableProperties tableProperties = new TableProperties("", new Keywords(),
+            new ParameterConverters());
+
+    private static ColumnarTable createTable()
+    {
+        return ColumnarTable.of(List.of(KEY1, KEY2, KEY3), List.of(
+                row("b", "1", "x"),
+                row("a", "2", "y"),
+                row("b", "1", "x"),
+                row("a", "1", "z")
+        ));
+    }
+
+    private static Map<String, String> row(String value1, String value2, String value3)
+    {
+        Map<String, String> row = new LinkedHashMap<>();
+        row.put(KEY1, value1);
+        row.put(KEY2, value2);
+        row.put(KEY3, value3);
+        return row;
+    }
+
+    @Test
+    void shouldBuildColumnsFromRows()
+    {
+        ColumnarTable table = createTable();
+        assertEquals(List.of(KEY1, KEY2, KEY3), table.getHeaders());
+        assertEquals(4, table.getRowCount());
+        assertArrayEquals(new String[] { "1", "2", "1", "1" }, table.getColumn(KEY2));
+        assertTrue(table.hasColumn(KEY3));
+        assertFalse(table.hasColumn("key4"));
+        assertNull(table.getColumn("key4"));
+    }
+
+    @Test
+    void shouldSelectColumnsWithoutCopying()
+    {
+        ColumnarTable table = createTable();
+        ColumnarTable selected = table.selectColumns(List.of(KEY3, KEY1));
+        assertEquals(List.of(KEY3, KEY1), selected.getHeaders());
+        assertSame(table.getColumn(KEY1), selected.getColumn(KEY1));
+        assertEquals("|key3|key1|\n|x|b|\n|y|a|\n|x|b|\n|z|a|", selected.toExamplesTable(tableProperties));
+    }
+
+    @Test
+    void shouldSelectRows()
+    {
+        assertEquals("|key1|key2|key3|\n|a|1|z|\n|b|1|x|\n|a|1|z|",
+                createTable().selectRows(3, 0, 3).toExamplesTable(tableProperties));
+    }
+
+    @Test
+    void shouldFilterRows()
+    {
+        ColumnarTable table = createTable();
+        String[] column = table.getColumn(KEY1);
+        assertEquals("|key1|key2|key3|\n|a|2|y|\n|a|1|z|",
+                table.filterRows(rowIndex -> "a".equals(column[rowIndex])).toExamplesTable(tableProperties));
+        assertSame(table, table.filterRows(rowIndex -> true));
+    }
+
+    @Test
+    void shouldSortRowsStablyIgnoringMissingColumns()
+    {
+        assertEquals("|key1|key2|key3|\n|a|1|z|\n|a|2|y|\n|b|1|x|\n|b|1|x|",
+                createTable().sortRows(List.of("key4", KEY1, KEY2)).toExamplesTable(tableProperties));
+    }
+
+    @Test
+    void shouldRemoveDuplicateRows()
+    {
+        assertEquals("|key1|key2|\n|b|1|\n|a|2|\n|a|1|",
+                createTable().selectColumns(List.of(KEY1, KEY2)).distinctRows().toExamplesTable(tableProperties));
+    }
+
+    @Test
+    void shouldRenderTableUsingCustomSeparators()
+    {
+        TableProperties properties = new TableProperties("headerSeparator=!,valueSeparator=?", new Keywords(),
+                new ParameterConverters());
+        Map<String, String> row = new LinkedHashMap<>();
+        row.put(KEY1, "value");
+        row.put(KEY2, null);
+        assertEquals("!key1!key2!\n?value?null?",
+                ColumnarTable.of(List.of(KEY1, KEY2), List.of(row)).toExamplesTable(properties));
+    }
+
+    @Test
+    void shouldProcessLargeTable()
+    {
+        int columnCount = 100;
+        int rowCount = 10_000;
+        List<String> headers = IntStream.range(0, columnCount).mapToObj(i -> "column" + i)
+                .collect(Collectors.toList());
+        List<Map<String, String>> rows = new ArrayList<>(rowCount);
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++)
+        {
+            Map<String, String> row = new LinkedHashMap<>();
+            String value = String.valueOf(rowCount - rowIndex);
+            headers.forEach(header -> row.put(header, value));
+            rows.add(row);
+        }
+        ColumnarTable table = ColumnarTable.of(headers, rows).sortRows(List.of(headers.get(0))).distinctRows();
+        assertEquals(rowCount, table.getRowCount());
+        assertEquals("1", table.getColumn(headers.get(columnCount - 1))[0]);
+        String examplesTable = table.toExamplesTable(tableProperties);
+        assertEquals(rowCount + 1, examplesTable.lines().count());
+    }
+}